@@ -6,6 +6,8 @@ import java.util.Set;
 
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class Employee {
     @PlanningId
     private String name;
@@ -15,6 +17,10 @@ public class Employee {
     private Set<LocalDate> undesiredDates;
     private Set<LocalDate> desiredDates;
 
+    // Assigned once at ingest by the ScheduleIndexer
+    @JsonIgnore
+    private int index = ScheduleIndexer.NO_INDEX;
+
     public Employee() {
 
     }
@@ -68,6 +74,19 @@ public class Employee {
         this.desiredDates = desiredDates;
     }
 
+    /**
+     * @return the position of this employee in the schedule it was ingested with,
+     * or {@link ScheduleIndexer#NO_INDEX} if it wasn't indexed
+     */
+    @JsonIgnore
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     @Override
     public String toString() {
         return name;
@@ -7,9 +7,12 @@ import ai.timefold.solver.core.api.domain.solution.PlanningScore;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
 import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
 import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
 import ai.timefold.solver.core.api.solver.SolverStatus;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @PlanningSolution
 public class EmployeeSchedule {
 
@@ -23,7 +26,13 @@ public class EmployeeSchedule {
     @PlanningScore
     private HardSoftBigDecimalScore score;
 
+    // Only the first stage of staged solving overrides them
+    @JsonIgnore
+    private ConstraintWeightOverrides<HardSoftBigDecimalScore> constraintWeightOverrides =
+            ConstraintWeightOverrides.none();
+
     private SolverStatus solverStatus;
+    private TerminationReason terminationReason;
 
     // No-arg constructor required for Timefold
     public EmployeeSchedule() {}
@@ -62,6 +71,17 @@ public class EmployeeSchedule {
         this.score = score;
     }
 
+    @JsonIgnore
+    public ConstraintWeightOverrides<HardSoftBigDecimalScore> getConstraintWeightOverrides() {
+        return constraintWeightOverrides;
+    }
+
+    @JsonIgnore
+    public void setConstraintWeightOverrides(
+            ConstraintWeightOverrides<HardSoftBigDecimalScore> constraintWeightOverrides) {
+        this.constraintWeightOverrides = constraintWeightOverrides;
+    }
+
     public SolverStatus getSolverStatus() {
         return solverStatus;
     }
@@ -69,4 +89,25 @@ public class EmployeeSchedule {
     public void setSolverStatus(SolverStatus solverStatus) {
         this.solverStatus = solverStatus;
     }
+
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    public void setTerminationReason(TerminationReason terminationReason) {
+        this.terminationReason = terminationReason;
+    }
+
+    /**
+     * A shallow copy with the status of its job, as a schedule that a solver or other readers share
+     * must not be modified.
+     */
+    public EmployeeSchedule withStatus(SolverStatus solverStatus, TerminationReason terminationReason) {
+        EmployeeSchedule schedule = new EmployeeSchedule(employees, shifts);
+        schedule.score = score;
+        schedule.constraintWeightOverrides = constraintWeightOverrides;
+        schedule.solverStatus = solverStatus;
+        schedule.terminationReason = terminationReason;
+        return schedule;
+    }
 }
@@ -0,0 +1,74 @@
+package org.acme.employeescheduling.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces equal skills, locations, dates and sets of them by the same instance,
+ * so the employees and shifts of the schedules that an interner saw hold each of them once.
+ * <p>
+ * Only for facts that nothing modifies afterwards: the interned sets are immutable.
+ * Not thread-safe; use one interner per ingest, such as a batch of schedules.
+ */
+public final class FactInterner {
+
+    private final Map<Object, Object> internedValueMap = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value) {
+        return value == null ? null : (T) internedValueMap.computeIfAbsent(value, key -> key);
+    }
+
+    /**
+     * @return an immutable set equal to the given set, or null if it is null
+     * @throws IllegalArgumentException if the set contains null
+     */
+    public <T> Set<T> internAll(Set<T> values) {
+        if (values == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Set<T> internedValues = (Set<T>) internedValueMap.get(values);
+        if (internedValues != null) {
+            return internedValues;
+        }
+        List<T> elements = new ArrayList<>(values.size());
+        for (T value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("The set (" + values + ") contains null.");
+            }
+            elements.add(intern(value));
+        }
+        internedValues = Set.copyOf(elements);
+        internedValueMap.put(internedValues, internedValues);
+        return internedValues;
+    }
+
+    /**
+     * Interns the skills and dates of the employees and the locations and required skills of the shifts,
+     * before the schedule is solved.
+     *
+     * @return the same schedule
+     * @throws IllegalArgumentException if a set of skills or dates contains null
+     */
+    public EmployeeSchedule internFacts(EmployeeSchedule schedule) {
+        if (schedule.getEmployees() != null) {
+            for (Employee employee : schedule.getEmployees()) {
+                employee.setSkills(internAll(employee.getSkills()));
+                employee.setUnavailableDates(internAll(employee.getUnavailableDates()));
+                employee.setUndesiredDates(internAll(employee.getUndesiredDates()));
+                employee.setDesiredDates(internAll(employee.getDesiredDates()));
+            }
+        }
+        if (schedule.getShifts() != null) {
+            for (Shift shift : schedule.getShifts()) {
+                shift.setLocation(intern(shift.getLocation()));
+                shift.setRequiredSkill(intern(shift.getRequiredSkill()));
+            }
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,59 @@
+package org.acme.employeescheduling.domain;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives the employees and shifts of an ingested schedule a dense index, their position in its lists.
+ * <p>
+ * The index is only an array position: the compact job snapshots find the position of a shift's employee
+ * through it instead of through a map, and the employee registry replaces an employee at its position.
+ * Equality and hashing stay on the {@code @PlanningId}, so the constraints don't depend on the index:
+ * joining on it instead of on the employee made no difference beyond the noise in {@code ScoreCalculationSpeedTest}.
+ * The gain of capturing a LARGE snapshot through the index instead of the map
+ * is logged by {@code CompactScheduleTest} with {@code -Dslowly=true}; it hasn't been measured yet.
+ * <p>
+ * An index is only assigned if missing: an employee that is shared with another schedule keeps its index,
+ * which is why the compact snapshots check that the employee at that position is the same instance.
+ * Every shift is linked to the listed employee with the same name, as a JSON schedule repeats the employee
+ * of each shift, so the employee of a shift is the indexed instance.
+ */
+public final class ScheduleIndexer {
+
+    public static final int NO_INDEX = -1;
+
+    private ScheduleIndexer() {
+    }
+
+    /**
+     * @return the same schedule
+     */
+    public static EmployeeSchedule index(EmployeeSchedule schedule) {
+        List<Employee> employees = schedule.getEmployees() == null ? List.of() : schedule.getEmployees();
+        Map<String, Employee> nameToEmployeeMap = new HashMap<>(employees.size() * 2);
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee.getIndex() == NO_INDEX) {
+                employee.setIndex(i);
+            }
+            nameToEmployeeMap.putIfAbsent(employee.getName(), employee);
+        }
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            if (shift.getIndex() == NO_INDEX) {
+                shift.setIndex(i);
+            }
+            Employee employee = shift.getEmployee();
+            if (employee != null) {
+                // An unknown employee stays as it is, so validation still reports it
+                Employee listedEmployee = nameToEmployeeMap.get(employee.getName());
+                if (listedEmployee != null) {
+                    shift.setEmployee(listedEmployee);
+                }
+            }
+        }
+        return schedule;
+    }
+}
@@ -10,7 +10,12 @@ import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
 
-@PlanningEntity
+import org.acme.employeescheduling.solver.EmployeeStrengthWeightFactory;
+import org.acme.employeescheduling.solver.ShiftDifficultyWeightFactory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@PlanningEntity(difficultyWeightFactoryClass = ShiftDifficultyWeightFactory.class)
 public class Shift {
     @PlanningId
     private String id;
@@ -21,9 +26,13 @@ public class Shift {
     private String location;
     private String requiredSkill;
 
-    @PlanningVariable
+    @PlanningVariable(strengthWeightFactoryClass = EmployeeStrengthWeightFactory.class)
     private Employee employee;
 
+    // Assigned once at ingest by the ScheduleIndexer
+    @JsonIgnore
+    private int index = ScheduleIndexer.NO_INDEX;
+
     public Shift() {
     }
 
@@ -92,6 +101,19 @@ public class Shift {
         this.employee = employee;
     }
 
+    /**
+     * @return the position of this shift in the schedule it was ingested with,
+     * or {@link ScheduleIndexer#NO_INDEX} if it wasn't indexed
+     */
+    @JsonIgnore
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     public boolean isOverlappingWithDate(LocalDate date) {
         return getStart().toLocalDate().equals(date) || getEnd().toLocalDate().equals(date);
     }
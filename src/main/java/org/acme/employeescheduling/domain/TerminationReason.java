@@ -0,0 +1,23 @@
+package org.acme.employeescheduling.domain;
+
+/**
+ * Why solving a schedule stopped.
+ */
+public enum TerminationReason {
+    /**
+     * The solver reached its spent limit or another configured termination.
+     */
+    LIMIT_REACHED,
+    /**
+     * The schedule was feasible and the soft score stopped improving enough to keep solving.
+     */
+    DIMINISHING_RETURNS,
+    /**
+     * The schedule can't be made feasible and the hard score reached the best bound of the feasibility analysis.
+     */
+    INFEASIBILITY_BOUND_REACHED,
+    /**
+     * The client terminated solving.
+     */
+    TERMINATED_EARLY
+}
@@ -0,0 +1,308 @@
+package org.acme.employeescheduling.employee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.FactInterner;
+import org.acme.employeescheduling.domain.ScheduleIndexer;
+import org.acme.employeescheduling.job.JobStoreType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps versions of the employee roster, so a schedule can reference its employees by name and version
+ * instead of repeating their skills and dates in every submission.
+ * <p>
+ * Every upsert that changes something creates a new {@link EmployeeRoster} version.
+ * An updated employee keeps its position and new employees are appended,
+ * so every employee of a version is indexed by its position, like in an ingested schedule.
+ * The employees of a version are never modified:
+ * the schedules that reference them share them and their immutable skill and date sets,
+ * of which the equal ones are interned by a {@link FactInterner}.
+ * <p>
+ * With the {@link JobStoreType#FILESYSTEM} store, every version is a JSON file in the shared directory,
+ * so every node resolves the versions that any node created.
+ * Upserts are serialized across JVMs by a file lock.
+ * Only the newest versions are retained, because a submitted job keeps the employees it was resolved with.
+ */
+@ApplicationScoped
+public class EmployeeRegistry {
+
+    private static final String ROSTER_SUFFIX = ".json";
+    private static final String LOCK_FILE = "employees.lock";
+    private static final EmployeeRoster EMPTY_ROSTER = new EmployeeRoster(0L, List.of());
+
+    private final ObjectMapper objectMapper;
+    private final int retainedVersionCount;
+    // Null if the versions only live in the memory of this node
+    private final Path rostersDirectory;
+
+    // Guarded by this, a cache of the rosters directory if there is one
+    private final NavigableMap<Long, EmployeeRoster> versionToRosterMap = new TreeMap<>();
+
+    @Inject
+    public EmployeeRegistry(ObjectMapper objectMapper,
+            @ConfigProperty(name = "employee-scheduling.cluster.store", defaultValue = "memory") JobStoreType storeType,
+            @ConfigProperty(name = "employee-scheduling.cluster.directory",
+                    defaultValue = "employee-scheduling-cluster") String directory,
+            @ConfigProperty(name = "employee-scheduling.employee-registry.retained-versions",
+                    defaultValue = "10") int retainedVersionCount) {
+        if (retainedVersionCount < 1) {
+            throw new IllegalArgumentException("The retainedVersionCount (" + retainedVersionCount
+                    + ") must be at least 1.");
+        }
+        this.objectMapper = objectMapper;
+        this.retainedVersionCount = retainedVersionCount;
+        if (storeType == JobStoreType.FILESYSTEM) {
+            rostersDirectory = Path.of(directory).resolve("employees");
+            try {
+                Files.createDirectories(rostersDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed creating the employees directory (" + rostersDirectory + ").",
+                        e);
+            }
+        } else {
+            rostersDirectory = null;
+        }
+    }
+
+    /**
+     * Adds the employees with a new name and replaces those whose skills or dates changed.
+     * Employees that aren't mentioned stay as they are.
+     *
+     * @throws IllegalArgumentException if an employee has no name, or two employees have the same name
+     */
+    public synchronized RosterUpdate upsert(List<Employee> employees) {
+        List<Employee> normalizedEmployees = normalize(employees);
+        if (rostersDirectory == null) {
+            return merge(getLatestRoster(), normalizedEmployees);
+        }
+        // The file lock excludes other JVMs, the synchronized method other threads of this JVM
+        try (FileChannel channel = FileChannel.open(rostersDirectory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            return merge(getLatestRoster(), normalizedEmployees);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed locking the employees directory (" + rostersDirectory + ").", e);
+        }
+    }
+
+    private RosterUpdate merge(EmployeeRoster latestRoster, List<Employee> changedEmployees) {
+        List<Employee> employees = new ArrayList<>(latestRoster.getEmployees());
+        int addedCount = 0;
+        int updatedCount = 0;
+        for (Employee changedEmployee : changedEmployees) {
+            Optional<Employee> employee = latestRoster.findEmployee(changedEmployee.getName());
+            if (employee.isEmpty()) {
+                employees.add(changedEmployee);
+                addedCount++;
+            } else if (!hasSameFacts(employee.get(), changedEmployee)) {
+                // The index of a roster employee is its position
+                employees.set(employee.get().getIndex(), changedEmployee);
+                updatedCount++;
+            }
+        }
+        if (addedCount == 0 && updatedCount == 0) {
+            return new RosterUpdate(latestRoster.getVersion(), employees.size(), 0, 0);
+        }
+        // Only indexes the new employees, the others already have their position as index
+        ScheduleIndexer.index(new EmployeeSchedule(employees, List.of()));
+        EmployeeRoster roster = new EmployeeRoster(latestRoster.getVersion() + 1, employees);
+        if (rostersDirectory != null) {
+            write(roster);
+            deleteFilesBefore(roster.getVersion() - retainedVersionCount + 1);
+        }
+        cache(roster);
+        return new RosterUpdate(roster.getVersion(), employees.size(), addedCount, updatedCount);
+    }
+
+    private static boolean hasSameFacts(Employee employee, Employee other) {
+        return Objects.equals(employee.getSkills(), other.getSkills())
+                && Objects.equals(employee.getUnavailableDates(), other.getUnavailableDates())
+                && Objects.equals(employee.getUndesiredDates(), other.getUndesiredDates())
+                && Objects.equals(employee.getDesiredDates(), other.getDesiredDates());
+    }
+
+    /**
+     * @return version 0 without employees if nothing was upserted yet
+     */
+    public synchronized EmployeeRoster getLatestRoster() {
+        if (rostersDirectory == null) {
+            return versionToRosterMap.isEmpty() ? EMPTY_ROSTER : versionToRosterMap.lastEntry().getValue();
+        }
+        long latestVersion = listVersions().stream().mapToLong(Long::longValue).max().orElse(0L);
+        return latestVersion == 0L ? EMPTY_ROSTER : getRoster(latestVersion).orElse(EMPTY_ROSTER);
+    }
+
+    /**
+     * @return empty if the version doesn't exist or isn't retained anymore
+     */
+    public synchronized Optional<EmployeeRoster> getRoster(long version) {
+        EmployeeRoster roster = versionToRosterMap.get(version);
+        if (roster != null || rostersDirectory == null) {
+            return Optional.ofNullable(roster);
+        }
+        Path file = rostersDirectory.resolve(version + ROSTER_SUFFIX);
+        List<Employee> employees;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            employees = objectMapper.readValue(in, new TypeReference<List<Employee>>() {
+            });
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading file (" + file + ").", e);
+        }
+        List<Employee> normalizedEmployees = normalize(employees);
+        ScheduleIndexer.index(new EmployeeSchedule(normalizedEmployees, List.of()));
+        roster = new EmployeeRoster(version, normalizedEmployees);
+        cache(roster);
+        return Optional.of(roster);
+    }
+
+    /**
+     * Replaces the employees of a schedule, of which only the names count,
+     * by the shared employees of a version and links its shifts to them.
+     * A schedule without employees gets every employee of the version.
+     *
+     * @return the same schedule
+     * @throws IllegalArgumentException if the version isn't retained or an employee isn't in it
+     */
+    public EmployeeSchedule resolve(EmployeeSchedule schedule, long version) {
+        EmployeeRoster roster = getRoster(version)
+                .orElseThrow(() -> new IllegalArgumentException("The employee registry has no version (" + version
+                        + "). The latest version is (" + getLatestRoster().getVersion() + ")."));
+        List<Employee> references = schedule.getEmployees();
+        List<Employee> employees;
+        if (references == null || references.isEmpty()) {
+            employees = new ArrayList<>(roster.getEmployees());
+        } else {
+            employees = new ArrayList<>(references.size());
+            Set<String> names = new HashSet<>(references.size() * 2);
+            for (Employee reference : references) {
+                Employee employee = roster.findEmployee(reference.getName())
+                        .orElseThrow(() -> new IllegalArgumentException("The employee (" + reference.getName()
+                                + ") isn't in version (" + version + ") of the employee registry."));
+                if (names.add(employee.getName())) {
+                    employees.add(employee);
+                }
+            }
+        }
+        schedule.setEmployees(employees);
+        // Relinks the shifts from the deserialized references to the shared employees
+        return ScheduleIndexer.index(schedule);
+    }
+
+    private static List<Employee> normalize(List<Employee> employees) {
+        if (employees == null) {
+            throw new IllegalArgumentException("The employees are missing.");
+        }
+        FactInterner interner = new FactInterner();
+        List<Employee> normalizedEmployees = new ArrayList<>(employees.size());
+        Set<String> names = new HashSet<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            if (employee == null || employee.getName() == null || employee.getName().isBlank()) {
+                throw new IllegalArgumentException("Every employee needs a name.");
+            }
+            String name = employee.getName();
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("The employee (" + name + ") is listed twice.");
+            }
+            try {
+                normalizedEmployees.add(new Employee(name, internAll(interner, employee.getSkills()),
+                        internAll(interner, employee.getUnavailableDates()),
+                        internAll(interner, employee.getUndesiredDates()),
+                        internAll(interner, employee.getDesiredDates())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("The employee (" + name + ") has a null skill or date.", e);
+            }
+        }
+        return normalizedEmployees;
+    }
+
+    private static <T> Set<T> internAll(FactInterner interner, Set<T> values) {
+        return values == null ? Set.of() : interner.internAll(values);
+    }
+
+    private void cache(EmployeeRoster roster) {
+        versionToRosterMap.put(roster.getVersion(), roster);
+        while (versionToRosterMap.size() > retainedVersionCount) {
+            versionToRosterMap.pollFirstEntry();
+        }
+    }
+
+    private List<Long> listVersions() {
+        List<Long> versions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(rostersDirectory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(ROSTER_SUFFIX))
+                    .forEach(fileName -> versions.add(
+                            Long.parseLong(fileName.substring(0, fileName.length() - ROSTER_SUFFIX.length()))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed listing the employees directory (" + rostersDirectory + ").", e);
+        }
+        return versions;
+    }
+
+    private void write(EmployeeRoster roster) {
+        Path file = rostersDirectory.resolve(roster.getVersion() + ROSTER_SUFFIX);
+        Path temporaryFile = null;
+        try {
+            // The temporary file doesn't end with the roster suffix, so it is never listed as a version
+            temporaryFile = Files.createTempFile(rostersDirectory, String.valueOf(roster.getVersion()), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                objectMapper.writeValue(out, roster.getEmployees());
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temporaryFile = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing file (" + file + ").", e);
+        } finally {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException e) {
+                    // Leave the temporary file behind, it is never read
+                }
+            }
+        }
+    }
+
+    private void deleteFilesBefore(long oldestRetainedVersion) {
+        for (long version : listVersions()) {
+            if (version < oldestRetainedVersion) {
+                try {
+                    Files.deleteIfExists(rostersDirectory.resolve(version + ROSTER_SUFFIX));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed deleting version (" + version + ") of the employees.", e);
+                }
+            }
+        }
+    }
+}
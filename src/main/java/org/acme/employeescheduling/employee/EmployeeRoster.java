@@ -0,0 +1,42 @@
+package org.acme.employeescheduling.employee;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.acme.employeescheduling.domain.Employee;
+
+/**
+ * A version of the employees in the {@link EmployeeRegistry}, which never changes.
+ * Its employees are indexed by their position and shared read-only by every schedule that references them.
+ */
+public final class EmployeeRoster {
+
+    private final long version;
+    private final List<Employee> employees;
+    private final Map<String, Employee> nameToEmployeeMap;
+
+    EmployeeRoster(long version, List<Employee> employees) {
+        this.version = version;
+        this.employees = List.copyOf(employees);
+        Map<String, Employee> nameToEmployeeMap = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            nameToEmployeeMap.put(employee.getName(), employee);
+        }
+        this.nameToEmployeeMap = Collections.unmodifiableMap(nameToEmployeeMap);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public Optional<Employee> findEmployee(String name) {
+        return Optional.ofNullable(nameToEmployeeMap.get(name));
+    }
+}
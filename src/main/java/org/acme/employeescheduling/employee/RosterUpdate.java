@@ -0,0 +1,10 @@
+package org.acme.employeescheduling.employee;
+
+/**
+ * The outcome of an upsert into the {@link EmployeeRegistry}.
+ *
+ * @param version the version that schedules reference to use the upserted employees,
+ *        the same as before if nothing changed
+ */
+public record RosterUpdate(long version, int employeeCount, int addedCount, int updatedCount) {
+}
@@ -0,0 +1,71 @@
+package org.acme.employeescheduling.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+/**
+ * Command line entry point that converts the CSV files of {@link EmployeeScheduleCsvReader}
+ * into the {@link EmployeeScheduleBinaryCodec binary schedule format},
+ * and either writes it to a file or submits it to a running instance.
+ * <p>
+ * Usage: {@code CsvImportCommand <employees.csv> <availability.csv|-> <shifts.csv> (--output <file> | --submit <url>)}
+ */
+public final class CsvImportCommand {
+
+    private CsvImportCommand() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 5 || !(args[3].equals("--output") || args[3].equals("--submit"))) {
+            System.err.println("Usage: CsvImportCommand <employees.csv> <availability.csv|-> <shifts.csv>"
+                    + " (--output <file> | --submit <url>)");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        EmployeeScheduleCsvReader reader = new EmployeeScheduleCsvReader();
+        try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+            reader.readEmployees(in);
+        }
+        if (!args[1].equals("-")) {
+            try (InputStream in = Files.newInputStream(Path.of(args[1]))) {
+                reader.readAvailability(in);
+            }
+        }
+        try (InputStream in = Files.newInputStream(Path.of(args[2]))) {
+            reader.readShifts(in);
+        }
+        EmployeeSchedule schedule = reader.toSchedule();
+        System.err.printf("Read %d employees and %d shifts in %d ms.%n",
+                schedule.getEmployees().size(), schedule.getShifts().size(), (System.nanoTime() - start) / 1_000_000);
+
+        if (args[3].equals("--output")) {
+            try (OutputStream out = Files.newOutputStream(Path.of(args[4]))) {
+                EmployeeScheduleBinaryCodec.write(schedule, out);
+            }
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        EmployeeScheduleBinaryCodec.write(schedule, body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(args[4]))
+                .header("Content-Type", EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            System.err.println("Submission failed with status " + response.statusCode() + ": " + response.body());
+            System.exit(1);
+        }
+        // The job ID
+        System.out.println(response.body());
+    }
+}
@@ -0,0 +1,424 @@
+package org.acme.employeescheduling.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleIndexer;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Compact binary representation of an {@link EmployeeSchedule}.
+ * <p>
+ * Employee names, skills and locations are written once into a string dictionary and referenced by index.
+ * Dates are written as delta-encoded epoch days, shift times as delta-encoded epoch minutes,
+ * and shift assignments as an index into the employee list.
+ * All numbers are written as variable-length integers.
+ * <p>
+ * Times are encoded with minute precision; encoding a shift with seconds fails instead of silently truncating.
+ */
+public final class EmployeeScheduleBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-employee-schedule";
+
+    private static final int MAGIC = 0x45534348; // "ESCH"
+    private static final int VERSION = 1;
+
+    private EmployeeScheduleBinaryCodec() {
+    }
+
+    public static void write(EmployeeSchedule schedule, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+
+        List<Employee> employees = schedule.getEmployees() == null ? List.of() : schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+
+        StringDictionary dictionary = new StringDictionary();
+        for (Employee employee : employees) {
+            dictionary.add(employee.getName());
+            if (employee.getSkills() != null) {
+                employee.getSkills().forEach(dictionary::add);
+            }
+        }
+        for (Shift shift : shifts) {
+            dictionary.add(shift.getLocation());
+            dictionary.add(shift.getRequiredSkill());
+        }
+        writeVarInt(out, dictionary.strings.size());
+        for (String string : dictionary.strings) {
+            writeString(out, string);
+        }
+
+        Map<Employee, Integer> employeeToIndexMap = new HashMap<>(employees.size() * 2);
+        writeVarInt(out, employees.size());
+        for (Employee employee : employees) {
+            employeeToIndexMap.put(employee, employeeToIndexMap.size());
+            writeVarInt(out, dictionary.indexOf(employee.getName()));
+            writeNullableCount(out, employee.getSkills());
+            if (employee.getSkills() != null) {
+                for (String skill : employee.getSkills()) {
+                    writeVarInt(out, dictionary.indexOf(skill));
+                }
+            }
+            writeDates(out, employee.getUnavailableDates());
+            writeDates(out, employee.getUndesiredDates());
+            writeDates(out, employee.getDesiredDates());
+        }
+
+        writeVarInt(out, shifts.size());
+        long previousStart = 0L;
+        for (Shift shift : shifts) {
+            writeNullableString(out, shift.getId());
+            long start = toEpochMinute(shift.getStart());
+            long end = toEpochMinute(shift.getEnd());
+            writeVarLong(out, zigZag(start - previousStart));
+            writeVarLong(out, zigZag(end - start));
+            previousStart = start;
+            writeVarInt(out, dictionary.indexOf(shift.getLocation()));
+            writeVarInt(out, dictionary.indexOf(shift.getRequiredSkill()));
+            if (shift.getEmployee() == null) {
+                writeVarInt(out, 0);
+            } else {
+                Integer employeeIndex = employeeToIndexMap.get(shift.getEmployee());
+                if (employeeIndex == null) {
+                    throw new IllegalArgumentException("The shift (" + shift.getId() + ") is assigned to employee ("
+                            + shift.getEmployee() + ") who is not in the schedule's employee list.");
+                }
+                writeVarInt(out, employeeIndex + 1);
+            }
+        }
+
+        writeNullableString(out, schedule.getScore() == null ? null : schedule.getScore().toString());
+        writeVarInt(out, schedule.getSolverStatus() == null ? 0 : schedule.getSolverStatus().ordinal() + 1);
+        out.flush();
+    }
+
+    /**
+     * Reads the whole input before decoding it, so every count and string length is checked
+     * against the remaining bytes before anything is allocated for it.
+     *
+     * @throws MalformedScheduleException if the input is not a valid binary employee schedule
+     */
+    public static EmployeeSchedule read(InputStream inputStream) throws IOException {
+        return read(inputStream.readAllBytes());
+    }
+
+    /**
+     * Like {@link #read(InputStream)}, but stops reading an input that is larger than the maximum,
+     * such as a request body, before it takes that much memory.
+     *
+     * @throws ScheduleTooLargeException if the input has more bytes than the maximum
+     * @throws MalformedScheduleException if the input is not a valid binary employee schedule
+     */
+    public static EmployeeSchedule read(InputStream inputStream, int maxByteCount) throws IOException {
+        if (maxByteCount < 0 || maxByteCount == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The maximum byte count (" + maxByteCount
+                    + ") must be between 0 and " + (Integer.MAX_VALUE - 1) + ".");
+        }
+        byte[] bytes = inputStream.readNBytes(maxByteCount + 1);
+        if (bytes.length > maxByteCount) {
+            throw new ScheduleTooLargeException("The binary employee schedule is larger than the maximum ("
+                    + maxByteCount + " bytes).");
+        }
+        return read(bytes);
+    }
+
+    private static EmployeeSchedule read(byte[] bytes) throws MalformedScheduleException {
+        Input in = new Input(bytes);
+        try {
+            return read(in);
+        } catch (DateTimeException | ArithmeticException | IllegalArgumentException e) {
+            // An out of range date or time, or an invalid score
+            throw new MalformedScheduleException("Invalid value at byte (" + in.position + "): " + e.getMessage(), e);
+        }
+    }
+
+    private static EmployeeSchedule read(Input in) throws MalformedScheduleException {
+        if (in.readInt() != MAGIC) {
+            throw new MalformedScheduleException("The input is not a binary employee schedule.");
+        }
+        int version = in.readVarInt();
+        if (version != VERSION) {
+            throw new MalformedScheduleException("Unsupported binary employee schedule version (" + version + ").");
+        }
+
+        // Every string takes at least its length byte
+        String[] dictionary = new String[in.readCount(1)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readString();
+        }
+
+        // Every employee takes at least its name and 4 null counts
+        int employeeCount = in.readCount(5);
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            String name = in.readIndexed(dictionary);
+            Set<String> skills = null;
+            int skillCount = in.readNullableCount();
+            if (skillCount >= 0) {
+                skills = new LinkedHashSet<>(skillCount * 2);
+                for (int j = 0; j < skillCount; j++) {
+                    skills.add(in.readIndexed(dictionary));
+                }
+            }
+            employees.add(new Employee(name, skills, readDates(in), readDates(in), readDates(in)));
+        }
+
+        // Every shift takes at least its null ID, 2 times, 2 strings and its employee
+        int shiftCount = in.readCount(6);
+        List<Shift> shifts = new ArrayList<>(shiftCount);
+        long previousStart = 0L;
+        for (int i = 0; i < shiftCount; i++) {
+            String id = in.readNullableString();
+            long start = Math.addExact(previousStart, unZigZag(in.readVarLong()));
+            long end = Math.addExact(start, unZigZag(in.readVarLong()));
+            previousStart = start;
+            String location = in.readIndexed(dictionary);
+            String requiredSkill = in.readIndexed(dictionary);
+            int employeeIndex = in.readVarInt() - 1;
+            if (employeeIndex >= employees.size()) {
+                throw new MalformedScheduleException("The shift (" + id + ") references employee (" + employeeIndex
+                        + ") of only (" + employees.size() + ") employees.");
+            }
+            Employee employee = employeeIndex < 0 ? null : employees.get(employeeIndex);
+            shifts.add(new Shift(id, fromEpochMinute(start), fromEpochMinute(end), location, requiredSkill, employee));
+        }
+
+        EmployeeSchedule schedule = ScheduleIndexer.index(new EmployeeSchedule(employees, shifts));
+        String score = in.readNullableString();
+        if (score != null) {
+            schedule.setScore(HardSoftBigDecimalScore.parseScore(score));
+        }
+        int solverStatus = in.readVarInt();
+        if (solverStatus > SolverStatus.values().length) {
+            throw new MalformedScheduleException("Unknown solver status (" + solverStatus + ").");
+        }
+        if (solverStatus > 0) {
+            schedule.setSolverStatus(SolverStatus.values()[solverStatus - 1]);
+        }
+        return schedule;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        if (dateTime.getSecond() != 0 || dateTime.getNano() != 0) {
+            throw new IllegalArgumentException("The time (" + dateTime + ") is not a whole minute.");
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60L;
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(Math.multiplyExact(epochMinute, 60L), 0, ZoneOffset.UTC);
+    }
+
+    private static void writeDates(DataOutputStream out, Set<LocalDate> dates) throws IOException {
+        writeNullableCount(out, dates);
+        if (dates == null) {
+            return;
+        }
+        long[] epochDays = new long[dates.size()];
+        int i = 0;
+        for (LocalDate date : dates) {
+            epochDays[i++] = date.toEpochDay();
+        }
+        Arrays.sort(epochDays);
+        long previous = 0L;
+        for (long epochDay : epochDays) {
+            writeVarLong(out, zigZag(epochDay - previous));
+            previous = epochDay;
+        }
+    }
+
+    private static Set<LocalDate> readDates(Input in) throws MalformedScheduleException {
+        int count = in.readNullableCount();
+        if (count < 0) {
+            return null;
+        }
+        Set<LocalDate> dates = new LinkedHashSet<>(count * 2);
+        long epochDay = 0L;
+        for (int i = 0; i < count; i++) {
+            epochDay = Math.addExact(epochDay, unZigZag(in.readVarLong()));
+            dates.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return dates;
+    }
+
+    private static void writeNullableCount(DataOutputStream out, Collection<?> collection) throws IOException {
+        writeVarInt(out, collection == null ? 0 : collection.size() + 1);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            writeString(out, string);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * The bytes of a binary schedule, read from start to end.
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position = 0;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        int readUnsignedByte() throws MalformedScheduleException {
+            if (position >= bytes.length) {
+                throw new MalformedScheduleException("Unexpected end of the input at byte (" + position + ").");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int readInt() throws MalformedScheduleException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readUnsignedByte();
+            }
+            return value;
+        }
+
+        boolean readBoolean() throws MalformedScheduleException {
+            return readUnsignedByte() != 0;
+        }
+
+        long readVarLong() throws MalformedScheduleException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new MalformedScheduleException("Malformed variable-length integer at byte (" + position + ").");
+        }
+
+        int readVarInt() throws MalformedScheduleException {
+            long value = readVarLong();
+            if (value < 0L || value > Integer.MAX_VALUE) {
+                throw new MalformedScheduleException("The integer (" + value + ") at byte (" + position
+                        + ") is out of range.");
+            }
+            return (int) value;
+        }
+
+        /**
+         * @param minimumElementSize the number of bytes that every element takes at least
+         */
+        int readCount(int minimumElementSize) throws MalformedScheduleException {
+            int count = readVarInt();
+            if (count > remaining() / minimumElementSize) {
+                throw new MalformedScheduleException("The count (" + count + ") at byte (" + position
+                        + ") exceeds the remaining input (" + remaining() + " bytes).");
+            }
+            return count;
+        }
+
+        /**
+         * @return -1 for null
+         */
+        int readNullableCount() throws MalformedScheduleException {
+            int count = readVarInt() - 1;
+            if (count > remaining()) {
+                throw new MalformedScheduleException("The count (" + count + ") at byte (" + position
+                        + ") exceeds the remaining input (" + remaining() + " bytes).");
+            }
+            return count;
+        }
+
+        String readIndexed(String[] dictionary) throws MalformedScheduleException {
+            int index = readVarInt();
+            if (index >= dictionary.length) {
+                throw new MalformedScheduleException("The string index (" + index + ") at byte (" + position
+                        + ") is outside the dictionary of (" + dictionary.length + ") strings.");
+            }
+            return dictionary[index];
+        }
+
+        String readString() throws MalformedScheduleException {
+            int length = readCount(1);
+            String string = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return string;
+        }
+
+        String readNullableString() throws MalformedScheduleException {
+            return readBoolean() ? readString() : null;
+        }
+    }
+
+    private static final class StringDictionary {
+
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringToIndexMap = new HashMap<>();
+
+        void add(String string) {
+            if (string == null) {
+                throw new IllegalArgumentException("The schedule contains a null name, skill or location.");
+            }
+            stringToIndexMap.computeIfAbsent(string, s -> {
+                strings.add(s);
+                return strings.size() - 1;
+            });
+        }
+
+        int indexOf(String string) {
+            return stringToIndexMap.get(string);
+        }
+    }
+}
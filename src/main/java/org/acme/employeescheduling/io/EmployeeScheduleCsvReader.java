@@ -0,0 +1,300 @@
+package org.acme.employeescheduling.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleIndexer;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Reads an {@link EmployeeSchedule} from flat CSV files, in a single buffered pass per file.
+ * <p>
+ * Every file starts with a header row that names its columns, in any order:
+ * <ul>
+ * <li>employees: {@code name[,skills]}, with the skills separated by {@code ;}</li>
+ * <li>availability: {@code employee,date,availability}, with availability {@code UNAVAILABLE}, {@code UNDESIRED}
+ * or {@code DESIRED}</li>
+ * <li>shifts: {@code id,start,end,location,requiredSkill[,employee]}, the format {@link EmployeeScheduleCsvWriter}
+ * exports</li>
+ * </ul>
+ * The columns in brackets are optional. A header with a missing, unknown or duplicate column is rejected,
+ * so a column is never read as another one. So is a duplicate shift ID or a shift that doesn't end after it starts.
+ * Locations, skills and timestamps repeat across many rows, so they are interned per import:
+ * each distinct value is parsed and stored only once.
+ * Employees must be read before availability and shifts, which refer to them by name.
+ */
+public class EmployeeScheduleCsvReader {
+
+    public static final String SKILL_SEPARATOR = ";";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final List<String> EMPLOYEE_COLUMNS = List.of("name", "skills");
+    private static final List<String> AVAILABILITY_COLUMNS = List.of("employee", "date", "availability");
+    private static final List<String> SHIFT_COLUMNS =
+            List.of("id", "start", "end", "location", "requiredSkill", "employee");
+
+    private final Map<String, Employee> nameToEmployeeMap = new LinkedHashMap<>();
+    private final List<Shift> shifts = new ArrayList<>();
+    private final Set<String> shiftIds = new HashSet<>();
+
+    private final Map<String, String> stringPool = new HashMap<>();
+    private final Map<String, LocalDate> datePool = new HashMap<>();
+    private final Map<String, LocalDateTime> dateTimePool = new HashMap<>();
+
+    public EmployeeScheduleCsvReader readEmployees(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = newReader(inputStream)) {
+            CsvLine line = new CsvLine("employees");
+            int[] columns = line.readHeader(reader, EMPLOYEE_COLUMNS, 1);
+            while (line.next(reader)) {
+                String name = line.field(columns[0]);
+                Set<String> skills = new LinkedHashSet<>();
+                String skillsField = line.optionalField(columns[1]);
+                if (!skillsField.isEmpty()) {
+                    for (String skill : skillsField.split(SKILL_SEPARATOR)) {
+                        skills.add(intern(skill.trim()));
+                    }
+                }
+                Employee employee = new Employee(name, skills,
+                        new LinkedHashSet<>(), new LinkedHashSet<>(), new LinkedHashSet<>());
+                if (nameToEmployeeMap.putIfAbsent(name, employee) != null) {
+                    throw line.error("Duplicate employee (" + name + ").");
+                }
+            }
+        }
+        return this;
+    }
+
+    public EmployeeScheduleCsvReader readAvailability(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = newReader(inputStream)) {
+            CsvLine line = new CsvLine("availability");
+            int[] columns = line.readHeader(reader, AVAILABILITY_COLUMNS, AVAILABILITY_COLUMNS.size());
+            while (line.next(reader)) {
+                Employee employee = findEmployee(line, line.field(columns[0]));
+                LocalDate date = datePool.computeIfAbsent(line.field(columns[1]), LocalDate::parse);
+                String availability = line.field(columns[2]);
+                switch (availability.toUpperCase(Locale.ROOT)) {
+                    case "UNAVAILABLE" -> employee.getUnavailableDates().add(date);
+                    case "UNDESIRED" -> employee.getUndesiredDates().add(date);
+                    case "DESIRED" -> employee.getDesiredDates().add(date);
+                    default -> throw line.error("Unknown availability (" + availability + ").");
+                }
+            }
+        }
+        return this;
+    }
+
+    public EmployeeScheduleCsvReader readShifts(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = newReader(inputStream)) {
+            CsvLine line = new CsvLine("shifts");
+            int[] columns = line.readHeader(reader, SHIFT_COLUMNS, SHIFT_COLUMNS.size() - 1);
+            while (line.next(reader)) {
+                String id = line.field(columns[0]);
+                if (!shiftIds.add(id)) {
+                    throw line.error("Duplicate shift (" + id + ").");
+                }
+                LocalDateTime start = dateTimePool.computeIfAbsent(line.field(columns[1]), LocalDateTime::parse);
+                LocalDateTime end = dateTimePool.computeIfAbsent(line.field(columns[2]), LocalDateTime::parse);
+                if (!end.isAfter(start)) {
+                    throw line.error("The shift (" + id + ") ends (" + end + ") before or when it starts ("
+                            + start + ").");
+                }
+                String employeeName = line.optionalField(columns[5]);
+                Employee employee = employeeName.isEmpty() ? null : findEmployee(line, employeeName);
+                shifts.add(new Shift(id, start, end,
+                        intern(line.field(columns[3])),
+                        intern(line.field(columns[4])),
+                        employee));
+            }
+        }
+        return this;
+    }
+
+    public EmployeeSchedule toSchedule() {
+        return ScheduleIndexer.index(new EmployeeSchedule(new ArrayList<>(nameToEmployeeMap.values()), shifts));
+    }
+
+    private Employee findEmployee(CsvLine line, String name) {
+        Employee employee = nameToEmployeeMap.get(name);
+        if (employee == null) {
+            throw line.error("Unknown employee (" + name + ").");
+        }
+        return employee;
+    }
+
+    private String intern(String value) {
+        String pooled = stringPool.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    private static BufferedReader newReader(InputStream inputStream) {
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Splits one row at a time into fields, reusing its buffers between rows.
+     * Supports double-quoted fields with {@code ""} escapes and line breaks,
+     * so it reads back whatever {@link EmployeeScheduleCsvWriter} quotes.
+     * Whitespace around a field is trimmed, but not whitespace inside its quotes.
+     */
+    private static final class CsvLine {
+
+        private final String fileName;
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private boolean fieldQuoted = false;
+        private long readLineCount = 0L;
+        // The first line of the current row, which errors refer to
+        private long lineNumber = 0L;
+
+        CsvLine(String fileName) {
+            this.fileName = fileName;
+        }
+
+        boolean next(BufferedReader reader) throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                readLineCount++;
+                lineNumber = readLineCount;
+                if (text == null) {
+                    return false;
+                }
+            } while (text.isBlank());
+            fields.clear();
+            field.setLength(0);
+            fieldQuoted = false;
+            boolean quoted = split(text, false);
+            while (quoted) {
+                text = reader.readLine();
+                if (text == null) {
+                    throw error("A quoted field isn't closed.");
+                }
+                readLineCount++;
+                quoted = split(text, true);
+            }
+            return true;
+        }
+
+        /**
+         * Reads the header row and finds the position of every column by its name, ignoring case.
+         *
+         * @param requiredCount the number of leading columns that the header must name
+         * @return the position of every column in the rows, or -1 for a missing optional column
+         */
+        int[] readHeader(BufferedReader reader, List<String> columns, int requiredCount) throws IOException {
+            if (!next(reader)) {
+                throw error("The file is empty, expected a header row (" + String.join(",", columns) + ").");
+            }
+            int[] positions = new int[columns.size()];
+            Arrays.fill(positions, -1);
+            for (int position = 0; position < fields.size(); position++) {
+                String name = fields.get(position);
+                int column = indexOfIgnoreCase(columns, name);
+                if (column < 0) {
+                    throw error("Unknown column (" + name + "), expected the columns ("
+                            + String.join(",", columns) + ").");
+                }
+                if (positions[column] >= 0) {
+                    throw error("Duplicate column (" + name + ").");
+                }
+                positions[column] = position;
+            }
+            for (int column = 0; column < requiredCount; column++) {
+                if (positions[column] < 0) {
+                    throw error("Missing column (" + columns.get(column) + ").");
+                }
+            }
+            return positions;
+        }
+
+        private static int indexOfIgnoreCase(List<String> columns, String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @param quoted whether the line continues a quoted field of the previous line
+         * @return whether the line ends inside a quoted field
+         */
+        private boolean split(String text, boolean quoted) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    if (!fieldQuoted) {
+                        // Drops the whitespace before the opening quote
+                        field.setLength(0);
+                    }
+                    quoted = true;
+                    fieldQuoted = true;
+                } else if (c == ',') {
+                    addField();
+                } else if (!fieldQuoted || !Character.isWhitespace(c)) {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                field.append('\n');
+            } else {
+                addField();
+            }
+            return quoted;
+        }
+
+        private void addField() {
+            fields.add(fieldQuoted ? field.toString() : field.toString().trim());
+            field.setLength(0);
+            fieldQuoted = false;
+        }
+
+        String field(int index) {
+            if (index >= fields.size()) {
+                throw error("Expected at least " + (index + 1) + " columns, but got " + fields.size() + ".");
+            }
+            return fields.get(index);
+        }
+
+        /**
+         * @return empty if the column is missing from the header or the row
+         */
+        String optionalField(int index) {
+            return index < 0 || index >= fields.size() ? "" : fields.get(index);
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid " + fileName + " CSV at line " + lineNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.employeescheduling.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Streams the shift assignments of an {@link EmployeeSchedule} as CSV,
+ * in the shifts format that {@link EmployeeScheduleCsvReader} reads back.
+ */
+public final class EmployeeScheduleCsvWriter {
+
+    public static final String MEDIA_TYPE = "text/csv";
+
+    private static final String SHIFT_HEADER = "id,start,end,location,requiredSkill,employee";
+
+    private EmployeeScheduleCsvWriter() {
+    }
+
+    public static void writeAssignments(EmployeeSchedule schedule, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+        writer.write(SHIFT_HEADER);
+        writer.write('\n');
+        for (Shift shift : schedule.getShifts()) {
+            writeField(writer, shift.getId());
+            writer.write(',');
+            writer.write(shift.getStart().toString());
+            writer.write(',');
+            writer.write(shift.getEnd().toString());
+            writer.write(',');
+            writeField(writer, shift.getLocation());
+            writer.write(',');
+            writeField(writer, shift.getRequiredSkill());
+            writer.write(',');
+            if (shift.getEmployee() != null) {
+                writeField(writer, shift.getEmployee().getName());
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * A reader would split a field with a separator or a line break, and trim one with whitespace around it.
+     */
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package org.acme.employeescheduling.io;
+
+import java.io.IOException;
+
+/**
+ * The input is not a valid {@link EmployeeScheduleBinaryCodec binary employee schedule},
+ * such as a truncated body or one with a count or index out of bounds.
+ */
+public class MalformedScheduleException extends IOException {
+
+    public MalformedScheduleException(String message) {
+        super(message);
+    }
+
+    public MalformedScheduleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
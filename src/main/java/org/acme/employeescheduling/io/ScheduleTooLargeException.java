@@ -0,0 +1,14 @@
+package org.acme.employeescheduling.io;
+
+import java.io.IOException;
+
+/**
+ * The input has more bytes than a {@link EmployeeScheduleBinaryCodec binary employee schedule} may have,
+ * so it was not read further.
+ */
+public class ScheduleTooLargeException extends IOException {
+
+    public ScheduleTooLargeException(String message) {
+        super(message);
+    }
+}
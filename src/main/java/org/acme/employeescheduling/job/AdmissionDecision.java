@@ -0,0 +1,20 @@
+package org.acme.employeescheduling.job;
+
+/**
+ * Whether {@link SolverJobScheduler} accepted a job.
+ */
+public enum AdmissionDecision {
+    /**
+     * The job started or waits in the queue.
+     */
+    ACCEPTED,
+    /**
+     * The memory estimate of the job exceeds the memory budget of the whole node,
+     * or so do the estimates of the jobs of a batch that can solve at the same time.
+     */
+    TOO_LARGE,
+    /**
+     * The queue is full.
+     */
+    QUEUE_FULL
+}
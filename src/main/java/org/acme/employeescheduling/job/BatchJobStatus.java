@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.job;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.TerminationReason;
+
+/**
+ * @param score null if the job has no solution yet
+ */
+public record BatchJobStatus(String jobId, JobState state, HardSoftBigDecimalScore score,
+        TerminationReason terminationReason, String errorMessage) {
+}
@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.job;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The progress of the jobs of a batch.
+ *
+ * @param stateCounts the number of jobs in each state
+ * @param feasibleCount the jobs of which the best solution so far is feasible
+ * @param jobs in the order of the schedules of the batch
+ */
+public record BatchStatus(String batchId, int jobCount, Map<JobState, Integer> stateCounts, int feasibleCount,
+        List<BatchJobStatus> jobs) {
+}
@@ -0,0 +1,285 @@
+package org.acme.employeescheduling.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * A schedule stored as the index of the employee of each shift plus the score.
+ * The problem facts are shared by every schedule of the same job,
+ * so each best solution costs one int per shift instead of a copy of every shift.
+ * <p>
+ * Immutable. {@link #toSchedule()} rebuilds a new {@link EmployeeSchedule} on every call,
+ * which the caller may modify.
+ * <p>
+ * A filtered read only rebuilds the shifts it returns.
+ * The facts index their shifts by start and by location on the first filtered read of the job,
+ * and each schedule indexes the shifts of each employee on its own first filtered read by employee,
+ * so such a read costs the binary search of the date range and the shifts it visits,
+ * not the size of the schedule.
+ */
+final class CompactSchedule {
+
+    private static final int UNASSIGNED = -1;
+
+    private final Facts facts;
+    private final int[] employeeIndexes;
+    private final HardSoftBigDecimalScore score;
+    // Built on the first read by employee, because the solution decides which shifts an employee has
+    private volatile int[][] employeeToShiftIndexes;
+
+    private CompactSchedule(Facts facts, int[] employeeIndexes, HardSoftBigDecimalScore score) {
+        this.facts = facts;
+        this.employeeIndexes = employeeIndexes;
+        this.score = score;
+    }
+
+    /**
+     * @param previous a schedule of the same job, of which the facts are reused if they match, or null
+     * @throws IllegalArgumentException if a shift is assigned to an employee who is not in the schedule
+     */
+    static CompactSchedule of(EmployeeSchedule schedule, CompactSchedule previous) {
+        List<Employee> employees = schedule.getEmployees() == null ? List.of() : schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+        Facts facts = previous != null && previous.facts.matches(employees, shifts)
+                ? previous.facts
+                : new Facts(employees, shifts);
+        int[] employeeIndexes = new int[shifts.size()];
+        for (int i = 0; i < employeeIndexes.length; i++) {
+            Shift shift = shifts.get(i);
+            Employee employee = shift.getEmployee();
+            if (employee == null) {
+                employeeIndexes[i] = UNASSIGNED;
+                continue;
+            }
+            employeeIndexes[i] = facts.indexOf(employee, shift);
+        }
+        return new CompactSchedule(facts, employeeIndexes, schedule.getScore());
+    }
+
+    EmployeeSchedule toSchedule() {
+        List<Shift> shifts = new ArrayList<>(facts.shifts.length);
+        for (int i = 0; i < facts.shifts.length; i++) {
+            shifts.add(toShift(i));
+        }
+        EmployeeSchedule schedule = new EmployeeSchedule(new ArrayList<>(facts.employees), shifts);
+        schedule.setScore(score);
+        return schedule;
+    }
+
+    /**
+     * @return a new schedule, which the caller may modify
+     */
+    EmployeeSchedule toSchedule(ScheduleQuery query) {
+        if (!query.isFiltered()) {
+            return toSchedule();
+        }
+        ShiftIndex shiftIndex = facts.getShiftIndex();
+        int[] candidateShiftIndexes;
+        if (query.employee() != null) {
+            Integer employeeIndex = shiftIndex.nameToEmployeeIndexMap.get(query.employee());
+            candidateShiftIndexes = employeeIndex == null
+                    ? new int[0]
+                    : getEmployeeToShiftIndexes(shiftIndex)[employeeIndex];
+        } else if (query.location() != null) {
+            candidateShiftIndexes = shiftIndex.locationToShiftIndexesMap.getOrDefault(query.location(), new int[0]);
+        } else {
+            candidateShiftIndexes = shiftIndex.shiftIndexesByStart;
+        }
+        // The candidates are sorted by start, so the date range is a slice of them
+        int fromPosition = query.from() == null
+                ? 0
+                : findFirstStartingFrom(candidateShiftIndexes,
+                        query.from().atStartOfDay().minus(shiftIndex.maxShiftDuration));
+        int toPosition = query.to() == null
+                ? candidateShiftIndexes.length
+                : findFirstStartingFrom(candidateShiftIndexes, query.to().plusDays(1).atStartOfDay());
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = fromPosition; i < toPosition; i++) {
+            Shift shift = toShift(candidateShiftIndexes[i]);
+            if (query.accepts(shift)) {
+                shifts.add(shift);
+            }
+        }
+        return query.toSchedule(shifts, score);
+    }
+
+    private Shift toShift(int shiftIndex) {
+        Shift fact = facts.shifts[shiftIndex];
+        int employeeIndex = employeeIndexes[shiftIndex];
+        Employee employee = employeeIndex == UNASSIGNED ? null : facts.employees.get(employeeIndex);
+        return new Shift(fact.getId(), fact.getStart(), fact.getEnd(), fact.getLocation(), fact.getRequiredSkill(),
+                employee);
+    }
+
+    private int findFirstStartingFrom(int[] shiftIndexes, LocalDateTime start) {
+        int low = 0;
+        int high = shiftIndexes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (facts.shifts[shiftIndexes[middle]].getStart().isBefore(start)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int[][] getEmployeeToShiftIndexes(ShiftIndex shiftIndex) {
+        int[][] employeeToShiftIndexes = this.employeeToShiftIndexes;
+        if (employeeToShiftIndexes == null) {
+            // Two concurrent first reads build equal indexes, so neither needs to wait for the other
+            int[] shiftCounts = new int[facts.employees.size()];
+            for (int employeeIndex : employeeIndexes) {
+                if (employeeIndex != UNASSIGNED) {
+                    shiftCounts[employeeIndex]++;
+                }
+            }
+            employeeToShiftIndexes = new int[shiftCounts.length][];
+            for (int i = 0; i < shiftCounts.length; i++) {
+                employeeToShiftIndexes[i] = new int[shiftCounts[i]];
+            }
+            int[] positions = new int[shiftCounts.length];
+            for (int shiftIndexByStart : shiftIndex.shiftIndexesByStart) {
+                int employeeIndex = employeeIndexes[shiftIndexByStart];
+                if (employeeIndex != UNASSIGNED) {
+                    employeeToShiftIndexes[employeeIndex][positions[employeeIndex]++] = shiftIndexByStart;
+                }
+            }
+            this.employeeToShiftIndexes = employeeToShiftIndexes;
+        }
+        return employeeToShiftIndexes;
+    }
+
+    HardSoftBigDecimalScore getScore() {
+        return score;
+    }
+
+    boolean sharesFactsWith(CompactSchedule other) {
+        return facts == other.facts;
+    }
+
+    /**
+     * The employees and the unassigned shifts of a job.
+     * The solver changes the employee of the shifts it is given, so the facts keep their own shifts.
+     */
+    private static final class Facts {
+
+        private final List<Employee> employees;
+        private final Map<Employee, Integer> employeeToIndexMap;
+        private final Shift[] shifts;
+        // Built on the first filtered read of the job
+        private volatile ShiftIndex shiftIndex;
+
+        private Facts(List<Employee> employees, List<Shift> shifts) {
+            this.employees = List.copyOf(employees);
+            employeeToIndexMap = new HashMap<>(employees.size() * 2);
+            for (int i = 0; i < employees.size(); i++) {
+                employeeToIndexMap.putIfAbsent(employees.get(i), i);
+            }
+            this.shifts = new Shift[shifts.size()];
+            for (int i = 0; i < this.shifts.length; i++) {
+                Shift shift = shifts.get(i);
+                this.shifts[i] = new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                        shift.getRequiredSkill(), null);
+            }
+        }
+
+        private ShiftIndex getShiftIndex() {
+            ShiftIndex shiftIndex = this.shiftIndex;
+            if (shiftIndex == null) {
+                // Concurrent first reads may each build it, which is cheaper than making every read wait
+                shiftIndex = new ShiftIndex(employees, shifts);
+                this.shiftIndex = shiftIndex;
+            }
+            return shiftIndex;
+        }
+
+        private int indexOf(Employee employee, Shift shift) {
+            // The index of an employee of an ingested schedule is its position, so the map is rarely needed
+            int employeeIndex = employee.getIndex();
+            if (employeeIndex >= 0 && employeeIndex < employees.size() && employees.get(employeeIndex) == employee) {
+                return employeeIndex;
+            }
+            Integer mappedIndex = employeeToIndexMap.get(employee);
+            if (mappedIndex == null) {
+                throw new IllegalArgumentException("The shift (" + shift.getId() + ") is assigned to employee ("
+                        + employee + ") who is not in the schedule's employee list.");
+            }
+            return mappedIndex;
+        }
+
+        /**
+         * Solutions are clones of the problem that share its employees and keep the order of its shifts.
+         */
+        private boolean matches(List<Employee> employees, List<Shift> shifts) {
+            if (employees.size() != this.employees.size() || shifts.size() != this.shifts.length) {
+                return false;
+            }
+            for (int i = 0; i < this.shifts.length; i++) {
+                if (!Objects.equals(shifts.get(i).getId(), this.shifts[i].getId())) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < employees.size(); i++) {
+                if (employees.get(i) != this.employees.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The shifts of a job by start and by location, each sorted by start, which no solution changes.
+     */
+    private static final class ShiftIndex {
+
+        private final int[] shiftIndexesByStart;
+        private final Map<String, int[]> locationToShiftIndexesMap;
+        private final Map<String, Integer> nameToEmployeeIndexMap;
+        // A shift that ends in a date range starts at most this long before it
+        private final Duration maxShiftDuration;
+
+        private ShiftIndex(List<Employee> employees, Shift[] shifts) {
+            shiftIndexesByStart = IntStream.range(0, shifts.length).boxed()
+                    .sorted(Comparator.comparing(shiftIndex -> shifts[shiftIndex].getStart()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            Map<String, List<Integer>> locationToShiftIndexListMap = new HashMap<>();
+            Duration maxShiftDuration = Duration.ZERO;
+            for (int shiftIndex : shiftIndexesByStart) {
+                Shift shift = shifts[shiftIndex];
+                if (shift.getLocation() != null) {
+                    locationToShiftIndexListMap.computeIfAbsent(shift.getLocation(), location -> new ArrayList<>())
+                            .add(shiftIndex);
+                }
+                Duration duration = Duration.between(shift.getStart(), shift.getEnd());
+                if (duration.compareTo(maxShiftDuration) > 0) {
+                    maxShiftDuration = duration;
+                }
+            }
+            this.maxShiftDuration = maxShiftDuration;
+            locationToShiftIndexesMap = new HashMap<>(locationToShiftIndexListMap.size() * 2);
+            locationToShiftIndexListMap.forEach((location, shiftIndexList) -> locationToShiftIndexesMap.put(location,
+                    shiftIndexList.stream().mapToInt(Integer::intValue).toArray()));
+            nameToEmployeeIndexMap = new HashMap<>(employees.size() * 2);
+            for (int i = 0; i < employees.size(); i++) {
+                nameToEmployeeIndexMap.putIfAbsent(employees.get(i).getName(), i);
+            }
+        }
+    }
+}
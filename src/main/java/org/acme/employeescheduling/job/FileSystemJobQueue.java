@@ -0,0 +1,178 @@
+package org.acme.employeescheduling.job;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A queue in a directory that several nodes share.
+ * <p>
+ * Each queued job is an empty file whose name sorts by priority, then by submission time.
+ * A node claims a job by atomically moving its file out of the queue directory:
+ * if several nodes try at once, only one move succeeds.
+ * <p>
+ * The claimed file stays until the job finishes, and its modification time is the lease of the claim,
+ * which the node renews while it solves the job.
+ * A claim that wasn't renewed for the lease duration, such as the claim of a node that died,
+ * is moved back to the queue with its original name, so the job keeps its place.
+ * The lease duration must be well above the poll interval of the nodes and the clock skew between them.
+ */
+public class FileSystemJobQueue implements JobQueue {
+
+    private final Path queueDirectory;
+    private final Path claimedDirectory;
+    private final Duration leaseDuration;
+    private final AtomicLong lastSubmissionMillis = new AtomicLong();
+    // The claimed files of the jobs that this node claimed
+    private final ConcurrentMap<String, Path> jobIdToClaimedFileMap = new ConcurrentHashMap<>();
+
+    public FileSystemJobQueue(Path directory, Duration leaseDuration) {
+        this.queueDirectory = directory.resolve("queue");
+        this.claimedDirectory = directory.resolve("claimed");
+        this.leaseDuration = leaseDuration;
+        try {
+            Files.createDirectories(queueDirectory);
+            Files.createDirectories(claimedDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed creating the queue directory (" + queueDirectory + ").", e);
+        }
+    }
+
+    @Override
+    public void offer(String jobId, JobPriority priority) {
+        // Strictly increasing on this node, so that jobs submitted in the same millisecond keep their order
+        long submissionMillis = lastSubmissionMillis.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        String fileName = String.format("%d-%019d-%s", priority.ordinal(), submissionMillis, jobId);
+        try {
+            Files.createFile(queueDirectory.resolve(fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed queueing jobId (" + jobId + ").", e);
+        }
+    }
+
+    @Override
+    public Optional<String> poll() {
+        for (Path file : listSorted(queueDirectory)) {
+            Path claimedFile = claimedDirectory.resolve(file.getFileName());
+            try {
+                // Starts the lease before the move, so that no node sees a claim with the submission time
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                Files.move(file, claimedFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Another node claimed it first
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed claiming file (" + file + ").", e);
+            }
+            String jobId = toJobId(file);
+            jobIdToClaimedFileMap.put(jobId, claimedFile);
+            return Optional.of(jobId);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean renew(String jobId) {
+        Path claimedFile = jobIdToClaimedFileMap.get(jobId);
+        if (claimedFile == null) {
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(claimedFile, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            // Another node put it back in the queue
+            jobIdToClaimedFileMap.remove(jobId);
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed renewing the claim of file (" + claimedFile + ").", e);
+        }
+    }
+
+    @Override
+    public void release(String jobId) {
+        Path claimedFile = jobIdToClaimedFileMap.remove(jobId);
+        if (claimedFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(claimedFile);
+        } catch (IOException e) {
+            // Expires and comes back to the queue, where the finished job is dropped when it's claimed again
+        }
+    }
+
+    @Override
+    public List<String> reclaimExpired() {
+        long expiryMillis = System.currentTimeMillis() - leaseDuration.toMillis();
+        List<String> jobIds = new ArrayList<>();
+        for (Path claimedFile : listSorted(claimedDirectory)) {
+            try {
+                if (Files.getLastModifiedTime(claimedFile).toMillis() >= expiryMillis) {
+                    continue;
+                }
+                Files.move(claimedFile, queueDirectory.resolve(claimedFile.getFileName()),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Released, or another node put it back first
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed reclaiming file (" + claimedFile + ").", e);
+            }
+            String jobId = toJobId(claimedFile);
+            jobIdToClaimedFileMap.remove(jobId);
+            jobIds.add(jobId);
+        }
+        return jobIds;
+    }
+
+    @Override
+    public boolean remove(String jobId) {
+        for (Path file : listSorted(queueDirectory)) {
+            if (toJobId(file).equals(jobId)) {
+                try {
+                    return Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed removing file (" + file + ").", e);
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return listSorted(queueDirectory).size();
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    private static List<Path> listSorted(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed listing the directory (" + directory + ").", e);
+        }
+    }
+
+    private static String toJobId(Path file) {
+        String fileName = file.getFileName().toString();
+        // The job ID follows the priority and the submission time
+        return fileName.substring(fileName.indexOf('-', fileName.indexOf('-') + 1) + 1);
+    }
+}
@@ -0,0 +1,176 @@
+package org.acme.employeescheduling.job;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.io.EmployeeScheduleBinaryCodec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores the jobs in a directory that several nodes share, such as a network file system,
+ * or several JVMs on one machine.
+ * <p>
+ * Each job has a JSON record file and a schedule file in the compact binary format.
+ * Each batch has a JSON file with the IDs of its jobs.
+ * Files are replaced atomically, so readers never see a partially written file,
+ * and record updates are serialized across JVMs by a file lock per job.
+ */
+public class FileSystemJobRegistry implements JobRegistry {
+
+    private static final String RECORD_SUFFIX = ".json";
+    private static final String SCHEDULE_SUFFIX = ".schedule";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String BATCH_SUFFIX = ".batch";
+
+    private final Path jobsDirectory;
+    private final ObjectMapper objectMapper;
+
+    public FileSystemJobRegistry(Path directory, ObjectMapper objectMapper) {
+        this.jobsDirectory = directory.resolve("jobs");
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(jobsDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed creating the jobs directory (" + jobsDirectory + ").", e);
+        }
+    }
+
+    @Override
+    public void putRecord(JobRecord record) {
+        writeAtomically(record.jobId(), RECORD_SUFFIX, out -> objectMapper.writeValue(out, record));
+    }
+
+    @Override
+    public Optional<JobRecord> getRecord(String jobId) {
+        return read(jobId, RECORD_SUFFIX, in -> objectMapper.readValue(in, JobRecord.class));
+    }
+
+    @Override
+    public synchronized Optional<JobRecord> updateRecord(String jobId, UnaryOperator<JobRecord> update) {
+        // The file lock excludes other JVMs, the synchronized method other threads of this JVM
+        try (FileChannel channel = FileChannel.open(resolve(jobId, LOCK_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            Optional<JobRecord> record = getRecord(jobId);
+            if (record.isEmpty()) {
+                return Optional.empty();
+            }
+            JobRecord updatedRecord = update.apply(record.get());
+            putRecord(updatedRecord);
+            return Optional.of(updatedRecord);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed locking jobId (" + jobId + ").", e);
+        }
+    }
+
+    @Override
+    public void putSchedule(String jobId, EmployeeSchedule schedule) {
+        writeAtomically(jobId, SCHEDULE_SUFFIX, out -> EmployeeScheduleBinaryCodec.write(schedule, out));
+    }
+
+    @Override
+    public Optional<EmployeeSchedule> getSchedule(String jobId) {
+        return read(jobId, SCHEDULE_SUFFIX, EmployeeScheduleBinaryCodec::read);
+    }
+
+    @Override
+    public Collection<String> getJobIds() {
+        List<String> jobIds = new ArrayList<>();
+        try (Stream<Path> files = Files.list(jobsDirectory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(RECORD_SUFFIX))
+                    .forEach(fileName -> jobIds.add(fileName.substring(0, fileName.length() - RECORD_SUFFIX.length())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed listing the jobs directory (" + jobsDirectory + ").", e);
+        }
+        return jobIds;
+    }
+
+    @Override
+    public void putBatch(String batchId, List<String> jobIds) {
+        writeAtomically(batchId, BATCH_SUFFIX, out -> objectMapper.writeValue(out, jobIds));
+    }
+
+    @Override
+    public Optional<List<String>> getBatch(String batchId) {
+        return read(batchId, BATCH_SUFFIX, in -> List.of(objectMapper.readValue(in, String[].class)));
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    private Path resolve(String jobId, String suffix) {
+        // Job IDs are generated UUIDs, but never let a path escape the directory
+        if (jobId.contains("/") || jobId.contains("\\") || jobId.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid jobId (" + jobId + ").");
+        }
+        return jobsDirectory.resolve(jobId + suffix);
+    }
+
+    private void writeAtomically(String jobId, String suffix, Writer writer) {
+        Path file = resolve(jobId, suffix);
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(jobsDirectory, jobId, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                writer.write(out);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temporaryFile = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing file (" + file + ").", e);
+        } finally {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException e) {
+                    // Leave the temporary file behind, it is never read
+                }
+            }
+        }
+    }
+
+    private <T> Optional<T> read(String jobId, String suffix, Reader<T> reader) {
+        Path file = resolve(jobId, suffix);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return Optional.of(reader.read(in));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading file (" + file + ").", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+
+        void write(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        T read(InputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,60 @@
+package org.acme.employeescheduling.job;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * The queue of a single node.
+ */
+public class InMemoryJobQueue implements JobQueue {
+
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>(
+            Comparator.comparing(Entry::priority).thenComparingLong(Entry::sequence));
+    private long nextSequence = 0L;
+
+    @Override
+    public synchronized void offer(String jobId, JobPriority priority) {
+        entries.add(new Entry(jobId, priority, nextSequence++));
+    }
+
+    @Override
+    public synchronized Optional<String> poll() {
+        Entry entry = entries.poll();
+        return entry == null ? Optional.empty() : Optional.of(entry.jobId);
+    }
+
+    @Override
+    public boolean renew(String jobId) {
+        // Only this node claims jobs, so a claim never expires
+        return true;
+    }
+
+    @Override
+    public void release(String jobId) {
+    }
+
+    @Override
+    public List<String> reclaimExpired() {
+        return List.of();
+    }
+
+    @Override
+    public synchronized boolean remove(String jobId) {
+        return entries.removeIf(entry -> entry.jobId.equals(jobId));
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    private record Entry(String jobId, JobPriority priority, long sequence) {
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.employeescheduling.job;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+/**
+ * Keeps the jobs of a single node in memory.
+ * Schedules are stored as {@link CompactSchedule}s, so every retained job keeps its problem facts once
+ * and its latest schedule as one int per shift.
+ */
+public class InMemoryJobRegistry implements JobRegistry {
+
+    // TODO: Without any "time to live", the maps may eventually grow out of memory.
+    private final ConcurrentMap<String, JobRecord> jobIdToRecord = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompactSchedule> jobIdToSchedule = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<String>> batchIdToJobIds = new ConcurrentHashMap<>();
+
+    @Override
+    public void putRecord(JobRecord record) {
+        jobIdToRecord.put(record.jobId(), record);
+    }
+
+    @Override
+    public Optional<JobRecord> getRecord(String jobId) {
+        return Optional.ofNullable(jobIdToRecord.get(jobId));
+    }
+
+    @Override
+    public Optional<JobRecord> updateRecord(String jobId, UnaryOperator<JobRecord> update) {
+        return Optional.ofNullable(jobIdToRecord.computeIfPresent(jobId, (id, record) -> update.apply(record)));
+    }
+
+    @Override
+    public void putSchedule(String jobId, EmployeeSchedule schedule) {
+        jobIdToSchedule.compute(jobId, (id, previous) -> CompactSchedule.of(schedule, previous));
+    }
+
+    @Override
+    public Optional<EmployeeSchedule> getSchedule(String jobId) {
+        return Optional.ofNullable(jobIdToSchedule.get(jobId)).map(CompactSchedule::toSchedule);
+    }
+
+    @Override
+    public Optional<EmployeeSchedule> getSchedule(String jobId, ScheduleQuery query) {
+        return Optional.ofNullable(jobIdToSchedule.get(jobId)).map(schedule -> schedule.toSchedule(query));
+    }
+
+    @Override
+    public Optional<HardSoftBigDecimalScore> getScore(String jobId) {
+        return Optional.ofNullable(jobIdToSchedule.get(jobId)).map(CompactSchedule::getScore);
+    }
+
+    @Override
+    public Collection<String> getJobIds() {
+        return jobIdToRecord.keySet();
+    }
+
+    @Override
+    public void putBatch(String batchId, List<String> jobIds) {
+        batchIdToJobIds.put(batchId, List.copyOf(jobIds));
+    }
+
+    @Override
+    public Optional<List<String>> getBatch(String batchId) {
+        return Optional.ofNullable(batchIdToJobIds.get(batchId));
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package org.acme.employeescheduling.job;
+
+/**
+ * The priority class of a solving job. Queued jobs of a higher class always start first.
+ */
+public enum JobPriority {
+    /**
+     * A replan that someone is waiting for, such as after a sick call.
+     */
+    URGENT,
+    NORMAL,
+    /**
+     * A large planning run that can wait, such as a quarterly schedule.
+     */
+    BATCH
+}
@@ -0,0 +1,52 @@
+package org.acme.employeescheduling.job;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The jobs that no node has claimed yet.
+ * Higher priorities are claimed first, then the oldest job.
+ */
+public interface JobQueue {
+
+    void offer(String jobId, JobPriority priority);
+
+    /**
+     * Claims the next job. Every job is claimed by one node only,
+     * which holds its claim until it {@link #release releases} it or stops {@link #renew renewing} it.
+     */
+    Optional<String> poll();
+
+    /**
+     * Extends the claim on a job that this node solves.
+     *
+     * @return false if the claim expired and went back to the queue, so another node may solve the job
+     */
+    boolean renew(String jobId);
+
+    /**
+     * Ends the claim on a job, once it finished or before it goes back to the queue.
+     */
+    void release(String jobId);
+
+    /**
+     * Puts the jobs of which the claim expired back in the queue, such as the jobs of a node that died.
+     *
+     * @return the jobs that this node put back, which no other node put back at the same time
+     */
+    List<String> reclaimExpired();
+
+    /**
+     * @return true if the job was still unclaimed
+     */
+    boolean remove(String jobId);
+
+    int size();
+
+    /**
+     * If true, other nodes consume the same queue,
+     * so a node only claims a job when it can start solving it at once.
+     * Otherwise, a node claims every job and leaves the order to its {@link SolverJobScheduler}.
+     */
+    boolean isShared();
+}
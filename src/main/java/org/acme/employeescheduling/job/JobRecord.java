@@ -0,0 +1,50 @@
+package org.acme.employeescheduling.job;
+
+import org.acme.employeescheduling.domain.TerminationReason;
+import org.acme.employeescheduling.solver.TerminationOptions;
+
+/**
+ * Everything about a solving job except its schedule.
+ *
+ * @param hardFirst solve in stages, see {@link org.acme.employeescheduling.solver.StagedSolving}
+ * @param sizeClass the {@link org.acme.employeescheduling.solver.tuning.SizeClass} of the tuned solver configuration
+ *        to solve with, null for {@code solverConfig.xml}
+ * @param nodeId the node that claimed the job from the {@link JobQueue}, null while nobody did
+ * @param terminationRequested a client asked to terminate the job, on whatever node
+ * @param errorMessage the message of the exception that made the job fail
+ */
+public record JobRecord(String jobId, String tenant, JobPriority priority, TerminationOptions terminationOptions,
+        boolean hardFirst, String sizeClass, JobState state, String nodeId, boolean terminationRequested,
+        TerminationReason terminationReason, String errorMessage) {
+
+    public static JobRecord queued(String jobId, String tenant, JobPriority priority,
+            TerminationOptions terminationOptions, boolean hardFirst, String sizeClass) {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, JobState.QUEUED,
+                null, false, null, null);
+    }
+
+    public JobRecord withNodeId(String nodeId) {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, state, nodeId,
+                terminationRequested, terminationReason, errorMessage);
+    }
+
+    public JobRecord withState(JobState state) {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, state, nodeId,
+                terminationRequested, terminationReason, errorMessage);
+    }
+
+    public JobRecord withTerminationRequested() {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, state, nodeId,
+                true, terminationReason, errorMessage);
+    }
+
+    public JobRecord finished(TerminationReason terminationReason) {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, JobState.FINISHED,
+                nodeId, terminationRequested, terminationReason, null);
+    }
+
+    public JobRecord failed(String errorMessage) {
+        return new JobRecord(jobId, tenant, priority, terminationOptions, hardFirst, sizeClass, JobState.FAILED,
+                nodeId, terminationRequested, null, errorMessage);
+    }
+}
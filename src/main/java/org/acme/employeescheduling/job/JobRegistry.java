@@ -0,0 +1,75 @@
+package org.acme.employeescheduling.job;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+/**
+ * Stores the record and the latest schedule of every job, so that any node can serve any job ID.
+ * The schedule is the problem until the solving node publishes a solution.
+ */
+public interface JobRegistry {
+
+    void putRecord(JobRecord record);
+
+    Optional<JobRecord> getRecord(String jobId);
+
+    /**
+     * Atomically replaces a record, also when other nodes update it concurrently.
+     *
+     * @return the updated record, or empty if there is no such job
+     */
+    Optional<JobRecord> updateRecord(String jobId, UnaryOperator<JobRecord> update);
+
+    /**
+     * @throws IllegalArgumentException if the schedule can't be stored
+     */
+    void putSchedule(String jobId, EmployeeSchedule schedule);
+
+    /**
+     * @return a new schedule on every call, which the caller may modify
+     */
+    Optional<EmployeeSchedule> getSchedule(String jobId);
+
+    /**
+     * The shifts of the latest schedule that the query accepts,
+     * without rebuilding the whole schedule if the registry can avoid it.
+     *
+     * @return a new schedule on every call, which the caller may modify
+     */
+    default Optional<EmployeeSchedule> getSchedule(String jobId, ScheduleQuery query) {
+        return getSchedule(jobId).map(query::apply);
+    }
+
+    /**
+     * The score of the latest schedule, without rebuilding the schedule if the registry can avoid it.
+     *
+     * @return empty if there is no such job or the schedule has no score yet
+     */
+    default Optional<HardSoftBigDecimalScore> getScore(String jobId) {
+        return getSchedule(jobId).map(EmployeeSchedule::getScore);
+    }
+
+    Collection<String> getJobIds();
+
+    /**
+     * @param jobIds the jobs of the batch, in the order that they were submitted in
+     */
+    void putBatch(String batchId, List<String> jobIds);
+
+    /**
+     * @return the job IDs of the batch, or empty if there is no such batch
+     */
+    Optional<List<String>> getBatch(String batchId);
+
+    /**
+     * If true, other nodes read the same jobs, so reads go to shared storage and can block.
+     * Otherwise, every read is a lookup in memory.
+     */
+    boolean isShared();
+}
@@ -0,0 +1,24 @@
+package org.acme.employeescheduling.job;
+
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+/**
+ * The lifecycle of a solving job, shared by every node through the {@link JobRegistry}.
+ */
+public enum JobState {
+    /**
+     * Waiting for a node with a free solver.
+     */
+    QUEUED,
+    SOLVING,
+    FINISHED,
+    FAILED;
+
+    public SolverStatus toSolverStatus() {
+        return switch (this) {
+            case QUEUED -> SolverStatus.SOLVING_SCHEDULED;
+            case SOLVING -> SolverStatus.SOLVING_ACTIVE;
+            case FINISHED, FAILED -> SolverStatus.NOT_SOLVING;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package org.acme.employeescheduling.job;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Selects the {@link JobRegistry} and {@link JobQueue} implementations.
+ * The default keeps every job on one node.
+ */
+@ApplicationScoped
+public class JobStoreProducer {
+
+    @ConfigProperty(name = "employee-scheduling.cluster.store", defaultValue = "memory")
+    JobStoreType storeType;
+
+    @ConfigProperty(name = "employee-scheduling.cluster.directory", defaultValue = "employee-scheduling-cluster")
+    String directory;
+
+    @ConfigProperty(name = "employee-scheduling.cluster.lease-duration", defaultValue = "30s")
+    Duration leaseDuration;
+
+    @Produces
+    @ApplicationScoped
+    JobRegistry jobRegistry(ObjectMapper objectMapper) {
+        return switch (storeType) {
+            case MEMORY -> new InMemoryJobRegistry();
+            case FILESYSTEM -> new FileSystemJobRegistry(Path.of(directory), objectMapper);
+        };
+    }
+
+    @Produces
+    @ApplicationScoped
+    JobQueue jobQueue() {
+        return switch (storeType) {
+            case MEMORY -> new InMemoryJobQueue();
+            case FILESYSTEM -> new FileSystemJobQueue(Path.of(directory), leaseDuration);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.job;
+
+/**
+ * Where the {@link JobRegistry} and the {@link JobQueue} live.
+ */
+public enum JobStoreType {
+    /**
+     * In the memory of a single node.
+     */
+    MEMORY,
+    /**
+     * In a directory shared by every node of the cluster.
+     */
+    FILESYSTEM
+}
@@ -0,0 +1,196 @@
+package org.acme.employeescheduling.job;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+
+/**
+ * Traces the lifecycle of the jobs on this node, every span with the {@link #JOB_ID} attribute:
+ * a job span from the request that submitted the job until it finishes, and within it
+ * the wait in the queues, a span per solver run with a span per phase,
+ * and a span per publication of a best solution to the {@link JobRegistry}.
+ * <p>
+ * The phases come from the public events of the solver manager:
+ * the construction heuristic lasts until the first initialized solution, the local search until the end of the run.
+ * Each phase span has the best score at its end.
+ * <p>
+ * With a shared {@link JobQueue}, the job span of the submitting node ends as soon as the job is queued,
+ * because any node may claim it. The node that claims the job starts another job span,
+ * without a parent, because the job record doesn't keep the trace of the request.
+ */
+@ApplicationScoped
+public class JobTracing {
+
+    public static final AttributeKey<String> JOB_ID = AttributeKey.stringKey("employee-scheduling.job.id");
+    public static final AttributeKey<String> STAGE = AttributeKey.stringKey("employee-scheduling.job.stage");
+    public static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("employee-scheduling.job.outcome");
+    public static final AttributeKey<String> BEST_SCORE =
+            AttributeKey.stringKey("employee-scheduling.solver.best-score");
+
+    private final Tracer tracer;
+
+    private final ConcurrentMap<String, TracedJob> jobIdToTracedJob = new ConcurrentHashMap<>();
+
+    @Inject
+    public JobTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Call on the thread of the request that submitted the job, so its span becomes the parent of the job span.
+     */
+    void onSubmitted(String jobId) {
+        Span.current().setAttribute(JOB_ID, jobId);
+        jobIdToTracedJob.computeIfAbsent(jobId, key -> new TracedJob(jobId, Context.current()));
+    }
+
+    void onClaimed(String jobId) {
+        jobIdToTracedJob.computeIfAbsent(jobId, key -> new TracedJob(jobId, Context.root()));
+    }
+
+    /**
+     * Call on the thread that solves, right before the solver starts, such as from the problem finder.
+     *
+     * @param stage "hard-first" for the first stage of {@link org.acme.employeescheduling.solver.StagedSolving},
+     *        otherwise "final"
+     */
+    void onSolvingStarted(String jobId, String stage) {
+        TracedJob tracedJob = jobIdToTracedJob.get(jobId);
+        if (tracedJob != null) {
+            tracedJob.startRun(stage);
+        }
+    }
+
+    void onFirstInitializedSolution(String jobId, EmployeeSchedule solution) {
+        TracedJob tracedJob = jobIdToTracedJob.get(jobId);
+        if (tracedJob != null) {
+            tracedJob.startLocalSearch(solution);
+        }
+    }
+
+    void onSolvingEnded(String jobId, EmployeeSchedule solution) {
+        TracedJob tracedJob = jobIdToTracedJob.get(jobId);
+        if (tracedJob != null) {
+            tracedJob.endRun(solution);
+        }
+    }
+
+    /**
+     * @param publication writes the solution to the job registry
+     */
+    void tracePublication(String jobId, EmployeeSchedule solution, Runnable publication) {
+        TracedJob tracedJob = jobIdToTracedJob.get(jobId);
+        if (tracedJob == null) {
+            publication.run();
+            return;
+        }
+        Span span = tracer.spanBuilder("publish best solution")
+                .setParent(Context.root().with(tracedJob.jobSpan))
+                .setAttribute(JOB_ID, jobId)
+                .setAttribute(BEST_SCORE, String.valueOf(solution.getScore()))
+                .startSpan();
+        try {
+            publication.run();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * @param outcome such as the termination reason, or the reason that this node doesn't solve the job (anymore)
+     */
+    void onFinished(String jobId, String outcome) {
+        TracedJob tracedJob = jobIdToTracedJob.remove(jobId);
+        if (tracedJob != null) {
+            tracedJob.end(outcome);
+        }
+    }
+
+    private final class TracedJob {
+
+        private final String jobId;
+        private final Span jobSpan;
+        // Guarded by this
+        private Span queueSpan;
+        private Span runSpan;
+        private Span phaseSpan;
+
+        private TracedJob(String jobId, Context parent) {
+            this.jobId = jobId;
+            jobSpan = tracer.spanBuilder("job")
+                    .setParent(parent)
+                    .setAttribute(JOB_ID, jobId)
+                    .startSpan();
+            queueSpan = startChild(jobSpan, "queue wait");
+        }
+
+        private Span startChild(Span parent, String name) {
+            return tracer.spanBuilder(name)
+                    .setParent(Context.root().with(parent))
+                    .setAttribute(JOB_ID, jobId)
+                    .startSpan();
+        }
+
+        synchronized void startRun(String stage) {
+            if (queueSpan != null) {
+                queueSpan.end();
+                queueSpan = null;
+            }
+            endRun(null);
+            runSpan = startChild(jobSpan, "solve");
+            runSpan.setAttribute(STAGE, stage);
+            phaseSpan = startChild(runSpan, "construction heuristic");
+        }
+
+        synchronized void startLocalSearch(EmployeeSchedule solution) {
+            if (runSpan == null) {
+                return;
+            }
+            endPhase(solution);
+            phaseSpan = startChild(runSpan, "local search");
+        }
+
+        /**
+         * @param solution null if unknown
+         */
+        synchronized void endRun(EmployeeSchedule solution) {
+            endPhase(solution);
+            if (runSpan != null) {
+                runSpan.end();
+                runSpan = null;
+            }
+        }
+
+        private void endPhase(EmployeeSchedule solution) {
+            if (phaseSpan != null) {
+                if (solution != null) {
+                    phaseSpan.setAttribute(BEST_SCORE, String.valueOf(solution.getScore()));
+                }
+                phaseSpan.end();
+                phaseSpan = null;
+            }
+        }
+
+        synchronized void end(String outcome) {
+            if (queueSpan != null) {
+                queueSpan.end();
+                queueSpan = null;
+            }
+            endRun(null);
+            jobSpan.setAttribute(OUTCOME, outcome);
+            jobSpan.end();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.acme.employeescheduling.job;
+
+/**
+ * @param oldestWaitMillis how long the longest queued job has been waiting, 0 if none
+ * @param averageWaitMillis the average time that the started jobs waited in the queue
+ */
+public record PriorityQueueStatus(JobPriority priority, int queuedJobCount, long oldestWaitMillis,
+        long averageWaitMillis, long startedJobCount) {
+}
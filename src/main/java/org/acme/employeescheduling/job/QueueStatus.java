@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.job;
+
+import java.util.List;
+
+/**
+ * A snapshot of the {@link SolverJobScheduler}.
+ *
+ * @param reservedMemoryBytes the sum of the memory estimates of the running jobs
+ */
+public record QueueStatus(int maxConcurrentSolves, int runningJobCount, int queuedJobCount,
+        long memoryBudgetBytes, long reservedMemoryBytes, List<PriorityQueueStatus> priorities) {
+}
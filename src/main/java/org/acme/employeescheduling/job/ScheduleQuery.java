@@ -0,0 +1,79 @@
+package org.acme.employeescheduling.job;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Restricts a schedule read to the shifts of one employee, one location and/or a date range.
+ * Every criterion is optional; a shift is in the inclusive date range if it starts or ends in it.
+ * <p>
+ * The schedule of a filtered read only has the employees of its shifts, and its shifts are ordered by start.
+ */
+public record ScheduleQuery(String employee, String location, LocalDate from, LocalDate to) {
+
+    public static final ScheduleQuery ALL = new ScheduleQuery(null, null, null, null);
+
+    public ScheduleQuery {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("The from date (" + from + ") is after the to date (" + to + ").");
+        }
+    }
+
+    public boolean isFiltered() {
+        return employee != null || location != null || from != null || to != null;
+    }
+
+    public boolean accepts(Shift shift) {
+        return (employee == null || shift.getEmployee() != null && employee.equals(shift.getEmployee().getName()))
+                && (location == null || location.equals(shift.getLocation()))
+                && (from == null || !shift.getEnd().toLocalDate().isBefore(from))
+                && (to == null || !shift.getStart().toLocalDate().isAfter(to));
+    }
+
+    /**
+     * Filters a whole schedule, which costs the size of the schedule.
+     * The schedule isn't modified, so it can be the live best solution of a job.
+     *
+     * @return the same schedule if the query doesn't filter,
+     *         otherwise a new schedule that shares its shifts and employees with the given one
+     */
+    public EmployeeSchedule apply(EmployeeSchedule schedule) {
+        if (!isFiltered()) {
+            return schedule;
+        }
+        List<Shift> shifts = new ArrayList<>();
+        for (Shift shift : schedule.getShifts() == null ? List.<Shift> of() : schedule.getShifts()) {
+            if (accepts(shift)) {
+                shifts.add(shift);
+            }
+        }
+        shifts.sort(Comparator.comparing(Shift::getStart));
+        return toSchedule(shifts, schedule.getScore());
+    }
+
+    /**
+     * @param shifts the accepted shifts, ordered by start
+     */
+    EmployeeSchedule toSchedule(List<Shift> shifts, HardSoftBigDecimalScore score) {
+        Map<String, Employee> nameToEmployeeMap = new LinkedHashMap<>();
+        for (Shift shift : shifts) {
+            Employee employee = shift.getEmployee();
+            if (employee != null) {
+                nameToEmployeeMap.putIfAbsent(employee.getName(), employee);
+            }
+        }
+        EmployeeSchedule result = new EmployeeSchedule(new ArrayList<>(nameToEmployeeMap.values()), shifts);
+        result.setScore(score);
+        return result;
+    }
+}
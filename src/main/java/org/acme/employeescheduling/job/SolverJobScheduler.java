@@ -0,0 +1,269 @@
+package org.acme.employeescheduling.job;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which solving job starts next, in front of the FIFO queue of the
+ * {@link ai.timefold.solver.core.api.solver.SolverManager}.
+ * <p>
+ * A job starts as soon as a solver and enough memory are free.
+ * Among the queued jobs that fit in the free memory, the highest {@link JobPriority} starts first,
+ * then the tenant with the fewest running jobs, then the job that waited longest.
+ * A job that doesn't fit in the free memory doesn't block smaller jobs behind it.
+ * <p>
+ * The number of concurrent solves follows the available cores, minus the cores reserved for requests,
+ * and never exceeds the parallel solver count of the solver manager, so that it never queues jobs itself.
+ */
+@ApplicationScoped
+public class SolverJobScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverJobScheduler.class);
+
+    private final int maxParallelSolverCount;
+    private final int reservedCores;
+    private final long baseBytesPerJob;
+    private final long bytesPerAssignment;
+    private final long memoryBudgetBytes;
+    private final int maxQueuedJobCount;
+
+    // Guarded by this
+    private final List<QueuedJob> queuedJobs = new ArrayList<>();
+    private final Map<String, RunningJob> jobIdToRunningJob = new HashMap<>();
+    private final Map<String, Integer> tenantToRunningJobCount = new HashMap<>();
+    private long reservedMemoryBytes = 0L;
+    private final long[] startedJobCounts = new long[JobPriority.values().length];
+    private final long[] totalWaitNanos = new long[JobPriority.values().length];
+
+    @Inject
+    public SolverJobScheduler(SolverManagerConfig solverManagerConfig,
+            @ConfigProperty(name = "employee-scheduling.scheduler.reserved-cores", defaultValue = "1") int reservedCores,
+            @ConfigProperty(name = "employee-scheduling.scheduler.base-bytes-per-job",
+                    defaultValue = "16777216") long baseBytesPerJob,
+            @ConfigProperty(name = "employee-scheduling.scheduler.bytes-per-assignment",
+                    defaultValue = "256") long bytesPerAssignment,
+            @ConfigProperty(name = "employee-scheduling.scheduler.memory-budget-ratio",
+                    defaultValue = "0.7") double memoryBudgetRatio,
+            @ConfigProperty(name = "employee-scheduling.scheduler.max-queued-jobs",
+                    defaultValue = "1000") int maxQueuedJobCount) {
+        this.maxParallelSolverCount = solverManagerConfig.resolveParallelSolverCount();
+        this.reservedCores = reservedCores;
+        this.baseBytesPerJob = baseBytesPerJob;
+        this.bytesPerAssignment = bytesPerAssignment;
+        this.memoryBudgetBytes = (long) (Runtime.getRuntime().maxMemory() * memoryBudgetRatio);
+        this.maxQueuedJobCount = maxQueuedJobCount;
+    }
+
+    /**
+     * The working memory of a solve is dominated by the constraint streams,
+     * which join every shift with the employees that could be assigned to it.
+     */
+    public long estimateMemoryBytes(EmployeeSchedule problem) {
+        long assignmentCount = (long) problem.getShifts().size() * problem.getEmployees().size();
+        return baseBytesPerJob + assignmentCount * bytesPerAssignment;
+    }
+
+    /**
+     * Re-evaluated on every decision, because container CPU limits can change at runtime.
+     */
+    public int getMaxConcurrentSolves() {
+        int coreBasedCount = Math.max(1, Runtime.getRuntime().availableProcessors() - reservedCores);
+        return Math.min(coreBasedCount, maxParallelSolverCount);
+    }
+
+    /**
+     * Whether {@link #submit} would accept a job now.
+     *
+     * @param waitingJobCount the jobs that wait to be submitted
+     */
+    public AdmissionDecision admit(EmployeeSchedule problem, int waitingJobCount) {
+        if (estimateMemoryBytes(problem) > memoryBudgetBytes) {
+            return AdmissionDecision.TOO_LARGE;
+        }
+        synchronized (this) {
+            return queuedJobs.size() + waitingJobCount >= maxQueuedJobCount
+                    ? AdmissionDecision.QUEUE_FULL
+                    : AdmissionDecision.ACCEPTED;
+        }
+    }
+
+    /**
+     * Whether {@link #submit} would accept all the jobs of a batch now.
+     * The largest jobs of the batch that can solve at the same time must fit in the memory budget together,
+     * because the batch is queued at once and those jobs start together on an idle node.
+     *
+     * @param waitingJobCount the jobs that wait to be submitted, besides the batch
+     */
+    public AdmissionDecision admitBatch(List<EmployeeSchedule> problems, int waitingJobCount) {
+        long[] estimatedBytes = problems.stream().mapToLong(this::estimateMemoryBytes).sorted().toArray();
+        int concurrentCount = Math.min(estimatedBytes.length, getMaxConcurrentSolves());
+        long concurrentBytes = 0L;
+        for (int i = estimatedBytes.length - concurrentCount; i < estimatedBytes.length; i++) {
+            concurrentBytes += estimatedBytes[i];
+        }
+        if (concurrentBytes > memoryBudgetBytes) {
+            return AdmissionDecision.TOO_LARGE;
+        }
+        synchronized (this) {
+            return queuedJobs.size() + waitingJobCount + problems.size() > maxQueuedJobCount
+                    ? AdmissionDecision.QUEUE_FULL
+                    : AdmissionDecision.ACCEPTED;
+        }
+    }
+
+    /**
+     * @return true if a submitted job would start at once
+     */
+    public synchronized boolean hasFreeSolver() {
+        return queuedJobs.isEmpty() && jobIdToRunningJob.size() < getMaxConcurrentSolves();
+    }
+
+    /**
+     * @param starter starts solving the job; called at most once, from this or another thread
+     */
+    public AdmissionDecision submit(String jobId, String tenant, JobPriority priority, EmployeeSchedule problem,
+            Runnable starter) {
+        long estimatedBytes = estimateMemoryBytes(problem);
+        if (estimatedBytes > memoryBudgetBytes) {
+            return AdmissionDecision.TOO_LARGE;
+        }
+        synchronized (this) {
+            if (queuedJobs.size() >= maxQueuedJobCount) {
+                return AdmissionDecision.QUEUE_FULL;
+            }
+            queuedJobs.add(new QueuedJob(jobId, tenant, priority, estimatedBytes, System.nanoTime(), starter));
+        }
+        dispatch();
+        return AdmissionDecision.ACCEPTED;
+    }
+
+    /**
+     * Removes a job that hasn't started yet.
+     *
+     * @return true if the job was still queued
+     */
+    public synchronized boolean cancel(String jobId) {
+        return queuedJobs.removeIf(queuedJob -> queuedJob.jobId.equals(jobId));
+    }
+
+    public synchronized boolean isQueued(String jobId) {
+        for (QueuedJob queuedJob : queuedJobs) {
+            if (queuedJob.jobId.equals(jobId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Call when a started job stops solving, for whatever reason, to start the next one.
+     */
+    public void onFinished(String jobId) {
+        synchronized (this) {
+            RunningJob runningJob = jobIdToRunningJob.remove(jobId);
+            if (runningJob == null) {
+                return;
+            }
+            reservedMemoryBytes -= runningJob.estimatedBytes;
+            tenantToRunningJobCount.computeIfPresent(runningJob.tenant, (tenant, count) -> count == 1 ? null : count - 1);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            QueuedJob next;
+            synchronized (this) {
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                jobIdToRunningJob.put(next.jobId, new RunningJob(next.tenant, next.estimatedBytes));
+                tenantToRunningJobCount.merge(next.tenant, 1, Integer::sum);
+                reservedMemoryBytes += next.estimatedBytes;
+                startedJobCounts[next.priority.ordinal()]++;
+                totalWaitNanos[next.priority.ordinal()] += System.nanoTime() - next.submittedNanos;
+            }
+            // Start outside the lock: the solver manager may call back into onFinished()
+            try {
+                next.starter.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed starting jobId ({}).", next.jobId, e);
+                onFinished(next.jobId);
+            }
+        }
+    }
+
+    private QueuedJob pollNext() {
+        if (jobIdToRunningJob.size() >= getMaxConcurrentSolves()) {
+            return null;
+        }
+        long freeMemoryBytes = memoryBudgetBytes - reservedMemoryBytes;
+        QueuedJob best = null;
+        int bestTenantRunningCount = Integer.MAX_VALUE;
+        for (QueuedJob queuedJob : queuedJobs) {
+            if (queuedJob.estimatedBytes > freeMemoryBytes) {
+                continue;
+            }
+            int tenantRunningCount = tenantToRunningJobCount.getOrDefault(queuedJob.tenant, 0);
+            if (best == null || isBefore(queuedJob, tenantRunningCount, best, bestTenantRunningCount)) {
+                best = queuedJob;
+                bestTenantRunningCount = tenantRunningCount;
+            }
+        }
+        if (best != null) {
+            queuedJobs.remove(best);
+        }
+        return best;
+    }
+
+    private static boolean isBefore(QueuedJob job, int tenantRunningCount, QueuedJob other, int otherTenantRunningCount) {
+        if (job.priority != other.priority) {
+            return job.priority.ordinal() < other.priority.ordinal();
+        }
+        if (tenantRunningCount != otherTenantRunningCount) {
+            return tenantRunningCount < otherTenantRunningCount;
+        }
+        return job.submittedNanos < other.submittedNanos;
+    }
+
+    public synchronized QueueStatus getStatus() {
+        long now = System.nanoTime();
+        List<PriorityQueueStatus> priorities = new ArrayList<>(JobPriority.values().length);
+        for (JobPriority priority : JobPriority.values()) {
+            int queuedJobCount = 0;
+            long oldestWaitNanos = 0L;
+            for (QueuedJob queuedJob : queuedJobs) {
+                if (queuedJob.priority == priority) {
+                    queuedJobCount++;
+                    oldestWaitNanos = Math.max(oldestWaitNanos, now - queuedJob.submittedNanos);
+                }
+            }
+            long startedJobCount = startedJobCounts[priority.ordinal()];
+            long averageWaitNanos = startedJobCount == 0L ? 0L : totalWaitNanos[priority.ordinal()] / startedJobCount;
+            priorities.add(new PriorityQueueStatus(priority, queuedJobCount, oldestWaitNanos / 1_000_000L,
+                    averageWaitNanos / 1_000_000L, startedJobCount));
+        }
+        return new QueueStatus(getMaxConcurrentSolves(), jobIdToRunningJob.size(), queuedJobs.size(),
+                memoryBudgetBytes, reservedMemoryBytes, priorities);
+    }
+
+    private record QueuedJob(String jobId, String tenant, JobPriority priority, long estimatedBytes,
+            long submittedNanos, Runnable starter) {
+    }
+
+    private record RunningJob(String tenant, long estimatedBytes) {
+    }
+}
@@ -0,0 +1,673 @@
+package org.acme.employeescheduling.job;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.TerminationReason;
+import org.acme.employeescheduling.solver.AdaptiveTermination;
+import org.acme.employeescheduling.solver.StagedSolving;
+import org.acme.employeescheduling.solver.TerminationOptions;
+import org.acme.employeescheduling.solver.tuning.TunedSolverConfigs;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the lifecycle of solving jobs on this node: any node accepts a job into the {@link JobQueue},
+ * a node with a free solver claims it and publishes its best solutions to the {@link JobRegistry},
+ * from which any node serves it.
+ * <p>
+ * A background worker claims jobs and, for the jobs that this node solves, renews their claims,
+ * publishes pending best solutions and terminates the jobs that a client terminated on another node.
+ * It also queues the jobs of which the claim expired again, so the jobs of a node that died are solved elsewhere.
+ * Best solutions are published at most once per publish interval,
+ * but this node serves the jobs it solves from memory, so they are never stale here.
+ */
+@ApplicationScoped
+public class SolverJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverJobService.class);
+    private static final Pattern ID_PATTERN =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private final SolverManager<EmployeeSchedule, String> solverManager;
+    private final SolverJobScheduler solverJobScheduler;
+    private final AdaptiveTermination adaptiveTermination;
+    private final StagedSolving stagedSolving;
+    private final TunedSolverConfigs tunedSolverConfigs;
+    private final JobTracing jobTracing;
+    private final SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    private final JobRegistry jobRegistry;
+    private final JobQueue jobQueue;
+    private final String nodeId;
+    private final long publishIntervalNanos;
+
+    private final ConcurrentMap<String, LocalJob> jobIdToLocalJob = new ConcurrentHashMap<>();
+    // Admits and queues a submission as one step, so that concurrent submissions can't overfill the queue
+    private final Object admissionLock = new Object();
+    private final ScheduledExecutorService workerExecutor;
+
+    @Inject
+    public SolverJobService(SolverManager<EmployeeSchedule, String> solverManager, JobTracing jobTracing,
+            SolverJobScheduler solverJobScheduler, AdaptiveTermination adaptiveTermination,
+            StagedSolving stagedSolving, TunedSolverConfigs tunedSolverConfigs,
+            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager, JobRegistry jobRegistry,
+            JobQueue jobQueue,
+            @ConfigProperty(name = "employee-scheduling.cluster.node-id") Optional<String> nodeId,
+            @ConfigProperty(name = "employee-scheduling.cluster.poll-interval",
+                    defaultValue = "500ms") Duration pollInterval,
+            @ConfigProperty(name = "employee-scheduling.cluster.publish-interval",
+                    defaultValue = "1s") Duration publishInterval) {
+        this.solverManager = solverManager;
+        this.jobTracing = jobTracing;
+        this.solverJobScheduler = solverJobScheduler;
+        this.adaptiveTermination = adaptiveTermination;
+        this.stagedSolving = stagedSolving;
+        this.tunedSolverConfigs = tunedSolverConfigs;
+        this.solutionManager = solutionManager;
+        this.jobRegistry = jobRegistry;
+        this.jobQueue = jobQueue;
+        this.nodeId = nodeId.orElseGet(() -> UUID.randomUUID().toString());
+        this.publishIntervalNanos = publishInterval.toNanos();
+        workerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SolverJobWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollIntervalMillis = pollInterval.toMillis();
+        workerExecutor.scheduleWithFixedDelay(this::work, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    /**
+     * Selects the solver configuration by the size class of the problem,
+     * so the job solves with the same configuration on whatever node claims it.
+     *
+     * @return the job ID, or the decision of the {@link SolverJobScheduler} if it doesn't accept the problem now
+     * @throws IllegalArgumentException if the job registry can't store the problem
+     */
+    public Submission submit(EmployeeSchedule problem, String tenant, JobPriority priority,
+            TerminationOptions options, boolean hardFirst) {
+        String jobId = UUID.randomUUID().toString();
+        synchronized (admissionLock) {
+            AdmissionDecision decision = solverJobScheduler.admit(problem, jobQueue.size());
+            if (decision != AdmissionDecision.ACCEPTED) {
+                return Submission.rejected(decision);
+            }
+            jobRegistry.putSchedule(jobId, problem);
+            enqueue(jobId, problem, tenant, priority, options, hardFirst);
+        }
+        wakeUp();
+        return Submission.accepted(jobId);
+    }
+
+    private void enqueue(String jobId, EmployeeSchedule problem, String tenant, JobPriority priority,
+            TerminationOptions options, boolean hardFirst) {
+        String sizeClass = tunedSolverConfigs.select(problem).orElse(null);
+        jobRegistry.putRecord(JobRecord.queued(jobId, tenant, priority, options, hardFirst, sizeClass));
+        jobTracing.onSubmitted(jobId);
+        if (jobQueue.isShared()) {
+            // Whichever node claims the job traces it from there, this node only traced its submission
+            jobTracing.onFinished(jobId, "queued");
+        }
+        jobQueue.offer(jobId, priority);
+    }
+
+    /**
+     * Submits the problems as one group of jobs of the same tenant and priority.
+     * The whole batch is admitted or none of it.
+     * Every problem is stored before any job is queued, so a problem that can't be stored queues none of them.
+     * The jobs are queued from the largest problem to the smallest,
+     * so the longest solves of the batch start first and its last solves are short.
+     *
+     * @param optionsList the termination options of each problem
+     * @return the batch ID, or the decision of the {@link SolverJobScheduler} if it doesn't accept the batch now
+     * @throws IllegalArgumentException if the job registry can't store a problem
+     */
+    public Submission submitBatch(List<EmployeeSchedule> problems, List<TerminationOptions> optionsList,
+            String tenant, JobPriority priority, boolean hardFirst) {
+        String batchId = UUID.randomUUID().toString();
+        List<String> jobIds = new ArrayList<>(problems.size());
+        for (int i = 0; i < problems.size(); i++) {
+            jobIds.add(UUID.randomUUID().toString());
+        }
+        Comparator<Integer> bySize =
+                Comparator.comparingLong(i -> solverJobScheduler.estimateMemoryBytes(problems.get(i)));
+        List<Integer> largestFirst = IntStream.range(0, problems.size()).boxed()
+                .sorted(bySize.reversed())
+                .toList();
+        synchronized (admissionLock) {
+            AdmissionDecision decision = solverJobScheduler.admitBatch(problems, jobQueue.size());
+            if (decision != AdmissionDecision.ACCEPTED) {
+                return Submission.rejected(decision);
+            }
+            for (int i : largestFirst) {
+                jobRegistry.putSchedule(jobIds.get(i), problems.get(i));
+            }
+            jobRegistry.putBatch(batchId, jobIds);
+            for (int i : largestFirst) {
+                enqueue(jobIds.get(i), problems.get(i), tenant, priority, optionsList.get(i), hardFirst);
+            }
+        }
+        wakeUp();
+        return Submission.accepted(batchId);
+    }
+
+    /**
+     * @return empty if there is no such batch
+     */
+    public Optional<BatchStatus> getBatchStatus(String batchId) {
+        return jobRegistry.getBatch(batchId).map(jobIds -> {
+            Map<JobState, Integer> stateCounts = new EnumMap<>(JobState.class);
+            for (JobState state : JobState.values()) {
+                stateCounts.put(state, 0);
+            }
+            int feasibleCount = 0;
+            List<BatchJobStatus> jobs = new ArrayList<>(jobIds.size());
+            for (String jobId : jobIds) {
+                Optional<JobRecord> record = jobRegistry.getRecord(jobId);
+                if (record.isEmpty()) {
+                    continue;
+                }
+                HardSoftBigDecimalScore score = getScore(jobId).orElse(null);
+                stateCounts.merge(record.get().state(), 1, Integer::sum);
+                if (score != null && score.isFeasible()) {
+                    feasibleCount++;
+                }
+                jobs.add(new BatchJobStatus(jobId, record.get().state(), score, record.get().terminationReason(),
+                        record.get().errorMessage()));
+            }
+            return new BatchStatus(batchId, jobIds.size(), stateCounts, feasibleCount, jobs);
+        });
+    }
+
+    /**
+     * @return the job IDs of the batch, or empty if there is no such batch
+     */
+    public Optional<List<String>> getBatchJobIds(String batchId) {
+        return jobRegistry.getBatch(batchId);
+    }
+
+    public Collection<String> getJobIds() {
+        return jobRegistry.getJobIds();
+    }
+
+    public Optional<JobRecord> getRecord(String jobId) {
+        return jobRegistry.getRecord(jobId);
+    }
+
+    /**
+     * Job and batch IDs are random UUIDs, so there is no job or batch with any other ID.
+     * Callers check IDs from requests with this, before they reach the registry.
+     */
+    public static boolean isValidId(String id) {
+        return id != null && ID_PATTERN.matcher(id).matches();
+    }
+
+    /**
+     * Whether {@link #getJobIds}, {@link #getRecord} and {@link #getSchedule} can block on I/O,
+     * so that callers on an event loop know to move them to a worker thread.
+     */
+    public boolean isReadBlocking() {
+        return jobRegistry.isShared();
+    }
+
+    /**
+     * Read-only: on the node that solves the job, this is the best solution itself,
+     * which the solver events and every other reader share.
+     * A caller that needs to change it, such as to set the status of the job,
+     * changes a copy instead, like {@link EmployeeSchedule#withStatus}.
+     *
+     * @return the best solution so far, or the problem if solving hasn't started
+     */
+    public Optional<EmployeeSchedule> getSchedule(String jobId) {
+        EmployeeSchedule bestSolution = getLocalBestSolution(jobId);
+        if (bestSolution != null) {
+            return Optional.of(bestSolution);
+        }
+        return jobRegistry.getSchedule(jobId);
+    }
+
+    /**
+     * The shifts that the query accepts of the same schedule that {@link #getSchedule(String)} returns.
+     * On the node that solves the job, that is the best solution so far,
+     * which the first filtered read after each new best solution indexes for the reads that follow it.
+     * On any other node, it is the latest published solution, which the registry indexes.
+     * Either way, a filtered read doesn't cost the size of the schedule.
+     * Read-only if the query doesn't filter, for the same reason as {@link #getSchedule(String)}.
+     */
+    public Optional<EmployeeSchedule> getSchedule(String jobId, ScheduleQuery query) {
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        EmployeeSchedule bestSolution = localJob == null ? null : localJob.bestSolution;
+        if (bestSolution != null) {
+            return Optional.of(query.isFiltered()
+                    ? localJob.getIndexedSolution(bestSolution).toSchedule(query)
+                    : bestSolution);
+        }
+        return jobRegistry.getSchedule(jobId, query);
+    }
+
+    /**
+     * Cheaper than {@link #getSchedule} when only the score is needed,
+     * and always the score of the schedule that {@link #getSchedule(String)} returns at the same time.
+     *
+     * @return empty if there is no such job or the schedule has no score yet
+     */
+    public Optional<HardSoftBigDecimalScore> getScore(String jobId) {
+        EmployeeSchedule bestSolution = getLocalBestSolution(jobId);
+        if (bestSolution != null) {
+            return Optional.ofNullable(bestSolution.getScore());
+        }
+        return jobRegistry.getScore(jobId);
+    }
+
+    /**
+     * The one source of the reads of a job that this node solves, read once per call,
+     * so that a read never mixes this solution with the published one in the registry.
+     * The registry has it too as soon as the job finishes, before the local job is removed.
+     *
+     * @return null if this node doesn't solve the job or solving hasn't found a solution yet
+     */
+    private EmployeeSchedule getLocalBestSolution(String jobId) {
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        return localJob == null ? null : localJob.bestSolution;
+    }
+
+    /**
+     * Terminates a job on whatever node it is queued or solving.
+     * A job solving on another node terminates within a poll interval.
+     *
+     * @return false if there is no such job
+     */
+    public boolean terminate(String jobId) {
+        Optional<JobRecord> record = jobRegistry.updateRecord(jobId, JobRecord::withTerminationRequested);
+        if (record.isEmpty()) {
+            return false;
+        }
+        if (record.get().state() == JobState.QUEUED && jobQueue.remove(jobId)) {
+            jobRegistry.updateRecord(jobId, r -> r.finished(TerminationReason.TERMINATED_EARLY));
+            jobTracing.onFinished(jobId, TerminationReason.TERMINATED_EARLY.name());
+        } else if (nodeId.equals(record.get().nodeId())) {
+            terminateLocally(jobId);
+        }
+        return true;
+    }
+
+    private void terminateLocally(String jobId) {
+        if (solverJobScheduler.cancel(jobId)) {
+            jobIdToLocalJob.remove(jobId);
+            adaptiveTermination.unregister(jobId);
+            jobRegistry.updateRecord(jobId, record -> record.finished(TerminationReason.TERMINATED_EARLY));
+            jobQueue.release(jobId);
+            jobTracing.onFinished(jobId, TerminationReason.TERMINATED_EARLY.name());
+        } else {
+            terminateEarly(jobId);
+        }
+    }
+
+    private void terminateEarly(String jobId) {
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        // TODO: Replace with .terminateEarlyAndWait(... [, timeout]); see https://github.com/TimefoldAI/timefold-solver/issues/77
+        if (localJob == null) {
+            solverManager.terminateEarly(jobId);
+        } else {
+            localJob.solverManager.terminateEarly(localJob.problemId);
+        }
+    }
+
+    private void wakeUp() {
+        workerExecutor.execute(this::claimJobs);
+    }
+
+    private void work() {
+        try {
+            reclaimExpiredJobs();
+            claimJobs();
+            long now = System.nanoTime();
+            for (Map.Entry<String, LocalJob> entry : jobIdToLocalJob.entrySet()) {
+                String jobId = entry.getKey();
+                if (!jobQueue.renew(jobId)) {
+                    onClaimLost(jobId);
+                    continue;
+                }
+                publishIfDue(jobId, entry.getValue(), now);
+                if (jobRegistry.getRecord(jobId).map(JobRecord::terminationRequested).orElse(false)) {
+                    terminateLocally(jobId);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed processing the jobs of node ({}).", nodeId, e);
+        }
+    }
+
+    /**
+     * Queues the jobs of which the claim expired again, such as the jobs of a node that died mid-solve.
+     * The node that claims such a job next solves it from its last published solution.
+     */
+    private void reclaimExpiredJobs() {
+        for (String jobId : jobQueue.reclaimExpired()) {
+            Optional<JobRecord> record = jobRegistry.getRecord(jobId);
+            jobRegistry.updateRecord(jobId, r -> r.state() == JobState.SOLVING || r.state() == JobState.QUEUED
+                    ? r.withNodeId(null).withState(JobState.QUEUED)
+                    : r);
+            LOGGER.warn("Queued jobId ({}) again, because the claim of node ({}) expired.",
+                    jobId, record.map(JobRecord::nodeId).orElse(null));
+        }
+    }
+
+    /**
+     * Another node queued the job again, because this node didn't renew its claim in time.
+     * This node stops solving it and leaves its record and its solutions to the node that claims it next.
+     */
+    private void onClaimLost(String jobId) {
+        LocalJob localJob = jobIdToLocalJob.remove(jobId);
+        if (localJob == null) {
+            return;
+        }
+        LOGGER.warn("Stopped solving jobId ({}), because the claim of this node ({}) expired.", jobId, nodeId);
+        if (solverJobScheduler.cancel(jobId)) {
+            adaptiveTermination.unregister(jobId);
+        } else {
+            localJob.solverManager.terminateEarly(localJob.problemId);
+        }
+    }
+
+    private synchronized void claimJobs() {
+        // A shared queue leaves the jobs that this node can't start yet to the other nodes
+        while (!jobQueue.isShared() || solverJobScheduler.hasFreeSolver()) {
+            Optional<String> jobId = jobQueue.poll();
+            if (jobId.isEmpty()) {
+                return;
+            }
+            if (!claim(jobId.get())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if this node can't take more jobs
+     */
+    private boolean claim(String jobId) {
+        // Only a queued job is claimed, a job that finished meanwhile keeps the node that solved it
+        Optional<JobRecord> claimedRecord = jobRegistry.updateRecord(jobId,
+                record -> record.state() == JobState.QUEUED ? record.withNodeId(nodeId) : record);
+        if (claimedRecord.isEmpty() || claimedRecord.get().state() != JobState.QUEUED) {
+            jobQueue.release(jobId);
+            return true;
+        }
+        JobRecord record = claimedRecord.get();
+        Optional<EmployeeSchedule> problem = jobRegistry.getSchedule(jobId);
+        if (problem.isEmpty()) {
+            jobRegistry.updateRecord(jobId, r -> r.failed("The problem of the job is missing."));
+            jobQueue.release(jobId);
+            return true;
+        }
+        jobTracing.onClaimed(jobId);
+        jobIdToLocalJob.put(jobId, new LocalJob(jobId, getSolverManager(record)));
+        adaptiveTermination.register(jobId, record.terminationOptions(), () -> terminateEarly(jobId));
+        AdmissionDecision decision = solverJobScheduler.submit(jobId, record.tenant(), record.priority(),
+                problem.get(), () -> startSolving(jobId, problem.get(), record));
+        if (decision != AdmissionDecision.ACCEPTED) {
+            // Give the job back, another node may have room for it
+            jobIdToLocalJob.remove(jobId);
+            adaptiveTermination.unregister(jobId);
+            jobRegistry.updateRecord(jobId, r -> r.withNodeId(null));
+            if (jobQueue.isShared()) {
+                jobTracing.onFinished(jobId, "released");
+            }
+            jobQueue.release(jobId);
+            jobQueue.offer(jobId, record.priority());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * A node without the tuned configuration of the job, such as a node with another tuning file,
+     * solves it with {@code solverConfig.xml}.
+     */
+    private SolverManager<EmployeeSchedule, String> getSolverManager(JobRecord record) {
+        if (record.sizeClass() == null) {
+            return solverManager;
+        }
+        return tunedSolverConfigs.getSolverManager(record.sizeClass()).orElseGet(() -> {
+            LOGGER.warn("Solving jobId ({}) with the default solver configuration,"
+                    + " because there is no tuned one for its size class ({}).", record.jobId(), record.sizeClass());
+            return solverManager;
+        });
+    }
+
+    private void startSolving(String jobId, EmployeeSchedule problem, JobRecord record) {
+        jobRegistry.updateRecord(jobId, r -> r.withState(JobState.SOLVING));
+        TerminationOptions options = record.terminationOptions();
+        if (record.hardFirst()) {
+            TerminationConfig termination = adaptiveTermination.createTerminationConfig(problem, options);
+            tunedSolverConfigs.applyTermination(record.sizeClass(), termination);
+            TerminationConfig firstStageTermination =
+                    stagedSolving.createFirstStageTermination(termination, options.bestHardScoreLimit());
+            if (firstStageTermination != null) {
+                solveFirstStage(jobId, problem, termination, firstStageTermination);
+                return;
+            }
+            LOGGER.warn("Solving jobId ({}) in a single stage, because it has no spent limit.", jobId);
+        }
+        SolverConfigOverride<EmployeeSchedule> configOverride = adaptiveTermination.createConfigOverride(problem,
+                options);
+        if (configOverride.getTerminationConfig() != null) {
+            tunedSolverConfigs.applyTermination(record.sizeClass(), configOverride.getTerminationConfig());
+        }
+        solveFinalStage(jobId, problem, configOverride);
+    }
+
+    private SolverManager<EmployeeSchedule, String> getJobSolverManager(String jobId) {
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        return localJob == null ? solverManager : localJob.solverManager;
+    }
+
+    private void solveFirstStage(String jobId, EmployeeSchedule problem, TerminationConfig termination,
+            TerminationConfig firstStageTermination) {
+        String firstStageProblemId = StagedSolving.getFirstStageProblemId(jobId);
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        if (localJob != null) {
+            localJob.problemId = firstStageProblemId;
+        }
+        StagedSolving.deferBalance(problem);
+        long startNanos = System.nanoTime();
+        getJobSolverManager(jobId).solveBuilder()
+                .withProblemId(firstStageProblemId)
+                .withProblemFinder(problemId -> {
+                    jobTracing.onSolvingStarted(jobId, "hard-first");
+                    return problem;
+                })
+                .withConfigOverride(new SolverConfigOverride<EmployeeSchedule>()
+                        .withTerminationConfig(firstStageTermination))
+                .withFirstInitializedSolutionConsumer(solution -> jobTracing.onFirstInitializedSolution(jobId,
+                        solution))
+                // Not fed to the adaptive termination: the soft score changes when the balance comes back
+                .withBestSolutionConsumer(solution -> onBestSolution(jobId, solution))
+                .withFinalBestSolutionConsumer(solution -> {
+                    jobTracing.onSolvingEnded(jobId, solution);
+                    StagedSolving.restoreBalance(solution);
+                    solutionManager.update(solution);
+                    Duration firstStageDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+                    if (!jobIdToLocalJob.containsKey(jobId)
+                            || jobRegistry.getRecord(jobId).map(JobRecord::terminationRequested).orElse(true)) {
+                        onFinalBestSolution(jobId, solution);
+                        return;
+                    }
+                    LOGGER.info("Solved jobId ({}) hard-first in {} ms to score ({}).",
+                            jobId, firstStageDuration.toMillis(), solution.getScore());
+                    if (localJob != null) {
+                        localJob.problemId = jobId;
+                    }
+                    solveFinalStage(jobId, solution, new SolverConfigOverride<EmployeeSchedule>()
+                            .withTerminationConfig(
+                                    StagedSolving.createSecondStageTermination(termination, firstStageDuration)));
+                })
+                .withExceptionHandler((problemId, exception) -> onException(jobId, exception))
+                .run();
+    }
+
+    private void solveFinalStage(String jobId, EmployeeSchedule problem,
+            SolverConfigOverride<EmployeeSchedule> configOverride) {
+        getJobSolverManager(jobId).solveBuilder()
+                .withProblemId(jobId)
+                .withProblemFinder(problemId -> {
+                    jobTracing.onSolvingStarted(jobId, "final");
+                    return problem;
+                })
+                .withConfigOverride(configOverride)
+                .withFirstInitializedSolutionConsumer(solution -> jobTracing.onFirstInitializedSolution(jobId,
+                        solution))
+                .withBestSolutionConsumer(solution -> {
+                    onBestSolution(jobId, solution);
+                    adaptiveTermination.onBestSolution(jobId, solution.getScore());
+                })
+                .withFinalBestSolutionConsumer(solution -> onFinalBestSolution(jobId, solution))
+                .withExceptionHandler((problemId, exception) -> onException(jobId, exception))
+                .run();
+    }
+
+    private void onBestSolution(String jobId, EmployeeSchedule solution) {
+        LocalJob localJob = jobIdToLocalJob.get(jobId);
+        if (localJob != null) {
+            localJob.bestSolution = solution;
+            publishIfDue(jobId, localJob, System.nanoTime());
+        }
+    }
+
+    private void onFinalBestSolution(String jobId, EmployeeSchedule solution) {
+        TerminationReason terminationReason = adaptiveTermination.unregister(jobId);
+        jobTracing.onSolvingEnded(jobId, solution);
+        if (!jobIdToLocalJob.containsKey(jobId)) {
+            onClaimLostSolvingEnded(jobId);
+            return;
+        }
+        jobTracing.tracePublication(jobId, solution, () -> jobRegistry.putSchedule(jobId, solution));
+        Optional<JobRecord> finishedRecord = jobRegistry.updateRecord(jobId,
+                record -> record.finished(terminationReason != null
+                        ? terminationReason
+                        : resolveTerminationReason(record, solution)));
+        jobTracing.onFinished(jobId, finishedRecord.map(record -> String.valueOf(record.terminationReason()))
+                .orElse(JobState.FINISHED.name()));
+        jobIdToLocalJob.remove(jobId);
+        jobQueue.release(jobId);
+        solverJobScheduler.onFinished(jobId);
+        wakeUp();
+    }
+
+    private void onException(String jobId, Throwable exception) {
+        adaptiveTermination.unregister(jobId);
+        LOGGER.error("Failed solving jobId ({}).", jobId, exception);
+        if (!jobIdToLocalJob.containsKey(jobId)) {
+            onClaimLostSolvingEnded(jobId);
+            return;
+        }
+        jobRegistry.updateRecord(jobId, record -> record.failed(exception.getMessage()));
+        jobTracing.onFinished(jobId, JobState.FAILED.name());
+        jobIdToLocalJob.remove(jobId);
+        jobQueue.release(jobId);
+        solverJobScheduler.onFinished(jobId);
+        wakeUp();
+    }
+
+    private void onClaimLostSolvingEnded(String jobId) {
+        jobTracing.onFinished(jobId, "claim lost");
+        solverJobScheduler.onFinished(jobId);
+        wakeUp();
+    }
+
+    private static TerminationReason resolveTerminationReason(JobRecord record, EmployeeSchedule solution) {
+        if (record.terminationRequested()) {
+            return TerminationReason.TERMINATED_EARLY;
+        }
+        BigDecimal bestHardScoreLimit = record.terminationOptions().bestHardScoreLimit();
+        if (bestHardScoreLimit != null && solution.getScore() != null
+                && solution.getScore().hardScore().compareTo(bestHardScoreLimit) >= 0) {
+            return TerminationReason.INFEASIBILITY_BOUND_REACHED;
+        }
+        return TerminationReason.LIMIT_REACHED;
+    }
+
+    private void publishIfDue(String jobId, LocalJob localJob, long now) {
+        EmployeeSchedule bestSolution;
+        synchronized (localJob) {
+            bestSolution = localJob.bestSolution;
+            if (bestSolution == null || bestSolution == localJob.publishedSolution
+                    || (localJob.publishedSolution != null && now - localJob.publishedNanos < publishIntervalNanos)) {
+                return;
+            }
+            localJob.publishedSolution = bestSolution;
+            localJob.publishedNanos = now;
+        }
+        jobTracing.tracePublication(jobId, bestSolution, () -> jobRegistry.putSchedule(jobId, bestSolution));
+    }
+
+    private static final class LocalJob {
+
+        // The default solver manager or the one of the tuned configuration of the job
+        final SolverManager<EmployeeSchedule, String> solverManager;
+        // The problem ID of the solver manager run of the current stage
+        volatile String problemId;
+        volatile EmployeeSchedule bestSolution;
+        // Guarded by this
+        EmployeeSchedule publishedSolution;
+        long publishedNanos;
+        // A lock of its own, so that filtered reads don't wait for publishing
+        private final Object indexLock = new Object();
+        // The best solution that indexedSolution was captured from, both guarded by indexLock
+        private EmployeeSchedule indexedBestSolution;
+        private CompactSchedule indexedSolution;
+
+        LocalJob(String problemId, SolverManager<EmployeeSchedule, String> solverManager) {
+            this.problemId = problemId;
+            this.solverManager = solverManager;
+        }
+
+        /**
+         * Captures a best solution once, on its first filtered read,
+         * reusing the shift index of the previous one as the facts don't change between best solutions.
+         */
+        CompactSchedule getIndexedSolution(EmployeeSchedule bestSolution) {
+            synchronized (indexLock) {
+                if (indexedBestSolution != bestSolution) {
+                    indexedSolution = CompactSchedule.of(bestSolution, indexedSolution);
+                    indexedBestSolution = bestSolution;
+                }
+                return indexedSolution;
+            }
+        }
+    }
+}
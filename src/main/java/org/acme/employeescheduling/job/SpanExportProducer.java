@@ -0,0 +1,35 @@
+package org.acme.employeescheduling.job;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+
+/**
+ * Exports the spans to the file {@code employee-scheduling.tracing.file} too, if set,
+ * besides the OpenTelemetry exporter that Quarkus configures.
+ */
+@ApplicationScoped
+public class SpanExportProducer {
+
+    @ConfigProperty(name = "employee-scheduling.tracing.file")
+    Optional<String> file;
+
+    @Produces
+    @Singleton
+    SpanProcessor fileSpanProcessor(ObjectMapper objectMapper) {
+        if (file.isEmpty()) {
+            return SpanProcessor.composite();
+        }
+        return BatchSpanProcessor.builder(new FileSpanExporter(Path.of(file.get()), objectMapper)).build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.acme.employeescheduling.job;
+
+/**
+ * The outcome of submitting a job or a batch to {@link SolverJobService}.
+ *
+ * @param id the job or batch ID, or null if the submission wasn't accepted
+ */
+public record Submission(AdmissionDecision decision, String id) {
+
+    static Submission accepted(String id) {
+        return new Submission(AdmissionDecision.ACCEPTED, id);
+    }
+
+    static Submission rejected(AdmissionDecision decision) {
+        return new Submission(decision, null);
+    }
+}
@@ -0,0 +1,241 @@
+package org.acme.employeescheduling.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.FactInterner;
+import org.acme.employeescheduling.employee.EmployeeRegistry;
+import org.acme.employeescheduling.job.AdmissionDecision;
+import org.acme.employeescheduling.job.BatchStatus;
+import org.acme.employeescheduling.job.JobPriority;
+import org.acme.employeescheduling.job.JobRecord;
+import org.acme.employeescheduling.job.JobState;
+import org.acme.employeescheduling.job.SolverJobService;
+import org.acme.employeescheduling.job.Submission;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.acme.employeescheduling.rest.exception.ErrorInfo;
+import org.acme.employeescheduling.solver.InfeasibilityPolicy;
+import org.acme.employeescheduling.solver.StagedSolving;
+import org.acme.employeescheduling.solver.TerminationOptions;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Submits many schedules in one request, such as one per facility every night.
+ * The request is read one schedule at a time, and the equal facts of its schedules are interned,
+ * so the batch holds each skill, location, date and set of them once.
+ */
+@Tag(name = "Batches",
+        description = "Submit many schedules at once, follow them together and download their solutions.")
+@Path("batches")
+public class BatchResource {
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final SolverJobService solverJobService;
+    private final StagedSolving stagedSolving;
+    private final EmployeeRegistry employeeRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public BatchResource(SolverJobService solverJobService, StagedSolving stagedSolving,
+            EmployeeRegistry employeeRegistry, ObjectMapper objectMapper) {
+        this.solverJobService = solverJobService;
+        this.stagedSolving = stagedSolving;
+        this.employeeRegistry = employeeRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(summary = "Submit a JSON array or newline-delimited JSON of schedules as one batch of jobs.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200",
+                    description = "The batch ID and the job IDs, in the order of the schedules.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = BatchStatus.class))),
+            @APIResponse(responseCode = "400",
+                    description = "An invalid or empty batch, an unknown employee version or employee, "
+                            + "or an infeasible schedule with onInfeasible=REJECT.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "413", description = "A schedule needs more memory than this node has.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "503", description = "The queue can't take the whole batch. Retry later.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON, NDJSON_MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    public BatchStatus submit(InputStream body,
+            @Parameter(description = "The tenant whose jobs share the solvers fairly with other tenants.")
+            @HeaderParam("X-Tenant-Id") @DefaultValue("default") String tenant,
+            @Parameter(description = "Queued jobs of a higher priority start first.")
+            @QueryParam("priority") @DefaultValue("BATCH") JobPriority priority,
+            @Parameter(description = "Derive the spent limit of each schedule from its number of shifts and employees.")
+            @QueryParam("scaleSpentLimit") @DefaultValue("false") boolean scaleSpentLimit,
+            @Parameter(description = "Stop once a schedule is feasible and its soft score improved less than "
+                    + "this percentage over the improvement window.")
+            @QueryParam("minImprovementPercent") Double minImprovementPercent,
+            @Parameter(description = "The sliding window of minImprovementPercent, in seconds.")
+            @QueryParam("improvementWindowSeconds") Long improvementWindowSeconds,
+            @Parameter(description = "What to do if a schedule has more shifts than employees to staff them.")
+            @QueryParam("onInfeasible") @DefaultValue("LIMIT") InfeasibilityPolicy infeasibilityPolicy,
+            @Parameter(description = "Solve without the balance constraint until feasible, then with all constraints. "
+                    + "Defaults to employee-scheduling.staged-solving.enabled.")
+            @QueryParam("hardFirst") Boolean hardFirst,
+            @Parameter(description = "The version of the employee registry that the employees of every schedule "
+                    + "reference by name.")
+            @QueryParam("employeeVersion") Long employeeVersion) {
+        TerminationOptions options;
+        List<EmployeeSchedule> problems = new ArrayList<>();
+        try {
+            options = new TerminationOptions(scaleSpentLimit, minImprovementPercent,
+                    improvementWindowSeconds == null ? null : Duration.ofSeconds(improvementWindowSeconds), null);
+            FactInterner interner = new FactInterner();
+            try (MappingIterator<EmployeeSchedule> iterator = objectMapper.readerFor(EmployeeSchedule.class)
+                    .readValues(body)) {
+                while (iterator.hasNextValue()) {
+                    EmployeeSchedule problem = iterator.nextValue();
+                    problems.add(employeeVersion == null
+                            ? interner.internFacts(problem)
+                            : employeeRegistry.resolve(problem, employeeVersion));
+                }
+            }
+        } catch (IOException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "Failed reading schedule (" + problems.size() + ") of the batch: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        if (problems.isEmpty()) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, "The batch is empty.");
+        }
+        List<TerminationOptions> optionsList = new ArrayList<>(problems.size());
+        for (EmployeeSchedule problem : problems) {
+            optionsList.add(EmployeeScheduleResource.applyInfeasibilityPolicy(problem, options, infeasibilityPolicy));
+        }
+        Submission submission;
+        try {
+            submission = solverJobService.submitBatch(problems, optionsList, tenant, priority,
+                    stagedSolving.isEnabled(hardFirst));
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        if (submission.decision() == AdmissionDecision.TOO_LARGE) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.REQUEST_ENTITY_TOO_LARGE,
+                    "The schedules of the batch that can solve at the same time need more memory than this node has.");
+        } else if (submission.decision() == AdmissionDecision.QUEUE_FULL) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.SERVICE_UNAVAILABLE,
+                    "The queue can't take the " + problems.size() + " schedules of the batch.");
+        }
+        return getStatus(submission.id());
+    }
+
+    @Operation(summary = "Get the state and score of every job of a batch and how many jobs are in each state.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The status of the batch.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = BatchStatus.class))),
+            @APIResponse(responseCode = "404", description = "No batch found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{batchId}")
+    public BatchStatus getStatus(@Parameter(description = "The batch ID returned by the POST method.")
+            @PathParam("batchId") String batchId) {
+        checkBatchId(batchId);
+        return solverJobService.getBatchStatus(batchId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND,
+                        "No batch (" + batchId + ") found."));
+    }
+
+    @Operation(summary = "Stream the best solution so far of every job of a batch as newline-delimited JSON.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200",
+                    description = "One line per job, in the order of the schedules of the batch.",
+                    content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                            schema = @Schema(type = SchemaType.ARRAY, implementation = BatchSolution.class))),
+            @APIResponse(responseCode = "404", description = "No batch found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(NDJSON_MEDIA_TYPE)
+    @Path("{batchId}/solutions")
+    public StreamingOutput getSolutions(@Parameter(description = "The batch ID returned by the POST method.")
+            @PathParam("batchId") String batchId,
+            @Parameter(description = "ASSIGNMENTS to return only the names of the employees.")
+            @QueryParam("fields") @DefaultValue("ALL") ScheduleFields fields) {
+        checkBatchId(batchId);
+        List<String> jobIds = solverJobService.getBatchJobIds(batchId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND,
+                        "No batch (" + batchId + ") found."));
+        // Only one solution is in memory at a time
+        return outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                for (String jobId : jobIds) {
+                    writer.write(toSolution(jobId, fields));
+                }
+            }
+        };
+    }
+
+    /**
+     * Batch IDs are UUIDs, so any other ID is no batch, and never reaches the job registry.
+     */
+    private static void checkBatchId(String batchId) {
+        if (!SolverJobService.isValidId(batchId)) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND,
+                    "No batch (" + batchId + ") found.");
+        }
+    }
+
+    private BatchSolution toSolution(String jobId, ScheduleFields fields) {
+        JobRecord record = solverJobService.getRecord(jobId).orElse(null);
+        if (record == null) {
+            return new BatchSolution(jobId, null, null, "The job is missing.");
+        }
+        if (record.state() == JobState.FAILED) {
+            return new BatchSolution(jobId, record.state(), null, record.errorMessage());
+        }
+        EmployeeSchedule schedule = solverJobService.getSchedule(jobId).orElse(null);
+        if (schedule == null) {
+            return new BatchSolution(jobId, record.state(), null, null);
+        }
+        schedule = schedule.withStatus(record.state().toSolverStatus(), record.terminationReason());
+        return new BatchSolution(jobId, record.state(),
+                fields == ScheduleFields.ASSIGNMENTS ? ScheduleAssignments.of(schedule) : schedule, null);
+    }
+}
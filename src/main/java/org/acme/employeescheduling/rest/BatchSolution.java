@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.rest;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.job.JobState;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * One line of the bulk download of a batch.
+ *
+ * @param schedule the best solution so far, as a {@link ScheduleAssignments} with {@link ScheduleFields#ASSIGNMENTS},
+ *        or null if the job failed
+ */
+public record BatchSolution(String jobId, JobState state,
+        @Schema(oneOf = { EmployeeSchedule.class, ScheduleAssignments.class }) Object schedule, String errorMessage) {
+}
@@ -0,0 +1,21 @@
+package org.acme.employeescheduling.rest;
+
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+
+/**
+ * The CSV files of a schedule import; see {@link org.acme.employeescheduling.io.EmployeeScheduleCsvReader}.
+ * The availability file is optional.
+ * The files are buffered to disk before the import starts, so reading them never waits on the network.
+ */
+public class CsvImportForm {
+
+    @RestForm("employees")
+    public FileUpload employees;
+
+    @RestForm("availability")
+    public FileUpload availability;
+
+    @RestForm("shifts")
+    public FileUpload shifts;
+}
@@ -1,5 +1,7 @@
 package org.acme.employeescheduling.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -7,25 +9,51 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
-import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
 
 import org.acme.employeescheduling.domain.Employee;
 import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleIndexer;
 import org.acme.employeescheduling.domain.Shift;
 
-@ApplicationScoped
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Generates synthetic schedules, from the small demo up to a year of a large hospital.
+ * <p>
+ * Every day has its own {@link SplittableRandom}, split from the seed in day order before any generation starts,
+ * so the days can be generated in parallel and the output only depends on the parameters, whatever the thread count.
+ * The presets have no start date, so they start on {@link #getDefaultStartDate() the next Monday};
+ * the same seed gives the same schedule, moved to that Monday, and parameters with a start date give the same
+ * schedule on any day.
+ * All calls share one thread pool, so concurrent calls never run more threads than the pool has,
+ * and otherwise hold no shared state, so they don't interfere.
+ */
+// A singleton, not application scoped, so that no client proxy creates a thread pool of its own
+@Singleton
 public class DemoDataGenerator {
+
+    /**
+     * The first day of a schedule of which the parameters have no start date:
+     * the next Monday from today, or today if it is a Monday,
+     * so that the demo is always ahead and starts on the same day of the week.
+     */
+    public static LocalDate getDefaultStartDate() {
+        return LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    }
+
     public enum DemoData {
         SMALL(new DemoDataParameters(
                 List.of("Ambulatory care", "Critical care", "Pediatric care"),
@@ -44,8 +72,9 @@ public class DemoDataGenerator {
                         new CountDistribution(3, 2),
                         new CountDistribution(4, 1)
                 ),
-                0
-        )),
+                0,
+                null
+        ), true),
         LARGE(new DemoDataParameters(
                 List.of("Ambulatory care",
                         "Neurology",
@@ -70,22 +99,78 @@ public class DemoDataGenerator {
                         new CountDistribution(15, 2),
                         new CountDistribution(20, 1)
                 ),
-                0
-        ));
+                0,
+                null
+        ), true),
+        // Too large for the UI: for load tests and capacity planning
+        XL(new DemoDataParameters(
+                numberedLocations(20),
+                List.of("Doctor", "Nurse"),
+                List.of("Anaesthetics", "Cardiology", "Radiology"),
+                91,
+                1_000,
+                List.of(new CountDistribution(1, 3),
+                        new CountDistribution(2, 1)
+                ),
+                List.of(new CountDistribution(8, 0.3),
+                        new CountDistribution(10, 0.4),
+                        new CountDistribution(12, 0.3)
+                ),
+                List.of(new CountDistribution(20, 4),
+                        new CountDistribution(40, 3),
+                        new CountDistribution(60, 2),
+                        new CountDistribution(80, 1)
+                ),
+                0,
+                null
+        ), false),
+        XXL(new DemoDataParameters(
+                numberedLocations(100),
+                List.of("Doctor", "Nurse"),
+                List.of("Anaesthetics", "Cardiology", "Radiology"),
+                365,
+                10_000,
+                List.of(new CountDistribution(1, 3),
+                        new CountDistribution(2, 1)
+                ),
+                List.of(new CountDistribution(15, 0.3),
+                        new CountDistribution(20, 0.4),
+                        new CountDistribution(25, 0.3)
+                ),
+                List.of(new CountDistribution(200, 4),
+                        new CountDistribution(400, 3),
+                        new CountDistribution(600, 2),
+                        new CountDistribution(800, 1)
+                ),
+                0,
+                null
+        ), false);
 
         private final DemoDataParameters parameters;
+        private final boolean interactive;
 
-        DemoData(DemoDataParameters parameters) {
+        DemoData(DemoDataParameters parameters, boolean interactive) {
             this.parameters = parameters;
+            this.interactive = interactive;
         }
 
         public DemoDataParameters getParameters() {
             return parameters;
         }
+
+        /**
+         * Small enough to show in the UI.
+         */
+        public boolean isInteractive() {
+            return interactive;
+        }
     }
 
     public record CountDistribution(int count, double weight) {}
 
+    /**
+     * @param startDate the first day, or null for {@link #getDefaultStartDate()} at the time of generation
+     */
     public record DemoDataParameters(List<String> locations,
                                      List<String> requiredSkills,
                                      List<String> optionalSkills,
@@ -94,10 +179,47 @@ public class DemoDataGenerator {
                                      List<CountDistribution> optionalSkillDistribution,
                                      List<CountDistribution> shiftCountDistribution,
                                      List<CountDistribution> availabilityCountDistribution,
-                                     int randomSeed) {}
+                                     int randomSeed,
+                                     LocalDate startDate) {
+
+        public DemoDataParameters {
+            if (daysInSchedule <= 0) {
+                throw new IllegalArgumentException("The daysInSchedule (" + daysInSchedule + ") must be positive.");
+            }
+            if (employeeCount <= 0) {
+                throw new IllegalArgumentException("The employeeCount (" + employeeCount + ") must be positive.");
+            }
+        }
+
+        public DemoDataParameters withDaysInSchedule(int daysInSchedule) {
+            return new DemoDataParameters(locations, requiredSkills, optionalSkills, daysInSchedule, employeeCount,
+                    optionalSkillDistribution, shiftCountDistribution, availabilityCountDistribution, randomSeed,
+                    startDate);
+        }
+
+        public DemoDataParameters withEmployeeCount(int employeeCount) {
+            return new DemoDataParameters(locations, requiredSkills, optionalSkills, daysInSchedule, employeeCount,
+                    optionalSkillDistribution, shiftCountDistribution, availabilityCountDistribution, randomSeed,
+                    startDate);
+        }
+
+        public DemoDataParameters withRandomSeed(int randomSeed) {
+            return new DemoDataParameters(locations, requiredSkills, optionalSkills, daysInSchedule, employeeCount,
+                    optionalSkillDistribution, shiftCountDistribution, availabilityCountDistribution, randomSeed,
+                    startDate);
+        }
+
+        public DemoDataParameters withStartDate(LocalDate startDate) {
+            return new DemoDataParameters(locations, requiredSkills, optionalSkills, daysInSchedule, employeeCount,
+                    optionalSkillDistribution, shiftCountDistribution, availabilityCountDistribution, randomSeed,
+                    startDate);
+        }
+    }
 
     private static final String[] FIRST_NAMES = { "Amy", "Beth", "Carl", "Dan", "Elsa", "Flo", "Gus", "Hugo", "Ivy", "Jay" };
     private static final String[] LAST_NAMES = { "Cole", "Fox", "Green", "Jones", "King", "Li", "Poe", "Rye", "Smith", "Watt" };
+    private static final String[] DEPARTMENTS = { "Ambulatory care", "Neurology", "Critical care", "Pediatric care",
+            "Surgery", "Radiology", "Outpatient", "Oncology", "Maternity", "Emergency" };
     private static final Duration SHIFT_LENGTH = Duration.ofHours(8);
     private static final LocalTime MORNING_SHIFT_START_TIME = LocalTime.of(6, 0);
     private static final LocalTime DAY_SHIFT_START_TIME = LocalTime.of(9, 0);
@@ -110,94 +232,215 @@ public class DemoDataGenerator {
             { MORNING_SHIFT_START_TIME, DAY_SHIFT_START_TIME, AFTERNOON_SHIFT_START_TIME, NIGHT_SHIFT_START_TIME },
     };
 
-    Map<String, List<LocalTime>> locationToShiftStartTimeListMap = new HashMap<>();
+    // The days generated in parallel per batch, per thread, when streaming
+    private static final int DAYS_PER_THREAD_PER_BATCH = 4;
+
+    private final int parallelism;
+    // Null to generate on the calling thread
+    private final ForkJoinPool pool;
+
+    public DemoDataGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism the number of threads that generate days, doesn't affect the output
+     */
+    DemoDataGenerator(int parallelism) {
+        this.parallelism = parallelism;
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
 
     public EmployeeSchedule generateDemoData(DemoData demoData) {
         return generateDemoData(demoData.getParameters());
     }
 
     public EmployeeSchedule generateDemoData(DemoDataParameters parameters) {
-        EmployeeSchedule employeeSchedule = new EmployeeSchedule();
+        Generation generation = new Generation(parameters, pool);
+        List<Shift> shifts = new ArrayList<>();
+        for (List<Shift> dayShifts : generation.generateShifts(0, parameters.daysInSchedule)) {
+            shifts.addAll(dayShifts);
+        }
+        generation.assignIds(shifts);
+        return ScheduleIndexer.index(new EmployeeSchedule(generation.employees, shifts));
+    }
 
-        LocalDate startDate = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    /**
+     * Writes the same schedule as {@link #generateDemoData(DemoDataParameters)} as JSON,
+     * generating the shifts a batch of days at a time, so they never all are in memory.
+     */
+    public void writeDemoDataJson(DemoDataParameters parameters, ObjectMapper objectMapper, OutputStream outputStream)
+            throws IOException {
+        int batchDayCount = parallelism * DAYS_PER_THREAD_PER_BATCH;
+        ObjectWriter shiftWriter = objectMapper.writerFor(Shift.class);
+        Generation generation = new Generation(parameters, pool);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeFieldName("employees");
+            objectMapper.writeValue(generator, generation.employees);
+            generator.writeArrayFieldStart("shifts");
+            for (int fromDay = 0; fromDay < parameters.daysInSchedule; fromDay += batchDayCount) {
+                int toDay = Math.min(fromDay + batchDayCount, parameters.daysInSchedule);
+                for (List<Shift> dayShifts : generation.generateShifts(fromDay, toDay)) {
+                    generation.assignIds(dayShifts);
+                    for (Shift shift : dayShifts) {
+                        shiftWriter.writeValue(generator, shift);
+                    }
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
 
-        Random random = new Random(parameters.randomSeed);
+    /**
+     * The state of one generation, confined to the calling thread except for the day randoms,
+     * which each belong to the one task that generates their day.
+     */
+    private static final class Generation {
 
-        int shiftTemplateIndex = 0;
-        for (String location : parameters.locations) {
-            locationToShiftStartTimeListMap.put(location, List.of(SHIFT_START_TIMES_COMBOS[shiftTemplateIndex]));
-            shiftTemplateIndex = (shiftTemplateIndex + 1) % SHIFT_START_TIMES_COMBOS.length;
+        private final DemoDataParameters parameters;
+        private final LocalDate startDate;
+        private final SplittableRandom[] dayShiftRandoms;
+        private final ForkJoinPool pool;
+        private final List<Employee> employees;
+        private int nextShiftId = 0;
+
+        Generation(DemoDataParameters parameters, ForkJoinPool pool) {
+            this.parameters = parameters;
+            this.pool = pool;
+            // Resolved once, so that every day of the generation counts from the same Monday
+            startDate = parameters.startDate == null ? getDefaultStartDate() : parameters.startDate;
+            SplittableRandom random = new SplittableRandom(parameters.randomSeed);
+            SplittableRandom employeeRandom = random.split();
+            SplittableRandom[] dayAvailabilityRandoms = new SplittableRandom[parameters.daysInSchedule];
+            dayShiftRandoms = new SplittableRandom[parameters.daysInSchedule];
+            for (int day = 0; day < parameters.daysInSchedule; day++) {
+                dayAvailabilityRandoms[day] = random.split();
+                dayShiftRandoms[day] = random.split();
+            }
+            employees = generateEmployees(employeeRandom);
+            // Generate in parallel, but apply in day order, so the date sets of the employees don't depend on timing
+            List<int[][]> dayAvailabilities = mapDays(0, parameters.daysInSchedule,
+                    day -> generateAvailability(dayAvailabilityRandoms[day]));
+            for (int day = 0; day < parameters.daysInSchedule; day++) {
+                LocalDate date = startDate.plusDays(day);
+                int[][] availability = dayAvailabilities.get(day);
+                for (int i = 0; i < availability[0].length; i++) {
+                    Employee employee = employees.get(availability[0][i]);
+                    switch (availability[1][i]) {
+                        case 0 -> employee.getUnavailableDates().add(date);
+                        case 1 -> employee.getUndesiredDates().add(date);
+                        case 2 -> employee.getDesiredDates().add(date);
+                    }
+                }
+            }
         }
 
-        List<String> namePermutations = joinAllCombinations(FIRST_NAMES, LAST_NAMES);
-        Collections.shuffle(namePermutations, random);
+        private List<Employee> generateEmployees(SplittableRandom random) {
+            List<String> namePermutations = joinAllCombinations(FIRST_NAMES, LAST_NAMES);
+            shuffle(namePermutations, random);
+            List<Employee> employees = new ArrayList<>(parameters.employeeCount);
+            for (int i = 0; i < parameters.employeeCount; i++) {
+                // Beyond the name permutations, number the names
+                String name = i < namePermutations.size()
+                        ? namePermutations.get(i)
+                        : namePermutations.get(i % namePermutations.size()) + " " + (i / namePermutations.size() + 1);
+                Set<String> skills = pickSubset(parameters.optionalSkills, random,
+                        parameters.optionalSkillDistribution);
+                skills.add(pickRandom(parameters.requiredSkills, random));
+                employees.add(new Employee(name, skills, new LinkedHashSet<>(), new LinkedHashSet<>(),
+                        new LinkedHashSet<>()));
+            }
+            return employees;
+        }
 
-        List<Employee> employees = new ArrayList<>();
-        for (int i = 0; i < parameters.employeeCount; i++) {
-            Set<String> skills = pickSubset(parameters.optionalSkills, random, parameters.optionalSkillDistribution);
-            skills.add(pickRandom(parameters.requiredSkills, random));
-            Employee employee = new Employee(namePermutations.get(i), skills, new LinkedHashSet<>(), new LinkedHashSet<>(), new LinkedHashSet<>());
-            employees.add(employee);
+        /**
+         * @return the indexes of the employees with an availability on that day and the kind of each availability
+         */
+        private int[][] generateAvailability(SplittableRandom random) {
+            int count = Math.min(pickCount(random, parameters.availabilityCountDistribution), parameters.employeeCount);
+            int[] employeeIndexes = pickDistinctIndexes(parameters.employeeCount, count, random);
+            int[] kinds = new int[count];
+            for (int i = 0; i < count; i++) {
+                kinds[i] = random.nextInt(3);
+            }
+            return new int[][] { employeeIndexes, kinds };
         }
-        employeeSchedule.setEmployees(employees);
 
-        List<Shift> shifts = new LinkedList<>();
-        for (int i = 0; i < parameters.daysInSchedule; i++) {
-            Set<Employee> employeesWithAvailabilitiesOnDay = pickSubset(employees, random,
-                    parameters.availabilityCountDistribution);
-            LocalDate date = startDate.plusDays(i);
-            for (Employee employee : employeesWithAvailabilitiesOnDay) {
-                switch (random.nextInt(3)) {
-                    case 0 -> employee.getUnavailableDates().add(date);
-                    case 1 -> employee.getUndesiredDates().add(date);
-                    case 2 -> employee.getDesiredDates().add(date);
+        List<List<Shift>> generateShifts(int fromDay, int toDay) {
+            return mapDays(fromDay, toDay, day -> generateShiftsForDay(startDate.plusDays(day), dayShiftRandoms[day]));
+        }
+
+        /**
+         * Call in day order.
+         */
+        void assignIds(List<Shift> shifts) {
+            for (Shift shift : shifts) {
+                shift.setId(Integer.toString(nextShiftId++));
+            }
+        }
+
+        private List<Shift> generateShiftsForDay(LocalDate date, SplittableRandom random) {
+            List<Shift> shifts = new ArrayList<>();
+            for (int i = 0; i < parameters.locations.size(); i++) {
+                String location = parameters.locations.get(i);
+                for (LocalTime shiftStartTime : SHIFT_START_TIMES_COMBOS[i % SHIFT_START_TIMES_COMBOS.length]) {
+                    LocalDateTime shiftStartDateTime = date.atTime(shiftStartTime);
+                    LocalDateTime shiftEndDateTime = shiftStartDateTime.plus(SHIFT_LENGTH);
+                    generateShiftsForTimeslot(shifts, shiftStartDateTime, shiftEndDateTime, location, random);
                 }
             }
-            shifts.addAll(generateShiftsForDay(parameters, date, random));
+            return shifts;
         }
-        AtomicInteger countShift = new AtomicInteger();
-        shifts.forEach(s -> s.setId(Integer.toString(countShift.getAndIncrement())));
-        employeeSchedule.setShifts(shifts);
 
-        return employeeSchedule;
-    }
+        private void generateShiftsForTimeslot(List<Shift> shifts, LocalDateTime timeslotStart,
+                LocalDateTime timeslotEnd, String location, SplittableRandom random) {
+            int shiftCount = pickCount(random, parameters.shiftCountDistribution);
+            for (int i = 0; i < shiftCount; i++) {
+                String requiredSkill;
+                if (random.nextBoolean()) {
+                    requiredSkill = pickRandom(parameters.requiredSkills, random);
+                } else {
+                    requiredSkill = pickRandom(parameters.optionalSkills, random);
+                }
+                shifts.add(new Shift(timeslotStart, timeslotEnd, location, requiredSkill));
+            }
+        }
 
-    private List<Shift> generateShiftsForDay(DemoDataParameters parameters, LocalDate date, Random random) {
-        List<Shift> shifts = new LinkedList<>();
-        for (String location : parameters.locations) {
-            List<LocalTime> shiftStartTimes = locationToShiftStartTimeListMap.get(location);
-            for (LocalTime shiftStartTime : shiftStartTimes) {
-                LocalDateTime shiftStartDateTime = date.atTime(shiftStartTime);
-                LocalDateTime shiftEndDateTime = shiftStartDateTime.plus(SHIFT_LENGTH);
-                shifts.addAll(generateShiftForTimeslot(parameters, shiftStartDateTime, shiftEndDateTime, location, random));
+        private <T> List<T> mapDays(int fromDay, int toDay, IntFunction<T> dayFunction) {
+            if (pool == null) {
+                return IntStream.range(fromDay, toDay).mapToObj(dayFunction).toList();
             }
+            // A parallel stream keeps the day order in toList()
+            return pool.submit(() -> IntStream.range(fromDay, toDay).parallel().mapToObj(dayFunction).toList())
+                    .join();
         }
-        return shifts;
     }
 
-    private List<Shift> generateShiftForTimeslot(DemoDataParameters parameters,
-            LocalDateTime timeslotStart, LocalDateTime timeslotEnd, String location,
-            Random random) {
-        var shiftCount = pickCount(random, parameters.shiftCountDistribution);
-
-        List<Shift> shifts = new LinkedList<>();
-        for (int i = 0; i < shiftCount; i++) {
-            String requiredSkill;
-            if (random.nextBoolean()) {
-                requiredSkill = pickRandom(parameters.requiredSkills, random);
-            } else {
-                requiredSkill = pickRandom(parameters.optionalSkills, random);
-            }
-            shifts.add(new Shift(timeslotStart, timeslotEnd, location, requiredSkill));
+    private static List<String> numberedLocations(int count) {
+        List<String> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            locations.add(i < DEPARTMENTS.length
+                    ? DEPARTMENTS[i]
+                    : DEPARTMENTS[i % DEPARTMENTS.length] + " " + (i / DEPARTMENTS.length + 1));
         }
-        return shifts;
+        return List.copyOf(locations);
     }
 
-    private <T> T pickRandom(List<T> source, Random random) {
+    private static <T> T pickRandom(List<T> source, SplittableRandom random) {
         return source.get(random.nextInt(source.size()));
     }
 
-    private int pickCount(Random random, List<CountDistribution> countDistribution) {
+    private static int pickCount(SplittableRandom random, List<CountDistribution> countDistribution) {
         double probabilitySum = 0;
         for (var possibility : countDistribution) {
             probabilitySum += possibility.weight;
@@ -211,14 +454,38 @@ public class DemoDataGenerator {
         return countDistribution.get(numOfItems).count;
     }
 
-    private <T> Set<T> pickSubset(List<T> sourceSet, Random random, List<CountDistribution> countDistribution) {
-        var count = pickCount(random, countDistribution);
+    private static <T> Set<T> pickSubset(List<T> sourceSet, SplittableRandom random,
+            List<CountDistribution> countDistribution) {
         List<T> items = new ArrayList<>(sourceSet);
-        Collections.shuffle(items, random);
+        int count = Math.min(pickCount(random, countDistribution), items.size());
+        shuffle(items, random);
         return new HashSet<>(items.subList(0, count));
     }
 
-    private List<String> joinAllCombinations(String[]... partArrays) {
+    /**
+     * Floyd's sampling: linear in the count instead of in the bound, for a few employees out of thousands.
+     */
+    private static int[] pickDistinctIndexes(int bound, int count, SplittableRandom random) {
+        Set<Integer> indexes = new LinkedHashSet<>(count * 2);
+        for (int i = bound - count; i < bound; i++) {
+            int index = random.nextInt(i + 1);
+            if (!indexes.add(index)) {
+                indexes.add(i);
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static <T> void shuffle(List<T> list, SplittableRandom random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T item = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, item);
+        }
+    }
+
+    private static List<String> joinAllCombinations(String[]... partArrays) {
         int size = 1;
         for (String[] partArray : partArrays) {
             size *= partArray.length;
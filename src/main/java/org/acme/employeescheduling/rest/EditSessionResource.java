@@ -0,0 +1,176 @@
+package org.acme.employeescheduling.rest;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.io.EmployeeScheduleBinaryCodec;
+import org.acme.employeescheduling.job.JobRecord;
+import org.acme.employeescheduling.job.JobState;
+import org.acme.employeescheduling.job.SolverJobService;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.acme.employeescheduling.rest.exception.ErrorInfo;
+import org.acme.employeescheduling.rest.session.EditOperation;
+import org.acme.employeescheduling.rest.session.EditResult;
+import org.acme.employeescheduling.rest.session.EditSession;
+import org.acme.employeescheduling.rest.session.EditSessionClosedException;
+import org.acme.employeescheduling.rest.session.EditSessionInfo;
+import org.acme.employeescheduling.rest.session.EditSessionStore;
+import org.acme.employeescheduling.rest.session.EditSessionsUnavailableException;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Tag(name = "Edit sessions",
+        description = "Edit a schedule one shift at a time and get the score change of every edit incrementally.")
+@Path("sessions")
+public class EditSessionResource {
+
+    private final EditSessionStore editSessionStore;
+    private final SolverJobService solverJobService;
+
+    @Inject
+    public EditSessionResource(EditSessionStore editSessionStore, SolverJobService solverJobService) {
+        this.editSessionStore = editSessionStore;
+        this.solverJobService = solverJobService;
+    }
+
+    @Operation(summary = "Open an edit session on a copy of the schedule.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The session ID and the score of the schedule.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = EditSessionInfo.class))),
+            @APIResponse(responseCode = "503", description = "Too many sessions are open, retry later, "
+                    + "or this node can't open edit sessions.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    public EditSessionInfo open(EmployeeSchedule schedule) {
+        return open(null, schedule);
+    }
+
+    @Operation(summary = "Open an edit session on a copy of the best solution so far of a job.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The session ID and the score of the schedule.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = EditSessionInfo.class))),
+            @APIResponse(responseCode = "404", description = "No schedule found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "503", description = "Too many sessions are open, retry later, "
+                    + "or this node can't open edit sessions.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("job/{jobId}")
+    public EditSessionInfo openFromJob(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
+        EmployeeScheduleResource.checkJobId(jobId);
+        JobRecord record = solverJobService.getRecord(jobId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No schedule found."));
+        if (record.state() == JobState.FAILED) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.INTERNAL_SERVER_ERROR,
+                    record.errorMessage());
+        }
+        EmployeeSchedule schedule = solverJobService.getSchedule(jobId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No schedule found."));
+        return open(jobId, schedule);
+    }
+
+    private EditSessionInfo open(String jobId, EmployeeSchedule schedule) {
+        try {
+            return editSessionStore.open(schedule)
+                    .orElseThrow(() -> new EmployeeScheduleSolverException(jobId,
+                            Response.Status.SERVICE_UNAVAILABLE, "Too many edit sessions are open."))
+                    .getInfo();
+        } catch (EditSessionsUnavailableException e) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Apply edits in order and get the score change, the changed constraints "
+            + "and the constraint matches on the edited shifts before and after. "
+            + "If one edit is invalid, none is applied.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The effect of the edits.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = EditResult.class))),
+            @APIResponse(responseCode = "400", description = "An edit refers to an unknown shift or employee.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "404", description = "No session found, or it was closed after being idle.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{sessionId}/edits")
+    public EditResult edit(@PathParam("sessionId") String sessionId, List<EditOperation> operations) {
+        EditSession session = getSession(sessionId);
+        try {
+            return session.apply(operations == null ? List.of() : operations);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        } catch (EditSessionClosedException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get the edited schedule.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The edited schedule.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = EmployeeSchedule.class))),
+            @APIResponse(responseCode = "404", description = "No session found, or it was closed after being idle.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Path("{sessionId}")
+    public EmployeeSchedule getSchedule(@PathParam("sessionId") String sessionId) {
+        try {
+            return getSession(sessionId).getSchedule();
+        } catch (EditSessionClosedException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Close the session.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "204", description = "The session is closed."),
+            @APIResponse(responseCode = "404", description = "No session found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @DELETE
+    @Path("{sessionId}")
+    public void close(@PathParam("sessionId") String sessionId) {
+        if (!editSessionStore.close(sessionId)) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND, "No session found.");
+        }
+    }
+
+    private EditSession getSession(String sessionId) {
+        return editSessionStore.get(sessionId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND,
+                        "No session found."));
+    }
+}
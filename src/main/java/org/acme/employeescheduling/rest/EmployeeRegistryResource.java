@@ -0,0 +1,79 @@
+package org.acme.employeescheduling.rest;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.employee.EmployeeRegistry;
+import org.acme.employeescheduling.employee.EmployeeRoster;
+import org.acme.employeescheduling.employee.RosterUpdate;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.acme.employeescheduling.rest.exception.ErrorInfo;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Tag(name = "Employee Registry",
+        description = "Versions of the employee roster that schedules reference with the employeeVersion parameter.")
+@Path("employees")
+public class EmployeeRegistryResource {
+
+    private final EmployeeRegistry employeeRegistry;
+
+    @Inject
+    public EmployeeRegistryResource(EmployeeRegistry employeeRegistry) {
+        this.employeeRegistry = employeeRegistry;
+    }
+
+    @Operation(summary = "Add or update employees by name, in a new version of the roster if anything changed.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The version that contains the employees.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = RosterUpdate.class))),
+            @APIResponse(responseCode = "400", description = "An employee without a name or listed twice.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public RosterUpdate upsert(List<Employee> employees) {
+        try {
+            return employeeRegistry.upsert(employees);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get the employees of a version of the roster.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The version and its employees.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = EmployeeRoster.class))),
+            @APIResponse(responseCode = "404", description = "The version doesn't exist or isn't retained anymore.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public EmployeeRoster getRoster(
+            @Parameter(description = "The version, by default the latest.") @QueryParam("version") Long version) {
+        if (version == null) {
+            return employeeRegistry.getLatestRoster();
+        }
+        return employeeRegistry.getRoster(version)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(null, Response.Status.NOT_FOUND,
+                        "No employee version (" + version + ") found."));
+    }
+}
@@ -0,0 +1,70 @@
+package org.acme.employeescheduling.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.io.EmployeeScheduleBinaryCodec;
+import org.acme.employeescheduling.io.MalformedScheduleException;
+import org.acme.employeescheduling.io.ScheduleTooLargeException;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Reads and writes {@link EmployeeSchedule} in the {@link EmployeeScheduleBinaryCodec#MEDIA_TYPE binary format},
+ * when the client asks for it through {@code Content-Type} or {@code Accept}.
+ * A body larger than {@code employee-scheduling.binary-format.max-body-bytes} is rejected with 413
+ * as soon as it has been read that far.
+ */
+@Provider
+@Consumes(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+@Produces(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+public class EmployeeScheduleBinaryProvider
+        implements MessageBodyReader<EmployeeSchedule>, MessageBodyWriter<EmployeeSchedule> {
+
+    @ConfigProperty(name = "employee-scheduling.binary-format.max-body-bytes", defaultValue = "8388608")
+    int maxBodyBytes;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return EmployeeSchedule.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public EmployeeSchedule readFrom(Class<EmployeeSchedule> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream)
+            throws IOException {
+        try {
+            return EmployeeScheduleBinaryCodec.read(entityStream, maxBodyBytes);
+        } catch (ScheduleTooLargeException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+        } catch (MalformedScheduleException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "Invalid binary employee schedule: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return EmployeeSchedule.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(EmployeeSchedule schedule, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException {
+        EmployeeScheduleBinaryCodec.write(schedule, entityStream);
+    }
+}
@@ -1,51 +1,132 @@
 package org.acme.employeescheduling.rest;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.io.EmployeeScheduleBinaryCodec;
 import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoDataParameters;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.acme.employeescheduling.rest.exception.ErrorInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smallrye.common.annotation.NonBlocking;
+
 @Tag(name = "Demo data", description = "Timefold-provided demo employee schedule data.")
 @Path("demo-data")
 public class EmployeeScheduleDemoResource {
 
+    private static final MediaType BINARY_MEDIA_TYPE = MediaType.valueOf(EmployeeScheduleBinaryCodec.MEDIA_TYPE);
+
     private final DemoDataGenerator dataGenerator;
+    private final ObjectMapper objectMapper;
+    private final int maxDays;
+    private final int maxEmployees;
 
     @Inject
-    public EmployeeScheduleDemoResource(DemoDataGenerator dataGenerator) {
+    public EmployeeScheduleDemoResource(DemoDataGenerator dataGenerator, ObjectMapper objectMapper,
+            @ConfigProperty(name = "employee-scheduling.demo-data.max-days", defaultValue = "731") int maxDays,
+            @ConfigProperty(name = "employee-scheduling.demo-data.max-employees", defaultValue = "20000")
+            int maxEmployees) {
         this.dataGenerator = dataGenerator;
+        this.objectMapper = objectMapper;
+        this.maxDays = maxDays;
+        this.maxEmployees = maxEmployees;
     }
 
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "List of demo data represented as IDs.",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON,
                             schema = @Schema(implementation = DemoData.class, type = SchemaType.ARRAY))) })
-    @Operation(summary = "List demo data.")
+    @Operation(summary = "List the demo data that is small enough for the UI.")
     @GET
+    @NonBlocking
     public DemoData[] list() {
-        return DemoData.values();
+        return Arrays.stream(DemoData.values())
+                .filter(DemoData::isInteractive)
+                .toArray(DemoData[]::new);
     }
 
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "Unsolved demo schedule.",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON,
-                            schema = @Schema(implementation = EmployeeSchedule.class)))})
-    @Operation(summary = "Find an unsolved demo schedule by ID.")
+                            schema = @Schema(implementation = EmployeeSchedule.class))),
+            @APIResponse(responseCode = "400", description = "Invalid parameters, or too many days or employees.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @Operation(summary = "Generate an unsolved demo schedule by ID, optionally with another seed or size. "
+            + "JSON is streamed while it is generated, so it works for XL and XXL too.")
     @GET
+    @Produces({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
     @Path("/{demoDataId}")
-    public Response generate(@PathParam("demoDataId") DemoData demoData) {
-        return Response.ok(dataGenerator.generateDemoData(demoData)).build();
+    public Response generate(@PathParam("demoDataId") DemoData demoData,
+            @Parameter(description = "The same seed and size always generate the same schedule.")
+            @QueryParam("seed") Integer seed,
+            @Parameter(description = "Overrides the number of days of the demo data.")
+            @QueryParam("days") Integer days,
+            @Parameter(description = "Overrides the number of employees of the demo data.")
+            @QueryParam("employees") Integer employees,
+            @Parameter(description = "The first day of the schedule, as an ISO date. Defaults to a fixed Monday.")
+            @QueryParam("startDate") String startDate,
+            @Context HttpHeaders headers) {
+        if (days != null && days > maxDays) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "The days (" + days + ") must not exceed " + maxDays + ".");
+        }
+        if (employees != null && employees > maxEmployees) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "The employees (" + employees + ") must not exceed " + maxEmployees + ".");
+        }
+        DemoDataParameters parameters = demoData.getParameters();
+        try {
+            if (seed != null) {
+                parameters = parameters.withRandomSeed(seed);
+            }
+            if (days != null) {
+                parameters = parameters.withDaysInSchedule(days);
+            }
+            if (employees != null) {
+                parameters = parameters.withEmployeeCount(employees);
+            }
+            if (startDate != null) {
+                parameters = parameters.withStartDate(LocalDate.parse(startDate));
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        // The binary format can't be streamed
+        boolean binary = headers.getAcceptableMediaTypes().stream()
+                .anyMatch(mediaType -> !mediaType.isWildcardType() && mediaType.isCompatible(BINARY_MEDIA_TYPE));
+        if (binary) {
+            return Response.ok(dataGenerator.generateDemoData(parameters), BINARY_MEDIA_TYPE).build();
+        }
+        DemoDataParameters streamedParameters = parameters;
+        StreamingOutput output =
+                outputStream -> dataGenerator.writeDemoDataJson(streamedParameters, objectMapper, outputStream);
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
     }
 }
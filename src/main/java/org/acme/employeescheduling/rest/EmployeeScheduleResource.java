@@ -1,14 +1,25 @@
 package org.acme.employeescheduling.rest;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BeanParam;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -17,17 +28,45 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
 import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
 import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
 import ai.timefold.solver.core.api.solver.SolutionManager;
-import ai.timefold.solver.core.api.solver.SolverManager;
-import ai.timefold.solver.core.api.solver.SolverStatus;
 
 import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.employee.EmployeeRegistry;
+import org.acme.employeescheduling.io.EmployeeScheduleBinaryCodec;
+import org.acme.employeescheduling.io.EmployeeScheduleCsvReader;
+import org.acme.employeescheduling.io.EmployeeScheduleCsvWriter;
+import org.acme.employeescheduling.job.AdmissionDecision;
+import org.acme.employeescheduling.job.JobPriority;
+import org.acme.employeescheduling.job.JobRecord;
+import org.acme.employeescheduling.job.JobState;
+import org.acme.employeescheduling.job.QueueStatus;
+import org.acme.employeescheduling.job.ScheduleQuery;
+import org.acme.employeescheduling.job.SolverJobScheduler;
+import org.acme.employeescheduling.job.SolverJobService;
+import org.acme.employeescheduling.job.Submission;
+import org.acme.employeescheduling.rest.analysis.AnalysisFilter;
+import org.acme.employeescheduling.rest.analysis.AnalysisPage;
+import org.acme.employeescheduling.rest.analysis.IndictmentSummary;
+import org.acme.employeescheduling.rest.analysis.IndictmentType;
+import org.acme.employeescheduling.rest.analysis.MatchDetail;
+import org.acme.employeescheduling.rest.analysis.ScheduleAnalysis;
+import org.acme.employeescheduling.rest.analysis.ScoreAnalysisSummary;
 import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
 import org.acme.employeescheduling.rest.exception.ErrorInfo;
+import org.acme.employeescheduling.solver.AssignmentRecommender;
+import org.acme.employeescheduling.solver.CapacityShortage;
+import org.acme.employeescheduling.solver.FeasibilityAnalyzer;
+import org.acme.employeescheduling.solver.FeasibilityReport;
+import org.acme.employeescheduling.solver.InfeasibilityPolicy;
+import org.acme.employeescheduling.solver.QuickSolveService;
+import org.acme.employeescheduling.solver.ShiftRecommendation;
+import org.acme.employeescheduling.solver.StagedSolving;
+import org.acme.employeescheduling.solver.TerminationOptions;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -39,23 +78,54 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.common.annotation.NonBlocking;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * The cheap calls that clients poll, such as the status and the queue, run on the event loop.
+ * Everything that reads, writes or analyzes a whole schedule runs on a worker thread,
+ * so that a large download never delays a poll.
+ */
 @Tag(name = "Employee Schedules", description = "Employee Schedules service for assigning employees to shifts.")
 @Path("schedules")
 public class EmployeeScheduleResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeScheduleResource.class);
+    private static final int MAX_ANALYSIS_PAGE_SIZE = 1000;
+    private static final int MAX_DESCRIBED_SHORTAGES = 5;
+    // Each analysis holds a copy of its schedule and, once drilled down, its constraint matches
+    private static final int MAX_CACHED_ANALYSES = 16;
 
-    SolverManager<EmployeeSchedule, String> solverManager;
+    SolverJobService solverJobService;
     SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    QuickSolveService quickSolveService;
+    SolverJobScheduler solverJobScheduler;
+    StagedSolving stagedSolving;
+    AssignmentRecommender assignmentRecommender;
+    EmployeeRegistry employeeRegistry;
 
-    // TODO: Without any "time to live", the map may eventually grow out of memory.
-    private final ConcurrentMap<String, Job> jobIdToJob = new ConcurrentHashMap<>();
+    // The analyses of the most recently analyzed jobs, least recently used first
+    private final Map<String, ScheduleAnalysis> jobIdToAnalysis = Collections.synchronizedMap(
+            new LinkedHashMap<>(MAX_CACHED_ANALYSES * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ScheduleAnalysis> eldest) {
+                    return size() > MAX_CACHED_ANALYSES;
+                }
+            });
 
     @Inject
-    public EmployeeScheduleResource(SolverManager<EmployeeSchedule, String> solverManager,
-            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager) {
-        this.solverManager = solverManager;
+    public EmployeeScheduleResource(SolverJobService solverJobService,
+            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager,
+            QuickSolveService quickSolveService, SolverJobScheduler solverJobScheduler, StagedSolving stagedSolving,
+            AssignmentRecommender assignmentRecommender, EmployeeRegistry employeeRegistry) {
+        this.solverJobService = solverJobService;
         this.solutionManager = solutionManager;
+        this.quickSolveService = quickSolveService;
+        this.solverJobScheduler = solverJobScheduler;
+        this.stagedSolving = stagedSolving;
+        this.assignmentRecommender = assignmentRecommender;
+        this.employeeRegistry = employeeRegistry;
     }
 
     @Operation(summary = "List the job IDs of all submitted schedules.")
@@ -65,31 +135,210 @@ public class EmployeeScheduleResource {
                             schema = @Schema(type = SchemaType.ARRAY, implementation = String.class))) })
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Collection<String> list() {
-        return jobIdToJob.keySet();
+    public Uni<Collection<String>> list() {
+        return readJobs(solverJobService::getJobIds);
+    }
+
+    @Operation(summary = "Get the queue depth, wait times and resource usage of the solving jobs on this node.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The queue status.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = QueueStatus.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("queue")
+    @NonBlocking
+    public QueueStatus getQueueStatus() {
+        return solverJobScheduler.getStatus();
     }
 
     @Operation(summary = "Submit a schedule to start solving as soon as CPU resources are available.")
     @APIResponses(value = {
             @APIResponse(responseCode = "202",
                     description = "The job ID. Use that ID to get the solution with the other methods.",
-                    content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(implementation = String.class))) })
+                    content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(implementation = String.class))),
+            @APIResponse(responseCode = "400",
+                    description = "Invalid termination parameters, an unknown employee version or employee, "
+                            + "or an infeasible schedule with onInfeasible=REJECT.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "413", description = "The schedule needs more memory than this node has.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "503", description = "The queue is full. Retry later.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.TEXT_PLAIN)
+    public String solve(EmployeeSchedule problem,
+            @Parameter(description = "The tenant whose jobs share the solvers fairly with other tenants.")
+            @HeaderParam("X-Tenant-Id") @DefaultValue("default") String tenant,
+            @Parameter(description = "Queued jobs of a higher priority start first.")
+            @QueryParam("priority") @DefaultValue("NORMAL") JobPriority priority,
+            @Parameter(description = "Derive the spent limit from the number of shifts and employees.")
+            @QueryParam("scaleSpentLimit") @DefaultValue("false") boolean scaleSpentLimit,
+            @Parameter(description = "Stop once the schedule is feasible and its soft score improved less than "
+                    + "this percentage over the improvement window.")
+            @QueryParam("minImprovementPercent") Double minImprovementPercent,
+            @Parameter(description = "The sliding window of minImprovementPercent, in seconds.")
+            @QueryParam("improvementWindowSeconds") Long improvementWindowSeconds,
+            @Parameter(description = "What to do if the schedule has more shifts than employees to staff them.")
+            @QueryParam("onInfeasible") @DefaultValue("LIMIT") InfeasibilityPolicy infeasibilityPolicy,
+            @Parameter(description = "Solve without the balance constraint until feasible, then with all constraints. "
+                    + "Defaults to employee-scheduling.staged-solving.enabled.")
+            @QueryParam("hardFirst") Boolean hardFirst,
+            @Parameter(description = "The version of the employee registry that the employees of the schedule "
+                    + "reference by name. Without employees, the schedule has every employee of the version.")
+            @QueryParam("employeeVersion") Long employeeVersion) {
+        TerminationOptions options;
+        try {
+            if (employeeVersion != null) {
+                problem = employeeRegistry.resolve(problem, employeeVersion);
+            }
+            options = new TerminationOptions(scaleSpentLimit, minImprovementPercent,
+                    improvementWindowSeconds == null ? null : Duration.ofSeconds(improvementWindowSeconds), null);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        return solve(problem, options, infeasibilityPolicy, stagedSolving.isEnabled(hardFirst), tenant, priority);
+    }
+
+    private String solve(EmployeeSchedule problem, TerminationOptions options, InfeasibilityPolicy infeasibilityPolicy,
+            boolean hardFirst, String tenant, JobPriority priority) {
+        options = applyInfeasibilityPolicy(problem, options, infeasibilityPolicy);
+        Submission submission;
+        try {
+            submission = solverJobService.submit(problem, tenant, priority, options, hardFirst);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        if (submission.decision() == AdmissionDecision.TOO_LARGE) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.REQUEST_ENTITY_TOO_LARGE,
+                    "The schedule needs more memory than this node has.");
+        } else if (submission.decision() == AdmissionDecision.QUEUE_FULL) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.SERVICE_UNAVAILABLE,
+                    "The queue is full.");
+        }
+        return submission.id();
+    }
+
+    /**
+     * @return the options, with a best hard score limit if the problem is infeasible and the policy is LIMIT
+     * @throws EmployeeScheduleSolverException if the problem is infeasible for {@link InfeasibilityPolicy#REJECT}
+     */
+    static TerminationOptions applyInfeasibilityPolicy(EmployeeSchedule problem, TerminationOptions options,
+            InfeasibilityPolicy infeasibilityPolicy) {
+        if (infeasibilityPolicy == InfeasibilityPolicy.IGNORE) {
+            return options;
+        }
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(problem);
+        if (report.isPossiblyFeasible()) {
+            return options;
+        }
+        if (infeasibilityPolicy == InfeasibilityPolicy.REJECT) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    describeInfeasibility(report));
+        }
+        // No solver can do better than the bound, so stop as soon as it is reached
+        return options.withBestHardScoreLimit(BigDecimal.valueOf(-report.minimumHardPenalty()));
+    }
+
+    private static String describeInfeasibility(FeasibilityReport report) {
+        StringBuilder message = new StringBuilder("The schedule is infeasible: at least ")
+                .append(report.minimumHardPenalty()).append(" shifts can't be staffed.");
+        if (!report.unstaffableSkills().isEmpty()) {
+            message.append(" No employee has the skills ").append(report.unstaffableSkills()).append('.');
+        }
+        List<CapacityShortage> shortages = report.shortages();
+        for (int i = 0; i < Math.min(shortages.size(), MAX_DESCRIBED_SHORTAGES); i++) {
+            CapacityShortage shortage = shortages.get(i);
+            message.append(" On ").append(shortage.date()).append(", ").append(shortage.demand())
+                    .append(shortage.skill() == null ? " shifts" : " shifts requiring " + shortage.skill())
+                    .append(" but ").append(shortage.supply()).append(" employees.");
+        }
+        if (shortages.size() > MAX_DESCRIBED_SHORTAGES) {
+            message.append(" And ").append(shortages.size() - MAX_DESCRIBED_SHORTAGES).append(" more shortages.");
+        }
+        return message.toString();
+    }
+
+    @Operation(summary = "Find the capacity shortages that make a schedule infeasible, without solving it.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200",
+                    description = "The shortages per day and skill and the best hard score that solving can reach.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = FeasibilityReport.class))) })
+    @PUT
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("feasibility")
+    public FeasibilityReport analyzeFeasibility(EmployeeSchedule problem) {
+        return FeasibilityAnalyzer.analyze(problem);
+    }
+
+    @Operation(summary = "Solve a small schedule synchronously within a latency budget.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The best solution found within the budget and its score.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = QuickSolveResult.class))),
+            @APIResponse(responseCode = "400", description = "Invalid budget.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "429", description = "Too many quick solves are running. Retry later.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("quick-solve")
+    public QuickSolveResult quickSolve(EmployeeSchedule problem,
+            @Parameter(description = "The time in which the response must be ready, in milliseconds.")
+            @QueryParam("budgetMillis") @DefaultValue("250") long budgetMillis) {
+        long startNanos = System.nanoTime();
+        EmployeeSchedule solution;
+        try {
+            solution = quickSolveService.trySolve(problem, Duration.ofMillis(budgetMillis))
+                    .orElseThrow(() -> new EmployeeScheduleSolverException(null, Response.Status.TOO_MANY_REQUESTS,
+                            "Too many quick solves are running."));
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        long solveMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        return new QuickSolveResult(solution,
+                ScheduleAnalysis.summarize(solutionManager.analyze(solution, ScoreAnalysisFetchPolicy.FETCH_SHALLOW)),
+                solveMillis);
+    }
+
+    @Operation(summary = "Import a schedule from CSV files and start solving it as soon as CPU resources are available.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "202",
+                    description = "The job ID. Use that ID to get the solution with the other methods.",
+                    content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(implementation = String.class))),
+            @APIResponse(responseCode = "400", description = "Invalid CSV files.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
     @POST
-    @Consumes({ MediaType.APPLICATION_JSON })
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.TEXT_PLAIN)
-    public String solve(EmployeeSchedule problem) {
-        String jobId = UUID.randomUUID().toString();
-        jobIdToJob.put(jobId, Job.ofSchedule(problem));
-        solverManager.solveBuilder()
-                .withProblemId(jobId)
-                .withProblemFinder(jobId_ -> jobIdToJob.get(jobId).schedule)
-                .withBestSolutionConsumer(solution -> jobIdToJob.put(jobId, Job.ofSchedule(solution)))
-                .withExceptionHandler((jobId_, exception) -> {
-                    jobIdToJob.put(jobId, Job.ofException(exception));
-                    LOGGER.error("Failed solving jobId ({}).", jobId, exception);
-                })
-                .run();
-        return jobId;
+    @Path("csv")
+    public String solveCsv(@BeanParam CsvImportForm form) throws IOException {
+        if (form.employees == null || form.shifts == null) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "The employees and shifts CSV files are required.");
+        }
+        EmployeeScheduleCsvReader reader = new EmployeeScheduleCsvReader();
+        try {
+            reader.readEmployees(Files.newInputStream(form.employees.uploadedFile()));
+            if (form.availability != null) {
+                reader.readAvailability(Files.newInputStream(form.availability.uploadedFile()));
+            }
+            reader.readShifts(Files.newInputStream(form.shifts.uploadedFile()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        return solve(reader.toSchedule(), TerminationOptions.DEFAULT, InfeasibilityPolicy.LIMIT,
+                stagedSolving.isEnabled(null), "default", JobPriority.NORMAL);
     }
 
     @Operation(summary = "Submit a schedule to analyze its score.")
@@ -99,7 +348,7 @@ public class EmployeeScheduleResource {
                     content = @Content(mediaType = MediaType.APPLICATION_JSON,
                             schema = @Schema(implementation = ScoreAnalysis.class))) })
     @PUT
-    @Consumes({ MediaType.APPLICATION_JSON })
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
     @Produces(MediaType.APPLICATION_JSON)
     @Path("analyze")
     public ScoreAnalysis<HardSoftBigDecimalScore> analyze(EmployeeSchedule problem,
@@ -107,12 +356,190 @@ public class EmployeeScheduleResource {
         return fetchPolicy == null ? solutionManager.analyze(problem) : solutionManager.analyze(problem, fetchPolicy);
     }
 
+    @Operation(summary = "Submit a schedule to get the score of each constraint, without constraint matches.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The score of the schedule and of each constraint.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ScoreAnalysisSummary.class))) })
+    @PUT
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("analyze/summary")
+    public ScoreAnalysisSummary analyzeSummary(EmployeeSchedule problem) {
+        return ScheduleAnalysis.summarize(solutionManager.analyze(problem, ScoreAnalysisFetchPolicy.FETCH_SHALLOW));
+    }
+
+    @Operation(summary = "Get the score of each constraint of the best solution so far for a given job ID.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The score of the solution and of each constraint.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ScoreAnalysisSummary.class))),
+            @APIResponse(responseCode = "404", description = "No schedule found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/analysis")
+    public ScoreAnalysisSummary getAnalysisSummary(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
+        return getScheduleAnalysis(jobId).getSummary();
+    }
+
+    @Operation(summary = "Get one page of the matches of a constraint, worst first, "
+            + "in the best solution so far for a given job ID.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The page of constraint matches.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = AnalysisPage.class))),
+            @APIResponse(responseCode = "404", description = "No schedule or constraint found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/analysis/matches/{constraintName}")
+    public AnalysisPage<MatchDetail> getAnalysisMatches(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @PathParam("constraintName") String constraintName,
+            @Parameter(description = "Only matches on shifts of this employee.") @QueryParam("employee") String employee,
+            @Parameter(description = "Only matches on shifts at this location.") @QueryParam("location") String location,
+            @Parameter(description = "Only matches on or after this date.") @QueryParam("from") String from,
+            @Parameter(description = "Only matches on or before this date.") @QueryParam("to") String to,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("50") int size) {
+        AnalysisFilter filter = parseAnalysisFilter(jobId, employee, location, from, to);
+        checkPage(jobId, page, size);
+        return getScheduleAnalysis(jobId).getMatches(constraintName, filter, page, size)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No constraint (" + constraintName + ") found."));
+    }
+
+    @Operation(summary = "Get one page of the shifts or employees with the worst score impact "
+            + "in the best solution so far for a given job ID.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The page of indictments.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = AnalysisPage.class))),
+            @APIResponse(responseCode = "404", description = "No schedule found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/analysis/indictments")
+    public AnalysisPage<IndictmentSummary> getAnalysisIndictments(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @QueryParam("type") @DefaultValue("SHIFT") IndictmentType type,
+            @Parameter(description = "Only this employee or shifts of this employee.") @QueryParam("employee") String employee,
+            @Parameter(description = "Only shifts at this location, or employees with a shift there.")
+            @QueryParam("location") String location,
+            @Parameter(description = "Only shifts on or after this date, or employees with a shift then.")
+            @QueryParam("from") String from,
+            @Parameter(description = "Only shifts on or before this date, or employees with a shift then.")
+            @QueryParam("to") String to,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("50") int size) {
+        AnalysisFilter filter = parseAnalysisFilter(jobId, employee, location, from, to);
+        checkPage(jobId, page, size);
+        return getScheduleAnalysis(jobId).getIndictments(type, filter, page, size);
+    }
+
+    @Operation(summary = "Submit a schedule to rank the employees for one or more shifts by score impact, "
+            + "without solving. Each shift is ranked on its own against the assigned shifts.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The best employees for each shift, best first.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(type = SchemaType.ARRAY, implementation = ShiftRecommendation.class))),
+            @APIResponse(responseCode = "400", description = "No shift ID, an unknown shift ID or an invalid limit.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @PUT
+    @Consumes({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("recommendations")
+    public List<ShiftRecommendation> recommend(EmployeeSchedule problem,
+            @Parameter(description = "The shifts to recommend employees for. Repeat for a batch.")
+            @QueryParam("shiftId") List<String> shiftIds,
+            @Parameter(description = "The maximum number of employees per shift.")
+            @QueryParam("limit") @DefaultValue("5") int limit) {
+        return recommend(null, problem, shiftIds, limit);
+    }
+
+    @Operation(summary = "Rank the employees for one or more shifts by score impact "
+            + "against the best solution so far for a given job ID.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The best employees for each shift, best first.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(type = SchemaType.ARRAY, implementation = ShiftRecommendation.class))),
+            @APIResponse(responseCode = "400", description = "No shift ID, an unknown shift ID or an invalid limit.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "404", description = "No schedule found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))) })
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/recommendations")
+    public List<ShiftRecommendation> getRecommendations(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @Parameter(description = "The shifts to recommend employees for. Repeat for a batch.")
+            @QueryParam("shiftId") List<String> shiftIds,
+            @Parameter(description = "The maximum number of employees per shift.")
+            @QueryParam("limit") @DefaultValue("5") int limit) {
+        return recommend(jobId, getEmployeeScheduleAndCheckForExceptions(jobId), shiftIds, limit);
+    }
+
+    private List<ShiftRecommendation> recommend(String jobId, EmployeeSchedule schedule, List<String> shiftIds,
+            int limit) {
+        try {
+            return assignmentRecommender.recommend(schedule, shiftIds, limit);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ScheduleAnalysis getScheduleAnalysis(String jobId) {
+        EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
+        // Reuse the analysis until the job publishes a new best solution
+        ScheduleAnalysis cachedAnalysis = jobIdToAnalysis.get(jobId);
+        if (cachedAnalysis != null && cachedAnalysis.isOf(schedule)) {
+            return cachedAnalysis;
+        }
+        // Built outside the lock of the map, so that reads of other jobs don't wait for its copy of the shifts.
+        // Concurrent reads of a new best solution may each build one, of which the last one is cached.
+        ScheduleAnalysis analysis = new ScheduleAnalysis(schedule, solutionManager);
+        jobIdToAnalysis.put(jobId, analysis);
+        return analysis;
+    }
+
+    private static AnalysisFilter parseAnalysisFilter(String jobId, String employee, String location, String from,
+            String to) {
+        try {
+            return new AnalysisFilter(employee, location,
+                    from == null ? null : LocalDate.parse(from),
+                    to == null ? null : LocalDate.parse(to));
+        } catch (DateTimeParseException e) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static void checkPage(String jobId, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_ANALYSIS_PAGE_SIZE) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST,
+                    "The page (" + page + ") must not be negative and the size (" + size + ") must be between 1 and "
+                            + MAX_ANALYSIS_PAGE_SIZE + ".");
+        }
+    }
+
     @Operation(
-            summary = "Get the solution and score for a given job ID. This is the best solution so far, as it might still be running or not even started.")
+            summary = "Get the solution and score for a given job ID. This is the best solution so far, as it might still be running or not even started.",
+            description = "A filtered read only has the employees of its shifts, and its shifts are ordered by start. "
+                    + "With fields=ASSIGNMENTS, it is always JSON and only has the names of the employees.")
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "The best solution of the schedule so far.",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON,
-                            schema = @Schema(implementation = EmployeeSchedule.class))),
+                            schema = @Schema(oneOf = { EmployeeSchedule.class, ScheduleAssignments.class }))),
+            @APIResponse(responseCode = "400", description = "Invalid dates.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
             @APIResponse(responseCode = "404", description = "No schedule found.",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON,
                             schema = @Schema(implementation = ErrorInfo.class))),
@@ -121,25 +548,70 @@ public class EmployeeScheduleResource {
                             schema = @Schema(implementation = ErrorInfo.class)))
     })
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
     @Path("{jobId}")
-    public EmployeeSchedule getEmployeeSchedule(
-            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
-        EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
-        SolverStatus solverStatus = solverManager.getSolverStatus(jobId);
-        schedule.setSolverStatus(solverStatus);
-        return schedule;
+    public Response getEmployeeSchedule(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @Parameter(description = "Only the shifts of this employee.") @QueryParam("employee") String employee,
+            @Parameter(description = "Only the shifts at this location.") @QueryParam("location") String location,
+            @Parameter(description = "Only the shifts that end on or after this date.") @QueryParam("from") String from,
+            @Parameter(description = "Only the shifts that start on or before this date.") @QueryParam("to") String to,
+            @Parameter(description = "ASSIGNMENTS to return only the names of the employees.")
+            @QueryParam("fields") @DefaultValue("ALL") ScheduleFields fields) {
+        ScheduleQuery query = parseScheduleQuery(jobId, employee, location, from, to);
+        if (!query.isFiltered() && fields == ScheduleFields.ALL) {
+            return Response.ok(getEmployeeSchedule(jobId)).build();
+        }
+        JobRecord record = getRecordAndCheckForExceptions(jobId);
+        EmployeeSchedule schedule = solverJobService.getSchedule(jobId, query)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No schedule found."))
+                .withStatus(record.state().toSolverStatus(), record.terminationReason());
+        if (fields == ScheduleFields.ASSIGNMENTS) {
+            // The binary codec only writes whole schedules
+            return Response.ok(ScheduleAssignments.of(schedule), MediaType.APPLICATION_JSON_TYPE).build();
+        }
+        return Response.ok(schedule).build();
     }
 
-    private EmployeeSchedule getEmployeeScheduleAndCheckForExceptions(String jobId) {
-        Job job = jobIdToJob.get(jobId);
-        if (job == null) {
-            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND, "No schedule found.");
+    private EmployeeSchedule getEmployeeSchedule(String jobId) {
+        Job job = getJobAndCheckForExceptions(jobId);
+        return job.schedule.withStatus(job.record.state().toSolverStatus(), job.record.terminationReason());
+    }
+
+    private static ScheduleQuery parseScheduleQuery(String jobId, String employee, String location, String from,
+            String to) {
+        try {
+            return new ScheduleQuery(employee, location,
+                    from == null ? null : LocalDate.parse(from),
+                    to == null ? null : LocalDate.parse(to));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST, e.getMessage());
         }
-        if (job.exception != null) {
-            throw new EmployeeScheduleSolverException(jobId, job.exception);
+    }
+
+    private EmployeeSchedule getEmployeeScheduleAndCheckForExceptions(String jobId) {
+        return getJobAndCheckForExceptions(jobId).schedule;
+    }
+
+    private Job getJobAndCheckForExceptions(String jobId) {
+        JobRecord record = getRecordAndCheckForExceptions(jobId);
+        EmployeeSchedule schedule = solverJobService.getSchedule(jobId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No schedule found."));
+        return new Job(schedule, record);
+    }
+
+    private JobRecord getRecordAndCheckForExceptions(String jobId) {
+        checkJobId(jobId);
+        JobRecord record = solverJobService.getRecord(jobId)
+                .orElseThrow(() -> new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                        "No schedule found."));
+        if (record.state() == JobState.FAILED) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.INTERNAL_SERVER_ERROR,
+                    record.errorMessage());
         }
-        return job.schedule;
+        return record;
     }
 
     @Operation(
@@ -156,12 +628,13 @@ public class EmployeeScheduleResource {
                             schema = @Schema(implementation = ErrorInfo.class)))
     })
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, EmployeeScheduleBinaryCodec.MEDIA_TYPE })
     @Path("{jobId}")
     public EmployeeSchedule terminateSolving(
             @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
-        // TODO: Replace with .terminateEarlyAndWait(... [, timeout]); see https://github.com/TimefoldAI/timefold-solver/issues/77
-        solverManager.terminateEarly(jobId);
+        checkJobId(jobId);
+        solverJobService.terminate(jobId);
+        jobIdToAnalysis.remove(jobId);
         return getEmployeeSchedule(jobId);
     }
 
@@ -181,21 +654,54 @@ public class EmployeeScheduleResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("{jobId}/status")
-    public EmployeeSchedule getStatus(
+    public Uni<EmployeeSchedule> getStatus(
             @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
-        EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
-        SolverStatus solverStatus = solverManager.getSolverStatus(jobId);
-        return new EmployeeSchedule(schedule.getScore(), solverStatus);
+        return readJobs(() -> {
+            // Only the score, so that polling never rebuilds the whole schedule
+            JobRecord record = getRecordAndCheckForExceptions(jobId);
+            EmployeeSchedule status = new EmployeeSchedule(solverJobService.getScore(jobId).orElse(null),
+                    record.state().toSolverStatus());
+            status.setTerminationReason(record.terminationReason());
+            return status;
+        });
     }
 
-    private record Job(EmployeeSchedule schedule, Throwable exception) {
+    /**
+     * Reads on the event loop when the jobs are in memory, and on a worker thread when reading them blocks.
+     */
+    private <T> Uni<T> readJobs(Supplier<T> read) {
+        Uni<T> uni = Uni.createFrom().item(read);
+        return solverJobService.isReadBlocking() ? uni.runSubscriptionOn(Infrastructure.getDefaultWorkerPool()) : uni;
+    }
 
-        static Job ofSchedule(EmployeeSchedule schedule) {
-            return new Job(schedule, null);
-        }
+    @Operation(
+            summary = "Stream the shift assignments of the best solution so far for a given job ID as CSV.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "The shift assignments of the best solution so far.",
+                    content = @Content(mediaType = EmployeeScheduleCsvWriter.MEDIA_TYPE,
+                            schema = @Schema(type = SchemaType.STRING))),
+            @APIResponse(responseCode = "404", description = "No schedule found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class))),
+            @APIResponse(responseCode = "500", description = "Exception during solving a schedule.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorInfo.class)))
+    })
+    @GET
+    @Produces(EmployeeScheduleCsvWriter.MEDIA_TYPE)
+    @Path("{jobId}/assignments")
+    public StreamingOutput getAssignmentsCsv(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
+        EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
+        return outputStream -> EmployeeScheduleCsvWriter.writeAssignments(schedule, outputStream);
+    }
 
-        static Job ofException(Throwable error) {
-            return new Job(null, error);
+    static void checkJobId(String jobId) {
+        if (!SolverJobService.isValidId(jobId)) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND, "No schedule found.");
         }
     }
+
+    private record Job(EmployeeSchedule schedule, JobRecord record) {
+    }
 }
@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.rest;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.analysis.ScoreAnalysisSummary;
+
+/**
+ * The response of a synchronous quick solve.
+ *
+ * @param solveMillis the time spent solving, without reading the request or writing the response
+ */
+public record QuickSolveResult(EmployeeSchedule schedule, ScoreAnalysisSummary analysis, long solveMillis) {
+}
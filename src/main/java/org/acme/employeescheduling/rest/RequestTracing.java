@@ -0,0 +1,85 @@
+package org.acme.employeescheduling.rest;
+
+import java.io.IOException;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.ext.InterceptorContext;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import org.acme.employeescheduling.job.JobTracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.Tracer;
+
+/**
+ * Traces reading the request body, such as deserializing a schedule, and writing the response body,
+ * as children of the span of the request.
+ * Adds the {@link JobTracing#JOB_ID} of the requests for a job to their spans,
+ * so they are found with the spans of the job.
+ */
+@Provider
+public class RequestTracing implements ContainerRequestFilter, ReaderInterceptor, WriterInterceptor {
+
+    public static final AttributeKey<String> BODY_TYPE = AttributeKey.stringKey("employee-scheduling.body.type");
+
+    private static final String JOB_ID_PARAMETER = "jobId";
+
+    private final Tracer tracer;
+
+    @Inject
+    public RequestTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String jobId = requestContext.getUriInfo().getPathParameters().getFirst(JOB_ID_PARAMETER);
+        if (jobId != null) {
+            Span.current().setAttribute(JobTracing.JOB_ID, jobId);
+            requestContext.setProperty(JobTracing.JOB_ID.getKey(), jobId);
+        }
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+        Span span = startSpan("read request body", context);
+        try {
+            return context.proceed();
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Span span = startSpan("write response body", context);
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Span startSpan(String name, InterceptorContext context) {
+        SpanBuilder spanBuilder = tracer.spanBuilder(name)
+                .setAttribute(BODY_TYPE, context.getType().getSimpleName());
+        if (context.getProperty(JobTracing.JOB_ID.getKey()) instanceof String jobId) {
+            spanBuilder.setAttribute(JobTracing.JOB_ID, jobId);
+        }
+        return spanBuilder.startSpan();
+    }
+}
@@ -0,0 +1,48 @@
+package org.acme.employeescheduling.rest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.domain.TerminationReason;
+
+/**
+ * A schedule read with {@link ScheduleFields#ASSIGNMENTS}: the shifts and only the name of their employees.
+ *
+ * @param employees the employees of the shifts, in the order of their first shift
+ */
+public record ScheduleAssignments(List<EmployeeName> employees, List<ShiftAssignment> shifts,
+        HardSoftBigDecimalScore score, SolverStatus solverStatus, TerminationReason terminationReason) {
+
+    public static ScheduleAssignments of(EmployeeSchedule schedule) {
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+        Map<String, EmployeeName> nameToEmployeeMap = new LinkedHashMap<>();
+        List<ShiftAssignment> assignments = new ArrayList<>(shifts.size());
+        for (Shift shift : shifts) {
+            EmployeeName employee = shift.getEmployee() == null
+                    ? null
+                    : nameToEmployeeMap.computeIfAbsent(shift.getEmployee().getName(), EmployeeName::new);
+            assignments.add(new ShiftAssignment(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                    shift.getRequiredSkill(), employee));
+        }
+        return new ScheduleAssignments(new ArrayList<>(nameToEmployeeMap.values()), assignments, schedule.getScore(),
+                schedule.getSolverStatus(), schedule.getTerminationReason());
+    }
+
+    public record EmployeeName(String name) {
+    }
+
+    /**
+     * @param employee null if the shift is unassigned
+     */
+    public record ShiftAssignment(String id, LocalDateTime start, LocalDateTime end, String location,
+            String requiredSkill, EmployeeName employee) {
+    }
+}
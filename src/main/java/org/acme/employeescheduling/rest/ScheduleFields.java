@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.rest;
+
+/**
+ * What a schedule read returns of each shift and employee.
+ */
+public enum ScheduleFields {
+    /**
+     * The shifts and their employees with their skills and dates.
+     */
+    ALL,
+    /**
+     * The shifts and only the name of their employees.
+     */
+    ASSIGNMENTS
+}
@@ -0,0 +1,63 @@
+package org.acme.employeescheduling.rest;
+
+import java.io.IOException;
+
+import jakarta.inject.Singleton;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleIndexer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.quarkus.jackson.ObjectMapperCustomizer;
+
+/**
+ * Indexes every {@link EmployeeSchedule} that is read from JSON, by the REST layer or the job registry,
+ * as soon as it is deserialized.
+ */
+@Singleton
+public class ScheduleIndexingCustomizer implements ObjectMapperCustomizer {
+
+    @Override
+    public void customize(ObjectMapper objectMapper) {
+        SimpleModule module = new SimpleModule("schedule-indexing");
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDescription,
+                    JsonDeserializer<?> deserializer) {
+                return beanDescription.getBeanClass() == EmployeeSchedule.class
+                        ? new IndexingDeserializer(deserializer)
+                        : deserializer;
+            }
+        });
+        objectMapper.registerModule(module);
+    }
+
+    private static final class IndexingDeserializer extends DelegatingDeserializer {
+
+        private IndexingDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new IndexingDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            Object schedule = super.deserialize(parser, context);
+            return schedule instanceof EmployeeSchedule employeeSchedule
+                    ? ScheduleIndexer.index(employeeSchedule)
+                    : schedule;
+        }
+    }
+}
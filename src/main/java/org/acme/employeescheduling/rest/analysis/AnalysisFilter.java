@@ -0,0 +1,70 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Restricts an analysis to the matches and indictments of one employee, one location and/or a date range.
+ * Every criterion is optional; the date range is inclusive.
+ */
+public record AnalysisFilter(String employee, String location, LocalDate from, LocalDate to) {
+
+    public boolean isEmpty() {
+        return employee == null && location == null && from == null && to == null;
+    }
+
+    /**
+     * A match passes if the objects it is indicted on satisfy every criterion between them,
+     * for example an employee indictment for the employee criterion and a shift for the location.
+     */
+    public boolean accepts(Collection<?> indictedObjects) {
+        if (isEmpty()) {
+            return true;
+        }
+        boolean employeeMatched = employee == null;
+        boolean locationMatched = location == null;
+        boolean dateMatched = from == null && to == null;
+        for (Object indictedObject : indictedObjects) {
+            if (indictedObject instanceof Shift shift) {
+                employeeMatched |= employee != null && shift.getEmployee() != null
+                        && employee.equals(shift.getEmployee().getName());
+                locationMatched |= location != null && location.equals(shift.getLocation());
+                dateMatched |= isInRange(shift.getStart().toLocalDate()) || isInRange(shift.getEnd().toLocalDate());
+            } else if (indictedObject instanceof Employee indictedEmployee) {
+                employeeMatched |= employee != null && employee.equals(indictedEmployee.getName());
+            } else if (indictedObject instanceof LocalDate date) {
+                dateMatched |= isInRange(date);
+            }
+        }
+        return employeeMatched && locationMatched && dateMatched;
+    }
+
+    /**
+     * An employee passes if it is the employee of the criterion
+     * and one of its shifts is at the location and in the date range.
+     *
+     * @param shifts the shifts of the employee
+     */
+    public boolean acceptsEmployee(Employee indictedEmployee, Collection<Shift> shifts) {
+        if (employee != null && !employee.equals(indictedEmployee.getName())) {
+            return false;
+        }
+        if (location == null && from == null && to == null) {
+            return true;
+        }
+        for (Shift shift : shifts) {
+            if ((location == null || location.equals(shift.getLocation()))
+                    && (isInRange(shift.getStart().toLocalDate()) || isInRange(shift.getEnd().toLocalDate()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInRange(LocalDate date) {
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+}
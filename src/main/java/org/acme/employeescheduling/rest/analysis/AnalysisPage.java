@@ -0,0 +1,11 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import java.util.List;
+
+/**
+ * One page of a filtered list.
+ *
+ * @param totalCount the number of items that pass the filter, on all pages
+ */
+public record AnalysisPage<T>(int page, int size, int totalCount, List<T> items) {
+}
@@ -0,0 +1,6 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+public record ConstraintSummary(String constraintName, HardSoftBigDecimalScore weight, HardSoftBigDecimalScore score) {
+}
@@ -0,0 +1,11 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+/**
+ * The total impact of all constraint matches on one shift or employee.
+ *
+ * @param id the shift ID or employee name
+ */
+public record IndictmentSummary(IndictmentType type, String id, HardSoftBigDecimalScore score, int matchCount) {
+}
@@ -0,0 +1,6 @@
+package org.acme.employeescheduling.rest.analysis;
+
+public enum IndictmentType {
+    SHIFT,
+    EMPLOYEE
+}
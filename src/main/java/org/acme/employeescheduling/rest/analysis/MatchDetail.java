@@ -0,0 +1,13 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+/**
+ * One constraint match, with the shifts, employees and dates it was indicted on.
+ */
+public record MatchDetail(HardSoftBigDecimalScore score, List<String> shiftIds, List<String> employees,
+        List<LocalDate> dates) {
+}
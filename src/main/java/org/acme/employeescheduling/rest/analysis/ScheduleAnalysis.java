@@ -0,0 +1,250 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import ai.timefold.solver.core.api.score.ScoreExplanation;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatch;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.constraint.Indictment;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * The score analysis of one solution, computed in stages as the client drills down.
+ * <p>
+ * The constraint summary only counts the matches of each constraint, without keeping them.
+ * The matches themselves are only computed when the first page of matches or indictments is requested,
+ * and then cached for the next pages.
+ * That first page costs a full score calculation that keeps every constraint match and indicts every shift
+ * and employee they involve, in time and in memory, whichever constraint or page was asked for,
+ * because the indictments need all of them; a constraint without matches doesn't need it.
+ * Only the matches on the requested page are converted into a {@link MatchDetail}.
+ * <p>
+ * The analysis works on its own copy of the shifts,
+ * because the schedule can be the best solution of a running job that other requests read at the same time.
+ */
+public class ScheduleAnalysis {
+
+    private final EmployeeSchedule schedule;
+    private final SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+
+    private ScoreAnalysisSummary summary;
+    private Map<String, Integer> constraintNameToMatchCountMap;
+    private ScoreExplanation<EmployeeSchedule, HardSoftBigDecimalScore> explanation;
+    private final ConcurrentMap<String, List<ConstraintMatch<HardSoftBigDecimalScore>>> constraintNameToMatchesMap =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<IndictmentType, List<Indictment<HardSoftBigDecimalScore>>> typeToIndictmentsMap =
+            new ConcurrentHashMap<>();
+
+    // Lazily built for the employee indictments, guarded by this
+    private Map<Employee, List<Shift>> employeeToShiftsMap;
+
+    /**
+     * @param schedule not modified
+     */
+    public ScheduleAnalysis(EmployeeSchedule schedule,
+            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager) {
+        this.schedule = copyOf(schedule);
+        this.solutionManager = solutionManager;
+    }
+
+    private static EmployeeSchedule copyOf(EmployeeSchedule schedule) {
+        List<Shift> shifts = new ArrayList<>(schedule.getShifts().size());
+        for (Shift shift : schedule.getShifts()) {
+            shifts.add(new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                    shift.getRequiredSkill(), shift.getEmployee()));
+        }
+        // The employees are problem facts, which the analysis doesn't modify
+        EmployeeSchedule copy = new EmployeeSchedule(schedule.getEmployees(), shifts);
+        copy.setScore(schedule.getScore());
+        copy.setConstraintWeightOverrides(schedule.getConstraintWeightOverrides());
+        return copy;
+    }
+
+    /**
+     * Job registries can rebuild the same solution into a new object on every read,
+     * so this compares the assignments instead of the identity.
+     */
+    public boolean isOf(EmployeeSchedule schedule) {
+        if (this.schedule == schedule) {
+            return true;
+        }
+        if (!Objects.equals(this.schedule.getScore(), schedule.getScore())
+                || this.schedule.getShifts().size() != schedule.getShifts().size()) {
+            return false;
+        }
+        for (int i = 0; i < schedule.getShifts().size(); i++) {
+            Shift shift = this.schedule.getShifts().get(i);
+            Shift otherShift = schedule.getShifts().get(i);
+            if (!Objects.equals(shift.getId(), otherShift.getId())
+                    || !Objects.equals(shift.getEmployee(), otherShift.getEmployee())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized ScoreAnalysisSummary getSummary() {
+        if (summary == null) {
+            ScoreAnalysis<HardSoftBigDecimalScore> analysis =
+                    solutionManager.analyze(schedule, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT);
+            summary = summarize(analysis);
+            constraintNameToMatchCountMap = new HashMap<>();
+            analysis.constraintMap().values().forEach(constraintAnalysis -> constraintNameToMatchCountMap
+                    .put(constraintAnalysis.constraintRef().constraintName(), constraintAnalysis.matchCount()));
+        }
+        return summary;
+    }
+
+    private synchronized int getMatchCount(String constraintName) {
+        getSummary();
+        return constraintNameToMatchCountMap.getOrDefault(constraintName, 0);
+    }
+
+    public static ScoreAnalysisSummary summarize(ScoreAnalysis<HardSoftBigDecimalScore> analysis) {
+        List<ConstraintSummary> constraints = analysis.constraintMap().values().stream()
+                .sorted((a, b) -> a.score().compareTo(b.score()))
+                .map(constraintAnalysis -> new ConstraintSummary(constraintAnalysis.constraintRef().constraintName(),
+                        constraintAnalysis.weight(), constraintAnalysis.score()))
+                .toList();
+        return new ScoreAnalysisSummary(analysis.score(), constraints);
+    }
+
+    /**
+     * @return empty if there is no constraint with that name
+     */
+    public Optional<AnalysisPage<MatchDetail>> getMatches(String constraintName, AnalysisFilter filter, int page,
+            int size) {
+        if (getSummary().constraints().stream().noneMatch(c -> c.constraintName().equals(constraintName))) {
+            return Optional.empty();
+        }
+        List<ConstraintMatch<HardSoftBigDecimalScore>> matches = getMatchCount(constraintName) == 0
+                ? List.of()
+                : constraintNameToMatchesMap.computeIfAbsent(constraintName, this::sortMatches);
+        return Optional.of(page(matches, filter, match -> filter.accepts(match.getIndictedObjectList()), page, size,
+                ScheduleAnalysis::toMatchDetail));
+    }
+
+    /**
+     * An employee passes the location and date criteria through its shifts.
+     */
+    public AnalysisPage<IndictmentSummary> getIndictments(IndictmentType type, AnalysisFilter filter, int page,
+            int size) {
+        List<Indictment<HardSoftBigDecimalScore>> indictments =
+                typeToIndictmentsMap.computeIfAbsent(type, this::sortIndictments);
+        Predicate<Indictment<HardSoftBigDecimalScore>> accepts = type == IndictmentType.SHIFT
+                ? indictment -> filter.accepts(List.of(indictment.getIndictedObject()))
+                : indictment -> {
+                    Employee employee = (Employee) indictment.getIndictedObject();
+                    return filter.acceptsEmployee(employee, getShifts(employee));
+                };
+        return page(indictments, filter, accepts, page, size, indictment -> toIndictmentSummary(type, indictment));
+    }
+
+    private synchronized List<Shift> getShifts(Employee employee) {
+        if (employeeToShiftsMap == null) {
+            employeeToShiftsMap = new HashMap<>();
+            for (Shift shift : schedule.getShifts()) {
+                if (shift.getEmployee() != null) {
+                    employeeToShiftsMap.computeIfAbsent(shift.getEmployee(), e -> new ArrayList<>()).add(shift);
+                }
+            }
+        }
+        return employeeToShiftsMap.getOrDefault(employee, List.of());
+    }
+
+    private synchronized ScoreExplanation<EmployeeSchedule, HardSoftBigDecimalScore> getExplanation() {
+        if (explanation == null) {
+            explanation = solutionManager.explain(schedule);
+        }
+        return explanation;
+    }
+
+    private List<ConstraintMatch<HardSoftBigDecimalScore>> sortMatches(String constraintName) {
+        return getExplanation().getConstraintMatchTotalMap().values().stream()
+                .filter(total -> total.getConstraintRef().constraintName().equals(constraintName))
+                .findFirst()
+                .map(ConstraintMatchTotal::getConstraintMatchSet)
+                .map(matches -> matches.stream()
+                        // Worst matches first
+                        .sorted((a, b) -> a.getScore().compareTo(b.getScore()))
+                        .toList())
+                .orElse(List.of());
+    }
+
+    private List<Indictment<HardSoftBigDecimalScore>> sortIndictments(IndictmentType type) {
+        Class<?> indictedClass = type == IndictmentType.SHIFT ? Shift.class : Employee.class;
+        return getExplanation().getIndictmentMap().values().stream()
+                .filter(indictment -> indictedClass.isInstance(indictment.getIndictedObject()))
+                .sorted((a, b) -> a.getScore().compareTo(b.getScore()))
+                .toList();
+    }
+
+    private static <T, R> AnalysisPage<R> page(List<T> sortedItems, AnalysisFilter filter, Predicate<T> accepts,
+            int page, int size, Function<T, R> detailFunction) {
+        int pageStart = page * size;
+        if (filter.isEmpty()) {
+            List<R> items = sortedItems.subList(Math.min(pageStart, sortedItems.size()),
+                    Math.min(pageStart + size, sortedItems.size()))
+                    .stream()
+                    .map(detailFunction)
+                    .toList();
+            return new AnalysisPage<>(page, size, sortedItems.size(), items);
+        }
+        List<R> items = new ArrayList<>(size);
+        int count = 0;
+        for (T item : sortedItems) {
+            if (accepts.test(item)) {
+                if (count >= pageStart && count < pageStart + size) {
+                    items.add(detailFunction.apply(item));
+                }
+                count++;
+            }
+        }
+        return new AnalysisPage<>(page, size, count, items);
+    }
+
+    public static MatchDetail toMatchDetail(ConstraintMatch<HardSoftBigDecimalScore> match) {
+        List<String> shiftIds = new ArrayList<>();
+        List<String> employees = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        for (Object indictedObject : match.getIndictedObjectList()) {
+            if (indictedObject instanceof Shift shift) {
+                shiftIds.add(shift.getId());
+                if (shift.getEmployee() != null && !employees.contains(shift.getEmployee().getName())) {
+                    employees.add(shift.getEmployee().getName());
+                }
+            } else if (indictedObject instanceof Employee employee) {
+                if (!employees.contains(employee.getName())) {
+                    employees.add(employee.getName());
+                }
+            } else if (indictedObject instanceof LocalDate date) {
+                dates.add(date);
+            }
+        }
+        return new MatchDetail(match.getScore(), shiftIds, employees, dates);
+    }
+
+    private static IndictmentSummary toIndictmentSummary(IndictmentType type,
+            Indictment<HardSoftBigDecimalScore> indictment) {
+        Object indictedObject = indictment.getIndictedObject();
+        String id = indictedObject instanceof Shift shift ? shift.getId() : ((Employee) indictedObject).getName();
+        return new IndictmentSummary(type, id, indictment.getScore(), indictment.getConstraintMatchCount());
+    }
+}
@@ -0,0 +1,8 @@
+package org.acme.employeescheduling.rest.analysis;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+public record ScoreAnalysisSummary(HardSoftBigDecimalScore score, List<ConstraintSummary> constraints) {
+}
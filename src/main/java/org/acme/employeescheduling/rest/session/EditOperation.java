@@ -0,0 +1,10 @@
+package org.acme.employeescheduling.rest.session;
+
+/**
+ * One edit of an {@link EditSession}.
+ *
+ * @param employee the name of the employee, only for {@link EditOperationType#ASSIGN}
+ * @param otherShiftId only for {@link EditOperationType#SWAP}
+ */
+public record EditOperation(EditOperationType type, String shiftId, String employee, String otherShiftId) {
+}
@@ -0,0 +1,16 @@
+package org.acme.employeescheduling.rest.session;
+
+public enum EditOperationType {
+    /**
+     * Gives the shift to the employee.
+     */
+    ASSIGN,
+    /**
+     * Takes the shift away from its employee.
+     */
+    UNASSIGN,
+    /**
+     * Exchanges the employees of the shift and the other shift.
+     */
+    SWAP
+}
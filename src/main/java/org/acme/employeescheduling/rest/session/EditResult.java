@@ -0,0 +1,19 @@
+package org.acme.employeescheduling.rest.session;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.rest.analysis.ConstraintSummary;
+import org.acme.employeescheduling.rest.analysis.MatchDetail;
+
+/**
+ * The effect of the edits of one request.
+ *
+ * @param constraintDiffs the score change of every constraint that changed, with its weight
+ * @param matchesBefore the constraint matches on the edited shifts before the edits, worst first
+ * @param matchesAfter the constraint matches on the edited shifts after the edits, worst first
+ */
+public record EditResult(HardSoftBigDecimalScore score, HardSoftBigDecimalScore scoreDiff,
+        List<ConstraintSummary> constraintDiffs, List<MatchDetail> matchesBefore, List<MatchDetail> matchesAfter) {
+}
@@ -0,0 +1,239 @@
+package org.acme.employeescheduling.rest.session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatch;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.analysis.ConstraintSummary;
+import org.acme.employeescheduling.rest.analysis.MatchDetail;
+import org.acme.employeescheduling.rest.analysis.ScheduleAnalysis;
+
+/**
+ * A copy of a schedule that a planner edits one shift at a time, scored incrementally.
+ * <p>
+ * The session keeps a score director on its copy, like a solver does during local search.
+ * Every edit is announced to it through the public {@link ScoreDirector} variable change methods,
+ * so it only recalculates the constraint matches of the changed shifts,
+ * instead of the whole schedule as {@code PUT /schedules/analyze} does.
+ * Timefold's public API has no score director that lives across calls: {@code SolutionManager} scores from scratch.
+ * So this class uses {@link InnerScoreDirector}, for the score, the constraint matches and the planning clones,
+ * and it is the only class besides {@link EditSessionStore} that does.
+ * <p>
+ * Thread-safe: edits of the same session are applied one at a time.
+ */
+public class EditSession implements AutoCloseable {
+
+    private static final String EMPLOYEE_VARIABLE = "employee";
+    private static final int MAX_REPORTED_MATCHES = 100;
+
+    private final String sessionId;
+    private final InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector;
+    private final Map<String, Shift> idToShiftMap;
+    private final Map<String, Employee> nameToEmployeeMap;
+
+    private volatile long lastAccessNanos;
+
+    // Guarded by this
+    private HardSoftBigDecimalScore score;
+    private boolean closed = false;
+
+    EditSession(String sessionId, InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector,
+            EmployeeSchedule schedule) {
+        this.sessionId = sessionId;
+        this.scoreDirector = scoreDirector;
+        EmployeeSchedule workingSolution = scoreDirector.cloneSolution(schedule);
+        // Planners edit against all constraints, also when the job is in the hard-first stage
+        workingSolution.setConstraintWeightOverrides(ConstraintWeightOverrides.none());
+        scoreDirector.setWorkingSolution(workingSolution);
+        score = scoreDirector.calculateScore();
+        idToShiftMap = new HashMap<>(workingSolution.getShifts().size() * 2);
+        for (Shift shift : workingSolution.getShifts()) {
+            idToShiftMap.put(shift.getId(), shift);
+        }
+        nameToEmployeeMap = new HashMap<>(workingSolution.getEmployees().size() * 2);
+        for (Employee employee : workingSolution.getEmployees()) {
+            nameToEmployeeMap.put(employee.getName(), employee);
+        }
+        lastAccessNanos = System.nanoTime();
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public synchronized EditSessionInfo getInfo() {
+        checkOpen();
+        return new EditSessionInfo(sessionId, score);
+    }
+
+    /**
+     * @return a copy of the edited schedule
+     */
+    public synchronized EmployeeSchedule getSchedule() {
+        checkOpen();
+        return scoreDirector.cloneSolution(scoreDirector.getWorkingSolution());
+    }
+
+    /**
+     * Applies the operations in order. If one is invalid, none is applied.
+     *
+     * @throws IllegalArgumentException if an operation refers to an unknown shift or employee
+     * @throws EditSessionClosedException if the session is closed
+     */
+    public synchronized EditResult apply(List<EditOperation> operations) {
+        checkOpen();
+        Set<Shift> editedShifts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EditOperation operation : operations) {
+            validate(operation, editedShifts);
+        }
+        Map<String, ConstraintSummary> constraintNameToSummaryBefore = getConstraintNameToSummaryMap();
+        List<MatchDetail> matchesBefore = getMatches(editedShifts);
+
+        for (EditOperation operation : operations) {
+            apply(operation);
+        }
+        scoreDirector.triggerVariableListeners();
+        HardSoftBigDecimalScore scoreBefore = score;
+        score = scoreDirector.calculateScore();
+
+        List<ConstraintSummary> constraintDiffs = new ArrayList<>();
+        for (ConstraintSummary after : getConstraintNameToSummaryMap().values()) {
+            ConstraintSummary before = constraintNameToSummaryBefore.remove(after.constraintName());
+            HardSoftBigDecimalScore diff = before == null ? after.score() : after.score().subtract(before.score());
+            if (!diff.isZero()) {
+                constraintDiffs.add(new ConstraintSummary(after.constraintName(), after.weight(), diff));
+            }
+        }
+        // Constraints that had matches before, but none anymore
+        for (ConstraintSummary before : constraintNameToSummaryBefore.values()) {
+            constraintDiffs.add(new ConstraintSummary(before.constraintName(), before.weight(),
+                    before.score().negate()));
+        }
+        constraintDiffs.sort((a, b) -> a.score().compareTo(b.score()));
+        return new EditResult(score, score.subtract(scoreBefore), constraintDiffs, matchesBefore,
+                getMatches(editedShifts));
+    }
+
+    private void validate(EditOperation operation, Set<Shift> editedShifts) {
+        if (operation.type() == null) {
+            throw new IllegalArgumentException("The operation type is required.");
+        }
+        editedShifts.add(getShift(operation.shiftId()));
+        switch (operation.type()) {
+            case ASSIGN -> getEmployee(operation.employee());
+            case SWAP -> editedShifts.add(getShift(operation.otherShiftId()));
+            case UNASSIGN -> {
+            }
+        }
+    }
+
+    /**
+     * Against the employees left by the previous operations, so a swap after an assign swaps the new employee.
+     */
+    private void apply(EditOperation operation) {
+        Shift shift = getShift(operation.shiftId());
+        switch (operation.type()) {
+            case ASSIGN -> setEmployee(shift, getEmployee(operation.employee()));
+            case UNASSIGN -> setEmployee(shift, null);
+            case SWAP -> {
+                Shift otherShift = getShift(operation.otherShiftId());
+                Employee employee = shift.getEmployee();
+                setEmployee(shift, otherShift.getEmployee());
+                setEmployee(otherShift, employee);
+            }
+        }
+    }
+
+    private void setEmployee(Shift shift, Employee employee) {
+        scoreDirector.beforeVariableChanged(shift, EMPLOYEE_VARIABLE);
+        shift.setEmployee(employee);
+        scoreDirector.afterVariableChanged(shift, EMPLOYEE_VARIABLE);
+    }
+
+    private Shift getShift(String shiftId) {
+        Shift shift = idToShiftMap.get(shiftId);
+        if (shift == null) {
+            throw new IllegalArgumentException("No shift (" + shiftId + ") in the schedule.");
+        }
+        return shift;
+    }
+
+    private Employee getEmployee(String name) {
+        Employee employee = nameToEmployeeMap.get(name);
+        if (employee == null) {
+            throw new IllegalArgumentException("No employee (" + name + ") in the schedule.");
+        }
+        return employee;
+    }
+
+    private Collection<ConstraintMatchTotal<HardSoftBigDecimalScore>> getConstraintMatchTotals() {
+        return scoreDirector.getConstraintMatchTotalMap().values();
+    }
+
+    private Map<String, ConstraintSummary> getConstraintNameToSummaryMap() {
+        Map<String, ConstraintSummary> constraintNameToSummary = new HashMap<>();
+        for (ConstraintMatchTotal<HardSoftBigDecimalScore> total : getConstraintMatchTotals()) {
+            String constraintName = total.getConstraintRef().constraintName();
+            constraintNameToSummary.put(constraintName,
+                    new ConstraintSummary(constraintName, total.getConstraintWeight(), total.getScore()));
+        }
+        return constraintNameToSummary;
+    }
+
+    /**
+     * Converted at once, because the edits change the employees of the indicted shifts.
+     */
+    private List<MatchDetail> getMatches(Set<Shift> shifts) {
+        List<ConstraintMatch<HardSoftBigDecimalScore>> matches = new ArrayList<>();
+        for (ConstraintMatchTotal<HardSoftBigDecimalScore> total : getConstraintMatchTotals()) {
+            for (ConstraintMatch<HardSoftBigDecimalScore> match : total.getConstraintMatchSet()) {
+                for (Object indictedObject : match.getIndictedObjectList()) {
+                    if (indictedObject instanceof Shift shift && shifts.contains(shift)) {
+                        matches.add(match);
+                        break;
+                    }
+                }
+            }
+        }
+        // Worst matches first
+        matches.sort((a, b) -> a.getScore().compareTo(b.getScore()));
+        return matches.stream()
+                .limit(MAX_REPORTED_MATCHES)
+                .map(ScheduleAnalysis::toMatchDetail)
+                .toList();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new EditSessionClosedException(sessionId);
+        }
+        lastAccessNanos = System.nanoTime();
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            scoreDirector.close();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.acme.employeescheduling.rest.session;
+
+/**
+ * The session was closed, by a client or after being idle, between looking it up and using it.
+ */
+public class EditSessionClosedException extends RuntimeException {
+
+    public EditSessionClosedException(String sessionId) {
+        super("The session (" + sessionId + ") is closed.");
+    }
+}
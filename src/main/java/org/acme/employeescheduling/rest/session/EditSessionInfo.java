@@ -0,0 +1,6 @@
+package org.acme.employeescheduling.rest.session;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+public record EditSessionInfo(String sessionId, HardSoftBigDecimalScore score) {
+}
@@ -0,0 +1,134 @@
+package org.acme.employeescheduling.rest.session;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.impl.score.constraint.ConstraintMatchPolicy;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the open {@link EditSession}s of this node.
+ * <p>
+ * Each session holds a copy of its schedule and the constraint matches of its score director,
+ * so the number of sessions is bounded.
+ * A session that isn't used for the idle timeout is closed the next time the store is used.
+ * The score directors are built from the shared {@link SolverFactory}, which keeps the compiled constraint network.
+ * Building them takes its internal score director factory: the public API only builds solvers,
+ * and a solver owns its score director for the duration of a solve, not for a session of edits.
+ * If the solver factory isn't the default one, the application still starts, but opening a session fails.
+ */
+@ApplicationScoped
+public class EditSessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EditSessionStore.class);
+
+    // Null if the solver factory isn't the default one
+    private final InnerScoreDirectorFactory<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirectorFactory;
+    private final String solverFactoryClassName;
+    private final Semaphore permits;
+    private final long idleTimeoutNanos;
+
+    private final ConcurrentMap<String, EditSession> sessionIdToSession = new ConcurrentHashMap<>();
+
+    @Inject
+    public EditSessionStore(SolverFactory<EmployeeSchedule> solverFactory,
+            @ConfigProperty(name = "employee-scheduling.edit-session.max-sessions",
+                    defaultValue = "50") int maxSessionCount,
+            @ConfigProperty(name = "employee-scheduling.edit-session.idle-timeout",
+                    defaultValue = "15m") Duration idleTimeout) {
+        if (solverFactory instanceof DefaultSolverFactory<EmployeeSchedule> defaultSolverFactory) {
+            this.scoreDirectorFactory = defaultSolverFactory.getScoreDirectorFactory();
+        } else {
+            LOGGER.warn("Edit sessions are unavailable, because they need the default solver factory, not ({}).",
+                    solverFactory.getClass().getName());
+            this.scoreDirectorFactory = null;
+        }
+        this.solverFactoryClassName = solverFactory.getClass().getName();
+        this.permits = new Semaphore(maxSessionCount);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sessionIdToSession.values().forEach(EditSession::close);
+        sessionIdToSession.clear();
+    }
+
+    /**
+     * Scores the schedule from scratch, once, for the edits that follow.
+     *
+     * @param schedule not modified, the session edits a copy
+     * @return empty if there are too many open sessions
+     * @throws EditSessionsUnavailableException if the solver factory isn't the default one
+     */
+    public Optional<EditSession> open(EmployeeSchedule schedule) {
+        if (scoreDirectorFactory == null) {
+            throw new EditSessionsUnavailableException("Edit sessions need the default solver factory, not ("
+                    + solverFactoryClassName + ").");
+        }
+        evictIdleSessions();
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector =
+                scoreDirectorFactory.buildScoreDirector(false, ConstraintMatchPolicy.ENABLED);
+        EditSession session;
+        try {
+            session = new EditSession(UUID.randomUUID().toString(), scoreDirector, schedule);
+        } catch (RuntimeException e) {
+            scoreDirector.close();
+            permits.release();
+            throw e;
+        }
+        sessionIdToSession.put(session.getSessionId(), session);
+        return Optional.of(session);
+    }
+
+    /**
+     * @return empty if there is no such session or it has been idle too long
+     */
+    public Optional<EditSession> get(String sessionId) {
+        evictIdleSessions();
+        return Optional.ofNullable(sessionIdToSession.get(sessionId));
+    }
+
+    /**
+     * @return false if there is no such session
+     */
+    public boolean close(String sessionId) {
+        EditSession session = sessionIdToSession.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        permits.release();
+        return true;
+    }
+
+    private void evictIdleSessions() {
+        long now = System.nanoTime();
+        for (EditSession session : sessionIdToSession.values()) {
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos && close(session.getSessionId())) {
+                LOGGER.info("Closed edit session ({}) after being idle for {}.", session.getSessionId(),
+                        Duration.ofNanos(now - session.getLastAccessNanos()));
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.acme.employeescheduling.rest.session;
+
+/**
+ * This node can't open edit sessions, because its solver factory doesn't build score directors on their own.
+ */
+public class EditSessionsUnavailableException extends RuntimeException {
+
+    public EditSessionsUnavailableException(String message) {
+        super(message);
+    }
+}
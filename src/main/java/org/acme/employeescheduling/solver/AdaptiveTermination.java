@@ -0,0 +1,170 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.TerminationReason;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops solving jobs when more CPU time is unlikely to pay off.
+ * <p>
+ * A job can scale its spent limit to its size, so small schedules don't hold a solver thread
+ * for as long as the largest ones need.
+ * A job can also stop early on diminishing returns: a background check terminates it
+ * as soon as its {@link ImprovementWindow} reports that its feasible soft score stalled.
+ */
+@ApplicationScoped
+public class AdaptiveTermination {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveTermination.class);
+
+    private final SolverConfig solverConfig;
+    private final Duration minimumSpentLimit;
+    private final Duration maximumSpentLimit;
+    private final long assignmentsPerSecond;
+    private final Duration defaultImprovementWindow;
+
+    private final ConcurrentMap<String, MonitoredJob> jobIdToMonitoredJob = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService checkExecutor;
+
+    @Inject
+    public AdaptiveTermination(SolverConfig solverConfig,
+            @ConfigProperty(name = "employee-scheduling.termination.scaled-spent-limit.minimum",
+                    defaultValue = "5s") Duration minimumSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.termination.scaled-spent-limit.maximum",
+                    defaultValue = "5m") Duration maximumSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.termination.scaled-spent-limit.assignments-per-second",
+                    defaultValue = "5000") long assignmentsPerSecond,
+            @ConfigProperty(name = "employee-scheduling.termination.improvement-window",
+                    defaultValue = "10s") Duration defaultImprovementWindow,
+            @ConfigProperty(name = "employee-scheduling.termination.check-interval",
+                    defaultValue = "1s") Duration checkInterval) {
+        this.solverConfig = solverConfig;
+        this.minimumSpentLimit = minimumSpentLimit;
+        this.maximumSpentLimit = maximumSpentLimit;
+        this.assignmentsPerSecond = assignmentsPerSecond;
+        this.defaultImprovementWindow = defaultImprovementWindow;
+        checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AdaptiveTermination");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkIntervalMillis = checkInterval.toMillis();
+        checkExecutor.scheduleWithFixedDelay(this::checkJobs, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        checkExecutor.shutdownNow();
+    }
+
+    public SolverConfigOverride<EmployeeSchedule> createConfigOverride(EmployeeSchedule problem,
+            TerminationOptions options) {
+        SolverConfigOverride<EmployeeSchedule> configOverride = new SolverConfigOverride<>();
+        if (options.scaleSpentLimit() || options.bestHardScoreLimit() != null) {
+            configOverride.withTerminationConfig(createTerminationConfig(problem, options));
+        }
+        return configOverride;
+    }
+
+    /**
+     * @return a copy of the configured termination, adjusted to the options
+     */
+    public TerminationConfig createTerminationConfig(EmployeeSchedule problem, TerminationOptions options) {
+        TerminationConfig configuredTermination = solverConfig.getTerminationConfig();
+        TerminationConfig terminationConfig = configuredTermination == null
+                ? new TerminationConfig()
+                : configuredTermination.copyConfig();
+        if (options.scaleSpentLimit()) {
+            terminationConfig.setSpentLimit(scaleSpentLimit(problem.getShifts().size(),
+                    problem.getEmployees().size()));
+        }
+        if (options.bestHardScoreLimit() != null) {
+            terminationConfig.setBestScoreLimit(options.bestHardScoreLimit().toPlainString() + "hard/*soft");
+        }
+        return terminationConfig;
+    }
+
+    /**
+     * The move evaluation count needed to converge grows with the number of shift-employee combinations.
+     */
+    public Duration scaleSpentLimit(int shiftCount, int employeeCount) {
+        long assignmentCount = (long) shiftCount * employeeCount;
+        Duration spentLimit = minimumSpentLimit.plusMillis(assignmentCount * 1000L / assignmentsPerSecond);
+        return spentLimit.compareTo(maximumSpentLimit) > 0 ? maximumSpentLimit : spentLimit;
+    }
+
+    /**
+     * Call before the job starts solving.
+     *
+     * @param terminator terminates the job early
+     */
+    public void register(String jobId, TerminationOptions options, Runnable terminator) {
+        if (!options.isDiminishingReturnsEnabled()) {
+            return;
+        }
+        Duration window = options.improvementWindow() == null ? defaultImprovementWindow : options.improvementWindow();
+        jobIdToMonitoredJob.put(jobId, new MonitoredJob(
+                new ImprovementWindow(options.minImprovementPercent(), window.toNanos()), terminator));
+    }
+
+    public void onBestSolution(String jobId, HardSoftBigDecimalScore score) {
+        MonitoredJob monitoredJob = jobIdToMonitoredJob.get(jobId);
+        if (monitoredJob != null && score != null) {
+            monitoredJob.improvementWindow.addBestScore(System.nanoTime(), score);
+        }
+    }
+
+    /**
+     * Call when the job stops solving, for whatever reason.
+     *
+     * @return {@link TerminationReason#DIMINISHING_RETURNS} if this class terminated the job, otherwise null
+     */
+    public TerminationReason unregister(String jobId) {
+        MonitoredJob monitoredJob = jobIdToMonitoredJob.remove(jobId);
+        return monitoredJob != null && monitoredJob.terminated.get() ? TerminationReason.DIMINISHING_RETURNS : null;
+    }
+
+    private void checkJobs() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, MonitoredJob> entry : jobIdToMonitoredJob.entrySet()) {
+            MonitoredJob monitoredJob = entry.getValue();
+            try {
+                if (!monitoredJob.terminated.get() && monitoredJob.improvementWindow.isDiminishing(now)
+                        && monitoredJob.terminated.compareAndSet(false, true)) {
+                    LOGGER.info("Terminating jobId ({}) early on diminishing returns.", entry.getKey());
+                    monitoredJob.terminator.run();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed checking the improvement of jobId ({}).", entry.getKey(), e);
+            }
+        }
+    }
+
+    private record MonitoredJob(ImprovementWindow improvementWindow, Runnable terminator, AtomicBoolean terminated) {
+
+        MonitoredJob(ImprovementWindow improvementWindow, Runnable terminator) {
+            this(improvementWindow, terminator, new AtomicBoolean(false));
+        }
+    }
+}
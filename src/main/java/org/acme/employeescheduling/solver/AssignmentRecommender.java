@@ -0,0 +1,188 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.RecommendedAssignment;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.analysis.ConstraintSummary;
+
+/**
+ * Ranks the employees for single shifts without solving the rest of the schedule again.
+ * <p>
+ * Each shift is recommended against the assigned shifts of the schedule only,
+ * because the other unassigned shifts don't affect the score,
+ * and independently of the other shifts in the same batch.
+ * Only the employees that have the required skill, are available and don't work yet on that day are tried,
+ * because every other employee breaks a hard constraint.
+ * Each of them costs one score analysis of the schedule, diffed against the schedule without the shift.
+ * All employees stay problem facts, because the balance constraint counts the ones without shifts too.
+ * If no employee passes, {@link SolutionManager#recommendAssignment} tries all employees,
+ * to still find the least bad one.
+ */
+@ApplicationScoped
+public class AssignmentRecommender {
+
+    private final SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+
+    @Inject
+    public AssignmentRecommender(SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager) {
+        this.solutionManager = solutionManager;
+    }
+
+    /**
+     * @param schedule not modified
+     * @param shiftIds shifts that are assigned already are recommended as if they weren't
+     * @param limit the maximum number of employees per shift
+     * @throws IllegalArgumentException if there are no shift IDs, a shift is not in the schedule,
+     * or the limit is not positive
+     */
+    public List<ShiftRecommendation> recommend(EmployeeSchedule schedule, List<String> shiftIds, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit (" + limit + ") must be at least 1.");
+        }
+        if (shiftIds == null || shiftIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one shiftId is required.");
+        }
+        List<Employee> employees = schedule.getEmployees() == null ? List.of() : schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+        Map<String, Shift> idToShiftMap = new HashMap<>(shifts.size() * 2);
+        for (Shift shift : shifts) {
+            idToShiftMap.put(shift.getId(), shift);
+        }
+        Set<Shift> evaluatedShifts = new LinkedHashSet<>();
+        for (String shiftId : shiftIds) {
+            Shift shift = idToShiftMap.get(shiftId);
+            if (shift == null) {
+                throw new IllegalArgumentException("No shift (" + shiftId + ") in the schedule.");
+            }
+            evaluatedShifts.add(shift);
+        }
+
+        // One working copy for the whole batch, because the schedule can be the best solution of a running job.
+        // Each evaluated shift is appended to it and removed again, so it always holds the assigned shifts only.
+        List<Shift> workingShifts = new ArrayList<>(shifts.size() + 1);
+        Map<Employee, Set<LocalDate>> employeeToWorkDatesMap = new IdentityHashMap<>();
+        for (Shift shift : shifts) {
+            if (shift.getEmployee() != null && !evaluatedShifts.contains(shift)) {
+                workingShifts.add(copy(shift, shift.getEmployee()));
+                employeeToWorkDatesMap.computeIfAbsent(shift.getEmployee(), employee -> new HashSet<>())
+                        .add(shift.getStart().toLocalDate());
+            }
+        }
+        EmployeeSchedule workingSchedule = new EmployeeSchedule(employees, workingShifts);
+        ScoreAnalysis<HardSoftBigDecimalScore> baseline = null;
+        List<ShiftRecommendation> recommendations = new ArrayList<>(evaluatedShifts.size());
+        for (Shift shift : evaluatedShifts) {
+            List<Employee> candidates = findCandidates(employees, employeeToWorkDatesMap, shift);
+            Shift evaluatedShift = copy(shift, null);
+            workingShifts.add(evaluatedShift);
+            try {
+                List<EmployeeRecommendation> employeeRecommendations;
+                if (candidates.isEmpty()) {
+                    employeeRecommendations = recommendFromAll(workingSchedule, evaluatedShift, limit);
+                    candidates = employees;
+                } else {
+                    if (baseline == null) {
+                        workingShifts.remove(workingShifts.size() - 1);
+                        baseline = solutionManager.analyze(workingSchedule, ScoreAnalysisFetchPolicy.FETCH_SHALLOW);
+                        workingShifts.add(evaluatedShift);
+                    }
+                    employeeRecommendations = recommendFromCandidates(workingSchedule, evaluatedShift, candidates,
+                            baseline, limit);
+                }
+                recommendations.add(new ShiftRecommendation(shift.getId(), candidates.size(),
+                        employeeRecommendations));
+            } finally {
+                workingShifts.remove(workingShifts.size() - 1);
+            }
+        }
+        return recommendations;
+    }
+
+    private List<EmployeeRecommendation> recommendFromCandidates(EmployeeSchedule workingSchedule,
+            Shift evaluatedShift, List<Employee> candidates, ScoreAnalysis<HardSoftBigDecimalScore> baseline,
+            int limit) {
+        List<EmployeeRecommendation> employeeRecommendations = new ArrayList<>(candidates.size());
+        for (Employee candidate : candidates) {
+            evaluatedShift.setEmployee(candidate);
+            ScoreAnalysis<HardSoftBigDecimalScore> diff = solutionManager
+                    .analyze(workingSchedule, ScoreAnalysisFetchPolicy.FETCH_SHALLOW)
+                    .diff(baseline);
+            employeeRecommendations.add(new EmployeeRecommendation(candidate.getName(), diff.score(),
+                    getConstraintDiffs(diff)));
+        }
+        evaluatedShift.setEmployee(null);
+        return employeeRecommendations.stream()
+                .sorted(Comparator.comparing(EmployeeRecommendation::scoreDiff).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private List<EmployeeRecommendation> recommendFromAll(EmployeeSchedule workingSchedule, Shift evaluatedShift,
+            int limit) {
+        List<RecommendedAssignment<Employee, HardSoftBigDecimalScore>> assignments = solutionManager
+                .recommendAssignment(workingSchedule, evaluatedShift, Shift::getEmployee,
+                        ScoreAnalysisFetchPolicy.FETCH_SHALLOW);
+        return assignments.stream()
+                .limit(limit)
+                .map(assignment -> new EmployeeRecommendation(assignment.proposition().getName(),
+                        assignment.scoreAnalysisDiff().score(), getConstraintDiffs(assignment.scoreAnalysisDiff())))
+                .toList();
+    }
+
+    private static List<Employee> findCandidates(List<Employee> employees,
+            Map<Employee, Set<LocalDate>> employeeToWorkDatesMap, Shift shift) {
+        LocalDate date = shift.getStart().toLocalDate();
+        List<Employee> candidates = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getSkills() == null || !employee.getSkills().contains(shift.getRequiredSkill())) {
+                continue;
+            }
+            Set<LocalDate> unavailableDates = employee.getUnavailableDates() == null
+                    ? Set.of()
+                    : employee.getUnavailableDates();
+            if (unavailableDates.contains(date) || unavailableDates.contains(shift.getEnd().toLocalDate())) {
+                continue;
+            }
+            if (employeeToWorkDatesMap.getOrDefault(employee, Collections.emptySet()).contains(date)) {
+                continue;
+            }
+            candidates.add(employee);
+        }
+        return candidates;
+    }
+
+    private static List<ConstraintSummary> getConstraintDiffs(ScoreAnalysis<HardSoftBigDecimalScore> diff) {
+        return diff.constraintMap().values().stream()
+                .filter(constraintAnalysis -> !constraintAnalysis.score().isZero())
+                .sorted((a, b) -> a.score().compareTo(b.score()))
+                .map(constraintAnalysis -> new ConstraintSummary(constraintAnalysis.constraintRef().constraintName(),
+                        constraintAnalysis.weight(), constraintAnalysis.score()))
+                .toList();
+    }
+
+    private static Shift copy(Shift shift, Employee employee) {
+        return new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                shift.getRequiredSkill(), employee);
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.LocalDate;
+
+/**
+ * More shifts start on a day than there are available employees to staff them.
+ *
+ * @param skill the required skill of the shifts, or null for all the shifts of that day
+ * @param supply the number of employees who have the skill and aren't unavailable that day
+ */
+public record CapacityShortage(LocalDate date, String skill, int demand, int supply) {
+}
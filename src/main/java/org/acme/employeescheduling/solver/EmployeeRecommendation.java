@@ -0,0 +1,16 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.rest.analysis.ConstraintSummary;
+
+/**
+ * The effect of assigning a shift to an employee.
+ *
+ * @param constraintDiffs the score change of every constraint that changes, with its weight
+ */
+public record EmployeeRecommendation(String employee, HardSoftBigDecimalScore scoreDiff,
+        List<ConstraintSummary> constraintDiffs) {
+}
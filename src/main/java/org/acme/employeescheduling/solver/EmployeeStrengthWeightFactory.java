@@ -0,0 +1,62 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ai.timefold.solver.core.impl.heuristic.selector.common.decorator.SelectionSorterWeightFactory;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Employees with more skills are more flexible, and employees who are available on more days of the schedule
+ * have more capacity; both make an employee stronger.
+ * Trying the weakest employees first keeps the flexible ones free for the shifts that only they can take.
+ */
+public class EmployeeStrengthWeightFactory implements SelectionSorterWeightFactory<EmployeeSchedule, Employee> {
+
+    private EmployeeSchedule cachedSchedule;
+    private Set<LocalDate> cachedScheduleDates;
+
+    @Override
+    public synchronized EmployeeStrength createSorterWeight(EmployeeSchedule schedule, Employee employee) {
+        if (cachedSchedule != schedule) {
+            cachedScheduleDates = new HashSet<>();
+            for (Shift shift : schedule.getShifts() == null ? List.<Shift> of() : schedule.getShifts()) {
+                cachedScheduleDates.add(shift.getStart().toLocalDate());
+            }
+            cachedSchedule = schedule;
+        }
+        int availableDayCount = cachedScheduleDates.size();
+        if (employee.getUnavailableDates() != null) {
+            for (LocalDate date : employee.getUnavailableDates()) {
+                if (cachedScheduleDates.contains(date)) {
+                    availableDayCount--;
+                }
+            }
+        }
+        int skillCount = employee.getSkills() == null ? 0 : employee.getSkills().size();
+        return new EmployeeStrength(skillCount, availableDayCount, employee.getName());
+    }
+
+    /**
+     * Greater is stronger.
+     */
+    public record EmployeeStrength(int skillCount, int availableDayCount, String name)
+            implements Comparable<EmployeeStrength> {
+
+        private static final Comparator<EmployeeStrength> COMPARATOR =
+                Comparator.comparingInt(EmployeeStrength::skillCount)
+                        .thenComparingInt(EmployeeStrength::availableDayCount)
+                        .thenComparing(EmployeeStrength::name);
+
+        @Override
+        public int compareTo(EmployeeStrength other) {
+            return COMPARATOR.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Finds capacity shortages that make a schedule infeasible, in a single pass over the shifts and the employees.
+ * <p>
+ * Without breaking a hard constraint, an employee takes at most one shift per day,
+ * only shifts with a skill they have, and none on a day they are unavailable.
+ * So on each day, every shift beyond the number of such employees costs at least one hard point,
+ * both per skill and for all skills together.
+ * The larger of the two is a lower bound of the hard penalty of that day.
+ * The bound ignores rest times and matches employees with several skills optimistically,
+ * so a schedule without shortages can still turn out infeasible.
+ */
+public final class FeasibilityAnalyzer {
+
+    private FeasibilityAnalyzer() {
+    }
+
+    public static FeasibilityReport analyze(EmployeeSchedule schedule) {
+        Map<DateSkill, Integer> dateSkillToDemand = new HashMap<>();
+        Map<LocalDate, Integer> dateToDemand = new HashMap<>();
+        for (Shift shift : schedule.getShifts()) {
+            LocalDate date = shift.getStart().toLocalDate();
+            dateSkillToDemand.merge(new DateSkill(date, shift.getRequiredSkill()), 1, Integer::sum);
+            dateToDemand.merge(date, 1, Integer::sum);
+        }
+
+        Map<String, Integer> skillToEmployeeCount = new HashMap<>();
+        Map<DateSkill, Integer> dateSkillToUnavailableCount = new HashMap<>();
+        Map<LocalDate, Integer> dateToUnavailableCount = new HashMap<>();
+        for (Employee employee : schedule.getEmployees()) {
+            Set<String> skills = employee.getSkills() == null ? Set.of() : employee.getSkills();
+            for (String skill : skills) {
+                skillToEmployeeCount.merge(skill, 1, Integer::sum);
+            }
+            if (employee.getUnavailableDates() == null) {
+                continue;
+            }
+            for (LocalDate date : employee.getUnavailableDates()) {
+                // Days without shifts don't matter
+                if (!dateToDemand.containsKey(date)) {
+                    continue;
+                }
+                dateToUnavailableCount.merge(date, 1, Integer::sum);
+                for (String skill : skills) {
+                    dateSkillToUnavailableCount.merge(new DateSkill(date, skill), 1, Integer::sum);
+                }
+            }
+        }
+
+        List<CapacityShortage> shortages = new ArrayList<>();
+        Set<String> unstaffableSkills = new TreeSet<>();
+        Map<LocalDate, Integer> dateToSkillShortage = new HashMap<>();
+        dateSkillToDemand.forEach((dateSkill, demand) -> {
+            int supply = skillToEmployeeCount.getOrDefault(dateSkill.skill, 0)
+                    - dateSkillToUnavailableCount.getOrDefault(dateSkill, 0);
+            if (demand > supply) {
+                shortages.add(new CapacityShortage(dateSkill.date, dateSkill.skill, demand, supply));
+                dateToSkillShortage.merge(dateSkill.date, demand - supply, Integer::sum);
+                if (!skillToEmployeeCount.containsKey(dateSkill.skill)) {
+                    unstaffableSkills.add(dateSkill.skill);
+                }
+            }
+        });
+        int minimumHardPenalty = 0;
+        int employeeCount = schedule.getEmployees().size();
+        for (Map.Entry<LocalDate, Integer> entry : dateToDemand.entrySet()) {
+            LocalDate date = entry.getKey();
+            int demand = entry.getValue();
+            int supply = employeeCount - dateToUnavailableCount.getOrDefault(date, 0);
+            if (demand > supply) {
+                shortages.add(new CapacityShortage(date, null, demand, supply));
+            }
+            minimumHardPenalty += Math.max(Math.max(demand - supply, 0), dateToSkillShortage.getOrDefault(date, 0));
+        }
+        shortages.sort(Comparator.comparing(CapacityShortage::date)
+                .thenComparing(CapacityShortage::skill, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return new FeasibilityReport(minimumHardPenalty, shortages, new ArrayList<>(unstaffableSkills));
+    }
+
+    private record DateSkill(LocalDate date, String skill) {
+    }
+}
@@ -0,0 +1,20 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.List;
+
+/**
+ * The result of a {@link FeasibilityAnalyzer}.
+ *
+ * @param minimumHardPenalty no solution has a better hard score than minus this
+ * @param unstaffableSkills required skills that no employee has
+ */
+public record FeasibilityReport(int minimumHardPenalty, List<CapacityShortage> shortages,
+        List<String> unstaffableSkills) {
+
+    /**
+     * True doesn't guarantee that a feasible solution exists, but false guarantees that none does.
+     */
+    public boolean isPossiblyFeasible() {
+        return minimumHardPenalty == 0;
+    }
+}
@@ -0,0 +1,64 @@
+package org.acme.employeescheduling.solver;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+/**
+ * Tracks the best scores of one job over a sliding time window
+ * to detect when a feasible solution stops improving enough to be worth more CPU time.
+ * <p>
+ * The baseline is the best score at the start of the window.
+ * Returns diminish once both the baseline and the latest best score are feasible
+ * and the soft score improved less than the minimum percentage of the baseline's soft score since.
+ */
+public class ImprovementWindow {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final BigDecimal minImprovementPercent;
+    private final long windowNanos;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    public ImprovementWindow(double minImprovementPercent, long windowNanos) {
+        this.minImprovementPercent = BigDecimal.valueOf(minImprovementPercent);
+        this.windowNanos = windowNanos;
+    }
+
+    public synchronized void addBestScore(long nanos, HardSoftBigDecimalScore score) {
+        samples.addLast(new Sample(nanos, score));
+    }
+
+    public synchronized boolean isDiminishing(long nanos) {
+        if (samples.isEmpty() || !samples.getLast().score.isFeasible()) {
+            return false;
+        }
+        long windowStart = nanos - windowNanos;
+        // Keep only the latest sample at or before the window start: it is the baseline
+        Sample baseline = null;
+        while (!samples.isEmpty() && samples.getFirst().nanos <= windowStart) {
+            baseline = samples.removeFirst();
+        }
+        if (baseline == null) {
+            return false;
+        }
+        samples.addFirst(baseline);
+        if (!baseline.score.isFeasible()) {
+            return false;
+        }
+        BigDecimal baselineSoft = baseline.score.softScore();
+        BigDecimal improvement = samples.getLast().score.softScore().subtract(baselineSoft);
+        if (baselineSoft.signum() == 0) {
+            return improvement.signum() <= 0;
+        }
+        BigDecimal improvementPercent = improvement.multiply(ONE_HUNDRED)
+                .divide(baselineSoft.abs(), 6, RoundingMode.HALF_EVEN);
+        return improvementPercent.compareTo(minImprovementPercent) < 0;
+    }
+
+    private record Sample(long nanos, HardSoftBigDecimalScore score) {
+    }
+}
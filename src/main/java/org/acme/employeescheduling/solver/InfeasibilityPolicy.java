@@ -0,0 +1,19 @@
+package org.acme.employeescheduling.solver;
+
+/**
+ * What to do with a submitted schedule that the {@link FeasibilityAnalyzer} proves infeasible.
+ */
+public enum InfeasibilityPolicy {
+    /**
+     * Solve it for the full spent limit anyway.
+     */
+    IGNORE,
+    /**
+     * Solve it, but stop as soon as the hard score reaches the best bound.
+     */
+    LIMIT,
+    /**
+     * Don't solve it: return the shortages to the client.
+     */
+    REJECT
+}
@@ -0,0 +1,81 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Solves small schedules synchronously within a strict latency budget,
+ * for callers that can't poll for the result.
+ * <p>
+ * Every solve runs the configured construction heuristic and local search on the caller's thread,
+ * with a spent limit of the budget minus the time needed to build and write the response.
+ * Solvers are built from the shared {@link SolverFactory}, which keeps the compiled constraint network
+ * and the loaded classes warm between requests.
+ * At most a fixed number of quick solves run at once: beyond that, a solve is refused instead of queued,
+ * because it could not meet its budget anyway.
+ */
+@ApplicationScoped
+public class QuickSolveService {
+
+    private final SolverFactory<EmployeeSchedule> solverFactory;
+    private final Duration maximumBudget;
+    private final Duration responseOverhead;
+    private final Semaphore permits;
+
+    @Inject
+    public QuickSolveService(SolverFactory<EmployeeSchedule> solverFactory,
+            @ConfigProperty(name = "employee-scheduling.quick-solve.maximum-budget",
+                    defaultValue = "2s") Duration maximumBudget,
+            @ConfigProperty(name = "employee-scheduling.quick-solve.response-overhead",
+                    defaultValue = "30ms") Duration responseOverhead,
+            @ConfigProperty(name = "employee-scheduling.quick-solve.max-concurrent-solves",
+                    defaultValue = "0") int maxConcurrentSolves) {
+        this.solverFactory = solverFactory;
+        this.maximumBudget = maximumBudget;
+        this.responseOverhead = responseOverhead;
+        // Each quick solve keeps one core busy, so more at once would only make all of them slower
+        this.permits = new Semaphore(maxConcurrentSolves > 0
+                ? maxConcurrentSolves
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public Duration getMaximumBudget() {
+        return maximumBudget;
+    }
+
+    /**
+     * @param budget the time in which the response must be ready, at most {@link #getMaximumBudget()}
+     * @return empty if too many quick solves are running already
+     */
+    public Optional<EmployeeSchedule> trySolve(EmployeeSchedule problem, Duration budget) {
+        if (budget.isNegative() || budget.isZero() || budget.compareTo(maximumBudget) > 0) {
+            throw new IllegalArgumentException("The budget (" + budget + ") must be positive and at most "
+                    + maximumBudget + ".");
+        }
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            Duration spentLimit = budget.minus(responseOverhead);
+            if (spentLimit.toMillis() < 1L) {
+                spentLimit = Duration.ofMillis(1L);
+            }
+            SolverConfigOverride<EmployeeSchedule> configOverride = new SolverConfigOverride<EmployeeSchedule>()
+                    .withTerminationConfig(new TerminationConfig().withSpentLimit(spentLimit));
+            return Optional.of(solverFactory.buildSolver(configOverride).solve(problem));
+        } finally {
+            permits.release();
+        }
+    }
+}
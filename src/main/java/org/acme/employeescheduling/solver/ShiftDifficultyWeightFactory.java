@@ -0,0 +1,87 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.impl.heuristic.selector.common.decorator.SelectionSorterWeightFactory;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Shifts whose required skill is scarce on their day are the most difficult to assign,
+ * so the construction heuristic assigns them first, while there are still eligible employees left.
+ * <p>
+ * Scarcity is the number of shifts that need the skill that day, divided by the number of employees who have it
+ * and are available that day. Ties are broken by fewer eligible employees.
+ */
+public class ShiftDifficultyWeightFactory implements SelectionSorterWeightFactory<EmployeeSchedule, Shift> {
+
+    private EmployeeSchedule cachedSchedule;
+    private Map<DateSkill, Integer> cachedDemandMap;
+    private Map<DateSkill, Integer> cachedSupplyMap;
+
+    @Override
+    public synchronized ShiftDifficulty createSorterWeight(EmployeeSchedule schedule, Shift shift) {
+        if (cachedSchedule != schedule) {
+            computeDemandAndSupply(schedule);
+            cachedSchedule = schedule;
+        }
+        DateSkill dateSkill = new DateSkill(shift.getStart().toLocalDate(), shift.getRequiredSkill());
+        int demand = cachedDemandMap.getOrDefault(dateSkill, 0);
+        int supply = cachedSupplyMap.getOrDefault(dateSkill, 0);
+        return new ShiftDifficulty((double) demand / Math.max(supply, 1), supply, shift.getId());
+    }
+
+    private void computeDemandAndSupply(EmployeeSchedule schedule) {
+        cachedDemandMap = new HashMap<>();
+        Map<String, Integer> skillToEmployeeCountMap = new HashMap<>();
+        Map<DateSkill, Integer> unavailableMap = new HashMap<>();
+        for (Shift shift : nullToEmpty(schedule.getShifts())) {
+            cachedDemandMap.merge(new DateSkill(shift.getStart().toLocalDate(), shift.getRequiredSkill()), 1,
+                    Integer::sum);
+        }
+        for (Employee employee : nullToEmpty(schedule.getEmployees())) {
+            for (String skill : nullToEmpty(employee.getSkills())) {
+                skillToEmployeeCountMap.merge(skill, 1, Integer::sum);
+                for (LocalDate date : nullToEmpty(employee.getUnavailableDates())) {
+                    unavailableMap.merge(new DateSkill(date, skill), 1, Integer::sum);
+                }
+            }
+        }
+        cachedSupplyMap = new HashMap<>(cachedDemandMap.size() * 2);
+        for (DateSkill dateSkill : cachedDemandMap.keySet()) {
+            cachedSupplyMap.put(dateSkill, skillToEmployeeCountMap.getOrDefault(dateSkill.skill(), 0)
+                    - unavailableMap.getOrDefault(dateSkill, 0));
+        }
+    }
+
+    private static <T> Collection<T> nullToEmpty(Collection<T> collection) {
+        return collection == null ? List.of() : collection;
+    }
+
+    record DateSkill(LocalDate date, String skill) {
+    }
+
+    /**
+     * Greater is more difficult.
+     */
+    public record ShiftDifficulty(double scarcity, int eligibleEmployeeCount, String shiftId)
+            implements Comparable<ShiftDifficulty> {
+
+        private static final Comparator<ShiftDifficulty> COMPARATOR =
+                Comparator.comparingDouble(ShiftDifficulty::scarcity)
+                        .thenComparing(ShiftDifficulty::eligibleEmployeeCount, Comparator.reverseOrder())
+                        .thenComparing(ShiftDifficulty::shiftId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        @Override
+        public int compareTo(ShiftDifficulty other) {
+            return COMPARATOR.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.List;
+
+/**
+ * @param candidateCount the number of employees that were tried
+ * @param recommendations the best employees first
+ */
+public record ShiftRecommendation(String shiftId, int candidateCount, List<EmployeeRecommendation> recommendations) {
+}
@@ -0,0 +1,120 @@
+package org.acme.employeescheduling.solver;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Solves demo data a few times at startup, so the first real requests don't pay
+ * for building the constraint network, loading classes and running interpreted code.
+ * <p>
+ * The solves run on the shared {@link SolverFactory}, which the {@link ai.timefold.solver.core.api.solver.SolverManager}
+ * and the {@link QuickSolveService} build their solvers from, so they inherit its compiled constraint network.
+ * Warm-up runs in a background thread: the application starts immediately,
+ * but {@link SolverWarmUpHealthCheck} keeps it unready until warm-up is done.
+ */
+@ApplicationScoped
+public class SolverWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverWarmUp.class);
+
+    private final SolverFactory<EmployeeSchedule> solverFactory;
+    private final SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    private final DemoDataGenerator demoDataGenerator;
+    private final int solveCount;
+    private final Duration spentLimit;
+
+    private volatile boolean done = false;
+    private volatile long firstSolveMillis = -1L;
+    private volatile long lastSolveMillis = -1L;
+    private volatile long readyMillis = -1L;
+
+    @Inject
+    public SolverWarmUp(SolverFactory<EmployeeSchedule> solverFactory,
+            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager,
+            DemoDataGenerator demoDataGenerator,
+            @ConfigProperty(name = "employee-scheduling.warm-up.solve-count", defaultValue = "3") int solveCount,
+            @ConfigProperty(name = "employee-scheduling.warm-up.spent-limit", defaultValue = "1s") Duration spentLimit) {
+        this.solverFactory = solverFactory;
+        this.solutionManager = solutionManager;
+        this.demoDataGenerator = demoDataGenerator;
+        this.solveCount = solveCount;
+        this.spentLimit = spentLimit;
+    }
+
+    void onStart(@Observes StartupEvent startupEvent) {
+        Thread thread = new Thread(this::warmUp, "SolverWarmUp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        try {
+            SolverConfigOverride<EmployeeSchedule> configOverride = new SolverConfigOverride<EmployeeSchedule>()
+                    .withTerminationConfig(new TerminationConfig().withSpentLimit(spentLimit));
+            for (int i = 0; i < solveCount; i++) {
+                long startNanos = System.nanoTime();
+                EmployeeSchedule solution = solverFactory.buildSolver(configOverride)
+                        .solve(demoDataGenerator.generateDemoData(DemoData.SMALL));
+                solutionManager.analyze(solution, ScoreAnalysisFetchPolicy.FETCH_SHALLOW);
+                lastSolveMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+                if (i == 0) {
+                    firstSolveMillis = lastSolveMillis;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Warm-up only speeds up the first requests: failing it must not keep the application unready
+            LOGGER.warn("Solver warm-up failed.", e);
+        } finally {
+            readyMillis = getUptimeMillis();
+            done = true;
+            // The solve time beyond the spent limit is the cost a cold first request would have paid
+            LOGGER.info("Solver warm-up done {} ms after start: first solve {} ms, last solve {} ms (spent limit {} ms).",
+                    readyMillis, firstSolveMillis, lastSolveMillis, spentLimit.toMillis());
+        }
+    }
+
+    private static long getUptimeMillis() {
+        try {
+            return ManagementFactory.getRuntimeMXBean().getUptime();
+        } catch (RuntimeException | Error e) {
+            // Not every native image includes the management beans
+            return -1L;
+        }
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public long getFirstSolveMillis() {
+        return firstSolveMillis;
+    }
+
+    public long getLastSolveMillis() {
+        return lastSolveMillis;
+    }
+
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+}
@@ -0,0 +1,37 @@
+package org.acme.employeescheduling.solver;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Keeps the application out of the load balancer until {@link SolverWarmUp} is done.
+ */
+@Readiness
+@ApplicationScoped
+public class SolverWarmUpHealthCheck implements HealthCheck {
+
+    private final SolverWarmUp solverWarmUp;
+
+    @Inject
+    public SolverWarmUpHealthCheck(SolverWarmUp solverWarmUp) {
+        this.solverWarmUp = solverWarmUp;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("Solver warm-up");
+        if (!solverWarmUp.isDone()) {
+            return builder.down().build();
+        }
+        return builder.up()
+                .withData("readyMillis", solverWarmUp.getReadyMillis())
+                .withData("firstSolveMillis", solverWarmUp.getFirstSolveMillis())
+                .withData("lastSolveMillis", solverWarmUp.getLastSolveMillis())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package org.acme.employeescheduling.solver;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Solves in two stages: first hard-first, then with all constraints, starting from the solution of the first stage.
+ * <p>
+ * The balance of the shift assignments is the most expensive constraint to maintain incrementally,
+ * and it doesn't matter while the hard constraints are broken.
+ * So the first stage runs with a zero weight for it, which removes it from the constraint streams,
+ * until the schedule is feasible or its share of the spent limit runs out.
+ * During the first stage, the soft score of the best solutions doesn't include the balance.
+ */
+@ApplicationScoped
+public class StagedSolving {
+
+    public static final String DEFERRED_CONSTRAINT_NAME = "Balance employee shift assignments";
+
+    private static final ConstraintWeightOverrides<HardSoftBigDecimalScore> FIRST_STAGE_WEIGHT_OVERRIDES =
+            ConstraintWeightOverrides.of(Map.of(DEFERRED_CONSTRAINT_NAME, HardSoftBigDecimalScore.ZERO));
+
+    private final boolean enabledByDefault;
+    private final double firstStageRatio;
+
+    @Inject
+    public StagedSolving(
+            @ConfigProperty(name = "employee-scheduling.staged-solving.enabled", defaultValue = "false")
+            boolean enabledByDefault,
+            @ConfigProperty(name = "employee-scheduling.staged-solving.first-stage-ratio", defaultValue = "0.3")
+            double firstStageRatio) {
+        if (firstStageRatio <= 0.0 || firstStageRatio >= 1.0) {
+            throw new IllegalArgumentException("The firstStageRatio (" + firstStageRatio
+                    + ") must be between 0 and 1.");
+        }
+        this.enabledByDefault = enabledByDefault;
+        this.firstStageRatio = firstStageRatio;
+    }
+
+    /**
+     * @param requested null for the configured default
+     */
+    public boolean isEnabled(Boolean requested) {
+        return requested == null ? enabledByDefault : requested;
+    }
+
+    /**
+     * The solver manager can't reuse the problem ID of a job before its previous run unregistered,
+     * so the first stage runs under another one.
+     */
+    public static String getFirstStageProblemId(String jobId) {
+        return jobId + "/hard-first";
+    }
+
+    /**
+     * @param termination the termination of single-stage solving
+     * @param bestHardScoreLimit null if the schedule may be feasible,
+     *        otherwise the best hard score that the first stage can reach
+     * @return null if the termination has no spent limit to share between the stages
+     */
+    public TerminationConfig createFirstStageTermination(TerminationConfig termination,
+            BigDecimal bestHardScoreLimit) {
+        Long spentLimitMillis = termination.calculateTimeMillisSpentLimit();
+        if (spentLimitMillis == null) {
+            return null;
+        }
+        BigDecimal hardScoreLimit = bestHardScoreLimit == null ? BigDecimal.ZERO : bestHardScoreLimit;
+        return new TerminationConfig()
+                .withSpentLimit(Duration.ofMillis((long) (spentLimitMillis * firstStageRatio)))
+                .withBestScoreLimit(hardScoreLimit.toPlainString() + "hard/*soft");
+    }
+
+    /**
+     * @param termination the termination of single-stage solving, with a spent limit
+     * @param firstStageDuration how long the first stage took
+     */
+    public static TerminationConfig createSecondStageTermination(TerminationConfig termination,
+            Duration firstStageDuration) {
+        TerminationConfig secondStageTermination = termination.copyConfig();
+        long remainingMillis = termination.calculateTimeMillisSpentLimit() - firstStageDuration.toMillis();
+        secondStageTermination.overwriteSpentLimit(Duration.ofMillis(Math.max(remainingMillis, 0L)));
+        return secondStageTermination;
+    }
+
+    public static void deferBalance(EmployeeSchedule schedule) {
+        schedule.setConstraintWeightOverrides(FIRST_STAGE_WEIGHT_OVERRIDES);
+    }
+
+    /**
+     * The score of the schedule is stale afterwards.
+     */
+    public static void restoreBalance(EmployeeSchedule schedule) {
+        schedule.setConstraintWeightOverrides(ConstraintWeightOverrides.none());
+    }
+}
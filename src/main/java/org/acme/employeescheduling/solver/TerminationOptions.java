@@ -0,0 +1,42 @@
+package org.acme.employeescheduling.solver;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * How one solving job decides to stop, on top of the configured termination.
+ *
+ * @param scaleSpentLimit true to derive the spent limit from the number of shifts and employees
+ *        instead of using the configured spent limit
+ * @param minImprovementPercent null to disable, otherwise stop a feasible job as soon as its soft score
+ *        improved less than this percentage over the improvement window
+ * @param improvementWindow null for the configured default
+ * @param bestHardScoreLimit null to disable, otherwise stop as soon as the hard score reaches this limit,
+ *        because the {@link FeasibilityAnalyzer} proved that it can't get any better
+ */
+public record TerminationOptions(boolean scaleSpentLimit, Double minImprovementPercent, Duration improvementWindow,
+        BigDecimal bestHardScoreLimit) {
+
+    public static final TerminationOptions DEFAULT = new TerminationOptions(false, null, null, null);
+
+    public TerminationOptions {
+        if (minImprovementPercent != null && minImprovementPercent < 0.0) {
+            throw new IllegalArgumentException("The minImprovementPercent (" + minImprovementPercent
+                    + ") must not be negative.");
+        }
+        if (improvementWindow != null && (improvementWindow.isNegative() || improvementWindow.isZero())) {
+            throw new IllegalArgumentException("The improvementWindow (" + improvementWindow + ") must be positive.");
+        }
+    }
+
+    public TerminationOptions withBestHardScoreLimit(BigDecimal bestHardScoreLimit) {
+        return new TerminationOptions(scaleSpentLimit, minImprovementPercent, improvementWindow, bestHardScoreLimit);
+    }
+
+    @JsonIgnore
+    public boolean isDiminishingReturnsEnabled() {
+        return minImprovementPercent != null;
+    }
+}
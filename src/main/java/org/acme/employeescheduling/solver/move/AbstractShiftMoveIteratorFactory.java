@@ -0,0 +1,82 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+/**
+ * Base class for the custom move selectors in {@code solverConfig.xml}.
+ * Local search selects their moves randomly by default;
+ * with another selection order, each move of the selector comes once, in a fixed order.
+ */
+abstract class AbstractShiftMoveIteratorFactory implements MoveIteratorFactory<EmployeeSchedule, ShiftReassignmentMove> {
+
+    private ShiftMoveIndex index;
+
+    @Override
+    public long getSize(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        EmployeeSchedule schedule = scoreDirector.getWorkingSolution();
+        return (long) schedule.getShifts().size() * schedule.getEmployees().size();
+    }
+
+    @Override
+    public Iterator<ShiftReassignmentMove> createOriginalMoveIterator(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        return createOriginalMoves(getIndex(scoreDirector)).iterator();
+    }
+
+    @Override
+    public Iterator<ShiftReassignmentMove> createRandomMoveIterator(ScoreDirector<EmployeeSchedule> scoreDirector,
+            Random workingRandom) {
+        ShiftMoveIndex currentIndex = getIndex(scoreDirector);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !currentIndex.getShifts().isEmpty();
+            }
+
+            @Override
+            public ShiftReassignmentMove next() {
+                return createRandomMove(currentIndex, workingRandom);
+            }
+        };
+    }
+
+    private ShiftMoveIndex getIndex(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        EmployeeSchedule schedule = scoreDirector.getWorkingSolution();
+        if (index == null || !index.isOf(schedule)) {
+            index = new ShiftMoveIndex(schedule);
+        }
+        return index;
+    }
+
+    /**
+     * May return a move that isn't doable; the solver skips those.
+     */
+    protected abstract ShiftReassignmentMove createRandomMove(ShiftMoveIndex index, Random random);
+
+    /**
+     * Every move that {@link #createRandomMove(ShiftMoveIndex, Random)} can return, once, in a fixed order.
+     * The stream is lazy, so the moves are only created as they are selected.
+     * May contain moves that aren't doable; the solver skips those.
+     */
+    protected abstract Stream<ShiftReassignmentMove> createOriginalMoves(ShiftMoveIndex index);
+
+    protected static <T> T pickRandom(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    /**
+     * @return every pair of different elements of the list once, the first before the second
+     */
+    protected static <T> Stream<List<T>> pairs(List<T> list) {
+        return IntStream.range(0, list.size()).boxed()
+                .flatMap(i -> list.subList(i + 1, list.size()).stream().map(right -> List.of(list.get(i), right)));
+    }
+}
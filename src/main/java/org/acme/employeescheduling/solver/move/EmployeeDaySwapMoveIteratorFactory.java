@@ -0,0 +1,56 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Swaps all shifts of one employee on a day with all shifts of another employee on that day.
+ */
+public class EmployeeDaySwapMoveIteratorFactory extends AbstractShiftMoveIteratorFactory {
+
+    @Override
+    protected ShiftReassignmentMove createRandomMove(ShiftMoveIndex index, Random random) {
+        Shift shift = pickRandom(index.getShifts(), random);
+        return createPeriodSwap("EmployeeDaySwap", index, random, shift, shift.getStart().toLocalDate(), 1);
+    }
+
+    @Override
+    protected Stream<ShiftReassignmentMove> createOriginalMoves(ShiftMoveIndex index) {
+        return createPeriodSwaps("EmployeeDaySwap", index, index.getDates(), 1);
+    }
+
+    static ShiftReassignmentMove createPeriodSwap(String moveType, ShiftMoveIndex index, Random random, Shift shift,
+            LocalDate periodStart, int periodDays) {
+        Employee left = shift.getEmployee();
+        Employee right = pickRandom(index.getEmployees(), random);
+        if (left == null || left.equals(right)) {
+            // Not doable
+            return new ShiftReassignmentMove(moveType, List.of(), List.of());
+        }
+        return createPeriodSwap(moveType, index, left, right, periodStart, periodDays);
+    }
+
+    /**
+     * Swaps of every pair of employees in every period.
+     * Pairs where neither employee has a shift in the period aren't doable.
+     */
+    static Stream<ShiftReassignmentMove> createPeriodSwaps(String moveType, ShiftMoveIndex index,
+            Collection<LocalDate> periodStarts, int periodDays) {
+        return periodStarts.stream()
+                .flatMap(periodStart -> pairs(index.getEmployees())
+                        .map(pair -> createPeriodSwap(moveType, index, pair.get(0), pair.get(1), periodStart,
+                                periodDays)));
+    }
+
+    private static ShiftReassignmentMove createPeriodSwap(String moveType, ShiftMoveIndex index, Employee left,
+            Employee right, LocalDate periodStart, int periodDays) {
+        return ShiftReassignmentMove.swap(moveType, index.getShifts(left, periodStart, periodDays), left,
+                index.getShifts(right, periodStart, periodDays), right);
+    }
+}
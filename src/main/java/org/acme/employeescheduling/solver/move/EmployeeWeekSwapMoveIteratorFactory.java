@@ -0,0 +1,33 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Swaps all shifts of one employee in a week, Monday to Sunday, with all shifts of another employee that week.
+ */
+public class EmployeeWeekSwapMoveIteratorFactory extends AbstractShiftMoveIteratorFactory {
+
+    @Override
+    protected ShiftReassignmentMove createRandomMove(ShiftMoveIndex index, Random random) {
+        Shift shift = pickRandom(index.getShifts(), random);
+        return EmployeeDaySwapMoveIteratorFactory.createPeriodSwap("EmployeeWeekSwap", index, random, shift,
+                getWeekStart(shift.getStart().toLocalDate()), 7);
+    }
+
+    @Override
+    protected Stream<ShiftReassignmentMove> createOriginalMoves(ShiftMoveIndex index) {
+        return EmployeeDaySwapMoveIteratorFactory.createPeriodSwaps("EmployeeWeekSwap", index,
+                index.getDates().stream().map(EmployeeWeekSwapMoveIteratorFactory::getWeekStart).distinct().toList(),
+                7);
+    }
+
+    private static LocalDate getWeekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,72 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Ruins all shifts of one location on one day and recreates them at once:
+ * each shift goes to a random employee with the required skill who is available that day
+ * and not yet working another shift that day.
+ * This escapes local optima that single changes and swaps can't leave without breaking a hard constraint first.
+ */
+public class LocationDayRuinRecreateMoveIteratorFactory extends AbstractShiftMoveIteratorFactory {
+
+    @Override
+    protected ShiftReassignmentMove createRandomMove(ShiftMoveIndex index, Random random) {
+        return createMove(index, pickRandom(index.getLocationDayBlocks(), random), random::nextInt);
+    }
+
+    /**
+     * Recreates every block once, each shift with the first eligible employee in the order of the schedule.
+     */
+    @Override
+    protected Stream<ShiftReassignmentMove> createOriginalMoves(ShiftMoveIndex index) {
+        return index.getLocationDayBlocks().stream().map(block -> createMove(index, block, employeeCount -> 0));
+    }
+
+    /**
+     * @param offsetFunction from the number of employees to the employee to start looking for an eligible one
+     */
+    private static ShiftReassignmentMove createMove(ShiftMoveIndex index, List<Shift> block,
+            IntUnaryOperator offsetFunction) {
+        LocalDate date = block.get(0).getStart().toLocalDate();
+        Set<Employee> busyEmployees = new HashSet<>();
+        for (Shift shift : index.getShifts(date)) {
+            if (shift.getEmployee() != null && !block.contains(shift)) {
+                busyEmployees.add(shift.getEmployee());
+            }
+        }
+        List<Employee> employees = index.getEmployees();
+        List<Employee> toEmployees = new ArrayList<>(block.size());
+        for (Shift shift : block) {
+            Employee toEmployee = null;
+            int offset = offsetFunction.applyAsInt(employees.size());
+            for (int i = 0; i < employees.size(); i++) {
+                Employee candidate = employees.get((offset + i) % employees.size());
+                if (!busyEmployees.contains(candidate)
+                        && candidate.getSkills().contains(shift.getRequiredSkill())
+                        && !candidate.getUnavailableDates().contains(date)) {
+                    toEmployee = candidate;
+                    break;
+                }
+            }
+            if (toEmployee == null) {
+                // Nobody is eligible, keep the current employee
+                toEmployee = shift.getEmployee();
+            } else {
+                busyEmployees.add(toEmployee);
+            }
+            toEmployees.add(toEmployee);
+        }
+        return new ShiftReassignmentMove("LocationDayRuinRecreate", block, toEmployees);
+    }
+}
@@ -0,0 +1,35 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Swaps the employees of two shifts on the same day.
+ * Both employees keep the same number of shifts that day,
+ * so unlike a generic swap it can't add a {@code oneShiftPerDay} violation.
+ */
+public class SameDaySwapMoveIteratorFactory extends AbstractShiftMoveIteratorFactory {
+
+    @Override
+    protected ShiftReassignmentMove createRandomMove(ShiftMoveIndex index, Random random) {
+        Shift left = pickRandom(index.getShifts(), random);
+        List<Shift> sameDayShifts = index.getShifts(left.getStart().toLocalDate());
+        Shift right = pickRandom(sameDayShifts, random);
+        return createSwap(left, right);
+    }
+
+    @Override
+    protected Stream<ShiftReassignmentMove> createOriginalMoves(ShiftMoveIndex index) {
+        return index.getDates().stream()
+                .flatMap(date -> pairs(index.getShifts(date)))
+                .map(pair -> createSwap(pair.get(0), pair.get(1)));
+    }
+
+    private static ShiftReassignmentMove createSwap(Shift left, Shift right) {
+        return ShiftReassignmentMove.swap("SameDaySwap", List.of(left), left.getEmployee(),
+                List.of(right), right.getEmployee());
+    }
+}
@@ -0,0 +1,81 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Groups the shifts of a working solution by day and by location and day.
+ * The shifts themselves don't change during solving, only their employees,
+ * so the index is built once per solve.
+ */
+final class ShiftMoveIndex {
+
+    private final EmployeeSchedule schedule;
+    private final Map<LocalDate, List<Shift>> dateToShiftsMap;
+    private final List<List<Shift>> locationDayBlocks;
+
+    ShiftMoveIndex(EmployeeSchedule schedule) {
+        this.schedule = schedule;
+        dateToShiftsMap = new TreeMap<>();
+        Map<String, Map<LocalDate, List<Shift>>> locationToDateToShiftsMap = new LinkedHashMap<>();
+        for (Shift shift : schedule.getShifts()) {
+            LocalDate date = shift.getStart().toLocalDate();
+            dateToShiftsMap.computeIfAbsent(date, d -> new ArrayList<>()).add(shift);
+            locationToDateToShiftsMap.computeIfAbsent(shift.getLocation(), l -> new LinkedHashMap<>())
+                    .computeIfAbsent(date, d -> new ArrayList<>()).add(shift);
+        }
+        locationDayBlocks = new ArrayList<>();
+        locationToDateToShiftsMap.values().forEach(dateMap -> locationDayBlocks.addAll(dateMap.values()));
+    }
+
+    boolean isOf(EmployeeSchedule schedule) {
+        return this.schedule == schedule;
+    }
+
+    List<Employee> getEmployees() {
+        return schedule.getEmployees();
+    }
+
+    List<Shift> getShifts() {
+        return schedule.getShifts();
+    }
+
+    /**
+     * @return the days with shifts, in chronological order
+     */
+    Collection<LocalDate> getDates() {
+        return dateToShiftsMap.keySet();
+    }
+
+    List<Shift> getShifts(LocalDate date) {
+        return dateToShiftsMap.getOrDefault(date, List.of());
+    }
+
+    List<List<Shift>> getLocationDayBlocks() {
+        return locationDayBlocks;
+    }
+
+    /**
+     * @return the shifts currently assigned to the employee that start in the given period
+     */
+    List<Shift> getShifts(Employee employee, LocalDate periodStart, int periodDays) {
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < periodDays; i++) {
+            for (Shift shift : getShifts(periodStart.plusDays(i))) {
+                if (employee.equals(shift.getEmployee())) {
+                    shifts.add(shift);
+                }
+            }
+        }
+        return shifts;
+    }
+}
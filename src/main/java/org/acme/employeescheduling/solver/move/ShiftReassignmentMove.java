@@ -0,0 +1,123 @@
+package org.acme.employeescheduling.solver.move;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Assigns several shifts to new employees at once.
+ * Swaps, period swaps and ruin-and-recreate are all expressed as one such move,
+ * so the solver evaluates them as a single step.
+ */
+public class ShiftReassignmentMove extends AbstractMove<EmployeeSchedule> {
+
+    private final String moveType;
+    private final List<Shift> shifts;
+    private final List<Employee> toEmployees;
+
+    public ShiftReassignmentMove(String moveType, List<Shift> shifts, List<Employee> toEmployees) {
+        if (shifts.size() != toEmployees.size()) {
+            throw new IllegalArgumentException("The shifts (" + shifts.size() + ") and employees ("
+                    + toEmployees.size() + ") must have the same size.");
+        }
+        this.moveType = moveType;
+        this.shifts = shifts;
+        this.toEmployees = toEmployees;
+    }
+
+    /**
+     * Gives every shift of the first list to the second employee and vice versa.
+     */
+    public static ShiftReassignmentMove swap(String moveType, List<Shift> leftShifts, Employee leftEmployee,
+            List<Shift> rightShifts, Employee rightEmployee) {
+        List<Shift> shifts = new ArrayList<>(leftShifts.size() + rightShifts.size());
+        List<Employee> toEmployees = new ArrayList<>(leftShifts.size() + rightShifts.size());
+        for (Shift shift : leftShifts) {
+            shifts.add(shift);
+            toEmployees.add(rightEmployee);
+        }
+        for (Shift shift : rightShifts) {
+            shifts.add(shift);
+            toEmployees.add(leftEmployee);
+        }
+        return new ShiftReassignmentMove(moveType, shifts, toEmployees);
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        for (int i = 0; i < shifts.size(); i++) {
+            if (!Objects.equals(shifts.get(i).getEmployee(), toEmployees.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected ShiftReassignmentMove createUndoMove(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        List<Employee> fromEmployees = new ArrayList<>(shifts.size());
+        for (Shift shift : shifts) {
+            fromEmployees.add(shift.getEmployee());
+        }
+        return new ShiftReassignmentMove(moveType, shifts, fromEmployees);
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<EmployeeSchedule> scoreDirector) {
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            scoreDirector.beforeVariableChanged(shift, "employee");
+            shift.setEmployee(toEmployees.get(i));
+            scoreDirector.afterVariableChanged(shift, "employee");
+        }
+    }
+
+    @Override
+    public ShiftReassignmentMove rebase(ScoreDirector<EmployeeSchedule> destinationScoreDirector) {
+        List<Shift> rebasedShifts = new ArrayList<>(shifts.size());
+        List<Employee> rebasedEmployees = new ArrayList<>(toEmployees.size());
+        for (int i = 0; i < shifts.size(); i++) {
+            rebasedShifts.add(destinationScoreDirector.lookUpWorkingObject(shifts.get(i)));
+            rebasedEmployees.add(destinationScoreDirector.lookUpWorkingObject(toEmployees.get(i)));
+        }
+        return new ShiftReassignmentMove(moveType, rebasedShifts, rebasedEmployees);
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return moveType;
+    }
+
+    @Override
+    public Collection<Shift> getPlanningEntities() {
+        return shifts;
+    }
+
+    @Override
+    public Collection<Employee> getPlanningValues() {
+        return new LinkedHashSet<>(toEmployees);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(moveType).append(" {");
+        for (int i = 0; i < shifts.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            Shift shift = shifts.get(i);
+            builder.append(shift.getId()).append(": ").append(shift.getEmployee()).append(" -> ")
+                    .append(toEmployees.get(i));
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.acme.employeescheduling.solver.tuning;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * The class of schedules that the same solver configuration suits,
+ * by the number of shifts, the number of employees and the skill density:
+ * the average share of the employees that have the required skill of a shift.
+ *
+ * @param shifts fewer than 500 is {@link Level#LOW}, fewer than 5,000 is {@link Level#MEDIUM}
+ * @param employees fewer than 50 is {@link Level#LOW}, fewer than 500 is {@link Level#MEDIUM}
+ * @param skillDensity below 0.2 is {@link Level#LOW}, below 0.5 is {@link Level#MEDIUM}
+ */
+public record SizeClass(Level shifts, Level employees, Level skillDensity) {
+
+    public enum Level {
+        LOW,
+        MEDIUM,
+        HIGH;
+
+        private static Level of(double value, double mediumFrom, double highFrom) {
+            return value < mediumFrom ? LOW : value < highFrom ? MEDIUM : HIGH;
+        }
+    }
+
+    public static SizeClass of(EmployeeSchedule schedule) {
+        List<Employee> employees = schedule.getEmployees() == null ? List.of() : schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts() == null ? List.of() : schedule.getShifts();
+        return new SizeClass(Level.of(shifts.size(), 500, 5_000), Level.of(employees.size(), 50, 500),
+                Level.of(getSkillDensity(employees, shifts), 0.2, 0.5));
+    }
+
+    private static double getSkillDensity(List<Employee> employees, List<Shift> shifts) {
+        if (employees.isEmpty() || shifts.isEmpty()) {
+            return 0.0;
+        }
+        Map<String, Integer> skillToEmployeeCountMap = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getSkills() != null) {
+                for (String skill : employee.getSkills()) {
+                    skillToEmployeeCountMap.merge(skill, 1, Integer::sum);
+                }
+            }
+        }
+        long skilledEmployeeCountSum = 0L;
+        for (Shift shift : shifts) {
+            skilledEmployeeCountSum += skillToEmployeeCountMap.getOrDefault(shift.getRequiredSkill(), 0);
+        }
+        return (double) skilledEmployeeCountSum / shifts.size() / employees.size();
+    }
+
+    /**
+     * @param key as returned by {@link #key()}
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    public static SizeClass parse(String key) {
+        String[] levels = key.split("-");
+        if (levels.length != 3) {
+            throw new IllegalArgumentException("The size class (" + key
+                    + ") must be 3 levels for shifts, employees and skill density, such as low-medium-high.");
+        }
+        return new SizeClass(parseLevel(levels[0]), parseLevel(levels[1]), parseLevel(levels[2]));
+    }
+
+    private static Level parseLevel(String level) {
+        return Level.valueOf(level.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return for example {@code medium-low-high}
+     */
+    public String key() {
+        return (shifts + "-" + employees + "-" + skillDensity).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
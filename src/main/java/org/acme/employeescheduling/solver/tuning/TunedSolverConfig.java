@@ -0,0 +1,143 @@
+package org.acme.employeescheduling.solver.tuning;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.MoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.solver.move.EmployeeDaySwapMoveIteratorFactory;
+import org.acme.employeescheduling.solver.move.EmployeeWeekSwapMoveIteratorFactory;
+import org.acme.employeescheduling.solver.move.LocationDayRuinRecreateMoveIteratorFactory;
+import org.acme.employeescheduling.solver.move.SameDaySwapMoveIteratorFactory;
+
+/**
+ * The local search and termination parameters that the {@code SolverConfigTuner} searches, per {@link SizeClass}.
+ * The construction heuristic and the configured termination stay, the tuned termination only adds to it.
+ *
+ * @param lateAcceptanceSize the number of steps back that a move's score is compared with
+ * @param entityTabuSize 0 to disable, otherwise the number of steps a changed shift can't change again
+ * @param acceptedCountLimit the number of accepted moves evaluated per step
+ * @param changeWeight the selection weight of the generic change moves, like the other weights
+ * @param unimprovedSpentLimitSeconds 0 to disable, otherwise the seconds without a better solution
+ * after which solving ends, unless the termination already has an unimproved spent limit
+ */
+public record TunedSolverConfig(int lateAcceptanceSize, int entityTabuSize, int acceptedCountLimit,
+        double changeWeight, double sameDaySwapWeight, double employeeDaySwapWeight, double employeeWeekSwapWeight,
+        double ruinRecreateWeight, long unimprovedSpentLimitSeconds) {
+
+    /**
+     * The local search of {@code solverConfig.xml}, with the defaults of the solver for its acceptor and forager.
+     */
+    public static final TunedSolverConfig DEFAULT = new TunedSolverConfig(400, 0, 1, 4.0, 4.0, 1.0, 0.5, 0.5, 0L);
+
+    public TunedSolverConfig {
+        if (lateAcceptanceSize < 1 || entityTabuSize < 0 || acceptedCountLimit < 1) {
+            throw new IllegalArgumentException("The lateAcceptanceSize (" + lateAcceptanceSize
+                    + ") and acceptedCountLimit (" + acceptedCountLimit
+                    + ") must be positive and the entityTabuSize (" + entityTabuSize + ") must not be negative.");
+        }
+        if (changeWeight < 0.0 || sameDaySwapWeight < 0.0 || employeeDaySwapWeight < 0.0
+                || employeeWeekSwapWeight < 0.0 || ruinRecreateWeight < 0.0
+                || changeWeight + sameDaySwapWeight + employeeDaySwapWeight + employeeWeekSwapWeight
+                        + ruinRecreateWeight <= 0.0) {
+            throw new IllegalArgumentException("The move weights must not be negative and not all be zero.");
+        }
+        if (unimprovedSpentLimitSeconds < 0L) {
+            throw new IllegalArgumentException("The unimprovedSpentLimitSeconds (" + unimprovedSpentLimitSeconds
+                    + ") must not be negative.");
+        }
+    }
+
+    /**
+     * @return a copy with another unimproved spent limit
+     */
+    public TunedSolverConfig withUnimprovedSpentLimitSeconds(long unimprovedSpentLimitSeconds) {
+        return new TunedSolverConfig(lateAcceptanceSize, entityTabuSize, acceptedCountLimit, changeWeight,
+                sameDaySwapWeight, employeeDaySwapWeight, employeeWeekSwapWeight, ruinRecreateWeight,
+                unimprovedSpentLimitSeconds);
+    }
+
+    /**
+     * @param solverConfig not modified
+     * @return a copy with the construction heuristic of the given config, this local search
+     * and the given termination with this one added
+     */
+    public SolverConfig applyTo(SolverConfig solverConfig) {
+        SolverConfig tunedConfig = solverConfig.copyConfig();
+        List<PhaseConfig<?>> phaseConfigs = new ArrayList<>();
+        if (solverConfig.getPhaseConfigList() != null) {
+            for (PhaseConfig<?> phaseConfig : solverConfig.getPhaseConfigList()) {
+                if (phaseConfig instanceof ConstructionHeuristicPhaseConfig) {
+                    phaseConfigs.add(phaseConfig.copyConfig());
+                }
+            }
+        }
+        phaseConfigs.add(createLocalSearchPhaseConfig());
+        tunedConfig.withPhases(phaseConfigs.toArray(PhaseConfig<?>[]::new));
+        TerminationConfig terminationConfig = solverConfig.getTerminationConfig() == null
+                ? new TerminationConfig()
+                : solverConfig.getTerminationConfig().copyConfig();
+        tunedConfig.setTerminationConfig(applyTo(terminationConfig));
+        return tunedConfig;
+    }
+
+    /**
+     * Also applied to the termination that a job overrides, so that the tuned termination isn't lost.
+     *
+     * @param terminationConfig modified
+     * @return the given termination
+     */
+    public TerminationConfig applyTo(TerminationConfig terminationConfig) {
+        if (unimprovedSpentLimitSeconds > 0L && terminationConfig.getUnimprovedSpentLimit() == null) {
+            terminationConfig.setUnimprovedSpentLimit(Duration.ofSeconds(unimprovedSpentLimitSeconds));
+        }
+        return terminationConfig;
+    }
+
+    private LocalSearchPhaseConfig createLocalSearchPhaseConfig() {
+        LocalSearchAcceptorConfig acceptorConfig = new LocalSearchAcceptorConfig()
+                .withLateAcceptanceSize(lateAcceptanceSize);
+        if (entityTabuSize > 0) {
+            acceptorConfig.setEntityTabuSize(entityTabuSize);
+        }
+        List<MoveSelectorConfig> moveSelectorConfigs = new ArrayList<>();
+        if (changeWeight > 0.0) {
+            ChangeMoveSelectorConfig changeMoveSelectorConfig = new ChangeMoveSelectorConfig();
+            changeMoveSelectorConfig.setFixedProbabilityWeight(changeWeight);
+            moveSelectorConfigs.add(changeMoveSelectorConfig);
+        }
+        addMoveIteratorFactory(moveSelectorConfigs, SameDaySwapMoveIteratorFactory.class, sameDaySwapWeight);
+        addMoveIteratorFactory(moveSelectorConfigs, EmployeeDaySwapMoveIteratorFactory.class, employeeDaySwapWeight);
+        addMoveIteratorFactory(moveSelectorConfigs, EmployeeWeekSwapMoveIteratorFactory.class,
+                employeeWeekSwapWeight);
+        addMoveIteratorFactory(moveSelectorConfigs, LocationDayRuinRecreateMoveIteratorFactory.class,
+                ruinRecreateWeight);
+        return new LocalSearchPhaseConfig()
+                .withAcceptorConfig(acceptorConfig)
+                .withForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(acceptedCountLimit))
+                .withMoveSelectorConfig(new UnionMoveSelectorConfig(moveSelectorConfigs));
+    }
+
+    private static void addMoveIteratorFactory(List<MoveSelectorConfig> moveSelectorConfigs,
+            Class<? extends MoveIteratorFactory<EmployeeSchedule, ?>> moveIteratorFactoryClass, double weight) {
+        if (weight > 0.0) {
+            MoveIteratorFactoryConfig moveIteratorFactoryConfig = new MoveIteratorFactoryConfig()
+                    .withMoveIteratorFactoryClass(moveIteratorFactoryClass);
+            moveIteratorFactoryConfig.setFixedProbabilityWeight(weight);
+            moveSelectorConfigs.add(moveIteratorFactoryConfig);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.acme.employeescheduling.solver.tuning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The solver configurations that the {@code SolverConfigTuner} found best per {@link SizeClass},
+ * read from the file {@code employee-scheduling.tuning.file}
+ * or else from {@value #RESOURCE} on the classpath.
+ * A problem of a size class without a tuned configuration solves with {@code solverConfig.xml}.
+ * <p>
+ * A {@link ai.timefold.solver.core.api.solver.SolverConfigOverride} only overrides the termination,
+ * so each tuned configuration gets its own solver manager, created when the first job of its size class solves.
+ * A solver manager can't share the thread pool of another one, so every solver manager has a pool
+ * of the configured parallel solver count: the solver threads add up to at most
+ * {@code (1 + the number of tuned size classes) * timefold.solver-manager.parallel-solver-count},
+ * with at most 27 size classes.
+ * Only the thread count grows, not the number of parallel solves: the
+ * {@link org.acme.employeescheduling.job.SolverJobScheduler} starts at most the parallel solver count of jobs
+ * across all solver managers, so the other threads stay idle.
+ * <p>
+ * A tuned solver manager builds its solvers from its own solver factory,
+ * so the first job of each size class also builds its constraint network, which the warm-up doesn't cover.
+ */
+@ApplicationScoped
+public class TunedSolverConfigs {
+
+    public static final String RESOURCE = "tuned-solver-configs.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TunedSolverConfigs.class);
+
+    private final SolverConfig solverConfig;
+    private final SolverManagerConfig solverManagerConfig;
+    private final Map<String, TunedSolverConfig> sizeClassToConfigMap;
+
+    private final ConcurrentMap<String, SolverManager<EmployeeSchedule, String>> sizeClassToSolverManagerMap =
+            new ConcurrentHashMap<>();
+
+    @Inject
+    public TunedSolverConfigs(SolverConfig solverConfig, SolverManagerConfig solverManagerConfig,
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "employee-scheduling.tuning.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "employee-scheduling.tuning.file") Optional<String> file) {
+        this.solverConfig = solverConfig;
+        this.solverManagerConfig = solverManagerConfig;
+        this.sizeClassToConfigMap = enabled ? read(objectMapper, file) : Map.of();
+        if (!sizeClassToConfigMap.isEmpty()) {
+            LOGGER.info("Solving with tuned solver configurations for the size classes {}.",
+                    sizeClassToConfigMap.keySet());
+        }
+    }
+
+    private static Map<String, TunedSolverConfig> read(ObjectMapper objectMapper, Optional<String> file) {
+        TypeReference<Map<String, TunedSolverConfig>> type = new TypeReference<>() {
+        };
+        Map<String, TunedSolverConfig> configs;
+        try {
+            if (file.isPresent()) {
+                try (InputStream in = Files.newInputStream(Path.of(file.get()))) {
+                    configs = objectMapper.readValue(in, type);
+                }
+            } else {
+                try (InputStream in = TunedSolverConfigs.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                    if (in == null) {
+                        return Map.of();
+                    }
+                    configs = objectMapper.readValue(in, type);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading the tuned solver configurations ("
+                    + file.orElse(RESOURCE) + ").", e);
+        }
+        Map<String, TunedSolverConfig> sizeClassToConfigMap = new HashMap<>(configs.size());
+        for (Map.Entry<String, TunedSolverConfig> entry : configs.entrySet()) {
+            // Normalizes the key and fails fast on a typo
+            sizeClassToConfigMap.put(SizeClass.parse(entry.getKey()).key(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(sizeClassToConfigMap);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sizeClassToSolverManagerMap.values().forEach(SolverManager::close);
+    }
+
+    /**
+     * @return empty if the problem solves with the default configuration
+     */
+    public Optional<String> select(EmployeeSchedule problem) {
+        String sizeClass = SizeClass.of(problem).key();
+        return sizeClassToConfigMap.containsKey(sizeClass) ? Optional.of(sizeClass) : Optional.empty();
+    }
+
+    public Map<String, TunedSolverConfig> getConfigs() {
+        return sizeClassToConfigMap;
+    }
+
+    /**
+     * Adds the tuned termination of the size class to the termination that a job overrides,
+     * because the override replaces the termination of the tuned solver manager.
+     *
+     * @param sizeClass as returned by {@link #select}, or null
+     * @param terminationConfig modified
+     */
+    public void applyTermination(String sizeClass, TerminationConfig terminationConfig) {
+        TunedSolverConfig tunedConfig = sizeClass == null ? null : sizeClassToConfigMap.get(sizeClass);
+        if (tunedConfig != null) {
+            tunedConfig.applyTo(terminationConfig);
+        }
+    }
+
+    /**
+     * @param sizeClass as returned by {@link #select}
+     * @return empty if there is no tuned configuration for the size class (anymore)
+     */
+    public Optional<SolverManager<EmployeeSchedule, String>> getSolverManager(String sizeClass) {
+        TunedSolverConfig tunedConfig = sizeClassToConfigMap.get(sizeClass);
+        if (tunedConfig == null) {
+            return Optional.empty();
+        }
+        return Optional.of(sizeClassToSolverManagerMap.computeIfAbsent(sizeClass, key -> {
+            LOGGER.info("Creating the solver manager of size class ({}), with {} more solver threads.",
+                    key, solverManagerConfig.resolveParallelSolverCount());
+            return SolverManager.create(SolverFactory.create(tunedConfig.applyTo(solverConfig)), solverManagerConfig);
+        }));
+    }
+}
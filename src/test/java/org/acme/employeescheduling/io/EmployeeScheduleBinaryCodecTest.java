@@ -0,0 +1,242 @@
+package org.acme.employeescheduling.io;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class EmployeeScheduleBinaryCodecTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeScheduleBinaryCodecTest.class);
+
+    private static final int TIMING_WARM_UP_COUNT = 20;
+    private static final int TIMING_ROUND_COUNT = 50;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DemoDataGenerator dataGenerator;
+
+    @ParameterizedTest
+    @EnumSource(value = DemoData.class, names = { "SMALL", "LARGE" })
+    void roundTripMatchesJson(DemoData demoData) throws IOException {
+        EmployeeSchedule schedule = dataGenerator.generateDemoData(demoData);
+        assignRoundRobin(schedule);
+        schedule.setScore(HardSoftBigDecimalScore.parseScore("-2hard/-1234.5soft"));
+        schedule.setSolverStatus(SolverStatus.SOLVING_ACTIVE);
+
+        EmployeeSchedule fromJson = objectMapper.readValue(objectMapper.writeValueAsBytes(schedule),
+                EmployeeSchedule.class);
+        EmployeeSchedule fromBinary = decode(encode(schedule));
+        assertSameSchedule(fromBinary, fromJson);
+        assertSameSchedule(decode(encode(fromJson)), fromJson);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DemoData.class, names = { "SMALL", "LARGE" })
+    void binaryIsSmallerThanJson(DemoData demoData) throws IOException {
+        EmployeeSchedule schedule = dataGenerator.generateDemoData(demoData);
+        assignRoundRobin(schedule);
+        byte[] json = objectMapper.writeValueAsBytes(schedule);
+        byte[] binary = encode(schedule);
+        assertThat(binary.length).isLessThan(json.length / 4);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DemoData.class, names = { "SMALL", "LARGE", "XL" })
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void encodeAndDecodeTimeComparedToJson(DemoData demoData) throws IOException {
+        EmployeeSchedule schedule = dataGenerator.generateDemoData(demoData);
+        assignRoundRobin(schedule);
+        byte[] json = objectMapper.writeValueAsBytes(schedule);
+        byte[] binary = encode(schedule);
+
+        // Warm up both paths before timing them
+        for (int i = 0; i < TIMING_WARM_UP_COUNT; i++) {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(schedule), EmployeeSchedule.class);
+            decode(encode(schedule));
+        }
+        long jsonEncodeNanos = 0L;
+        long jsonDecodeNanos = 0L;
+        long binaryEncodeNanos = 0L;
+        long binaryDecodeNanos = 0L;
+        for (int i = 0; i < TIMING_ROUND_COUNT; i++) {
+            long startNanos = System.nanoTime();
+            json = objectMapper.writeValueAsBytes(schedule);
+            long encodedNanos = System.nanoTime();
+            assertThat(objectMapper.readValue(json, EmployeeSchedule.class).getShifts())
+                    .hasSameSizeAs(schedule.getShifts());
+            long decodedNanos = System.nanoTime();
+            jsonEncodeNanos += encodedNanos - startNanos;
+            jsonDecodeNanos += decodedNanos - encodedNanos;
+
+            startNanos = System.nanoTime();
+            binary = encode(schedule);
+            encodedNanos = System.nanoTime();
+            assertThat(decode(binary).getShifts()).hasSameSizeAs(schedule.getShifts());
+            decodedNanos = System.nanoTime();
+            binaryEncodeNanos += encodedNanos - startNanos;
+            binaryDecodeNanos += decodedNanos - encodedNanos;
+        }
+        // The time depends on the machine, so it ends up in the log instead of in an assertion
+        LOGGER.info("{}: JSON {} bytes, encoded in {} µs, decoded in {} µs; binary {} bytes, encoded in {} µs, "
+                + "decoded in {} µs.", demoData,
+                json.length, jsonEncodeNanos / TIMING_ROUND_COUNT / 1000, jsonDecodeNanos / TIMING_ROUND_COUNT / 1000,
+                binary.length, binaryEncodeNanos / TIMING_ROUND_COUNT / 1000,
+                binaryDecodeNanos / TIMING_ROUND_COUNT / 1000);
+    }
+
+    @Test
+    void rejectsInputLargerThanTheMaximum() throws IOException {
+        EmployeeSchedule schedule = dataGenerator.generateDemoData(DemoData.SMALL);
+        byte[] binary = encode(schedule);
+
+        assertThat(EmployeeScheduleBinaryCodec.read(new ByteArrayInputStream(binary), binary.length).getShifts())
+                .hasSameSizeAs(schedule.getShifts());
+        assertThatThrownBy(() -> EmployeeScheduleBinaryCodec.read(new ByteArrayInputStream(binary),
+                binary.length - 1))
+                .isInstanceOf(ScheduleTooLargeException.class);
+    }
+
+    @Test
+    void rejectsMalformedInput() throws IOException {
+        EmployeeSchedule schedule = dataGenerator.generateDemoData(DemoData.SMALL);
+        assignRoundRobin(schedule);
+        byte[] binary = encode(schedule);
+
+        // Truncated anywhere
+        for (int length = 0; length < binary.length; length += 7) {
+            byte[] truncated = Arrays.copyOf(binary, length);
+            assertThatThrownBy(() -> decode(truncated)).isInstanceOf(MalformedScheduleException.class);
+        }
+        // A dictionary of Integer.MAX_VALUE strings, after the magic number and the version
+        byte[] hugeCount = Arrays.copyOf(binary, binary.length);
+        System.arraycopy(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 }, 0,
+                hugeCount, 5, 5);
+        assertThatThrownBy(() -> decode(hugeCount))
+                .isInstanceOf(MalformedScheduleException.class)
+                .hasMessageContaining("exceeds the remaining input");
+        // An empty dictionary, followed by an employee whose name index is out of bounds
+        byte[] badIndex = Arrays.copyOf(binary, 14);
+        badIndex[5] = 0; // No strings
+        badIndex[6] = 1; // One employee
+        badIndex[7] = 3; // Named by string 3
+        Arrays.fill(badIndex, 8, 14, (byte) 0);
+        assertThatThrownBy(() -> decode(badIndex))
+                .isInstanceOf(MalformedScheduleException.class)
+                .hasMessageContaining("outside the dictionary");
+    }
+
+    @Test
+    void solveRejectsMalformedBinaryWithBadRequest() {
+        given()
+                .contentType(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+                .body(new byte[] { 0x45, 0x53, 0x43, 0x48, 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F })
+                .when().post("/schedules")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void solveRejectsTooLargeBinaryWithPayloadTooLarge() {
+        given()
+                .contentType(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+                .body(new byte[8 * 1024 * 1024 + 1])
+                .when().post("/schedules")
+                .then()
+                .statusCode(413);
+    }
+
+    @Test
+    void demoDataEndpointNegotiatesBinary() throws IOException {
+        EmployeeSchedule fromJson = given()
+                .accept(ContentType.JSON)
+                .when().get("/demo-data/SMALL")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+        byte[] binary = given()
+                .accept(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+                .when().get("/demo-data/SMALL")
+                .then()
+                .statusCode(200)
+                .contentType(EmployeeScheduleBinaryCodec.MEDIA_TYPE)
+                .extract()
+                .asByteArray();
+        assertSameSchedule(decode(binary), fromJson);
+    }
+
+    private static void assignRoundRobin(EmployeeSchedule schedule) {
+        List<Employee> employees = schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts();
+        for (int i = 0; i < shifts.size(); i++) {
+            shifts.get(i).setEmployee(employees.get(i % employees.size()));
+        }
+    }
+
+    private static byte[] encode(EmployeeSchedule schedule) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeScheduleBinaryCodec.write(schedule, out);
+        return out.toByteArray();
+    }
+
+    private static EmployeeSchedule decode(byte[] bytes) throws IOException {
+        return EmployeeScheduleBinaryCodec.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static void assertSameSchedule(EmployeeSchedule actual, EmployeeSchedule expected) {
+        assertThat(actual.getScore()).isEqualTo(expected.getScore());
+        assertThat(actual.getSolverStatus()).isEqualTo(expected.getSolverStatus());
+        assertThat(actual.getEmployees()).hasSameSizeAs(expected.getEmployees());
+        for (int i = 0; i < expected.getEmployees().size(); i++) {
+            Employee actualEmployee = actual.getEmployees().get(i);
+            Employee expectedEmployee = expected.getEmployees().get(i);
+            assertThat(actualEmployee.getName()).isEqualTo(expectedEmployee.getName());
+            assertThat(actualEmployee.getSkills()).isEqualTo(expectedEmployee.getSkills());
+            assertThat(actualEmployee.getUnavailableDates()).isEqualTo(expectedEmployee.getUnavailableDates());
+            assertThat(actualEmployee.getUndesiredDates()).isEqualTo(expectedEmployee.getUndesiredDates());
+            assertThat(actualEmployee.getDesiredDates()).isEqualTo(expectedEmployee.getDesiredDates());
+        }
+        assertThat(actual.getShifts()).hasSameSizeAs(expected.getShifts());
+        for (int i = 0; i < expected.getShifts().size(); i++) {
+            Shift actualShift = actual.getShifts().get(i);
+            Shift expectedShift = expected.getShifts().get(i);
+            assertThat(actualShift.getId()).isEqualTo(expectedShift.getId());
+            assertThat(actualShift.getStart()).isEqualTo(expectedShift.getStart());
+            assertThat(actualShift.getEnd()).isEqualTo(expectedShift.getEnd());
+            assertThat(actualShift.getLocation()).isEqualTo(expectedShift.getLocation());
+            assertThat(actualShift.getRequiredSkill()).isEqualTo(expectedShift.getRequiredSkill());
+            assertThat(actualShift.getEmployee()).isEqualTo(expectedShift.getEmployee());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.acme.employeescheduling.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class EmployeeScheduleCsvTest {
+
+    private static final String EMPLOYEES = """
+            name,skills
+            Amy Cole,Doctor;Cardiology
+            "Fox, Beth",Nurse
+            """;
+    private static final String AVAILABILITY = """
+            employee,date,availability
+            Amy Cole,2024-03-04,UNAVAILABLE
+            "Fox, Beth",2024-03-04,desired
+            """;
+    private static final String SHIFTS = """
+            id,start,end,location,requiredSkill,employee
+            1,2024-03-04T06:00,2024-03-04T14:00,Ambulatory care,Doctor,
+            2,2024-03-04T06:00,2024-03-04T14:00,Ambulatory care,Nurse,"Fox, Beth"
+            """;
+
+    @Test
+    void readCsv() throws IOException {
+        EmployeeSchedule schedule = read(EMPLOYEES, AVAILABILITY, SHIFTS);
+
+        assertThat(schedule.getEmployees()).extracting(Employee::getName).containsExactly("Amy Cole", "Fox, Beth");
+        Employee amy = schedule.getEmployees().get(0);
+        Employee beth = schedule.getEmployees().get(1);
+        assertThat(amy.getSkills()).containsExactly("Doctor", "Cardiology");
+        assertThat(amy.getUnavailableDates()).containsExactly(LocalDate.of(2024, 3, 4));
+        assertThat(beth.getDesiredDates()).containsExactly(LocalDate.of(2024, 3, 4));
+
+        assertThat(schedule.getShifts()).hasSize(2);
+        Shift first = schedule.getShifts().get(0);
+        Shift second = schedule.getShifts().get(1);
+        assertThat(first.getStart()).isEqualTo(LocalDateTime.of(2024, 3, 4, 6, 0));
+        assertThat(first.getEmployee()).isNull();
+        assertThat(second.getEmployee()).isSameAs(beth);
+        // Repeated values are interned
+        assertThat(second.getLocation()).isSameAs(first.getLocation());
+        assertThat(second.getStart()).isSameAs(first.getStart());
+    }
+
+    @Test
+    void exportedAssignmentsReadBack() throws IOException {
+        EmployeeSchedule schedule = read(EMPLOYEES, AVAILABILITY, SHIFTS);
+        Employee amy = schedule.getEmployees().get(0);
+        schedule.getShifts().get(0).setEmployee(amy);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeScheduleCsvWriter.writeAssignments(schedule, out);
+        EmployeeSchedule readBack = read(EMPLOYEES, AVAILABILITY, out.toString(StandardCharsets.UTF_8));
+
+        assertThat(readBack.getShifts()).hasSameSizeAs(schedule.getShifts());
+        for (int i = 0; i < schedule.getShifts().size(); i++) {
+            Shift expected = schedule.getShifts().get(i);
+            Shift actual = readBack.getShifts().get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getStart()).isEqualTo(expected.getStart());
+            assertThat(actual.getEnd()).isEqualTo(expected.getEnd());
+            assertThat(actual.getLocation()).isEqualTo(expected.getLocation());
+            assertThat(actual.getRequiredSkill()).isEqualTo(expected.getRequiredSkill());
+            assertThat(actual.getEmployee()).isEqualTo(expected.getEmployee());
+        }
+    }
+
+    @Test
+    void unknownEmployee() {
+        assertThatThrownBy(() -> read(EMPLOYEES, """
+                employee,date,availability
+                Carl Green,2024-03-04,UNAVAILABLE
+                """, SHIFTS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2")
+                .hasMessageContaining("Carl Green");
+    }
+
+    @Test
+    void emptyAvailabilityAndSkills() throws IOException {
+        EmployeeSchedule schedule = read("name,skills\nAmy Cole,\n", "employee,date,availability\n",
+                "id,start,end,location,requiredSkill\n");
+        assertThat(schedule.getEmployees()).singleElement()
+                .extracting(Employee::getSkills)
+                .isEqualTo(Set.of());
+        assertThat(schedule.getShifts()).isEmpty();
+    }
+
+    @Test
+    void reorderedColumns() throws IOException {
+        EmployeeSchedule schedule = read("""
+                skills,name
+                Doctor;Cardiology,Amy Cole
+                """, """
+                availability,employee,date
+                UNAVAILABLE,Amy Cole,2024-03-04
+                """, """
+                employee,requiredSkill,location,end,start,id
+                Amy Cole,Doctor,Ambulatory care,2024-03-04T14:00,2024-03-04T06:00,1
+                """);
+        Employee amy = schedule.getEmployees().get(0);
+        assertThat(amy.getName()).isEqualTo("Amy Cole");
+        assertThat(amy.getSkills()).containsExactly("Doctor", "Cardiology");
+        assertThat(amy.getUnavailableDates()).containsExactly(LocalDate.of(2024, 3, 4));
+        Shift shift = schedule.getShifts().get(0);
+        assertThat(shift.getId()).isEqualTo("1");
+        assertThat(shift.getStart()).isEqualTo(LocalDateTime.of(2024, 3, 4, 6, 0));
+        assertThat(shift.getEnd()).isEqualTo(LocalDateTime.of(2024, 3, 4, 14, 0));
+        assertThat(shift.getLocation()).isEqualTo("Ambulatory care");
+        assertThat(shift.getRequiredSkill()).isEqualTo("Doctor");
+        assertThat(shift.getEmployee()).isSameAs(amy);
+    }
+
+    @Test
+    void invalidHeader() {
+        assertThatThrownBy(() -> read(EMPLOYEES, AVAILABILITY, """
+                id,start,end,requiredSkill,employee
+                1,2024-03-04T06:00,2024-03-04T14:00,Doctor,
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1")
+                .hasMessageContaining("Missing column (location)");
+        assertThatThrownBy(() -> read(EMPLOYEES, """
+                employee,day,availability
+                Amy Cole,2024-03-04,UNAVAILABLE
+                """, SHIFTS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown column (day)");
+        assertThatThrownBy(() -> read("name,skills,name\nAmy Cole,,Amy Cole\n", AVAILABILITY, SHIFTS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate column (name)");
+        // Rows without a header
+        assertThatThrownBy(() -> read("Amy Cole,Doctor\n", AVAILABILITY, SHIFTS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown column (Amy Cole)");
+    }
+
+    @Test
+    void invalidShifts() {
+        assertThatThrownBy(() -> read(EMPLOYEES, AVAILABILITY, """
+                id,start,end,location,requiredSkill,employee
+                1,2024-03-04T06:00,2024-03-04T14:00,Ambulatory care,Doctor,
+                1,2024-03-05T06:00,2024-03-05T14:00,Ambulatory care,Doctor,
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 3")
+                .hasMessageContaining("Duplicate shift (1)");
+        assertThatThrownBy(() -> read(EMPLOYEES, AVAILABILITY, """
+                id,start,end,location,requiredSkill,employee
+                1,2024-03-04T06:00,2024-03-04T14:00,Ambulatory care,Doctor,
+                2,2024-03-04T14:00,2024-03-04T14:00,Ambulatory care,Doctor,
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 3")
+                .hasMessageContaining("The shift (2) ends");
+        assertThatThrownBy(() -> read(EMPLOYEES, AVAILABILITY, """
+                id,start,end,location,requiredSkill,employee
+                1,2024-03-04T14:00,2024-03-04T06:00,Ambulatory care,Doctor,
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2")
+                .hasMessageContaining("The shift (1) ends");
+    }
+
+    @Test
+    void quotedLineBreaksAndWhitespaceReadBack() throws IOException {
+        EmployeeSchedule schedule = read("""
+                name,skills
+                " Amy Cole ",Doctor
+                """, "employee,date,availability\n", """
+                id,start,end,location,requiredSkill,employee
+                1,2024-03-04T06:00,2024-03-04T14:00,"Ambulatory
+                care",Doctor,
+                2,2024-03-04T06:00,2024-03-04T14:00, Ambulatory care ,Doctor,
+                """);
+        Employee amy = schedule.getEmployees().get(0);
+        assertThat(amy.getName()).isEqualTo(" Amy Cole ");
+        assertThat(schedule.getShifts()).extracting(Shift::getLocation)
+                .containsExactly("Ambulatory\ncare", "Ambulatory care");
+        schedule.getShifts().get(0).setEmployee(amy);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeScheduleCsvWriter.writeAssignments(schedule, out);
+        EmployeeSchedule readBack = read("name,skills\n\" Amy Cole \",Doctor\n", "employee,date,availability\n",
+                out.toString(StandardCharsets.UTF_8));
+
+        assertThat(readBack.getShifts()).extracting(Shift::getLocation)
+                .containsExactly("Ambulatory\ncare", "Ambulatory care");
+        assertThat(readBack.getShifts().get(0).getEmployee().getName()).isEqualTo(" Amy Cole ");
+        // An unclosed quote isn't read as the rest of the file
+        assertThatThrownBy(() -> read(EMPLOYEES, AVAILABILITY, """
+                id,start,end,location,requiredSkill,employee
+                1,2024-03-04T06:00,2024-03-04T14:00,"Ambulatory care,Doctor,
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2")
+                .hasMessageContaining("A quoted field isn't closed");
+    }
+
+    private static EmployeeSchedule read(String employees, String availability, String shifts) throws IOException {
+        return new EmployeeScheduleCsvReader()
+                .readEmployees(toStream(employees))
+                .readAvailability(toStream(availability))
+                .readShifts(toStream(shifts))
+                .toSchedule();
+    }
+
+    private static InputStream toStream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,252 @@
+package org.acme.employeescheduling.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class CompactScheduleTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactScheduleTest.class);
+    private static final int RETAINED_SOLUTION_COUNT = 200;
+    private static final int CAPTURE_ROUND_COUNT = 3;
+    private static final int CAPTURED_SOLUTION_COUNT = 2_000;
+
+    @Test
+    void rebuildsTheSchedule() {
+        Employee amy = new Employee("Amy Cole", Set.of("Doctor"), Set.of(), Set.of(), Set.of());
+        Employee beth = new Employee("Beth Fox", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        List<Shift> shifts = List.of(
+                new Shift("1", LocalDateTime.of(2024, 3, 4, 6, 0), LocalDateTime.of(2024, 3, 4, 14, 0),
+                        "Ambulatory care", "Doctor", amy),
+                new Shift("2", LocalDateTime.of(2024, 3, 4, 14, 0), LocalDateTime.of(2024, 3, 4, 22, 0),
+                        "Critical care", "Nurse", null));
+        EmployeeSchedule schedule = new EmployeeSchedule(List.of(amy, beth), shifts);
+        schedule.setScore(HardSoftBigDecimalScore.parseScore("-1hard/-20soft"));
+
+        EmployeeSchedule rebuilt = CompactSchedule.of(schedule, null).toSchedule();
+        assertThat(rebuilt.getScore()).isEqualTo(schedule.getScore());
+        assertThat(rebuilt.getEmployees()).containsExactly(amy, beth);
+        assertThat(rebuilt.getShifts()).hasSize(2);
+        Shift shift = rebuilt.getShifts().get(0);
+        assertThat(shift).isNotSameAs(shifts.get(0));
+        assertThat(shift.getId()).isEqualTo("1");
+        assertThat(shift.getStart()).isEqualTo(LocalDateTime.of(2024, 3, 4, 6, 0));
+        assertThat(shift.getLocation()).isEqualTo("Ambulatory care");
+        assertThat(shift.getEmployee()).isSameAs(amy);
+        assertThat(rebuilt.getShifts().get(1).getEmployee()).isNull();
+    }
+
+    @Test
+    void sharesTheFactsOfTheSameJob() {
+        EmployeeSchedule problem = new DemoDataGenerator().generateDemoData(DemoData.SMALL);
+        CompactSchedule first = CompactSchedule.of(problem, null);
+        // Changing the problem afterwards, like the solver does, doesn't change what was stored
+        problem.getShifts().get(0).setEmployee(problem.getEmployees().get(0));
+        CompactSchedule second = CompactSchedule.of(cloneLikeTheSolver(problem), first);
+
+        assertThat(second.sharesFactsWith(first)).isTrue();
+        assertThat(first.toSchedule().getShifts().get(0).getEmployee()).isNull();
+        assertThat(second.toSchedule().getShifts().get(0).getEmployee()).isSameAs(problem.getEmployees().get(0));
+
+        EmployeeSchedule otherProblem = new DemoDataGenerator().generateDemoData(DemoData.SMALL);
+        assertThat(CompactSchedule.of(otherProblem, second).sharesFactsWith(second)).isFalse();
+    }
+
+    @Test
+    void filtersLikeTheWholeSchedule() {
+        EmployeeSchedule problem = new DemoDataGenerator().generateDemoData(DemoData.SMALL);
+        Random random = new Random(37);
+        List<Employee> employees = problem.getEmployees();
+        for (Shift shift : problem.getShifts()) {
+            shift.setEmployee(random.nextInt(10) == 0 ? null : employees.get(random.nextInt(employees.size())));
+        }
+        CompactSchedule compactSchedule = CompactSchedule.of(problem, null);
+        String location = problem.getShifts().get(0).getLocation();
+        String employee = employees.get(0).getName();
+        LocalDate from = problem.getShifts().get(0).getStart().toLocalDate().plusDays(2);
+        LocalDate to = from.plusDays(3);
+        List<ScheduleQuery> queries = List.of(
+                new ScheduleQuery(null, location, null, null),
+                new ScheduleQuery(employee, null, null, null),
+                new ScheduleQuery(null, null, from, to),
+                new ScheduleQuery(null, location, from, null),
+                new ScheduleQuery(employee, location, null, to),
+                new ScheduleQuery("Nobody", null, null, null));
+        for (ScheduleQuery query : queries) {
+            EmployeeSchedule expected = query.apply(compactSchedule.toSchedule());
+            EmployeeSchedule filtered = compactSchedule.toSchedule(query);
+            assertThat(filtered.getShifts()).as(query.toString())
+                    .map(shift -> shift.getId() + "=" + shift.getEmployee())
+                    .containsExactlyElementsOf(expected.getShifts().stream()
+                            .map(shift -> shift.getId() + "=" + shift.getEmployee()).toList());
+            assertThat(filtered.getEmployees()).as(query.toString())
+                    .containsExactlyElementsOf(expected.getEmployees());
+        }
+        assertThat(compactSchedule.toSchedule(queries.get(1)).getShifts()).isNotEmpty()
+                .allSatisfy(shift -> assertThat(shift.getEmployee().getName()).isEqualTo(employee));
+    }
+
+    @Test
+    void filtersShiftsThatEndInTheDateRange() {
+        Employee amy = new Employee("Amy Cole", Set.of("Doctor"), Set.of(), Set.of(), Set.of());
+        List<Shift> shifts = List.of(
+                new Shift("night", LocalDateTime.of(2024, 3, 3, 22, 0), LocalDateTime.of(2024, 3, 4, 6, 0),
+                        "Ambulatory care", "Doctor", amy),
+                new Shift("before", LocalDateTime.of(2024, 3, 3, 6, 0), LocalDateTime.of(2024, 3, 3, 14, 0),
+                        "Ambulatory care", "Doctor", amy),
+                new Shift("after", LocalDateTime.of(2024, 3, 5, 6, 0), LocalDateTime.of(2024, 3, 5, 14, 0),
+                        "Ambulatory care", "Doctor", null));
+        CompactSchedule compactSchedule = CompactSchedule.of(new EmployeeSchedule(List.of(amy), shifts), null);
+
+        EmployeeSchedule filtered = compactSchedule.toSchedule(new ScheduleQuery(null, null,
+                LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 4)));
+        assertThat(filtered.getShifts()).map(Shift::getId).containsExactly("night");
+        assertThat(filtered.getEmployees()).map(Employee::getName).containsExactly("Amy Cole");
+        assertThat(filtered.getShifts().get(0).getEmployee()).isSameAs(filtered.getEmployees().get(0));
+    }
+
+    @Test
+    void unknownEmployee() {
+        Employee stranger = new Employee("Stranger", Set.of(), Set.of(), Set.of(), Set.of());
+        Shift shift = new Shift("1", LocalDateTime.of(2024, 3, 4, 6, 0), LocalDateTime.of(2024, 3, 4, 14, 0),
+                "Ambulatory care", "Doctor", stranger);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CompactSchedule.of(new EmployeeSchedule(List.of(), List.of(shift)), null));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void retainedHeapPerJob() {
+        EmployeeSchedule problem = new DemoDataGenerator().generateDemoData(DemoData.LARGE);
+        Random random = new Random(37);
+        List<Employee> employees = problem.getEmployees();
+        for (Shift shift : problem.getShifts()) {
+            shift.setEmployee(employees.get(random.nextInt(employees.size())));
+        }
+
+        // Before, every best solution was retained as a planning clone of the whole schedule
+        long baselineBytes = usedHeapBytesAfterGc();
+        List<EmployeeSchedule> fullSolutions = new ArrayList<>(RETAINED_SOLUTION_COUNT);
+        for (int i = 0; i < RETAINED_SOLUTION_COUNT; i++) {
+            fullSolutions.add(cloneLikeTheSolver(problem));
+        }
+        long fullBytes = usedHeapBytesAfterGc() - baselineBytes;
+        assertThat(fullSolutions).hasSize(RETAINED_SOLUTION_COUNT);
+        fullSolutions.clear();
+
+        baselineBytes = usedHeapBytesAfterGc();
+        List<CompactSchedule> compactSolutions = new ArrayList<>(RETAINED_SOLUTION_COUNT);
+        CompactSchedule previous = null;
+        for (int i = 0; i < RETAINED_SOLUTION_COUNT; i++) {
+            previous = CompactSchedule.of(cloneLikeTheSolver(problem), previous);
+            compactSolutions.add(previous);
+        }
+        long compactBytes = usedHeapBytesAfterGc() - baselineBytes;
+        assertThat(compactSolutions).hasSize(RETAINED_SOLUTION_COUNT);
+
+        LOGGER.info("Retained heap of {} LARGE solutions ({} shifts): full {} KiB, compact {} KiB ({}x).",
+                RETAINED_SOLUTION_COUNT, problem.getShifts().size(), fullBytes / 1024, compactBytes / 1024,
+                String.format("%.1f", (double) fullBytes / compactBytes));
+        assertThat(compactBytes).isLessThan(fullBytes / 4);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void captureSpeedWithAndWithoutIndex() {
+        DemoDataGenerator generator = new DemoDataGenerator();
+        logCaptureSpeed("LARGE", generator.generateDemoData(DemoData.LARGE.getParameters()));
+        logCaptureSpeed("5,000 employees",
+                generator.generateDemoData(DemoData.LARGE.getParameters().withEmployeeCount(5_000)));
+    }
+
+    private static void logCaptureSpeed(String dataName, EmployeeSchedule indexed) {
+        Random random = new Random(37);
+        List<Employee> employees = indexed.getEmployees();
+        for (Shift shift : indexed.getShifts()) {
+            shift.setEmployee(employees.get(random.nextInt(employees.size())));
+        }
+        EmployeeSchedule unindexed = copyWithoutIndexes(indexed);
+        // Alternate both, so neither gets all the JIT warm-up, and keep the best round of each
+        double unindexedSpeed = 0.0;
+        double indexedSpeed = 0.0;
+        for (int round = 0; round < CAPTURE_ROUND_COUNT; round++) {
+            unindexedSpeed = Math.max(unindexedSpeed, measureCaptureSpeed(unindexed));
+            indexedSpeed = Math.max(indexedSpeed, measureCaptureSpeed(indexed));
+        }
+        // The speed depends on the machine, so it ends up in the log instead of in an assertion
+        LOGGER.info("{} ({} shifts): {} captures/s through the map, {}/s through the index.",
+                dataName, indexed.getShifts().size(), Math.round(unindexedSpeed), Math.round(indexedSpeed));
+    }
+
+    private static double measureCaptureSpeed(EmployeeSchedule schedule) {
+        CompactSchedule previous = CompactSchedule.of(schedule, null);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < CAPTURED_SOLUTION_COUNT; i++) {
+            previous = CompactSchedule.of(schedule, previous);
+        }
+        assertThat(previous.sharesFactsWith(CompactSchedule.of(schedule, previous))).isTrue();
+        return CAPTURED_SOLUTION_COUNT * 1_000_000_000.0 / (System.nanoTime() - startNanos);
+    }
+
+    /**
+     * The same schedule with unindexed employees, which CompactSchedule finds through its map.
+     */
+    private static EmployeeSchedule copyWithoutIndexes(EmployeeSchedule schedule) {
+        Map<Employee, Employee> employeeToCopyMap = new IdentityHashMap<>();
+        List<Employee> employees = new ArrayList<>(schedule.getEmployees().size());
+        for (Employee employee : schedule.getEmployees()) {
+            Employee copy = new Employee(employee.getName(), employee.getSkills(), employee.getUnavailableDates(),
+                    employee.getUndesiredDates(), employee.getDesiredDates());
+            employeeToCopyMap.put(employee, copy);
+            employees.add(copy);
+        }
+        List<Shift> shifts = new ArrayList<>(schedule.getShifts().size());
+        for (Shift shift : schedule.getShifts()) {
+            shifts.add(new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                    shift.getRequiredSkill(), employeeToCopyMap.get(shift.getEmployee())));
+        }
+        return new EmployeeSchedule(employees, shifts);
+    }
+
+    private static long usedHeapBytesAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Like a planning clone: new shifts, shared employees.
+     */
+    private static EmployeeSchedule cloneLikeTheSolver(EmployeeSchedule schedule) {
+        List<Shift> shifts = new ArrayList<>(schedule.getShifts().size());
+        for (Shift shift : schedule.getShifts()) {
+            shifts.add(new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getLocation(),
+                    shift.getRequiredSkill(), shift.getEmployee()));
+        }
+        EmployeeSchedule clone = new EmployeeSchedule(new ArrayList<>(schedule.getEmployees()), shifts);
+        clone.setScore(schedule.getScore());
+        return clone;
+    }
+}
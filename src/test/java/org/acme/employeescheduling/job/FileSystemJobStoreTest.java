@@ -0,0 +1,122 @@
+package org.acme.employeescheduling.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.domain.TerminationReason;
+import org.acme.employeescheduling.solver.TerminationOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FileSystemJobStoreTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofSeconds(30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyJobIsClaimedByOneNodeInPriorityOrder() {
+        // Two nodes share the same directory
+        JobQueue node1 = new FileSystemJobQueue(directory, LEASE_DURATION);
+        JobQueue node2 = new FileSystemJobQueue(directory, LEASE_DURATION);
+        node1.offer("batch", JobPriority.BATCH);
+        node2.offer("normal1", JobPriority.NORMAL);
+        node1.offer("urgent", JobPriority.URGENT);
+        node1.offer("normal2", JobPriority.NORMAL);
+        assertThat(node2.size()).isEqualTo(4);
+
+        assertThat(node2.poll()).contains("urgent");
+        assertThat(node1.poll()).contains("normal1");
+        assertThat(node2.remove("normal2")).isTrue();
+        assertThat(node1.remove("normal2")).isFalse();
+        assertThat(node1.poll()).contains("batch");
+        assertThat(node2.poll()).isEmpty();
+    }
+
+    @Test
+    void expiredClaimsGoBackToTheQueue() throws IOException {
+        JobQueue node1 = new FileSystemJobQueue(directory, LEASE_DURATION);
+        JobQueue node2 = new FileSystemJobQueue(directory, LEASE_DURATION);
+        node1.offer("renewed", JobPriority.NORMAL);
+        node1.offer("abandoned", JobPriority.NORMAL);
+        assertThat(node1.poll()).contains("renewed");
+        assertThat(node1.poll()).contains("abandoned");
+        assertThat(node2.reclaimExpired()).isEmpty();
+
+        expireClaims();
+        assertThat(node1.renew("renewed")).isTrue();
+        assertThat(node2.reclaimExpired()).containsExactly("abandoned");
+        assertThat(node1.reclaimExpired()).isEmpty();
+        assertThat(node1.renew("abandoned")).isFalse();
+        assertThat(node2.poll()).contains("abandoned");
+
+        node1.release("renewed");
+        node2.release("abandoned");
+        expireClaims();
+        assertThat(node1.reclaimExpired()).isEmpty();
+        assertThat(node2.size()).isZero();
+    }
+
+    private void expireClaims() throws IOException {
+        FileTime expired = FileTime.fromMillis(System.currentTimeMillis() - 2 * LEASE_DURATION.toMillis());
+        try (Stream<Path> claimedFiles = Files.list(directory.resolve("claimed"))) {
+            for (Path claimedFile : claimedFiles.toList()) {
+                Files.setLastModifiedTime(claimedFile, expired);
+            }
+        }
+    }
+
+    @Test
+    void recordsAndSchedulesAreVisibleToOtherNodes() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        JobRegistry node1 = new FileSystemJobRegistry(directory, objectMapper);
+        JobRegistry node2 = new FileSystemJobRegistry(directory, objectMapper);
+
+        Employee employee = new Employee("Amy Cole", Set.of("Doctor"), Set.of(), Set.of(), Set.of());
+        Shift shift = new Shift("1", LocalDateTime.of(2024, 3, 4, 6, 0), LocalDateTime.of(2024, 3, 4, 14, 0),
+                "Ambulatory care", "Doctor", employee);
+        node1.putSchedule("job", new EmployeeSchedule(List.of(employee), List.of(shift)));
+        node1.putRecord(JobRecord.queued("job", "tenant", JobPriority.URGENT, TerminationOptions.DEFAULT, false,
+                null));
+
+        assertThat(node2.getJobIds()).containsExactly("job");
+        assertThat(node2.getRecord("job")).get()
+                .extracting(JobRecord::state, JobRecord::priority)
+                .containsExactly(JobState.QUEUED, JobPriority.URGENT);
+        EmployeeSchedule schedule = node2.getSchedule("job").orElseThrow();
+        assertThat(schedule.getShifts()).singleElement()
+                .satisfies(readShift -> assertThat(readShift.getEmployee().getName()).isEqualTo("Amy Cole"));
+
+        node2.updateRecord("job", record -> record.withNodeId("node2").withState(JobState.SOLVING));
+        node1.updateRecord("job", JobRecord::withTerminationRequested);
+        node2.updateRecord("job", record -> record.finished(TerminationReason.TERMINATED_EARLY));
+        assertThat(node1.getRecord("job")).get()
+                .satisfies(record -> {
+                    assertThat(record.nodeId()).isEqualTo("node2");
+                    assertThat(record.terminationRequested()).isTrue();
+                    assertThat(record.state()).isEqualTo(JobState.FINISHED);
+                    assertThat(record.terminationReason()).isEqualTo(TerminationReason.TERMINATED_EARLY);
+                });
+        assertThat(node1.updateRecord("unknown", JobRecord::withTerminationRequested)).isEmpty();
+
+        node1.putBatch("batch", List.of("job", "other"));
+        assertThat(node2.getBatch("batch")).contains(List.of("job", "other"));
+        assertThat(node2.getBatch("unknown")).isEmpty();
+        assertThat(node2.getJobIds()).containsExactly("job");
+    }
+}
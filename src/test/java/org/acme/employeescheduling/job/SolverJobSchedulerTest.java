@@ -0,0 +1,106 @@
+package org.acme.employeescheduling.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class SolverJobSchedulerTest {
+
+    private final List<String> startedJobIds = new ArrayList<>();
+
+    @Test
+    void higherPriorityStartsFirst() {
+        SolverJobScheduler scheduler = createScheduler(1, 1000);
+        submit(scheduler, "normal1", "tenant", JobPriority.NORMAL);
+        submit(scheduler, "batch", "tenant", JobPriority.BATCH);
+        submit(scheduler, "normal2", "tenant", JobPriority.NORMAL);
+        submit(scheduler, "urgent", "other", JobPriority.URGENT);
+        assertThat(startedJobIds).containsExactly("normal1");
+        assertThat(scheduler.isQueued("batch")).isTrue();
+
+        scheduler.onFinished("normal1");
+        scheduler.onFinished("urgent");
+        scheduler.onFinished("normal2");
+        assertThat(startedJobIds).containsExactly("normal1", "urgent", "normal2", "batch");
+    }
+
+    @Test
+    void tenantWithFewerRunningJobsStartsFirst() {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 2);
+        SolverJobScheduler scheduler = createScheduler(2, 1000);
+        submit(scheduler, "a1", "a", JobPriority.NORMAL);
+        submit(scheduler, "a2", "a", JobPriority.NORMAL);
+        submit(scheduler, "a3", "a", JobPriority.NORMAL);
+        submit(scheduler, "b1", "b", JobPriority.NORMAL);
+        assertThat(startedJobIds).containsExactly("a1", "a2");
+
+        // Tenant a still runs a2, tenant b runs nothing
+        scheduler.onFinished("a1");
+        assertThat(startedJobIds).containsExactly("a1", "a2", "b1");
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() {
+        SolverJobScheduler scheduler = createScheduler(1, 1);
+        assertThat(submit(scheduler, "running", "tenant", JobPriority.NORMAL)).isEqualTo(AdmissionDecision.ACCEPTED);
+        assertThat(submit(scheduler, "queued", "tenant", JobPriority.NORMAL)).isEqualTo(AdmissionDecision.ACCEPTED);
+        assertThat(submit(scheduler, "rejected", "tenant", JobPriority.NORMAL))
+                .isEqualTo(AdmissionDecision.QUEUE_FULL);
+
+        QueueStatus status = scheduler.getStatus();
+        assertThat(status.runningJobCount()).isEqualTo(1);
+        assertThat(status.queuedJobCount()).isEqualTo(1);
+        assertThat(status.priorities())
+                .filteredOn(priorityStatus -> priorityStatus.priority() == JobPriority.NORMAL)
+                .singleElement()
+                .satisfies(priorityStatus -> {
+                    assertThat(priorityStatus.queuedJobCount()).isEqualTo(1);
+                    assertThat(priorityStatus.startedJobCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void cancelQueuedJob() {
+        SolverJobScheduler scheduler = createScheduler(1, 1000);
+        submit(scheduler, "running", "tenant", JobPriority.NORMAL);
+        submit(scheduler, "cancelled", "tenant", JobPriority.NORMAL);
+        assertThat(scheduler.cancel("cancelled")).isTrue();
+        assertThat(scheduler.cancel("running")).isFalse();
+
+        scheduler.onFinished("running");
+        assertThat(startedJobIds).containsExactly("running");
+    }
+
+    @Test
+    void rejectJobLargerThanMemoryBudget() {
+        // The memory budget is 70% of the max memory and each assignment needs half of the max memory
+        SolverJobScheduler scheduler = new SolverJobScheduler(new SolverManagerConfig().withParallelSolverCount("1"),
+                0, 0L, Runtime.getRuntime().maxMemory() / 2, 0.7, 1000);
+        EmployeeSchedule problem = new EmployeeSchedule(List.of(), List.of());
+        assertThat(scheduler.submit("small", "tenant", JobPriority.NORMAL, problem, () -> startedJobIds.add("small")))
+                .isEqualTo(AdmissionDecision.ACCEPTED);
+        EmployeeSchedule large = new EmployeeSchedule(List.of(new Employee()), List.of(new Shift(), new Shift()));
+        assertThat(scheduler.submit("large", "tenant", JobPriority.NORMAL, large, () -> startedJobIds.add("large")))
+                .isEqualTo(AdmissionDecision.TOO_LARGE);
+    }
+
+    private SolverJobScheduler createScheduler(int parallelSolverCount, int maxQueuedJobCount) {
+        return new SolverJobScheduler(
+                new SolverManagerConfig().withParallelSolverCount(Integer.toString(parallelSolverCount)),
+                0, 0L, 0L, 0.7, maxQueuedJobCount);
+    }
+
+    private AdmissionDecision submit(SolverJobScheduler scheduler, String jobId, String tenant, JobPriority priority) {
+        return scheduler.submit(jobId, tenant, priority, new EmployeeSchedule(List.of(), List.of()),
+                () -> startedJobIds.add(jobId));
+    }
+}
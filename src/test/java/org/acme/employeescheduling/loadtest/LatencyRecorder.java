@@ -0,0 +1,67 @@
+package org.acme.employeescheduling.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the latencies and failures of each endpoint, from all clients.
+ */
+final class LatencyRecorder {
+
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+    // Guarded by this
+    private final Map<String, Endpoint> nameToEndpoint = new TreeMap<>();
+
+    synchronized void record(String endpointName, long latencyNanos, boolean failed) {
+        Endpoint endpoint = nameToEndpoint.computeIfAbsent(endpointName, name -> new Endpoint());
+        if (endpoint.count == endpoint.latencyNanos.length) {
+            endpoint.latencyNanos = Arrays.copyOf(endpoint.latencyNanos, endpoint.latencyNanos.length * 2);
+        }
+        endpoint.latencyNanos[endpoint.count++] = latencyNanos;
+        if (failed) {
+            endpoint.failureCount++;
+        }
+    }
+
+    synchronized String report(long elapsedNanos) {
+        StringBuilder report = new StringBuilder(String.format("%-36s %8s %8s %8s", "Endpoint", "Requests", "Failed",
+                "Req/s"));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" %9s", "p" + percentile + " ms"));
+        }
+        report.append(String.format(" %9s%n", "max ms"));
+        long totalCount = 0L;
+        for (Map.Entry<String, Endpoint> entry : nameToEndpoint.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            long[] sorted = Arrays.copyOf(endpoint.latencyNanos, endpoint.count);
+            Arrays.sort(sorted);
+            report.append(String.format("%-36s %8d %8d %8.1f", entry.getKey(), endpoint.count, endpoint.failureCount,
+                    endpoint.count * 1e9 / elapsedNanos));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(" %9.1f", percentile(sorted, percentile) / 1e6));
+            }
+            report.append(String.format(" %9.1f%n", sorted[sorted.length - 1] / 1e6));
+            totalCount += endpoint.count;
+        }
+        report.append(String.format("Throughput: %d requests in %.1f s, %.1f requests/s%n", totalCount,
+                elapsedNanos / 1e9, totalCount * 1e9 / elapsedNanos));
+        return report.toString();
+    }
+
+    /**
+     * Nearest rank.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static final class Endpoint {
+
+        long[] latencyNanos = new long[1024];
+        int count = 0;
+        int failureCount = 0;
+    }
+}
@@ -0,0 +1,192 @@
+package org.acme.employeescheduling.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoDataParameters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Simulates clients that each run the full solve lifecycle against a running instance, job after job:
+ * submit a schedule, poll its status and the schedule, analyze it and terminate it.
+ * Reports the latency percentiles and throughput of each endpoint
+ * and, with {@code loadtest.pid}, the heap and GC statistics of the server JVM.
+ * <p>
+ * Run {@code mvn quarkus:dev} or the packaged application, then {@code mvn -Ploadtest test-compile exec:java}.
+ * Every option is a system property, see the README.
+ */
+public final class LoadTest {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private final AtomicInteger finishedJobCount = new AtomicInteger();
+    private final AtomicInteger abortedJobCount = new AtomicInteger();
+
+    private final URI baseUri;
+    private final int clientCount;
+    private final int jobsPerClient;
+    private final Duration solveDuration;
+    private final Duration pollInterval;
+    private final int schedulePollRatio;
+    private final byte[] problemJson;
+
+    private LoadTest(byte[] problemJson) {
+        this.problemJson = problemJson;
+        baseUri = URI.create(System.getProperty("loadtest.url", "http://localhost:8080") + "/");
+        clientCount = Integer.getInteger("loadtest.clients", 10);
+        jobsPerClient = Integer.getInteger("loadtest.jobs-per-client", 3);
+        solveDuration = Duration.ofSeconds(Long.getLong("loadtest.solve-seconds", 10L));
+        pollInterval = Duration.ofMillis(Long.getLong("loadtest.poll-millis", 250L));
+        schedulePollRatio = Integer.getInteger("loadtest.schedule-poll-ratio", 4);
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        objectMapper = createObjectMapper();
+    }
+
+    public static void main(String[] args) throws Exception {
+        DemoDataParameters parameters = DemoData.valueOf(System.getProperty("loadtest.data", "SMALL")).getParameters();
+        if (System.getProperty("loadtest.days") != null) {
+            parameters = parameters.withDaysInSchedule(Integer.getInteger("loadtest.days"));
+        }
+        if (System.getProperty("loadtest.employees") != null) {
+            parameters = parameters.withEmployeeCount(Integer.getInteger("loadtest.employees"));
+        }
+        byte[] problemJson = createObjectMapper()
+                .writeValueAsBytes(new DemoDataGenerator().generateDemoData(parameters));
+        System.out.printf("Problem: %d employees, %d days, %d KB of JSON%n", parameters.employeeCount(),
+                parameters.daysInSchedule(), problemJson.length / 1024);
+
+        String pid = System.getProperty("loadtest.pid");
+        ServerJvmMonitor monitor = pid == null ? null : new ServerJvmMonitor(pid);
+        try {
+            new LoadTest(problemJson).run(monitor);
+        } finally {
+            if (monitor != null) {
+                monitor.close();
+            }
+        }
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        return new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private void run(ServerJvmMonitor monitor) throws Exception {
+        System.out.printf("Running %d clients with %d jobs each, solving %d s per job%n", clientCount, jobsPerClient,
+                solveDuration.toSeconds());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        long startNanos = System.nanoTime();
+        if (monitor != null) {
+            monitor.start();
+            sampler.scheduleAtFixedRate(monitor::sample, 1L, 1L, TimeUnit.SECONDS);
+        }
+        sampler.scheduleAtFixedRate(() -> System.out.printf("... %d of %d jobs done%n", finishedJobCount.get(),
+                clientCount * jobsPerClient), 10L, 10L, TimeUnit.SECONDS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(clientCount);
+            for (int i = 0; i < clientCount; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int j = 0; j < jobsPerClient; j++) {
+                        try {
+                            runJob();
+                        } catch (IOException e) {
+                            // Already recorded as a failed request
+                            abortedJobCount.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            sampler.shutdownNow();
+            clients.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        System.out.println();
+        System.out.print(latencyRecorder.report(elapsedNanos));
+        System.out.printf("Jobs: %d finished, %d aborted on a connection error%n", finishedJobCount.get(),
+                abortedJobCount.get());
+        if (monitor != null) {
+            System.out.print(monitor.report(elapsedNanos));
+        }
+    }
+
+    private void runJob() throws IOException, InterruptedException {
+        HttpResponse<String> submitted = send("POST /schedules", HttpRequest.newBuilder(baseUri.resolve("schedules"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(problemJson)));
+        if (submitted.statusCode() / 100 != 2) {
+            return;
+        }
+        String jobId = submitted.body();
+        long deadline = System.nanoTime() + solveDuration.toNanos();
+        String schedule = null;
+        int pollCount = 0;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(pollInterval.toMillis());
+            HttpResponse<String> status = send("GET /schedules/{jobId}/status",
+                    HttpRequest.newBuilder(baseUri.resolve("schedules/" + jobId + "/status")).GET());
+            if (++pollCount % schedulePollRatio == 0) {
+                HttpResponse<String> response = send("GET /schedules/{jobId}",
+                        HttpRequest.newBuilder(baseUri.resolve("schedules/" + jobId)).GET());
+                if (response.statusCode() == 200) {
+                    schedule = response.body();
+                }
+            }
+            if (status.statusCode() == 200 && isNotSolving(status.body())) {
+                break;
+            }
+        }
+        if (schedule != null) {
+            send("PUT /schedules/analyze", HttpRequest.newBuilder(baseUri.resolve("schedules/analyze"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(schedule)));
+        }
+        send("DELETE /schedules/{jobId}",
+                HttpRequest.newBuilder(baseUri.resolve("schedules/" + jobId)).DELETE());
+        finishedJobCount.incrementAndGet();
+    }
+
+    private boolean isNotSolving(String statusJson) throws IOException {
+        JsonNode solverStatus = objectMapper.readTree(statusJson).get("solverStatus");
+        return solverStatus != null && "NOT_SOLVING".equals(solverStatus.asText());
+    }
+
+    private HttpResponse<String> send(String endpointName, HttpRequest.Builder requestBuilder)
+            throws IOException, InterruptedException {
+        HttpRequest request = requestBuilder.timeout(Duration.ofMinutes(1)).build();
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            latencyRecorder.record(endpointName, System.nanoTime() - startNanos, response.statusCode() / 100 != 2);
+            return response;
+        } catch (IOException e) {
+            latencyRecorder.record(endpointName, System.nanoTime() - startNanos, true);
+            throw e;
+        }
+    }
+}
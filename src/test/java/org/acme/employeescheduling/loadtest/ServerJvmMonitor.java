@@ -0,0 +1,102 @@
+package org.acme.employeescheduling.loadtest;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServerConnection;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+
+/**
+ * Reads the heap and garbage collection statistics of a local server JVM through the attach API,
+ * which starts its local JMX agent if needed, so the server needs no extra flags.
+ */
+final class ServerJvmMonitor implements AutoCloseable {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final JMXConnector connector;
+    private final MemoryMXBean memoryBean;
+    private final List<GarbageCollectorMXBean> collectorBeans = new ArrayList<>();
+
+    private long peakHeapUsedBytes = 0L;
+    private long[] startCollectionCounts;
+    private long[] startCollectionMillis;
+
+    ServerJvmMonitor(String pid) throws IOException {
+        String serviceUrl;
+        try {
+            VirtualMachine virtualMachine = VirtualMachine.attach(pid);
+            try {
+                serviceUrl = virtualMachine.startLocalManagementAgent();
+            } finally {
+                virtualMachine.detach();
+            }
+        } catch (AttachNotSupportedException e) {
+            throw new IOException("Can't attach to the server JVM (" + pid + ").", e);
+        }
+        connector = JMXConnectorFactory.connect(new JMXServiceURL(serviceUrl));
+        MBeanServerConnection connection = connector.getMBeanServerConnection();
+        memoryBean = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME,
+                MemoryMXBean.class);
+        try {
+            for (ObjectName name : connection.queryNames(
+                    new ObjectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null)) {
+                collectorBeans.add(ManagementFactory.newPlatformMXBeanProxy(connection, name.toString(),
+                        GarbageCollectorMXBean.class));
+            }
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    synchronized void start() {
+        startCollectionCounts = new long[collectorBeans.size()];
+        startCollectionMillis = new long[collectorBeans.size()];
+        for (int i = 0; i < collectorBeans.size(); i++) {
+            startCollectionCounts[i] = collectorBeans.get(i).getCollectionCount();
+            startCollectionMillis[i] = collectorBeans.get(i).getCollectionTime();
+        }
+        peakHeapUsedBytes = memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Call regularly during the run, to catch the peak heap usage.
+     */
+    synchronized void sample() {
+        peakHeapUsedBytes = Math.max(peakHeapUsedBytes, memoryBean.getHeapMemoryUsage().getUsed());
+    }
+
+    synchronized String report(long elapsedNanos) {
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        StringBuilder report = new StringBuilder(String.format(
+                "Server heap: %d MB used, %d MB peak, %d MB committed, %d MB max%n",
+                heap.getUsed() / MB, Math.max(peakHeapUsedBytes, heap.getUsed()) / MB, heap.getCommitted() / MB,
+                heap.getMax() / MB));
+        for (int i = 0; i < collectorBeans.size(); i++) {
+            GarbageCollectorMXBean collectorBean = collectorBeans.get(i);
+            long collectionCount = collectorBean.getCollectionCount() - startCollectionCounts[i];
+            long collectionMillis = collectorBean.getCollectionTime() - startCollectionMillis[i];
+            report.append(String.format("Server GC %s: %d collections, %d ms, %.2f%% of the run%n",
+                    collectorBean.getName(), collectionCount, collectionMillis,
+                    collectionMillis * 1e8 / elapsedNanos));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
@@ -0,0 +1,79 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.EmployeeRecommendation;
+import org.acme.employeescheduling.solver.ShiftRecommendation;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class AssignmentRecommendationTest {
+
+    @Test
+    void recommendSeveralShifts() {
+        EmployeeSchedule schedule = given()
+                .when().get("/demo-data/SMALL")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+        Shift shift = schedule.getShifts().get(0);
+        Shift otherShift = schedule.getShifts().get(1);
+
+        List<ShiftRecommendation> recommendations = given()
+                .contentType(ContentType.JSON)
+                .body(schedule)
+                .queryParam("shiftId", shift.getId(), otherShift.getId())
+                .queryParam("limit", 3)
+                .when().put("/schedules/recommendations")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(new TypeRef<>() {
+                });
+        assertThat(recommendations).extracting(ShiftRecommendation::shiftId)
+                .containsExactly(shift.getId(), otherShift.getId());
+        ShiftRecommendation recommendation = recommendations.get(0);
+        assertThat(recommendation.candidateCount()).isLessThanOrEqualTo(schedule.getEmployees().size());
+        assertThat(recommendation.recommendations()).isNotEmpty().hasSizeLessThanOrEqualTo(3);
+        assertThat(recommendation.recommendations()).extracting(EmployeeRecommendation::scoreDiff)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        // The candidates have the required skill, so the best one breaks no skill constraint
+        assertThat(recommendation.recommendations().get(0).constraintDiffs())
+                .noneSatisfy(diff -> assertThat(diff.constraintName()).isEqualTo("Missing required skill"));
+    }
+
+    @Test
+    void unknownShiftOrInvalidLimit() {
+        EmployeeSchedule schedule = given()
+                .when().get("/demo-data/SMALL")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+        given()
+                .contentType(ContentType.JSON)
+                .body(schedule)
+                .queryParam("shiftId", "unknown")
+                .when().put("/schedules/recommendations")
+                .then()
+                .statusCode(400);
+        given()
+                .contentType(ContentType.JSON)
+                .body(schedule)
+                .queryParam("shiftId", schedule.getShifts().get(0).getId())
+                .queryParam("limit", 0)
+                .when().put("/schedules/recommendations")
+                .then()
+                .statusCode(400);
+    }
+}
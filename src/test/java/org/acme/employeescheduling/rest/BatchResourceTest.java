@@ -0,0 +1,88 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+
+@QuarkusTest
+class BatchResourceTest {
+
+    @Test
+    void submitFollowAndDownloadBatch() {
+        EmployeeSchedule small = get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class);
+        JsonPath submitted = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(small, small))
+                .when().post("/batches")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath();
+        String batchId = submitted.getString("batchId");
+        List<String> jobIds = submitted.getList("jobs.jobId", String.class);
+        assertThat(submitted.getInt("jobCount")).isEqualTo(2);
+        assertThat(jobIds).hasSize(2).doesNotHaveDuplicates();
+
+        for (String jobId : jobIds) {
+            given().when().delete("/schedules/" + jobId).then().statusCode(200);
+        }
+        await()
+                .atMost(Duration.ofMinutes(1))
+                .pollInterval(Duration.ofMillis(500L))
+                .until(() -> get("/batches/" + batchId).jsonPath().getInt("stateCounts.FINISHED") == 2);
+
+        String solutions = given()
+                .accept(BatchResource.NDJSON_MEDIA_TYPE)
+                .queryParam("fields", "ASSIGNMENTS")
+                .when().get("/batches/" + batchId + "/solutions")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        List<String> lines = solutions.lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(2);
+        for (int i = 0; i < lines.size(); i++) {
+            JsonPath solution = JsonPath.from(lines.get(i));
+            assertThat(solution.getString("jobId")).isEqualTo(jobIds.get(i));
+            assertThat(solution.getList("schedule.shifts")).hasSameSizeAs(small.getShifts());
+            // Only the names of the employees
+            assertThat(solution.getList("schedule.employees", Map.class))
+                    .allSatisfy(employee -> assertThat(employee).containsOnlyKeys("name"));
+        }
+    }
+
+    @Test
+    void rejectsInvalidBatches() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("[]")
+                .when().post("/batches")
+                .then()
+                .statusCode(400);
+        given()
+                .contentType(ContentType.JSON)
+                .body("[{\"employees\": [}")
+                .when().post("/batches")
+                .then()
+                .statusCode(400);
+        // Batch IDs are UUIDs, so these never reach the job registry
+        for (String batchId : new String[] { "unknown", ".hidden", "a\\b" }) {
+            get("/batches/" + batchId).then().statusCode(404);
+            get("/batches/" + batchId + "/solutions").then().statusCode(404);
+        }
+        get("/batches/" + UUID.randomUUID()).then().statusCode(404);
+    }
+}
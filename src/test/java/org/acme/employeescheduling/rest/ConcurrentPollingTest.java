@@ -0,0 +1,178 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.smallrye.common.annotation.Blocking;
+
+/**
+ * Polls the status of a job while other clients download large schedules, before and after the change:
+ * on a worker thread, where classic RESTEasy served every request, and on the event loop, where the polls run now.
+ * The worker pool is as small as the number of downloaders, so the downloads take all of its threads,
+ * as they did under heavy load before.
+ * Only the comparison is asserted, as the latencies themselves depend on the machine.
+ */
+@QuarkusTest
+@TestProfile(ConcurrentPollingTest.SmallWorkerPoolProfile.class)
+@EnabledIfSystemProperty(named = "slowly", matches = "true")
+class ConcurrentPollingTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPollingTest.class);
+    private static final int POLLER_COUNT = 32;
+    private static final int DOWNLOADER_COUNT = 8;
+    private static final long MEASURED_MILLIS = 10_000L;
+
+    @Test
+    void statusPollsDuringLargeDownloads() throws Exception {
+        EmployeeSchedule problem = given()
+                .when().get("/demo-data/LARGE")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(problem)
+                .when().post("/schedules")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        try {
+            String eventLoopPath = "/schedules/" + jobId + "/status";
+            String workerPath = "/blocking-status/" + jobId;
+            Result eventLoopAlone = measure(jobId, eventLoopPath, 0);
+            Result workerDuringDownloads = measure(jobId, workerPath, DOWNLOADER_COUNT);
+            Result eventLoopDuringDownloads = measure(jobId, eventLoopPath, DOWNLOADER_COUNT);
+            LOGGER.info("Status polls on the event loop alone: {}.", eventLoopAlone);
+            LOGGER.info("Status polls on a worker thread during {} LARGE downloads (before): {}.",
+                    DOWNLOADER_COUNT, workerDuringDownloads);
+            LOGGER.info("Status polls on the event loop during {} LARGE downloads (after): {}.",
+                    DOWNLOADER_COUNT, eventLoopDuringDownloads);
+            assertThat(workerDuringDownloads.downloadCount).isPositive();
+            assertThat(eventLoopDuringDownloads.downloadCount).isPositive();
+            assertThat(eventLoopDuringDownloads.pollCount).isGreaterThan(workerDuringDownloads.pollCount);
+            assertThat(eventLoopDuringDownloads.p99Millis).isLessThanOrEqualTo(workerDuringDownloads.p99Millis);
+        } finally {
+            given().when().delete("/schedules/" + jobId);
+        }
+    }
+
+    private static Result measure(String jobId, String pollPath, int downloaderCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(POLLER_COUNT + downloaderCount);
+        try {
+            long endNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MEASURED_MILLIS);
+            List<Future<Long>> downloadCounts = new ArrayList<>(downloaderCount);
+            for (int i = 0; i < downloaderCount; i++) {
+                downloadCounts.add(executor.submit(() -> {
+                    long count = 0L;
+                    while (System.nanoTime() < endNanos) {
+                        given().when().get("/schedules/" + jobId).then().statusCode(200);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            List<Future<long[]>> pollLatencies = new ArrayList<>(POLLER_COUNT);
+            for (int i = 0; i < POLLER_COUNT; i++) {
+                pollLatencies.add(executor.submit(() -> {
+                    long[] latencyNanos = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < endNanos) {
+                        long startNanos = System.nanoTime();
+                        given().when().get(pollPath).then().statusCode(200);
+                        if (count == latencyNanos.length) {
+                            latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+                        }
+                        latencyNanos[count++] = System.nanoTime() - startNanos;
+                    }
+                    return Arrays.copyOf(latencyNanos, count);
+                }));
+            }
+
+            long downloadCount = 0L;
+            for (Future<Long> future : downloadCounts) {
+                downloadCount += future.get();
+            }
+            long[] latencyMillis = pollLatencies.stream()
+                    .flatMapToLong(future -> Arrays.stream(join(future)))
+                    .map(nanos -> nanos / 1_000_000L)
+                    .sorted()
+                    .toArray();
+            return new Result(latencyMillis.length, latencyMillis[latencyMillis.length / 2],
+                    latencyMillis[(int) Math.ceil(latencyMillis.length * 0.99) - 1], downloadCount);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException("Polling failed.", e);
+        }
+    }
+
+    public static class SmallWorkerPoolProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.thread-pool.max-threads", String.valueOf(DOWNLOADER_COUNT));
+        }
+    }
+
+    /**
+     * The status on a worker thread, like every request under classic RESTEasy.
+     */
+    @Path("blocking-status")
+    public static class BlockingStatusResource {
+
+        @Inject
+        EmployeeScheduleResource employeeScheduleResource;
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        @Path("{jobId}")
+        @Blocking
+        public EmployeeSchedule getStatus(@PathParam("jobId") String jobId) {
+            return employeeScheduleResource.getStatus(jobId).await().indefinitely();
+        }
+    }
+
+    private record Result(long pollCount, long p50Millis, long p99Millis, long downloadCount) {
+
+        @Override
+        public String toString() {
+            return String.format("%.1f polls/s, p50 %d ms, p99 %d ms, %.1f downloads/s",
+                    pollCount * 1000.0 / MEASURED_MILLIS, p50Millis, p99Millis,
+                    downloadCount * 1000.0 / MEASURED_MILLIS);
+        }
+    }
+}
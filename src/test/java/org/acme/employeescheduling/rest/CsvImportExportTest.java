@@ -0,0 +1,93 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.acme.employeescheduling.io.EmployeeScheduleCsvWriter;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.specification.RequestSpecification;
+
+@QuarkusTest
+class CsvImportExportTest {
+
+    private static final String EMPLOYEES = """
+            name,skills
+            Amy Cole,Doctor
+            "Fox, Beth",Nurse
+            """;
+    private static final String AVAILABILITY = """
+            employee,date,availability
+            Amy Cole,2024-03-05,UNAVAILABLE
+            """;
+    private static final String SHIFTS = """
+            id,start,end,location,requiredSkill
+            1,2024-03-04T06:00,2024-03-04T14:00,Ambulatory care,Doctor
+            2,2024-03-04T06:00,2024-03-04T14:00,"Critical care, east",Nurse
+            """;
+
+    @Test
+    void importSolveAndExportRoundTrip() {
+        String jobId = upload(EMPLOYEES, SHIFTS)
+                .when().post("/schedules/csv")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        given().when().delete("/schedules/" + jobId).then().statusCode(200);
+
+        String assignments = get("/schedules/" + jobId + "/assignments")
+                .then()
+                .statusCode(200)
+                .contentType(EmployeeScheduleCsvWriter.MEDIA_TYPE)
+                .extract()
+                .asString();
+        List<String> lines = assignments.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("id,start,end,location,requiredSkill,employee");
+        // Every row of the import, followed by its assignment, if any
+        List<String> shiftRows = SHIFTS.lines().skip(1).toList();
+        for (int i = 0; i < shiftRows.size(); i++) {
+            assertThat(lines.get(i + 1)).startsWith(shiftRows.get(i) + ",");
+        }
+
+        // The export is an import again
+        String reimportedJobId = upload(EMPLOYEES, assignments)
+                .when().post("/schedules/csv")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        given().when().delete("/schedules/" + reimportedJobId).then().statusCode(200);
+    }
+
+    @Test
+    void invalidHeaderIsBadRequest() {
+        upload(EMPLOYEES, """
+                id,start,end,requiredSkill
+                1,2024-03-04T06:00,2024-03-04T14:00,Doctor
+                """)
+                .when().post("/schedules/csv")
+                .then()
+                .statusCode(400);
+        upload("name,skill\nAmy Cole,Doctor\n", SHIFTS)
+                .when().post("/schedules/csv")
+                .then()
+                .statusCode(400);
+    }
+
+    private static RequestSpecification upload(String employees, String shifts) {
+        return given()
+                .multiPart("employees", "employees.csv", employees.getBytes(StandardCharsets.UTF_8),
+                        EmployeeScheduleCsvWriter.MEDIA_TYPE)
+                .multiPart("availability", "availability.csv", AVAILABILITY.getBytes(StandardCharsets.UTF_8),
+                        EmployeeScheduleCsvWriter.MEDIA_TYPE)
+                .multiPart("shifts", "shifts.csv", shifts.getBytes(StandardCharsets.UTF_8),
+                        EmployeeScheduleCsvWriter.MEDIA_TYPE);
+    }
+}
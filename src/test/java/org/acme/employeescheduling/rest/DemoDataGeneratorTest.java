@@ -0,0 +1,112 @@
+package org.acme.employeescheduling.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator.CountDistribution;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoDataParameters;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class DemoDataGeneratorTest {
+
+    private final DemoDataGenerator generator = new DemoDataGenerator();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Test
+    void sameOutputWhateverTheThreadCount() throws IOException {
+        DemoDataParameters parameters = DemoData.LARGE.getParameters().withRandomSeed(42);
+        byte[] sequential = toJson(new DemoDataGenerator(1).generateDemoData(parameters));
+        assertThat(toJson(new DemoDataGenerator(4).generateDemoData(parameters))).isEqualTo(sequential);
+        assertThat(toJson(new DemoDataGenerator(13).generateDemoData(parameters))).isEqualTo(sequential);
+    }
+
+    @Test
+    void otherSeedOtherOutput() throws IOException {
+        DemoDataParameters parameters = DemoData.LARGE.getParameters();
+        assertThat(toJson(generator.generateDemoData(parameters.withRandomSeed(1))))
+                .isNotEqualTo(toJson(generator.generateDemoData(parameters.withRandomSeed(2))));
+    }
+
+    @Test
+    void concurrentCallsDontInterfere() throws IOException {
+        DemoDataParameters small = DemoData.SMALL.getParameters();
+        DemoDataParameters large = DemoData.LARGE.getParameters();
+        byte[] expectedSmall = toJson(generator.generateDemoData(small));
+        byte[] expectedLarge = toJson(generator.generateDemoData(large));
+        List<CompletableFuture<EmployeeSchedule>> futures = List.of(
+                CompletableFuture.supplyAsync(() -> generator.generateDemoData(small)),
+                CompletableFuture.supplyAsync(() -> generator.generateDemoData(large)),
+                CompletableFuture.supplyAsync(() -> generator.generateDemoData(small)),
+                CompletableFuture.supplyAsync(() -> generator.generateDemoData(large)));
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(toJson(futures.get(i).join())).isEqualTo(i % 2 == 0 ? expectedSmall : expectedLarge);
+        }
+    }
+
+    @Test
+    void streamedJsonMatchesTheGeneratedSchedule() throws IOException {
+        DemoDataParameters parameters = DemoData.LARGE.getParameters().withDaysInSchedule(45);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        generator.writeDemoDataJson(parameters, objectMapper, streamed);
+        // The streamed JSON has its own field order, so compare the JSON trees
+        assertThat(objectMapper.readTree(streamed.toByteArray()))
+                .isEqualTo(objectMapper.valueToTree(generator.generateDemoData(parameters)));
+    }
+
+    @Test
+    void moreEmployeesThanNames() {
+        EmployeeSchedule schedule = generator.generateDemoData(
+                DemoData.SMALL.getParameters().withEmployeeCount(250).withDaysInSchedule(2));
+        assertThat(schedule.getEmployees()).hasSize(250);
+        assertThat(schedule.getEmployees().stream().map(Employee::getName).distinct()).hasSize(250);
+        assertThat(schedule.getShifts()).extracting(Shift::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void startDate() {
+        LocalDate defaultStartDate = DemoDataGenerator.getDefaultStartDate();
+        assertThat(defaultStartDate.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(defaultStartDate).isBetween(LocalDate.now(), LocalDate.now().plusDays(6));
+        assertThat(generator.generateDemoData(DemoData.SMALL).getShifts())
+                .extracting(shift -> shift.getStart().toLocalDate())
+                .contains(defaultStartDate)
+                .allMatch(date -> !date.isBefore(defaultStartDate));
+        LocalDate startDate = LocalDate.of(2030, 2, 13);
+        assertThat(generator.generateDemoData(DemoData.SMALL.getParameters().withStartDate(startDate)).getShifts())
+                .extracting(shift -> shift.getStart().toLocalDate())
+                .contains(startDate)
+                .allMatch(date -> !date.isBefore(startDate));
+    }
+
+    @Test
+    void moreOptionalSkillsThanExist() {
+        DemoDataParameters small = DemoData.SMALL.getParameters();
+        DemoDataParameters parameters = new DemoDataParameters(small.locations(), small.requiredSkills(),
+                small.optionalSkills(), small.daysInSchedule(), small.employeeCount(),
+                List.of(new CountDistribution(small.optionalSkills().size() + 1, 1)),
+                small.shiftCountDistribution(), small.availabilityCountDistribution(), 0, small.startDate());
+        // Every optional skill and one required skill
+        assertThat(generator.generateDemoData(parameters).getEmployees())
+                .allMatch(employee -> employee.getSkills().size() == small.optionalSkills().size() + 1);
+    }
+
+    private byte[] toJson(EmployeeSchedule schedule) throws IOException {
+        return objectMapper.writeValueAsBytes(schedule);
+    }
+}
@@ -0,0 +1,135 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.session.EditOperation;
+import org.acme.employeescheduling.rest.session.EditOperationType;
+import org.acme.employeescheduling.rest.session.EditResult;
+import org.acme.employeescheduling.rest.session.EditSessionInfo;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class EditSessionResourceTest {
+
+    @Test
+    void incrementalScoreMatchesAFullAnalysis() {
+        EmployeeSchedule schedule = getDemoData("SMALL");
+        EditSessionInfo session = open(schedule);
+
+        Shift shift = schedule.getShifts().get(0);
+        Shift otherShift = schedule.getShifts().get(1);
+        EditResult assigned = edit(session.sessionId(),
+                new EditOperation(EditOperationType.ASSIGN, shift.getId(), findSkilledEmployee(schedule, shift), null),
+                new EditOperation(EditOperationType.ASSIGN, otherShift.getId(),
+                        findSkilledEmployee(schedule, otherShift), null));
+        assertThat(assigned.scoreDiff()).isEqualTo(assigned.score().subtract(session.score()));
+        assertThat(assigned.matchesAfter()).allSatisfy(match -> assertThat(match.shiftIds())
+                .containsAnyOf(shift.getId(), otherShift.getId()));
+        EditResult swapped = edit(session.sessionId(),
+                new EditOperation(EditOperationType.SWAP, shift.getId(), null, otherShift.getId()));
+        assertThat(swapped.scoreDiff()).isEqualTo(swapped.score().subtract(assigned.score()));
+
+        EmployeeSchedule edited = given()
+                .when().get("/sessions/" + session.sessionId())
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+        String analyzedScore = given()
+                .contentType(ContentType.JSON)
+                .body(edited)
+                .queryParam("fetchPolicy", "FETCH_SHALLOW")
+                .when().put("/schedules/analyze")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("score");
+        assertThat(HardSoftBigDecimalScore.parseScore(analyzedScore)).isEqualTo(swapped.score());
+
+        close(session.sessionId());
+    }
+
+    @Test
+    void invalidEditChangesNothing() {
+        EmployeeSchedule schedule = getDemoData("SMALL");
+        EditSessionInfo session = open(schedule);
+        Shift shift = schedule.getShifts().get(0);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(
+                        new EditOperation(EditOperationType.ASSIGN, shift.getId(),
+                                findSkilledEmployee(schedule, shift), null),
+                        new EditOperation(EditOperationType.ASSIGN, shift.getId(), "Nobody", null)))
+                .when().post("/sessions/" + session.sessionId() + "/edits")
+                .then()
+                .statusCode(400);
+        EditResult result = edit(session.sessionId());
+        assertThat(result.score()).isEqualTo(session.score());
+
+        close(session.sessionId());
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when().post("/sessions/" + session.sessionId() + "/edits")
+                .then()
+                .statusCode(404);
+    }
+
+    private static EmployeeSchedule getDemoData(String demoDataId) {
+        return given()
+                .when().get("/demo-data/" + demoDataId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+    }
+
+    private static String findSkilledEmployee(EmployeeSchedule schedule, Shift shift) {
+        return schedule.getEmployees().stream()
+                .filter(employee -> employee.getSkills().contains(shift.getRequiredSkill()))
+                .map(Employee::getName)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static EditSessionInfo open(EmployeeSchedule schedule) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(schedule)
+                .when().post("/sessions")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EditSessionInfo.class);
+    }
+
+    private static EditResult edit(String sessionId, EditOperation... operations) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(List.of(operations))
+                .when().post("/sessions/" + sessionId + "/edits")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EditResult.class);
+    }
+
+    private static void close(String sessionId) {
+        given()
+                .when().delete("/sessions/" + sessionId)
+                .then()
+                .statusCode(204);
+    }
+}
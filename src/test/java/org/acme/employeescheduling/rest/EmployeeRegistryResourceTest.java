@@ -0,0 +1,103 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.employee.RosterUpdate;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class EmployeeRegistryResourceTest {
+
+    @Test
+    void upsertCreatesVersionsOnlyOnChanges() {
+        EmployeeSchedule problem = get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class);
+        long version = upsert(problem.getEmployees()).version();
+        RosterUpdate unchangedUpdate = upsert(problem.getEmployees());
+        assertThat(unchangedUpdate.version()).isEqualTo(version);
+        assertThat(unchangedUpdate.addedCount()).isZero();
+        assertThat(unchangedUpdate.updatedCount()).isZero();
+
+        Employee changedEmployee = problem.getEmployees().get(0);
+        changedEmployee.setSkills(Set.of("Registry test skill"));
+        Employee newEmployee = new Employee("Registry test " + UUID.randomUUID(), Set.of("Nurse"),
+                Set.of(), Set.of(), Set.of());
+        RosterUpdate update = upsert(List.of(changedEmployee, newEmployee));
+        assertThat(update.version()).isEqualTo(version + 1);
+        assertThat(update.addedCount()).isOne();
+        assertThat(update.updatedCount()).isOne();
+
+        List<String> oldSkills = get("/employees?version=" + version).then().statusCode(200)
+                .extract().jsonPath().getList("employees.find { it.name == '" + changedEmployee.getName()
+                        + "' }.skills", String.class);
+        assertThat(oldSkills).doesNotContain("Registry test skill");
+        List<String> names = get("/employees?version=" + update.version()).then().statusCode(200)
+                .extract().jsonPath().getList("employees.name", String.class);
+        assertThat(names).contains(newEmployee.getName());
+        assertThat(names.indexOf(changedEmployee.getName())).isZero();
+        get("/employees?version=" + (update.version() + 1)).then().statusCode(404);
+    }
+
+    @Test
+    void solveWithEmployeesReferencedByName() {
+        EmployeeSchedule problem = get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class);
+        long version = upsert(problem.getEmployees()).version();
+        List<Map<String, String>> references = new ArrayList<>();
+        for (Employee employee : problem.getEmployees()) {
+            references.add(Map.of("name", employee.getName()));
+        }
+
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("employees", references, "shifts", problem.getShifts()))
+                .queryParam("employeeVersion", version)
+                .when().post("/schedules")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        EmployeeSchedule schedule = given().when().delete("/schedules/" + jobId)
+                .then().statusCode(200).extract().as(EmployeeSchedule.class);
+        Employee employee = schedule.getEmployees().get(0);
+        assertThat(employee.getName()).isEqualTo(problem.getEmployees().get(0).getName());
+        assertThat(employee.getSkills()).isEqualTo(problem.getEmployees().get(0).getSkills());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("employees", List.of(Map.of("name", "Nobody")), "shifts", problem.getShifts()))
+                .queryParam("employeeVersion", version)
+                .when().post("/schedules")
+                .then()
+                .statusCode(400);
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("employees", references, "shifts", problem.getShifts()))
+                .queryParam("employeeVersion", Long.MAX_VALUE)
+                .when().post("/schedules")
+                .then()
+                .statusCode(400);
+    }
+
+    private static RosterUpdate upsert(List<Employee> employees) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(employees)
+                .when().post("/employees")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(RosterUpdate.class);
+    }
+}
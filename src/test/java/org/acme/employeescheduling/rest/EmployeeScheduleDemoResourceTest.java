@@ -0,0 +1,29 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class EmployeeScheduleDemoResourceTest {
+
+    @Test
+    void sameParametersSameSchedule() {
+        String url = "/demo-data/SMALL?seed=3&days=3&employees=20&startDate=2030-02-13";
+        String schedule = get(url).then().statusCode(200).extract().asString();
+        assertThat(get(url).then().statusCode(200).extract().asString()).isEqualTo(schedule);
+        assertThat(get(url).jsonPath().getList("shifts.start", String.class))
+                .allMatch(start -> start.startsWith("2030-02-1"));
+    }
+
+    @Test
+    void invalidParameters() {
+        get("/demo-data/SMALL?days=0").then().statusCode(400);
+        get("/demo-data/SMALL?days=732").then().statusCode(400);
+        get("/demo-data/SMALL?employees=20001").then().statusCode(400);
+        get("/demo-data/SMALL?startDate=tomorrow").then().statusCode(400);
+    }
+}
@@ -9,6 +9,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import ai.timefold.solver.core.api.solver.SolverStatus;
 
@@ -19,6 +22,7 @@ import org.junit.jupiter.api.Timeout;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 
 @QuarkusTest
 class EmployeeScheduleResourceTest {
@@ -61,4 +65,109 @@ class EmployeeScheduleResourceTest {
         }
         assertTrue(solution.getScore().isFeasible());
     }
+
+    @Test
+    void filterSchedule() {
+        EmployeeSchedule problem = get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class);
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(problem)
+                .when().post("/schedules")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        try {
+            String location = problem.getShifts().get(0).getLocation();
+            List<String> locations = given()
+                    .queryParam("location", location)
+                    .when().get("/schedules/" + jobId)
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .jsonPath().getList("shifts.location");
+            assertFalse(locations.isEmpty());
+            assertTrue(locations.stream().allMatch(location::equals));
+
+            LocalDate from = problem.getShifts().get(0).getStart().toLocalDate().plusDays(2);
+            LocalDate to = from.plusDays(3);
+            EmployeeSchedule week = given()
+                    .queryParam("from", from.toString())
+                    .queryParam("to", to.toString())
+                    .when().get("/schedules/" + jobId)
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .as(EmployeeSchedule.class);
+            assertFalse(week.getShifts().isEmpty());
+            for (Shift shift : week.getShifts()) {
+                assertFalse(shift.getEnd().toLocalDate().isBefore(from));
+                assertFalse(shift.getStart().toLocalDate().isAfter(to));
+            }
+
+            // Terminate once the shifts are assigned, so that the employee filter reads a final assignment
+            await()
+                    .atMost(Duration.ofMinutes(1))
+                    .pollInterval(Duration.ofMillis(500L))
+                    .until(() -> get("/schedules/" + jobId).then().extract().as(EmployeeSchedule.class)
+                            .getShifts().stream().anyMatch(shift -> shift.getEmployee() != null));
+            given().when().delete("/schedules/" + jobId).then().statusCode(200);
+            await()
+                    .atMost(Duration.ofMinutes(1))
+                    .pollInterval(Duration.ofMillis(500L))
+                    .until(() -> SolverStatus.NOT_SOLVING.name().equals(
+                            get("/schedules/" + jobId + "/status").jsonPath().get("solverStatus")));
+            String employee = get("/schedules/" + jobId).then().extract().as(EmployeeSchedule.class)
+                    .getShifts().stream()
+                    .filter(shift -> shift.getEmployee() != null)
+                    .findFirst().orElseThrow()
+                    .getEmployee().getName();
+            JsonPath assignments = given()
+                    .queryParam("employee", employee)
+                    .queryParam("fields", "ASSIGNMENTS")
+                    .when().get("/schedules/" + jobId)
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .jsonPath();
+            assertFalse(assignments.getList("shifts").isEmpty());
+            assertTrue(assignments.getList("shifts.employee.name").stream().allMatch(employee::equals));
+            // Only the name of the employee
+            assertEquals(List.of(Map.of("name", employee)), assignments.getList("employees"));
+        } finally {
+            given().when().delete("/schedules/" + jobId);
+        }
+    }
+
+    @Test
+    void invalidDatesAreBadRequests() {
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class))
+                .when().post("/schedules")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        try {
+            given().queryParam("from", "bad").when().get("/schedules/" + jobId).then().statusCode(400);
+            given().queryParam("from", "2024-03-10").queryParam("to", "2024-03-04")
+                    .when().get("/schedules/" + jobId)
+                    .then()
+                    .statusCode(400);
+        } finally {
+            given().when().delete("/schedules/" + jobId);
+        }
+    }
+
+    @Test
+    void invalidJobIdIsNotFound() {
+        // Job IDs are UUIDs, so these never reach the job registry
+        for (String jobId : new String[] { ".hidden", "a\\b", "not-a-uuid" }) {
+            get("/schedules/" + jobId).then().statusCode(404);
+            get("/schedules/" + jobId + "/status").then().statusCode(404);
+            given().when().delete("/schedules/" + jobId).then().statusCode(404);
+            given().when().post("/sessions/job/" + jobId).then().statusCode(404);
+        }
+    }
 }
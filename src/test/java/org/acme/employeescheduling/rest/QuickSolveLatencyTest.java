@@ -0,0 +1,76 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class QuickSolveLatencyTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuickSolveLatencyTest.class);
+    private static final int WARM_UP_COUNT = 10;
+    private static final int MEASURED_COUNT = 100;
+    private static final long BUDGET_MILLIS = 200L;
+    private static final long P99_LIMIT_MILLIS = 300L;
+
+    /**
+     * Depends on the speed of the machine, so it only runs with {@code -Dslowly=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void p99OnSmallDataset() {
+        EmployeeSchedule problem = given()
+                .when().get("/demo-data/SMALL")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(EmployeeSchedule.class);
+
+        for (int i = 0; i < WARM_UP_COUNT; i++) {
+            quickSolve(problem);
+        }
+        long[] latencyMillis = new long[MEASURED_COUNT];
+        for (int i = 0; i < MEASURED_COUNT; i++) {
+            long startNanos = System.nanoTime();
+            quickSolve(problem);
+            latencyMillis[i] = (System.nanoTime() - startNanos) / 1_000_000L;
+        }
+        Arrays.sort(latencyMillis);
+        long p50 = latencyMillis[MEASURED_COUNT / 2];
+        long p99 = latencyMillis[(int) Math.ceil(MEASURED_COUNT * 0.99) - 1];
+        LOGGER.info("Quick solve latency on SMALL with a {} ms budget: p50 {} ms, p99 {} ms, max {} ms.",
+                BUDGET_MILLIS, p50, p99, latencyMillis[MEASURED_COUNT - 1]);
+        assertThat(p99).isLessThan(P99_LIMIT_MILLIS);
+    }
+
+    @Test
+    void invalidBudget() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new EmployeeSchedule())
+                .queryParam("budgetMillis", 0)
+                .when().post("/schedules/quick-solve")
+                .then()
+                .statusCode(400);
+    }
+
+    private static void quickSolve(EmployeeSchedule problem) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(problem)
+                .queryParam("budgetMillis", BUDGET_MILLIS)
+                .when().post("/schedules/quick-solve")
+                .then()
+                .statusCode(200);
+    }
+}
@@ -0,0 +1,229 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+
+@QuarkusTest
+class ScheduleAnalysisResourceTest {
+
+    // Solved once for all tests, guarded by the class
+    private static String jobId;
+    private static EmployeeSchedule solution;
+
+    @Test
+    void pagesAreDisjointAndWorstFirst() {
+        solveOnce();
+        JsonPath firstPage = getIndictments("type", "SHIFT", "size", 3);
+        JsonPath secondPage = getIndictments("type", "SHIFT", "size", 3, "page", 1);
+        int totalCount = firstPage.getInt("totalCount");
+        assertThat(totalCount).isGreaterThanOrEqualTo(6);
+        assertThat(secondPage.getInt("totalCount")).isEqualTo(totalCount);
+        List<String> ids = new ArrayList<>(firstPage.getList("items.id", String.class));
+        assertThat(ids).hasSize(3);
+        assertThat(secondPage.getList("items.id", String.class)).hasSize(3).doesNotContainAnyElementsOf(ids);
+        List<HardSoftBigDecimalScore> scores = new ArrayList<>(scores(firstPage));
+        scores.addAll(scores(secondPage));
+        assertThat(scores).isSorted();
+        JsonPath pastLastPage = getIndictments("type", "SHIFT", "size", 3, "page", totalCount);
+        assertThat(pastLastPage.getList("items")).isEmpty();
+        assertThat(pastLastPage.getInt("totalCount")).isEqualTo(totalCount);
+
+        String constraintName = get("/schedules/" + jobId + "/analysis").then().statusCode(200)
+                .extract().jsonPath().getString("constraints[0].constraintName");
+        JsonPath firstMatches = getMatches(constraintName, "size", 1);
+        assertThat(firstMatches.getInt("totalCount")).isPositive();
+        assertThat(firstMatches.getList("items")).hasSize(1);
+        if (firstMatches.getInt("totalCount") > 1) {
+            JsonPath secondMatches = getMatches(constraintName, "size", 1, "page", 1);
+            assertThat(scores(firstMatches).get(0)).isLessThanOrEqualTo(scores(secondMatches).get(0));
+        }
+    }
+
+    @Test
+    void employeeFilter() {
+        solveOnce();
+        String employee = findAssignedShift().getEmployee().getName();
+        Map<String, Shift> idToShiftMap = getIdToShiftMap();
+
+        JsonPath shiftIndictments = getIndictments("type", "SHIFT", "employee", employee, "size", 1000);
+        assertThat(shiftIndictments.getList("items.id", String.class)).isNotEmpty()
+                .allSatisfy(id -> assertThat(idToShiftMap.get(id).getEmployee().getName()).isEqualTo(employee));
+        JsonPath employeeIndictments = getIndictments("type", "EMPLOYEE", "employee", employee);
+        assertThat(employeeIndictments.getList("items.id", String.class)).allSatisfy(
+                id -> assertThat(id).isEqualTo(employee));
+        assertThat(employeeIndictments.getInt("totalCount")).isLessThanOrEqualTo(1);
+
+        for (String constraintName : getConstraintNames()) {
+            JsonPath matches = getMatches(constraintName, "employee", employee, "size", 1000);
+            for (List<String> matchEmployees : matches.<List<String>> getList("items.employees")) {
+                assertThat(matchEmployees).contains(employee);
+            }
+        }
+    }
+
+    @Test
+    void locationFilter() {
+        solveOnce();
+        Shift assignedShift = findAssignedShift();
+        String location = assignedShift.getLocation();
+        Map<String, Shift> idToShiftMap = getIdToShiftMap();
+
+        JsonPath shiftIndictments = getIndictments("type", "SHIFT", "location", location, "size", 1000);
+        assertThat(shiftIndictments.getList("items.id", String.class)).isNotEmpty()
+                .allSatisfy(id -> assertThat(idToShiftMap.get(id).getLocation()).isEqualTo(location));
+        // Employees pass through their shifts
+        JsonPath employeeIndictments = getIndictments("type", "EMPLOYEE", "location", location, "size", 1000);
+        List<String> employees = employeeIndictments.getList("items.id", String.class);
+        assertThat(employees).allSatisfy(employee -> assertThat(solution.getShifts()).anySatisfy(shift -> {
+            assertThat(shift.getEmployee()).isNotNull();
+            assertThat(shift.getEmployee().getName()).isEqualTo(employee);
+            assertThat(shift.getLocation()).isEqualTo(location);
+        }));
+        List<String> allEmployees = getIndictments("type", "EMPLOYEE", "size", 1000)
+                .getList("items.id", String.class);
+        if (allEmployees.contains(assignedShift.getEmployee().getName())) {
+            assertThat(employees).contains(assignedShift.getEmployee().getName());
+        }
+    }
+
+    @Test
+    void dateFilter() {
+        solveOnce();
+        Shift assignedShift = findAssignedShift();
+        LocalDate date = assignedShift.getStart().toLocalDate();
+        Map<String, Shift> idToShiftMap = getIdToShiftMap();
+
+        JsonPath shiftIndictments = getIndictments("type", "SHIFT", "from", date.toString(), "to", date.toString(),
+                "size", 1000);
+        assertThat(shiftIndictments.getList("items.id", String.class)).isNotEmpty().allSatisfy(id -> {
+            Shift shift = idToShiftMap.get(id);
+            assertThat(List.of(shift.getStart().toLocalDate(), shift.getEnd().toLocalDate())).contains(date);
+        });
+        JsonPath laterShiftIndictments = getIndictments("type", "SHIFT", "from", date.plusDays(1).toString(),
+                "size", 1000);
+        assertThat(laterShiftIndictments.getList("items.id", String.class)).allSatisfy(
+                id -> assertThat(idToShiftMap.get(id).getEnd().toLocalDate()).isAfter(date));
+        JsonPath employeeIndictments = getIndictments("type", "EMPLOYEE", "from", date.toString(),
+                "to", date.toString(), "size", 1000);
+        assertThat(employeeIndictments.getList("items.id", String.class)).allSatisfy(
+                employee -> assertThat(solution.getShifts()).anySatisfy(shift -> {
+                    assertThat(shift.getEmployee()).isNotNull();
+                    assertThat(shift.getEmployee().getName()).isEqualTo(employee);
+                    assertThat(shift.getStart().toLocalDate()).isEqualTo(date);
+                }));
+    }
+
+    @Test
+    void invalidRequests() {
+        solveOnce();
+        given().queryParam("from", "yesterday")
+                .when().get("/schedules/" + jobId + "/analysis/indictments")
+                .then().statusCode(400);
+        given().queryParam("page", -1)
+                .when().get("/schedules/" + jobId + "/analysis/indictments")
+                .then().statusCode(400);
+        given().queryParam("size", 0)
+                .when().get("/schedules/" + jobId + "/analysis/indictments")
+                .then().statusCode(400);
+        get("/schedules/" + jobId + "/analysis/matches/Unknown constraint").then().statusCode(404);
+        get("/schedules/unknown/analysis").then().statusCode(404);
+    }
+
+    private static synchronized String solveOnce() {
+        if (jobId == null) {
+            EmployeeSchedule problem = get("/demo-data/SMALL").then().statusCode(200)
+                    .extract().as(EmployeeSchedule.class);
+            String submittedJobId = given()
+                    .contentType(ContentType.JSON)
+                    .body(problem)
+                    .when().post("/schedules")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .asString();
+            await()
+                    .atMost(Duration.ofMinutes(1))
+                    .pollInterval(Duration.ofMillis(200L))
+                    .until(() -> get("/schedules/" + submittedJobId + "/status").jsonPath().get("score") != null);
+            given().when().delete("/schedules/" + submittedJobId).then().statusCode(200);
+            // The analysis is of the final solution
+            await()
+                    .atMost(Duration.ofMinutes(1))
+                    .pollInterval(Duration.ofMillis(200L))
+                    .until(() -> SolverStatus.NOT_SOLVING.name().equals(
+                            get("/schedules/" + submittedJobId + "/status").jsonPath().get("solverStatus")));
+            solution = get("/schedules/" + submittedJobId).then().statusCode(200)
+                    .extract().as(EmployeeSchedule.class);
+            jobId = submittedJobId;
+        }
+        return jobId;
+    }
+
+    private static Shift findAssignedShift() {
+        return solution.getShifts().stream()
+                .filter(shift -> shift.getEmployee() != null)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Map<String, Shift> getIdToShiftMap() {
+        Map<String, Shift> idToShiftMap = new HashMap<>();
+        for (Shift shift : solution.getShifts()) {
+            idToShiftMap.put(shift.getId(), shift);
+        }
+        return idToShiftMap;
+    }
+
+    private static List<String> getConstraintNames() {
+        return get("/schedules/" + jobId + "/analysis").then().statusCode(200)
+                .extract().jsonPath().getList("constraints.constraintName", String.class);
+    }
+
+    private static JsonPath getIndictments(Object... nameValuePairs) {
+        return getPage("/schedules/" + jobId + "/analysis/indictments", nameValuePairs);
+    }
+
+    private static JsonPath getMatches(String constraintName, Object... nameValuePairs) {
+        return getPage("/schedules/" + jobId + "/analysis/matches/" + constraintName, nameValuePairs);
+    }
+
+    private static JsonPath getPage(String path, Object... nameValuePairs) {
+        Map<String, Object> queryParams = new HashMap<>();
+        for (int i = 0; i < nameValuePairs.length; i += 2) {
+            queryParams.put((String) nameValuePairs[i], nameValuePairs[i + 1]);
+        }
+        return given()
+                .queryParams(queryParams)
+                .when().get(path)
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath();
+    }
+
+    private static List<HardSoftBigDecimalScore> scores(JsonPath page) {
+        return page.getList("items.score", String.class).stream()
+                .map(HardSoftBigDecimalScore::parseScore)
+                .toList();
+    }
+}
@@ -0,0 +1,101 @@
+package org.acme.employeescheduling.rest;
+
+import static io.restassured.RestAssured.get;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.job.JobTracing;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+class SolveTracingTest {
+
+    @Inject
+    InMemorySpanExporter spanExporter;
+
+    @Test
+    void tracesTheSolveLifecycleByJobId() {
+        EmployeeSchedule problem = get("/demo-data/SMALL").then().statusCode(200).extract().as(EmployeeSchedule.class);
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(problem)
+                .when().post("/schedules")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        await()
+                .atMost(Duration.ofMinutes(1))
+                .pollInterval(Duration.ofMillis(500L))
+                .until(() -> SolverStatus.NOT_SOLVING.name().equals(
+                        get("/schedules/" + jobId + "/status").jsonPath().get("solverStatus")));
+        get("/schedules/" + jobId).then().statusCode(200);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> findSpans(jobId, "job").size() == 1
+                && !findSpans(jobId, "write response body").isEmpty());
+        SpanData jobSpan = findSpans(jobId, "job").get(0);
+        String traceId = jobSpan.getTraceId();
+        assertThat(jobSpan.getAttributes().get(JobTracing.OUTCOME)).isNotNull().isNotEqualTo("FAILED");
+
+        // The job span is a child of the request that submitted it, like the deserialization of the schedule
+        SpanData readSpan = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("read request body") && span.getTraceId().equals(traceId))
+                .findFirst().orElseThrow();
+        assertThat(readSpan.getAttributes().get(RequestTracing.BODY_TYPE)).isEqualTo("EmployeeSchedule");
+        assertThat(readSpan.getParentSpanId()).isEqualTo(jobSpan.getParentSpanId());
+
+        for (String name : List.of("queue wait", "solve", "construction heuristic", "local search",
+                "publish best solution")) {
+            assertThat(findSpans(jobId, name)).as(name).isNotEmpty()
+                    .allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(traceId));
+        }
+        SpanData solveSpan = findSpans(jobId, "solve").get(0);
+        for (String phaseName : List.of("construction heuristic", "local search")) {
+            SpanData phaseSpan = findSpans(jobId, phaseName).get(0);
+            assertThat(phaseSpan.getAttributes().get(JobTracing.BEST_SCORE)).as(phaseName).isNotNull();
+            assertThat(phaseSpan.getParentSpanId()).as(phaseName).isEqualTo(solveSpan.getSpanId());
+        }
+    }
+
+    private List<SpanData> findSpans(String jobId, String name) {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name)
+                        && jobId.equals(span.getAttributes().get(JobTracing.JOB_ID)))
+                .toList();
+    }
+
+    @ApplicationScoped
+    static class InMemorySpanExporterProducer {
+
+        @Produces
+        @Singleton
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        @Produces
+        @Singleton
+        SpanProcessor inMemorySpanProcessor(InMemorySpanExporter inMemorySpanExporter) {
+            return SimpleSpanProcessor.create(inMemorySpanExporter);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.acme.employeescheduling.rest.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.EmployeeSchedulingConstraintProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the store without Quarkus, from {@code solverConfig.xml}, like {@code AllocationBudgetTest} does.
+ */
+class EditSessionStoreTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EditSessionStoreTest.class);
+
+    private static final int WARM_UP_EDIT_COUNT = 10_000;
+    private static final int MEASURED_EDIT_COUNT = 1_000;
+    private static final Duration MAX_EDIT_DURATION = Duration.ofMillis(10);
+
+    @Test
+    void openWithoutTheDefaultSolverFactory() {
+        SolverFactory<EmployeeSchedule> solverFactory = solverConfigOverride -> {
+            throw new UnsupportedOperationException();
+        };
+        // The application starts without edit sessions, instead of failing
+        EditSessionStore editSessionStore = new EditSessionStore(solverFactory, 1, Duration.ofMinutes(1));
+        EmployeeSchedule schedule = new DemoDataGenerator().generateDemoData(DemoData.SMALL);
+        assertThatThrownBy(() -> editSessionStore.open(schedule))
+                .isInstanceOf(EditSessionsUnavailableException.class)
+                .hasMessageContaining("default solver factory");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void editLatencyOnLargeSchedule() {
+        SolverFactory<EmployeeSchedule> solverFactory = SolverFactory.create(
+                SolverConfig.createFromXmlResource("solverConfig.xml")
+                        .withSolutionClass(EmployeeSchedule.class)
+                        .withEntityClasses(Shift.class)
+                        .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class));
+        EditSessionStore editSessionStore = new EditSessionStore(solverFactory, 1, Duration.ofMinutes(1));
+        EmployeeSchedule schedule = new DemoDataGenerator().generateDemoData(DemoData.LARGE);
+        EditSession session = editSessionStore.open(schedule).orElseThrow();
+        try {
+            Random random = new Random(37);
+            for (int i = 0; i < WARM_UP_EDIT_COUNT; i++) {
+                session.apply(List.of(randomAssignment(schedule, random)));
+            }
+            long[] editNanos = new long[MEASURED_EDIT_COUNT];
+            for (int i = 0; i < MEASURED_EDIT_COUNT; i++) {
+                EditOperation operation = randomAssignment(schedule, random);
+                long startNanos = System.nanoTime();
+                session.apply(List.of(operation));
+                editNanos[i] = System.nanoTime() - startNanos;
+            }
+            Arrays.sort(editNanos);
+            Duration median = Duration.ofNanos(editNanos[MEASURED_EDIT_COUNT / 2]);
+            Duration percentile99 = Duration.ofNanos(editNanos[MEASURED_EDIT_COUNT * 99 / 100]);
+            LOGGER.info("Edit latency on LARGE: median {} µs, 99th percentile {} µs, maximum {} µs.",
+                    median.toNanos() / 1_000, percentile99.toNanos() / 1_000,
+                    editNanos[MEASURED_EDIT_COUNT - 1] / 1_000);
+            // The 99th percentile, so that a single garbage collection pause doesn't fail the test
+            assertThat(percentile99).isLessThan(MAX_EDIT_DURATION);
+        } finally {
+            editSessionStore.close(session.getSessionId());
+        }
+    }
+
+    private static EditOperation randomAssignment(EmployeeSchedule schedule, Random random) {
+        List<Shift> shifts = schedule.getShifts();
+        return new EditOperation(EditOperationType.ASSIGN, shifts.get(random.nextInt(shifts.size())).getId(),
+                schedule.getEmployees().get(random.nextInt(schedule.getEmployees().size())).getName(), null);
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.employeescheduling.rest.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class EditSessionTest {
+
+    private static final int EDIT_COUNT = 300;
+
+    @Inject
+    EditSessionStore editSessionStore;
+    @Inject
+    SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    @Inject
+    DemoDataGenerator demoDataGenerator;
+
+    @Test
+    void incrementalScoreMatchesAFullRecalculation() {
+        EmployeeSchedule schedule = demoDataGenerator.generateDemoData(DemoData.LARGE);
+        List<Shift> shifts = schedule.getShifts();
+        EditSession session = editSessionStore.open(schedule).orElseThrow();
+        try {
+            HardSoftBigDecimalScore score = session.getInfo().score();
+            assertThat(score).isEqualTo(solutionManager.update(session.getSchedule()));
+            Random random = new Random(37);
+            for (int i = 0; i < EDIT_COUNT; i++) {
+                List<EditOperation> operations = new ArrayList<>();
+                for (int j = random.nextInt(3); j >= 0; j--) {
+                    operations.add(randomOperation(schedule, shifts, random));
+                }
+                EditResult result = session.apply(operations);
+                assertThat(result.scoreDiff()).isEqualTo(result.score().subtract(score));
+                assertThat(result.score()).as("Score after edit %d", i)
+                        .isEqualTo(solutionManager.update(session.getSchedule()));
+                score = result.score();
+            }
+        } finally {
+            editSessionStore.close(session.getSessionId());
+        }
+    }
+
+    @Test
+    void closedSession() {
+        EditSession session = editSessionStore.open(demoDataGenerator.generateDemoData(DemoData.SMALL))
+                .orElseThrow();
+        editSessionStore.close(session.getSessionId());
+        assertThatThrownBy(() -> session.apply(List.of())).isInstanceOf(EditSessionClosedException.class);
+        assertThatThrownBy(session::getSchedule).isInstanceOf(EditSessionClosedException.class);
+    }
+
+    private static EditOperation randomOperation(EmployeeSchedule schedule, List<Shift> shifts, Random random) {
+        String shiftId = shifts.get(random.nextInt(shifts.size())).getId();
+        return switch (random.nextInt(4)) {
+            case 0 -> new EditOperation(EditOperationType.UNASSIGN, shiftId, null, null);
+            case 1 -> new EditOperation(EditOperationType.SWAP, shiftId, null,
+                    shifts.get(random.nextInt(shifts.size())).getId());
+            // Any employee, also unskilled or unavailable ones, to break hard constraints too
+            default -> new EditOperation(EditOperationType.ASSIGN, shiftId,
+                    schedule.getEmployees().get(random.nextInt(schedule.getEmployees().size())).getName(), null);
+        };
+    }
+}
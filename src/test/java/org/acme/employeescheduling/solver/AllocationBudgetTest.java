@@ -0,0 +1,171 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.constraint.ConstraintMatchPolicy;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.move.ShiftReassignmentMove;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Measures the bytes that the incremental score calculation allocates per move, for each constraint on its own,
+ * and fails when a constraint exceeds its budget in {@code allocation-budgets.properties}.
+ * <p>
+ * Every constraint but the measured one has a zero weight, which disables it.
+ * The moves are created before the measurement, so only the score director's allocations count,
+ * after a warm-up that gives the JIT compiler the chance to eliminate allocations as it would in production.
+ * <p>
+ * The solver factory is built from {@code solverConfig.xml} without Quarkus,
+ * so the budgets hold for the same score director wherever the test runs.
+ */
+class AllocationBudgetTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllocationBudgetTest.class);
+    private static final String BUDGETS_RESOURCE = "/allocation-budgets.properties";
+    private static final int WARM_UP_MOVE_COUNT = 20_000;
+    private static final int MEASURED_MOVE_COUNT = 20_000;
+    private static final long RANDOM_SEED = 37L;
+
+    private static final SolverFactory<EmployeeSchedule> SOLVER_FACTORY = SolverFactory.create(
+            SolverConfig.createFromXmlResource("solverConfig.xml")
+                    .withSolutionClass(EmployeeSchedule.class)
+                    .withEntityClasses(Shift.class)
+                    .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class));
+
+    private static EmployeeSchedule schedule;
+
+    static Stream<String> constraintNames() throws IOException {
+        return readBudgets().keySet().stream().sorted();
+    }
+
+    @ParameterizedTest
+    @MethodSource("constraintNames")
+    void withinBudget(String constraintName) throws IOException {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "No thread allocation counters on this JVM.");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long budget = readBudgets().get(constraintName);
+
+        Map<String, HardSoftBigDecimalScore> weightOverrides = new HashMap<>();
+        for (String otherConstraintName : readBudgets().keySet()) {
+            if (!otherConstraintName.equals(constraintName)) {
+                weightOverrides.put(otherConstraintName, HardSoftBigDecimalScore.ZERO);
+            }
+        }
+        try (InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector =
+                buildScoreDirector(ConstraintWeightOverrides.of(weightOverrides))) {
+            List<ShiftReassignmentMove> moves = createRandomMoves(scoreDirector.getWorkingSolution(),
+                    WARM_UP_MOVE_COUNT + MEASURED_MOVE_COUNT);
+            for (int i = 0; i < WARM_UP_MOVE_COUNT; i++) {
+                evaluate(scoreDirector, moves.get(i));
+            }
+            long startBytes = threadBean.getCurrentThreadAllocatedBytes();
+            for (int i = WARM_UP_MOVE_COUNT; i < moves.size(); i++) {
+                evaluate(scoreDirector, moves.get(i));
+            }
+            long bytesPerMove = (threadBean.getCurrentThreadAllocatedBytes() - startBytes) / MEASURED_MOVE_COUNT;
+            LOGGER.info("{}: {} bytes per move (budget {}).", constraintName, bytesPerMove, budget);
+            assertThat(bytesPerMove)
+                    .as("Bytes allocated per move by constraint (%s)", constraintName)
+                    .isLessThanOrEqualTo(budget);
+        }
+    }
+
+    @Test
+    void everyConstraintHasABudget() throws IOException {
+        Map<String, HardSoftBigDecimalScore> weightOverrides = new HashMap<>();
+        for (String constraintName : readBudgets().keySet()) {
+            weightOverrides.put(constraintName, HardSoftBigDecimalScore.ZERO);
+        }
+        // Only a constraint without a budget can still score
+        try (InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector =
+                buildScoreDirector(ConstraintWeightOverrides.of(weightOverrides))) {
+            assertThat(scoreDirector.calculateScore()).isEqualTo(HardSoftBigDecimalScore.ZERO);
+        }
+    }
+
+    private static InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> buildScoreDirector(
+            ConstraintWeightOverrides<HardSoftBigDecimalScore> weightOverrides) {
+        InnerScoreDirectorFactory<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirectorFactory =
+                ((DefaultSolverFactory<EmployeeSchedule>) SOLVER_FACTORY).getScoreDirectorFactory();
+        InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector =
+                scoreDirectorFactory.buildScoreDirector(false, ConstraintMatchPolicy.DISABLED);
+        EmployeeSchedule workingSolution = scoreDirector.cloneSolution(getSchedule());
+        workingSolution.setConstraintWeightOverrides(weightOverrides);
+        scoreDirector.setWorkingSolution(workingSolution);
+        scoreDirector.calculateScore();
+        return scoreDirector;
+    }
+
+    private static EmployeeSchedule getSchedule() {
+        if (schedule == null) {
+            schedule = new DemoDataGenerator().generateDemoData(DemoData.LARGE.getParameters().withRandomSeed(0));
+            List<Employee> employees = schedule.getEmployees();
+            List<Shift> shifts = schedule.getShifts();
+            for (int i = 0; i < shifts.size(); i++) {
+                shifts.get(i).setEmployee(employees.get(i % employees.size()));
+            }
+        }
+        return schedule;
+    }
+
+    private static List<ShiftReassignmentMove> createRandomMoves(EmployeeSchedule workingSolution, int count) {
+        List<Shift> shifts = workingSolution.getShifts();
+        List<Employee> employees = workingSolution.getEmployees();
+        SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+        List<ShiftReassignmentMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(new ShiftReassignmentMove("Measure", List.of(shifts.get(random.nextInt(shifts.size()))),
+                    List.of(employees.get(random.nextInt(employees.size())))));
+        }
+        return moves;
+    }
+
+    private static void evaluate(InnerScoreDirector<EmployeeSchedule, HardSoftBigDecimalScore> scoreDirector,
+            ShiftReassignmentMove move) {
+        move.doMoveOnly(scoreDirector);
+        scoreDirector.calculateScore();
+    }
+
+    private static Map<String, Long> readBudgets() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream(BUDGETS_RESOURCE)) {
+            properties.load(in);
+        }
+        Map<String, Long> budgets = new HashMap<>();
+        for (String constraintName : properties.stringPropertyNames()) {
+            budgets.put(constraintName, Long.parseLong(properties.getProperty(constraintName).trim()));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,81 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Compares the time to 0hard on the large demo data of the configured construction heuristic,
+ * which assigns the shifts with the scarcest skill first, and of a plain first fit.
+ * Both are followed by the same local search. The results end up in the log.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "slowly", matches = "true")
+class ConstructionHeuristicBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConstructionHeuristicBenchmarkTest.class);
+    private static final TerminationConfig TERMINATION = new TerminationConfig()
+            .withBestScoreFeasible(true)
+            .withSpentLimit(Duration.ofSeconds(60));
+
+    @Inject
+    SolverConfig solverConfig;
+    @Inject
+    DemoDataGenerator demoDataGenerator;
+
+    @Test
+    void benchmark() {
+        Result configured = solve(solverConfig.copyConfig());
+        Result firstFit = solve(withFirstFit(solverConfig.copyConfig()));
+        LOGGER.info("Scarce skill first: 0hard after {} ms, score ({}).", configured.feasibleMillis, configured.score);
+        LOGGER.info("First fit: 0hard after {} ms, score ({}).", firstFit.feasibleMillis, firstFit.score);
+        assertThat(configured.score).isNotNull();
+        assertThat(firstFit.score).isNotNull();
+    }
+
+    private static SolverConfig withFirstFit(SolverConfig config) {
+        List<PhaseConfig<?>> phaseConfigList = new ArrayList<>();
+        for (PhaseConfig<?> phaseConfig : config.getPhaseConfigList()) {
+            phaseConfigList.add(phaseConfig);
+        }
+        phaseConfigList.set(0, new ConstructionHeuristicPhaseConfig()
+                .withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT));
+        return config.withPhases(phaseConfigList.toArray(PhaseConfig<?>[]::new));
+    }
+
+    private Result solve(SolverConfig config) {
+        config.setTerminationConfig(TERMINATION);
+        Solver<EmployeeSchedule> solver = SolverFactory.<EmployeeSchedule> create(config).buildSolver();
+        EmployeeSchedule problem = demoDataGenerator.generateDemoData(DemoData.LARGE);
+        long startNanos = System.nanoTime();
+        EmployeeSchedule solution = solver.solve(problem);
+        long millis = (System.nanoTime() - startNanos) / 1_000_000L;
+        return new Result(solution.getScore().isFeasible() ? millis : -1L, solution.getScore());
+    }
+
+    private record Result(long feasibleMillis, HardSoftBigDecimalScore score) {
+    }
+}
@@ -0,0 +1,96 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.EmployeeStrengthWeightFactory.EmployeeStrength;
+import org.acme.employeescheduling.solver.ShiftDifficultyWeightFactory.ShiftDifficulty;
+import org.junit.jupiter.api.Test;
+
+class ConstructionOrderingTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2030, 4, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2030, 4, 2);
+
+    @Test
+    void scarceSkillIsMoreDifficult() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Employee carl = new Employee("Carl", Set.of("Doctor"), Set.of(), Set.of(), Set.of());
+        Shift nurseShift = shift("1", DAY_1, "Nurse");
+        Shift doctorShift = shift("2", DAY_1, "Doctor");
+        EmployeeSchedule schedule = new EmployeeSchedule(List.of(ann, beth, carl),
+                List.of(nurseShift, doctorShift, shift("3", DAY_1, "Doctor")));
+        ShiftDifficultyWeightFactory factory = new ShiftDifficultyWeightFactory();
+        ShiftDifficulty nurseDifficulty = factory.createSorterWeight(schedule, nurseShift);
+        ShiftDifficulty doctorDifficulty = factory.createSorterWeight(schedule, doctorShift);
+        assertThat(nurseDifficulty.scarcity()).isEqualTo(0.5);
+        assertThat(doctorDifficulty.scarcity()).isEqualTo(2.0);
+        assertThat(doctorDifficulty).isGreaterThan(nurseDifficulty);
+    }
+
+    @Test
+    void unavailableEmployeesReduceSupply() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(DAY_1), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Shift day1Shift = shift("1", DAY_1, "Nurse");
+        Shift day2Shift = shift("2", DAY_2, "Nurse");
+        EmployeeSchedule schedule = new EmployeeSchedule(List.of(ann, beth), List.of(day1Shift, day2Shift));
+        ShiftDifficultyWeightFactory factory = new ShiftDifficultyWeightFactory();
+        ShiftDifficulty day1Difficulty = factory.createSorterWeight(schedule, day1Shift);
+        ShiftDifficulty day2Difficulty = factory.createSorterWeight(schedule, day2Shift);
+        assertThat(day1Difficulty.eligibleEmployeeCount()).isEqualTo(1);
+        assertThat(day2Difficulty.eligibleEmployeeCount()).isEqualTo(2);
+        assertThat(day1Difficulty).isGreaterThan(day2Difficulty);
+    }
+
+    @Test
+    void fewerEligibleEmployeesBreaksScarcityTies() {
+        assertThat(new ShiftDifficulty(1.0, 1, "b")).isGreaterThan(new ShiftDifficulty(1.0, 2, "a"));
+        assertThat(new ShiftDifficulty(1.0, 2, "b")).isGreaterThan(new ShiftDifficulty(1.0, 2, "a"));
+        assertThat(new ShiftDifficulty(1.0, 2, "a")).isGreaterThan(new ShiftDifficulty(1.0, 2, null));
+    }
+
+    @Test
+    void employeeStrength() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(DAY_1), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Employee carl = new Employee("Carl", Set.of("Nurse", "Doctor"), Set.of(DAY_1, DAY_2), Set.of(), Set.of());
+        EmployeeSchedule schedule = new EmployeeSchedule(List.of(ann, beth, carl),
+                List.of(shift("1", DAY_1, "Nurse"), shift("2", DAY_2, "Nurse")));
+        EmployeeStrengthWeightFactory factory = new EmployeeStrengthWeightFactory();
+        EmployeeStrength annStrength = factory.createSorterWeight(schedule, ann);
+        EmployeeStrength bethStrength = factory.createSorterWeight(schedule, beth);
+        EmployeeStrength carlStrength = factory.createSorterWeight(schedule, carl);
+        assertThat(annStrength).isEqualTo(new EmployeeStrength(1, 1, "Ann"));
+        assertThat(bethStrength).isEqualTo(new EmployeeStrength(1, 2, "Beth"));
+        assertThat(carlStrength).isEqualTo(new EmployeeStrength(2, 0, "Carl"));
+        // More skills outweigh more available days
+        assertThat(annStrength).isLessThan(bethStrength);
+        assertThat(bethStrength).isLessThan(carlStrength);
+    }
+
+    @Test
+    void missingSkillsAndUnavailableDates() {
+        Employee ann = new Employee("Ann", null, null, null, null);
+        Shift shift = shift("1", DAY_1, "Nurse");
+        EmployeeSchedule schedule = new EmployeeSchedule(List.of(ann), List.of(shift));
+        assertThat(new ShiftDifficultyWeightFactory().createSorterWeight(schedule, shift))
+                .isEqualTo(new ShiftDifficulty(1.0, 0, "1"));
+        assertThat(new EmployeeStrengthWeightFactory().createSorterWeight(schedule, ann))
+                .isEqualTo(new EmployeeStrength(0, 1, "Ann"));
+    }
+
+    private static Shift shift(String id, LocalDate date, String requiredSkill) {
+        return new Shift(id, LocalDateTime.of(date, LocalTime.of(6, 0)), LocalDateTime.of(date, LocalTime.of(14, 0)),
+                "Ambulatory care", requiredSkill, null);
+    }
+}
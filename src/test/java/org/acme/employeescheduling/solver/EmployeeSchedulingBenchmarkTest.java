@@ -0,0 +1,52 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.timefold.solver.benchmark.api.PlannerBenchmark;
+import ai.timefold.solver.benchmark.api.PlannerBenchmarkFactory;
+import ai.timefold.solver.benchmark.config.PlannerBenchmarkConfig;
+import ai.timefold.solver.benchmark.config.SolverBenchmarkConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the generic moves with the domain-specific moves of {@code solverConfig.xml} on the demo data.
+ * The report, with the best score over time of each configuration, ends up in {@code target/benchmarks}.
+ * <p>
+ * The benchmark configuration only has the generic moves inline.
+ * The domain-specific moves are read from {@code solverConfig.xml} itself, so the benchmark always measures
+ * what the application solves with.
+ */
+@EnabledIfSystemProperty(named = "slowly", matches = "true")
+class EmployeeSchedulingBenchmarkTest {
+
+    @Test
+    void benchmark() {
+        DemoDataGenerator dataGenerator = new DemoDataGenerator();
+        EmployeeSchedule small = dataGenerator.generateDemoData(DemoData.SMALL);
+        EmployeeSchedule large = dataGenerator.generateDemoData(DemoData.LARGE);
+
+        PlannerBenchmarkConfig benchmarkConfig =
+                PlannerBenchmarkConfig.createFromXmlResource("employeeSchedulingBenchmarkConfig.xml");
+        List<SolverBenchmarkConfig> solverBenchmarkConfigs =
+                new ArrayList<>(benchmarkConfig.getSolverBenchmarkConfigList());
+        // Inherits the classes and the termination of the benchmark configuration, like the generic moves
+        solverBenchmarkConfigs.add(new SolverBenchmarkConfig()
+                .withName("Domain-specific moves")
+                .withSolverConfig(SolverConfig.createFromXmlResource("solverConfig.xml")));
+        benchmarkConfig.setSolverBenchmarkConfigList(solverBenchmarkConfigs);
+        PlannerBenchmark benchmark = PlannerBenchmarkFactory.create(benchmarkConfig)
+                .buildPlannerBenchmark(small, large);
+        File reportDirectory = benchmark.benchmark();
+        assertThat(reportDirectory).isDirectory();
+    }
+}
@@ -0,0 +1,79 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class FeasibilityAnalyzerTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2030, 4, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2030, 4, 2);
+
+    @Test
+    void enoughEmployees() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Doctor"), Set.of(DAY_2), Set.of(), Set.of());
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(new EmployeeSchedule(List.of(ann, beth),
+                List.of(shift(DAY_1, "Nurse"), shift(DAY_1, "Doctor"), shift(DAY_2, "Nurse"))));
+        assertThat(report.isPossiblyFeasible()).isTrue();
+        assertThat(report.minimumHardPenalty()).isZero();
+        assertThat(report.shortages()).isEmpty();
+        assertThat(report.unstaffableSkills()).isEmpty();
+    }
+
+    @Test
+    void skillShortage() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Doctor"), Set.of(), Set.of(), Set.of());
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(new EmployeeSchedule(List.of(ann, beth),
+                List.of(shift(DAY_1, "Nurse"), shift(DAY_1, "Nurse"))));
+        assertThat(report.minimumHardPenalty()).isEqualTo(1);
+        assertThat(report.shortages()).containsExactly(new CapacityShortage(DAY_1, "Nurse", 2, 1));
+    }
+
+    @Test
+    void unavailableEmployees() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(DAY_1), Set.of(), Set.of());
+        Employee beth = new Employee("Beth", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(new EmployeeSchedule(List.of(ann, beth),
+                List.of(shift(DAY_1, "Nurse"), shift(DAY_1, "Nurse"), shift(DAY_2, "Nurse"), shift(DAY_2, "Nurse"))));
+        assertThat(report.minimumHardPenalty()).isEqualTo(1);
+        assertThat(report.shortages()).containsExactly(
+                new CapacityShortage(DAY_1, null, 2, 1),
+                new CapacityShortage(DAY_1, "Nurse", 2, 1));
+    }
+
+    @Test
+    void dayShortageExceedsSkillShortages() {
+        // Each skill on its own can be staffed, but not both on the same day
+        Employee ann = new Employee("Ann", Set.of("Nurse", "Doctor"), Set.of(), Set.of(), Set.of());
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(new EmployeeSchedule(List.of(ann),
+                List.of(shift(DAY_1, "Nurse"), shift(DAY_1, "Doctor"))));
+        assertThat(report.minimumHardPenalty()).isEqualTo(1);
+        assertThat(report.shortages()).containsExactly(new CapacityShortage(DAY_1, null, 2, 1));
+    }
+
+    @Test
+    void unstaffableSkill() {
+        Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+        FeasibilityReport report = FeasibilityAnalyzer.analyze(new EmployeeSchedule(List.of(ann),
+                List.of(shift(DAY_1, "Surgeon"), shift(DAY_2, "Surgeon"))));
+        assertThat(report.isPossiblyFeasible()).isFalse();
+        assertThat(report.minimumHardPenalty()).isEqualTo(2);
+        assertThat(report.unstaffableSkills()).containsExactly("Surgeon");
+    }
+
+    private static Shift shift(LocalDate date, String requiredSkill) {
+        return new Shift(LocalDateTime.of(date, LocalTime.of(6, 0)), LocalDateTime.of(date, LocalTime.of(14, 0)),
+                "Ambulatory care", requiredSkill);
+    }
+}
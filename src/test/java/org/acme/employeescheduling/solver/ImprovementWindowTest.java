@@ -0,0 +1,58 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+
+import org.junit.jupiter.api.Test;
+
+class ImprovementWindowTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void notDiminishingBeforeAFullWindow() {
+        ImprovementWindow window = new ImprovementWindow(1.0, 10 * SECOND);
+        window.addBestScore(0, score(0, -1000));
+        assertThat(window.isDiminishing(5 * SECOND)).isFalse();
+        assertThat(window.isDiminishing(10 * SECOND)).isTrue();
+    }
+
+    @Test
+    void notDiminishingWhileInfeasible() {
+        ImprovementWindow window = new ImprovementWindow(1.0, 10 * SECOND);
+        window.addBestScore(0, score(-2, -1000));
+        assertThat(window.isDiminishing(20 * SECOND)).isFalse();
+        // Feasible now, but the baseline is not
+        window.addBestScore(15 * SECOND, score(0, -1000));
+        assertThat(window.isDiminishing(20 * SECOND)).isFalse();
+        assertThat(window.isDiminishing(25 * SECOND)).isTrue();
+    }
+
+    @Test
+    void comparesWithTheBestScoreAtTheWindowStart() {
+        ImprovementWindow window = new ImprovementWindow(1.0, 10 * SECOND);
+        window.addBestScore(0, score(0, -1000));
+        window.addBestScore(4 * SECOND, score(0, -950));
+        window.addBestScore(12 * SECOND, score(0, -945));
+        // 5% better than at 0s
+        assertThat(window.isDiminishing(10 * SECOND)).isFalse();
+        // Less than 1% better than at 4s
+        assertThat(window.isDiminishing(14 * SECOND)).isTrue();
+    }
+
+    @Test
+    void zeroSoftScoreBaseline() {
+        ImprovementWindow window = new ImprovementWindow(1.0, 10 * SECOND);
+        window.addBestScore(0, score(0, 0));
+        assertThat(window.isDiminishing(10 * SECOND)).isTrue();
+        window.addBestScore(11 * SECOND, score(0, 5));
+        assertThat(window.isDiminishing(12 * SECOND)).isFalse();
+    }
+
+    private static HardSoftBigDecimalScore score(int hard, int soft) {
+        return HardSoftBigDecimalScore.of(BigDecimal.valueOf(hard), BigDecimal.valueOf(soft));
+    }
+}
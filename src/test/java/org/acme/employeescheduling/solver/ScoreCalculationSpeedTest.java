@@ -0,0 +1,155 @@
+package org.acme.employeescheduling.solver;
+
+import static ai.timefold.solver.core.api.score.stream.Joiners.equal;
+import static ai.timefold.solver.core.api.score.stream.Joiners.lessThanOrEqual;
+import static ai.timefold.solver.core.api.score.stream.Joiners.overlapping;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoDataParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the score calculation speed of the constraints, which join shifts on their {@link Employee},
+ * with the same constraints joining on the dense index of the employee.
+ * <p>
+ * On LARGE and on 5,000 employees, the difference stayed within the noise between runs (see the README),
+ * so the constraints keep joining on the employee and the index stays an array position only.
+ */
+class ScoreCalculationSpeedTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreCalculationSpeedTest.class);
+
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(20);
+    private static final int ROUND_COUNT = 3;
+
+    @Test
+    @EnabledIfSystemProperty(named = "slowly", matches = "true")
+    void employeeKeysVersusIndexKeys() {
+        logScoreCalculationSpeed("LARGE", DemoData.LARGE.getParameters());
+        logScoreCalculationSpeed("5,000 employees", DemoData.LARGE.getParameters().withEmployeeCount(5_000));
+    }
+
+    private static void logScoreCalculationSpeed(String dataName, DemoDataParameters parameters) {
+        // Alternate both, so neither gets all the JIT warm-up, and keep the best round of each
+        long employeeKeySpeed = 0L;
+        long indexKeySpeed = 0L;
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            employeeKeySpeed = Math.max(employeeKeySpeed,
+                    measureScoreCalculationSpeed(parameters, EmployeeSchedulingConstraintProvider.class));
+            indexKeySpeed = Math.max(indexKeySpeed,
+                    measureScoreCalculationSpeed(parameters, IndexKeyedConstraintProvider.class));
+        }
+        // The speed depends on the machine, so it ends up in the log instead of in an assertion
+        LOGGER.info("{}: {} score calculations/s joining on the employee, {}/s joining on its index.",
+                dataName, employeeKeySpeed, indexKeySpeed);
+    }
+
+    private static long measureScoreCalculationSpeed(DemoDataParameters parameters,
+            Class<? extends ConstraintProvider> constraintProviderClass) {
+        EmployeeSchedule problem = new DemoDataGenerator().generateDemoData(parameters);
+        SolverConfig solverConfig = SolverConfig.createFromXmlResource("solverConfig.xml")
+                .withSolutionClass(EmployeeSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(constraintProviderClass)
+                .withTerminationSpentLimit(SOLVE_DURATION)
+                .withRandomSeed(0L);
+        Solver<EmployeeSchedule> solver = SolverFactory.<EmployeeSchedule> create(solverConfig).buildSolver();
+        EmployeeSchedule solution = solver.solve(problem);
+        assertThat(solution.getScore()).isNotNull();
+        return ((DefaultSolver<EmployeeSchedule>) solver).getScoreCalculationSpeed();
+    }
+
+    /**
+     * The same constraints, but the ones that join on the employee of a shift join on its index.
+     */
+    public static class IndexKeyedConstraintProvider extends EmployeeSchedulingConstraintProvider {
+
+        private static int employeeIndex(Shift shift) {
+            return shift.getEmployee().getIndex();
+        }
+
+        private static int getMinuteOverlap(Shift shift1, Shift shift2) {
+            LocalDateTime start = shift1.getStart().isAfter(shift2.getStart()) ? shift1.getStart() : shift2.getStart();
+            LocalDateTime end = shift1.getEnd().isBefore(shift2.getEnd()) ? shift1.getEnd() : shift2.getEnd();
+            return (int) Duration.between(start, end).toMinutes();
+        }
+
+        @Override
+        Constraint noOverlappingShifts(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEachUniquePair(Shift.class, equal(IndexKeyedConstraintProvider::employeeIndex),
+                    overlapping(Shift::getStart, Shift::getEnd))
+                    .penalize(HardSoftBigDecimalScore.ONE_HARD, IndexKeyedConstraintProvider::getMinuteOverlap)
+                    .asConstraint("Overlapping shift");
+        }
+
+        @Override
+        Constraint atLeast10HoursBetweenTwoShifts(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEach(Shift.class)
+                    .join(Shift.class, equal(IndexKeyedConstraintProvider::employeeIndex),
+                            lessThanOrEqual(Shift::getEnd, Shift::getStart))
+                    .filter((firstShift, secondShift) -> Duration.between(firstShift.getEnd(), secondShift.getStart())
+                            .toHours() < 10)
+                    .penalize(HardSoftBigDecimalScore.ONE_HARD, (firstShift, secondShift) -> (10 * 60)
+                            - (int) Duration.between(firstShift.getEnd(), secondShift.getStart()).toMinutes())
+                    .asConstraint("At least 10 hours between 2 shifts");
+        }
+
+        @Override
+        Constraint oneShiftPerDay(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEachUniquePair(Shift.class, equal(IndexKeyedConstraintProvider::employeeIndex),
+                    equal(shift -> shift.getStart().toLocalDate()))
+                    .penalize(HardSoftBigDecimalScore.ONE_HARD)
+                    .asConstraint("Max one shift per day");
+        }
+
+        @Override
+        Constraint unavailableEmployee(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEach(Shift.class)
+                    .join(Employee.class, equal(IndexKeyedConstraintProvider::employeeIndex, Employee::getIndex))
+                    .flattenLast(Employee::getUnavailableDates)
+                    .filter(Shift::isOverlappingWithDate)
+                    .penalize(HardSoftBigDecimalScore.ONE_HARD, Shift::getOverlappingDurationInMinutes)
+                    .asConstraint("Unavailable employee");
+        }
+
+        @Override
+        Constraint undesiredDayForEmployee(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEach(Shift.class)
+                    .join(Employee.class, equal(IndexKeyedConstraintProvider::employeeIndex, Employee::getIndex))
+                    .flattenLast(Employee::getUndesiredDates)
+                    .filter(Shift::isOverlappingWithDate)
+                    .penalize(HardSoftBigDecimalScore.ONE_SOFT, Shift::getOverlappingDurationInMinutes)
+                    .asConstraint("Undesired day for employee");
+        }
+
+        @Override
+        Constraint desiredDayForEmployee(ConstraintFactory constraintFactory) {
+            return constraintFactory.forEach(Shift.class)
+                    .join(Employee.class, equal(IndexKeyedConstraintProvider::employeeIndex, Employee::getIndex))
+                    .flattenLast(Employee::getDesiredDates)
+                    .filter(Shift::isOverlappingWithDate)
+                    .reward(HardSoftBigDecimalScore.ONE_SOFT, Shift::getOverlappingDurationInMinutes)
+                    .asConstraint("Desired day for employee");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.acme.employeescheduling.solver;
+
+import static io.restassured.RestAssured.get;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class SolverWarmUpHealthCheckTest {
+
+    @Test
+    void readyAfterWarmUp() {
+        await()
+                .atMost(Duration.ofMinutes(1))
+                .pollInterval(Duration.ofMillis(200L))
+                .until(() -> get("/q/health/ready").statusCode() == 200);
+        get("/q/health/ready")
+                .then()
+                .body("status", equalTo("UP"))
+                .body("checks.find { it.name == 'Solver warm-up' }.status", equalTo("UP"));
+    }
+}
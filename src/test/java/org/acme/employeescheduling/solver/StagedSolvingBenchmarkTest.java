@@ -0,0 +1,101 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Compares the time to feasible and the final score of single-stage and staged solving on the large demo data,
+ * for the same spent limit. The results end up in the log.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "slowly", matches = "true")
+class StagedSolvingBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StagedSolvingBenchmarkTest.class);
+    private static final TerminationConfig TERMINATION = new TerminationConfig().withSpentLimit(Duration.ofSeconds(60));
+
+    @Inject
+    SolverFactory<EmployeeSchedule> solverFactory;
+    @Inject
+    SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    @Inject
+    StagedSolving stagedSolving;
+    @Inject
+    DemoDataGenerator demoDataGenerator;
+
+    @Test
+    void benchmark() {
+        Result singleStage = solveSingleStage(demoDataGenerator.generateDemoData(DemoData.LARGE));
+        Result staged = solveStaged(demoDataGenerator.generateDemoData(DemoData.LARGE));
+        LOGGER.info("Single stage: feasible after {} ms, final score ({}).",
+                singleStage.feasibleMillis, singleStage.score);
+        LOGGER.info("Staged: feasible after {} ms, final score ({}).", staged.feasibleMillis, staged.score);
+        assertThat(singleStage.score).isNotNull();
+        assertThat(staged.score).isNotNull();
+    }
+
+    private Result solveSingleStage(EmployeeSchedule problem) {
+        FeasibleTimer timer = new FeasibleTimer();
+        Solver<EmployeeSchedule> solver = solverFactory.buildSolver(
+                new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(TERMINATION));
+        solver.addEventListener(event -> timer.onBestScore(event.getNewBestSolution().getScore()));
+        EmployeeSchedule solution = solver.solve(problem);
+        return new Result(timer.feasibleMillis, solution.getScore());
+    }
+
+    private Result solveStaged(EmployeeSchedule problem) {
+        FeasibleTimer timer = new FeasibleTimer();
+        StagedSolving.deferBalance(problem);
+        Solver<EmployeeSchedule> firstStageSolver = solverFactory.buildSolver(
+                new SolverConfigOverride<EmployeeSchedule>()
+                        .withTerminationConfig(stagedSolving.createFirstStageTermination(TERMINATION, null)));
+        firstStageSolver.addEventListener(event -> timer.onBestScore(event.getNewBestSolution().getScore()));
+        EmployeeSchedule firstStageSolution = firstStageSolver.solve(problem);
+        StagedSolving.restoreBalance(firstStageSolution);
+        solutionManager.update(firstStageSolution);
+
+        Duration firstStageDuration = Duration.ofNanos(System.nanoTime() - timer.startNanos);
+        TerminationConfig secondStageTermination =
+                StagedSolving.createSecondStageTermination(TERMINATION, firstStageDuration);
+        Solver<EmployeeSchedule> secondStageSolver = solverFactory.buildSolver(
+                new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(secondStageTermination));
+        secondStageSolver.addEventListener(event -> timer.onBestScore(event.getNewBestSolution().getScore()));
+        EmployeeSchedule solution = secondStageSolver.solve(firstStageSolution);
+        return new Result(timer.feasibleMillis, solution.getScore());
+    }
+
+    private record Result(long feasibleMillis, HardSoftBigDecimalScore score) {
+    }
+
+    private static final class FeasibleTimer {
+
+        final long startNanos = System.nanoTime();
+        long feasibleMillis = -1L;
+
+        void onBestScore(HardSoftBigDecimalScore score) {
+            if (feasibleMillis < 0L && score.isFeasible()) {
+                feasibleMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.acme.employeescheduling.solver.move;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class OriginalMoveOrderTest {
+
+    // A Monday and the Tuesday after it
+    private static final LocalDate DAY_1 = LocalDate.of(2030, 4, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2030, 4, 2);
+
+    private final Employee ann = new Employee("Ann", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+    private final Employee beth = new Employee("Beth", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+    private final Employee carl = new Employee("Carl", Set.of("Nurse"), Set.of(), Set.of(), Set.of());
+    private final Shift shift1 = shift("1", DAY_1, "Ambulatory care", ann);
+    private final Shift shift2 = shift("2", DAY_1, "Ambulatory care", beth);
+    private final Shift shift3 = shift("3", DAY_1, "Critical care", carl);
+    private final Shift shift4 = shift("4", DAY_2, "Critical care", ann);
+    private final ShiftMoveIndex index = new ShiftMoveIndex(new EmployeeSchedule(List.of(ann, beth, carl),
+            List.of(shift4, shift1, shift2, shift3)));
+
+    @Test
+    void sameDaySwap() {
+        List<ShiftReassignmentMove> moves = new SameDaySwapMoveIteratorFactory().createOriginalMoves(index).toList();
+        assertThat(moves).extracting(ShiftReassignmentMove::getPlanningEntities).containsExactly(
+                List.of(shift1, shift2), List.of(shift1, shift3), List.of(shift2, shift3));
+    }
+
+    @Test
+    void employeeDaySwap() {
+        List<ShiftReassignmentMove> moves =
+                new EmployeeDaySwapMoveIteratorFactory().createOriginalMoves(index).toList();
+        // Every pair of employees on each day
+        assertThat(moves).hasSize(6);
+        assertThat(moves.get(0).getPlanningEntities()).containsExactly(shift1, shift2);
+        assertThat(moves.get(3).getPlanningEntities()).containsExactly(shift4);
+        assertThat(moves.get(3).getPlanningValues()).containsExactly(beth);
+    }
+
+    @Test
+    void employeeWeekSwap() {
+        List<ShiftReassignmentMove> moves =
+                new EmployeeWeekSwapMoveIteratorFactory().createOriginalMoves(index).toList();
+        // Both days are in the same week
+        assertThat(moves).hasSize(3);
+        assertThat(moves.get(0).getPlanningEntities()).containsExactly(shift1, shift4, shift2);
+    }
+
+    @Test
+    void locationDayRuinRecreate() {
+        List<ShiftReassignmentMove> moves =
+                new LocationDayRuinRecreateMoveIteratorFactory().createOriginalMoves(index).toList();
+        assertThat(moves).extracting(ShiftReassignmentMove::getPlanningEntities).containsExactly(
+                List.of(shift4), List.of(shift3), List.of(shift1, shift2));
+        // Carl works another shift that day, so the first eligible employees are Ann and Beth
+        assertThat(moves.get(2).getPlanningValues()).containsExactly(ann, beth);
+    }
+
+    private static Shift shift(String id, LocalDate date, String location, Employee employee) {
+        return new Shift(id, LocalDateTime.of(date, LocalTime.of(6, 0)), LocalDateTime.of(date, LocalTime.of(14, 0)),
+                location, "Nurse", employee);
+    }
+}
@@ -0,0 +1,129 @@
+package org.acme.employeescheduling.solver.tuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.tuning.SizeClass.Level;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SizeClassTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 6, 0);
+
+    @Test
+    void classifiesBySizeAndSkillDensity() {
+        // 1 of 4 employees has the skill of every shift
+        EmployeeSchedule schedule = createSchedule(600, 4, 1);
+        assertThat(SizeClass.of(schedule)).isEqualTo(new SizeClass(Level.MEDIUM, Level.LOW, Level.MEDIUM));
+        assertThat(SizeClass.of(createSchedule(10, 60, 60)).key()).isEqualTo("low-medium-high");
+        assertThat(SizeClass.of(createSchedule(10, 60, 6)).skillDensity()).isEqualTo(Level.LOW);
+    }
+
+    @Test
+    void emptyScheduleIsLow() {
+        assertThat(SizeClass.of(new EmployeeSchedule(List.of(), List.of())).key()).isEqualTo("low-low-low");
+    }
+
+    @Test
+    void parsesItsKey() {
+        SizeClass sizeClass = new SizeClass(Level.HIGH, Level.MEDIUM, Level.LOW);
+        assertThat(SizeClass.parse(sizeClass.key())).isEqualTo(sizeClass);
+        assertThat(SizeClass.parse("HIGH-medium-Low")).isEqualTo(sizeClass);
+        assertThatIllegalArgumentException().isThrownBy(() -> SizeClass.parse("high-medium"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SizeClass.parse("high-medium-huge"));
+    }
+
+    @Test
+    void tunedConfigReplacesOnlyTheLocalSearch() {
+        SolverConfig solverConfig = SolverConfig.createFromXmlResource("solverConfig.xml");
+        TunedSolverConfig tunedConfig = new TunedSolverConfig(800, 5, 2, 1.0, 0.0, 2.0, 0.0, 1.0, 0L);
+        SolverConfig tunedSolverConfig = tunedConfig.applyTo(solverConfig);
+
+        assertThat(tunedSolverConfig.getPhaseConfigList()).hasSize(2);
+        assertThat(tunedSolverConfig.getPhaseConfigList().get(0))
+                .usingRecursiveComparison().isEqualTo(solverConfig.getPhaseConfigList().get(0));
+        LocalSearchPhaseConfig localSearchConfig = (LocalSearchPhaseConfig) tunedSolverConfig.getPhaseConfigList()
+                .get(1);
+        assertThat(localSearchConfig.getAcceptorConfig().getLateAcceptanceSize()).isEqualTo(800);
+        assertThat(localSearchConfig.getAcceptorConfig().getEntityTabuSize()).isEqualTo(5);
+        assertThat(localSearchConfig.getForagerConfig().getAcceptedCountLimit()).isEqualTo(2);
+        // The moves with a zero weight are left out
+        assertThat(((UnionMoveSelectorConfig) localSearchConfig.getMoveSelectorConfig()).getMoveSelectorList())
+                .hasSize(3);
+        // The base config is left as it was
+        assertThat(((LocalSearchPhaseConfig) solverConfig.getPhaseConfigList().get(1)).getAcceptorConfig()).isNull();
+    }
+
+    @Test
+    void tunedTerminationOnlyAddsAnUnimprovedSpentLimit() {
+        SolverConfig solverConfig = SolverConfig.createFromXmlResource("solverConfig.xml")
+                .withTerminationSpentLimit(Duration.ofSeconds(30));
+        TunedSolverConfig tunedConfig = TunedSolverConfig.DEFAULT.withUnimprovedSpentLimitSeconds(5L);
+
+        TerminationConfig terminationConfig = tunedConfig.applyTo(solverConfig).getTerminationConfig();
+        assertThat(terminationConfig.getSpentLimit()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(terminationConfig.getUnimprovedSpentLimit()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(solverConfig.getTerminationConfig().getUnimprovedSpentLimit()).isNull();
+        // A termination that has its own unimproved spent limit keeps it
+        TerminationConfig ownTerminationConfig = new TerminationConfig()
+                .withUnimprovedSpentLimit(Duration.ofSeconds(20));
+        assertThat(tunedConfig.applyTo(ownTerminationConfig).getUnimprovedSpentLimit())
+                .isEqualTo(Duration.ofSeconds(20));
+        assertThat(TunedSolverConfig.DEFAULT.applyTo(new TerminationConfig()).getUnimprovedSpentLimit()).isNull();
+    }
+
+    @Test
+    void shippedConfigsAreValid() throws IOException {
+        TypeReference<Map<String, TunedSolverConfig>> type = new TypeReference<>() {
+        };
+        Map<String, TunedSolverConfig> configs;
+        try (InputStream in = SizeClassTest.class.getClassLoader().getResourceAsStream(TunedSolverConfigs.RESOURCE)) {
+            assertThat(in).isNotNull();
+            configs = new ObjectMapper().readValue(in, type);
+        }
+        assertThat(configs.keySet()).allSatisfy(key -> assertThat(SizeClass.parse(key).key()).isEqualTo(key));
+    }
+
+    @Test
+    void tunedConfigNeedsAMove() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new TunedSolverConfig(400, 0, 1, 0.0, 0.0, 0.0, 0.0, 0.0, 0L));
+    }
+
+    /**
+     * @param skilledEmployeeCount the number of employees with the skill that every shift requires
+     */
+    private static EmployeeSchedule createSchedule(int shiftCount, int employeeCount, int skilledEmployeeCount) {
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new Employee("Employee " + i, Set.of(i < skilledEmployeeCount ? "Doctor" : "Nurse"),
+                    Set.of(), Set.of(), Set.of()));
+        }
+        List<Shift> shifts = new ArrayList<>(shiftCount);
+        for (int i = 0; i < shiftCount; i++) {
+            shifts.add(new Shift(String.valueOf(i), START.plusDays(i), START.plusDays(i).plusHours(8),
+                    "Ambulatory care", "Doctor", null));
+        }
+        return new EmployeeSchedule(employees, shifts);
+    }
+}
@@ -0,0 +1,216 @@
+package org.acme.employeescheduling.tuning;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoDataParameters;
+import org.acme.employeescheduling.solver.EmployeeSchedulingConstraintProvider;
+import org.acme.employeescheduling.solver.tuning.SizeClass;
+import org.acme.employeescheduling.solver.tuning.TunedSolverConfig;
+import org.acme.employeescheduling.solver.tuning.TunedSolverConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Searches the local search and termination parameters of {@link TunedSolverConfig} for each {@link SizeClass}
+ * and writes the best ones to the file that {@link TunedSolverConfigs} reads.
+ * <p>
+ * Generates seeded demo data of several sizes and skill densities, groups it by size class,
+ * and solves every dataset of a class with {@link TunedSolverConfig#DEFAULT} and random candidates
+ * for the same spent limit. The best candidate has the highest total hard score, then the highest total soft score.
+ * Then it tries the unimproved spent limits of {@link #UNIMPROVED_SPENT_LIMIT_RATIOS} on the best candidate,
+ * from short to long, and keeps the first that keeps its total hard score
+ * and loses at most {@code tuning.max-soft-loss} of its total soft score.
+ * A class keeps the default, and isn't written, unless it found a better local search or a shorter termination.
+ * <p>
+ * Run {@code mvn -Ptuning test-compile exec:java}. Every option is a system property, see the README.
+ */
+public final class SolverConfigTuner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverConfigTuner.class);
+    private static final List<String> REQUIRED_SKILLS =
+            List.of("Doctor", "Nurse", "Paramedic", "Midwife", "Pharmacist", "Technician");
+    private static final int[] LATE_ACCEPTANCE_SIZES = { 50, 100, 200, 400, 800, 1600 };
+    private static final int[] ENTITY_TABU_SIZES = { 0, 0, 5, 10 };
+    private static final int[] ACCEPTED_COUNT_LIMITS = { 1, 1, 2, 4 };
+    private static final double[] CHANGE_WEIGHTS = { 1.0, 2.0, 4.0, 8.0 };
+    private static final double[] CUSTOM_MOVE_WEIGHTS = { 0.0, 0.5, 1.0, 2.0, 4.0 };
+    /**
+     * Of the spent limit, so the candidates scale with {@code tuning.seconds}.
+     */
+    private static final double[] UNIMPROVED_SPENT_LIMIT_RATIOS = { 0.1, 0.2, 0.4 };
+
+    private final DemoDataGenerator demoDataGenerator = new DemoDataGenerator();
+    private final SolverConfig baseConfig;
+    private final int seedCount;
+    private final int candidateCount;
+    private final Duration spentLimit;
+    private final double maxSoftLoss;
+    private final long randomSeed;
+    private final Path output;
+
+    private SolverConfigTuner() {
+        seedCount = Integer.getInteger("tuning.seeds", 2);
+        candidateCount = Integer.getInteger("tuning.candidates", 8);
+        spentLimit = Duration.ofSeconds(Long.getLong("tuning.seconds", 10L));
+        maxSoftLoss = Double.parseDouble(System.getProperty("tuning.max-soft-loss", "0.01"));
+        randomSeed = Long.getLong("tuning.random-seed", 0L);
+        output = Path.of(System.getProperty("tuning.output", "src/main/resources/" + TunedSolverConfigs.RESOURCE));
+        baseConfig = SolverConfig.createFromXmlResource("solverConfig.xml")
+                .withSolutionClass(EmployeeSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class)
+                .withTerminationSpentLimit(spentLimit);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new SolverConfigTuner().run();
+    }
+
+    private void run() throws IOException {
+        Map<SizeClass, List<DemoDataParameters>> sizeClassToDatasetsMap = new LinkedHashMap<>();
+        for (DemoDataParameters parameters : createDatasets()) {
+            SizeClass sizeClass = SizeClass.of(demoDataGenerator.generateDemoData(parameters));
+            sizeClassToDatasetsMap.computeIfAbsent(sizeClass, key -> new ArrayList<>()).add(parameters);
+        }
+        Map<String, TunedSolverConfig> tunedConfigs = new TreeMap<>();
+        for (Map.Entry<SizeClass, List<DemoDataParameters>> entry : sizeClassToDatasetsMap.entrySet()) {
+            SizeClass sizeClass = entry.getKey();
+            List<DemoDataParameters> datasets = entry.getValue();
+            LOGGER.info("Size class {}: {} datasets.", sizeClass, datasets.size());
+            // Seeded per class, so adding a dataset of another class doesn't change the candidates of this one
+            SplittableRandom random = new SplittableRandom(randomSeed ^ sizeClass.key().hashCode());
+            TunedSolverConfig bestConfig = TunedSolverConfig.DEFAULT;
+            HardSoftBigDecimalScore bestScore = solveAll(bestConfig, datasets);
+            LOGGER.info("  {}: {}", bestConfig, bestScore);
+            for (int i = 0; i < candidateCount; i++) {
+                TunedSolverConfig candidate = createRandomCandidate(random);
+                HardSoftBigDecimalScore score = solveAll(candidate, datasets);
+                LOGGER.info("  {}: {}", candidate, score);
+                if (score.compareTo(bestScore) > 0) {
+                    bestConfig = candidate;
+                    bestScore = score;
+                }
+            }
+            bestConfig = tuneTermination(bestConfig, bestScore, datasets);
+            LOGGER.info("  Best: {}", bestConfig);
+            if (!bestConfig.equals(TunedSolverConfig.DEFAULT)) {
+                tunedConfigs.put(sizeClass.key(), bestConfig);
+            }
+        }
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writeValue(output.toFile(), tunedConfigs);
+        LOGGER.info("Wrote the tuned configurations of {} size classes to {}.", tunedConfigs.size(), output);
+    }
+
+    /**
+     * @return the given config with the shortest unimproved spent limit that costs little score,
+     * or else the given config
+     */
+    private TunedSolverConfig tuneTermination(TunedSolverConfig config, HardSoftBigDecimalScore score,
+            List<DemoDataParameters> datasets) {
+        BigDecimal minSoftScore = score.softScore()
+                .subtract(score.softScore().abs().multiply(BigDecimal.valueOf(maxSoftLoss)));
+        for (double ratio : UNIMPROVED_SPENT_LIMIT_RATIOS) {
+            long unimprovedSeconds = Math.max(1L, Math.round(spentLimit.toSeconds() * ratio));
+            TunedSolverConfig candidate = config.withUnimprovedSpentLimitSeconds(unimprovedSeconds);
+            HardSoftBigDecimalScore candidateScore = solveAll(candidate, datasets);
+            LOGGER.info("  Unimproved spent limit {}s: {}", unimprovedSeconds, candidateScore);
+            if (candidateScore.hardScore().compareTo(score.hardScore()) >= 0
+                    && candidateScore.softScore().compareTo(minSoftScore) >= 0) {
+                return candidate;
+            }
+        }
+        return config;
+    }
+
+    /**
+     * The size classes that the demo data can reach: the skill density falls with the number of required skills,
+     * because every employee has 1 of them.
+     */
+    private List<DemoDataParameters> createDatasets() {
+        List<DemoDataParameters> datasets = new ArrayList<>();
+        for (int requiredSkillCount : new int[] { 2, 3, 6 }) {
+            List<DemoDataParameters> sizes = List.of(
+                    DemoData.SMALL.getParameters(),
+                    DemoData.LARGE.getParameters(),
+                    DemoData.LARGE.getParameters().withEmployeeCount(500),
+                    DemoData.LARGE.getParameters().withEmployeeCount(2_000).withDaysInSchedule(56));
+            for (DemoDataParameters size : sizes) {
+                for (int seed = 0; seed < seedCount; seed++) {
+                    datasets.add(withRequiredSkills(size, REQUIRED_SKILLS.subList(0, requiredSkillCount))
+                            .withRandomSeed(seed));
+                }
+            }
+        }
+        return datasets;
+    }
+
+    private static DemoDataParameters withRequiredSkills(DemoDataParameters parameters, List<String> requiredSkills) {
+        return new DemoDataParameters(parameters.locations(), requiredSkills, parameters.optionalSkills(),
+                parameters.daysInSchedule(), parameters.employeeCount(), parameters.optionalSkillDistribution(),
+                parameters.shiftCountDistribution(), parameters.availabilityCountDistribution(),
+                parameters.randomSeed(), parameters.startDate());
+    }
+
+    private static TunedSolverConfig createRandomCandidate(SplittableRandom random) {
+        return new TunedSolverConfig(
+                pick(LATE_ACCEPTANCE_SIZES, random),
+                pick(ENTITY_TABU_SIZES, random),
+                pick(ACCEPTED_COUNT_LIMITS, random),
+                pick(CHANGE_WEIGHTS, random),
+                pick(CUSTOM_MOVE_WEIGHTS, random),
+                pick(CUSTOM_MOVE_WEIGHTS, random),
+                pick(CUSTOM_MOVE_WEIGHTS, random),
+                pick(CUSTOM_MOVE_WEIGHTS, random),
+                0L);
+    }
+
+    private static int pick(int[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double pick(double[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * @return the sum of the best scores, which ranks the candidates like the mean, since they solve the same datasets
+     */
+    private HardSoftBigDecimalScore solveAll(TunedSolverConfig candidate, List<DemoDataParameters> datasets) {
+        SolverFactory<EmployeeSchedule> solverFactory = SolverFactory.create(candidate.applyTo(baseConfig));
+        BigDecimal hardScore = BigDecimal.ZERO;
+        BigDecimal softScore = BigDecimal.ZERO;
+        for (DemoDataParameters parameters : datasets) {
+            // Generated again for every run, because solving changes the problem
+            Solver<EmployeeSchedule> solver = solverFactory.buildSolver();
+            HardSoftBigDecimalScore score = solver.solve(demoDataGenerator.generateDemoData(parameters)).getScore();
+            hardScore = hardScore.add(score.hardScore());
+            softScore = softScore.add(score.softScore());
+        }
+        return HardSoftBigDecimalScore.of(hardScore, softScore);
+    }
+}